@@ -8,11 +8,14 @@ import java.awt.Transparency;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.Vector;
+import java.util.function.Supplier;
 
 import megamek.client.ui.swing.MechTileset;
 import megamek.client.ui.swing.util.ImageFileFactory;
@@ -20,6 +23,7 @@ import megamek.common.Configuration;
 import megamek.common.Crew;
 import megamek.common.util.DirectoryItems;
 import mekhq.campaign.force.Force;
+import mekhq.gui.utilities.ImageCache;
 import mekhq.gui.utilities.PortraitFileFactory;
 
 /**
@@ -76,6 +80,11 @@ public class IconPackage {
         loadingScreenImages.put(1921, "data/images/misc/MekHQ Load_spooky_uhd.png");
     }
     
+    /** Tinted and camouflaged unit images, keyed by everything they are built from */
+    private final ImageCache<List<Object>> unitImages = new ImageCache<>(512);
+    /** Scaled force icons, keyed by everything they are built from */
+    private final ImageCache<List<Object>> forceIconImages = new ImageCache<>(256);
+    
     public IconPackage() {
 
     }
@@ -164,6 +173,50 @@ public class IconPackage {
         return loadingScreenImages.floorEntry(resolutionWidth).getValue();
     }
     
+    /**
+     * Gets a unit image from the cache, building it if needed. As the camo and tint are part of
+     * the key, changing either simply leads to a new image being built.
+     * @param base the unit's tile from the mech tileset
+     * @param tint the colour to tint the unit with
+     * @param camoCategory the category of the unit's camo
+     * @param camoFileName the file name of the unit's camo
+     * @param builder builds the image if it isn't cached
+     * @return the unit image
+     */
+    public Image getUnitImage(Image base, int tint, String camoCategory, String camoFileName,
+            Supplier<Image> builder) {
+        // the tileset keeps its images, so the tile itself identifies the unit's look
+        return unitImages.get(Arrays.asList(base, tint, camoCategory, camoFileName), builder);
+    }
+    
+    /**
+     * Gets a force's icon scaled to the given width, building and scaling it only if the force's
+     * icon has changed since it was last asked for.
+     * @param force the force to get the icon for
+     * @param width the width to scale the icon to
+     * @return the scaled force icon, or null if neither it nor the empty icon could be loaded
+     */
+    public Image getScaledForceIcon(Force force, int width) {
+        final String category = force.getIconCategory();
+        final String filename = force.getIconFileName();
+        // copy the layers, as the force keeps changing its own map
+        final LinkedHashMap<String, Vector<String>> iconMap = new LinkedHashMap<>();
+        for(Map.Entry<String, Vector<String>> layer : force.getIconMap().entrySet()) {
+            iconMap.put(layer.getKey(), new Vector<>(layer.getValue()));
+        }
+        return forceIconImages.get(Arrays.asList(category, filename, iconMap, width), () -> {
+            Image icon = buildForceIcon(category, filename, forceIcons, iconMap);
+            if(null == icon) {
+                try {
+                    icon = (Image) forceIcons.getItem("", "empty.png"); //$NON-NLS-1$ //$NON-NLS-2$
+                } catch (Exception e) {
+                    MekHQ.getLogger().error(IconPackage.class, "getScaledForceIcon(Force,int)", e); //$NON-NLS-1$
+                }
+            }
+            return (null != icon) ? icon.getScaledInstance(width, -1, Image.SCALE_SMOOTH) : null;
+        });
+    }
+    
     public static Image buildForceIcon(String category, String filename, DirectoryItems items, LinkedHashMap<String, Vector<String>> iconMap) {
         final String METHOD_NAME = "buildForceIcon(String,String, DirectoryItems,LinkedHashMap<String,Vector<String>>)"; //$NON-NLS-1$
         Image retVal = null;
@@ -345,6 +345,7 @@ public class MekHQ implements GameListener {
         		campaigngui.getFrame().dispose();
         	}
     		getPreferences().saveToFile(PREFERENCES_FILE);
+    		autosaveService.flush();
         	System.exit(0);
     	}
     }
@@ -432,6 +433,9 @@ public class MekHQ implements GameListener {
     }
 
     public void setCampaign(Campaign c) {
+        if ((null != campaign) && (campaign != c)) {
+            campaign.dispose();
+        }
     	campaign = c;
     }
 
@@ -1,16 +1,25 @@
 package mekhq;
 
+import java.io.BufferedWriter;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.UUID;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParserFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.Result;
 import javax.xml.transform.Source;
 import javax.xml.transform.Transformer;
@@ -21,9 +30,11 @@ import javax.xml.transform.sax.SAXSource;
 import javax.xml.transform.stream.StreamResult;
 
 import org.apache.commons.text.StringEscapeUtils;
+import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
+import org.w3c.dom.Text;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 import org.xml.sax.SAXNotRecognizedException;
@@ -48,6 +59,18 @@ public class MekHqXmlUtil {
     private static DocumentBuilderFactory DOCUMENT_BUILDER_FACTORY;
     private static DocumentBuilderFactory UNSAFE_DOCUMENT_BUILDER_FACTORY;
     private static SAXParserFactory SAX_PARSER_FACTORY;
+    private static XMLInputFactory XML_INPUT_FACTORY;
+
+    /** The number of characters buffered by the writers of {@link #createXmlWriter(OutputStream)} */
+    public static final int WRITE_BUFFER_SIZE = 1 << 16;
+    private static final String NL = System.lineSeparator();
+    private static final String[] INDENTS = new String[16];
+    static {
+        INDENTS[0] = ""; //$NON-NLS-1$
+        for (int i = 1; i < INDENTS.length; ++ i) {
+            INDENTS[i] = INDENTS[i - 1] + "\t"; //$NON-NLS-1$
+        }
+    }
 
     /**
      * Creates a DocumentBuilder safe from XML external entities
@@ -173,64 +196,145 @@ public class MekHqXmlUtil {
         return new SAXSource(createSafeXMLReader(), new InputSource(inputStream));
     }
 
-    public static void writeSimpleXmlTag(PrintWriter pw1, int indent, String name, String val) {
-        for (int x=0; x<indent; x++) {
-            pw1.print("\t");
+    /**
+     * @return a StAX {@linkplain XMLStreamReader} for the provided input stream that is safe
+     * from external entities and entity expansion attacks.
+     */
+    public static XMLStreamReader createSafeXMLStreamReader(InputStream inputStream) throws XMLStreamException {
+        XMLInputFactory xif = XML_INPUT_FACTORY;
+        if (null == xif) {
+            // As with the builder factories, it is Ok to have more than one instance.
+            xif = XMLInputFactory.newInstance();
+            // Without DTDs there are no entities to expand other than the predefined ones
+            xif.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            xif.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+            // Read the element names as they are, like the document builders do
+            xif.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+            xif.setProperty(XMLInputFactory.IS_COALESCING, true);
+            XML_INPUT_FACTORY = xif;
+        }
+        return xif.createXMLStreamReader(inputStream);
+    }
+
+    /**
+     * Reads the element a StAX reader is at into a DOM element, for the code which works on
+     * {@link Node}s. Comments and processing instructions are left out.
+     *
+     * @param reader   a reader positioned at a start tag; it is left at the matching end tag
+     * @param document the document to create the nodes with; the element isn't added to it
+     * @return the element, with its attributes and content
+     */
+    public static Element readElement(XMLStreamReader reader, Document document) throws XMLStreamException {
+        Element element = createElement(reader, document);
+        Node current = element;
+        while (null != current) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    current = current.appendChild(createElement(reader, document));
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    current = (current == element) ? null : current.getParentNode();
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    // keep the text in one node, as a normalized document would
+                    Node last = current.getLastChild();
+                    if ((null != last) && (last.getNodeType() == Node.TEXT_NODE)) {
+                        ((Text) last).appendData(reader.getText());
+                    } else {
+                        current.appendChild(document.createTextNode(reader.getText()));
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return element;
+    }
+
+    private static Element createElement(XMLStreamReader reader, Document document) {
+        Element element = document.createElement(reader.getLocalName());
+        for (int i = 0; i < reader.getAttributeCount(); ++ i) {
+            element.setAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
         }
+        return element;
+    }
 
-        pw1.print("<"+name+">");
+    /**
+     * Creates a writer to write XML to a stream in UTF-8. The writer buffers enough text that
+     * writing out a campaign piece by piece rarely reaches the stream; it needs to be flushed or
+     * closed when done.
+     */
+    public static PrintWriter createXmlWriter(OutputStream outputStream) {
+        return new PrintWriter(new BufferedWriter(
+                new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE));
+    }
+
+    public static void writeSimpleXmlTag(PrintWriter pw1, int indent, String name, String val) {
+        writeOpenTag(pw1, indent, name);
         pw1.print(escape(val));
-        pw1.println("</"+name+">");
+        writeCloseTag(pw1, name);
     }
 
     public static void writeSimpleXmlTag(PrintWriter pw1, int indent, String name, int val) {
-        for (int x=0; x<indent; x++) {
-            pw1.print("\t");
-        }
-
-        pw1.print("<"+name+">");
+        writeOpenTag(pw1, indent, name);
         pw1.print(val);
-        pw1.println("</"+name+">");
+        writeCloseTag(pw1, name);
     }
 
     public static void writeSimpleXmlTag(PrintWriter pw1, int indent, String name, boolean val) {
-        for (int x=0; x<indent; x++) {
-            pw1.print("\t");
-        }
-
-        pw1.print("<"+name+">");
+        writeOpenTag(pw1, indent, name);
         pw1.print(val);
-        pw1.println("</"+name+">");
+        writeCloseTag(pw1, name);
     }
 
     public static void writeSimpleXmlTag(PrintWriter pw1, int indent, String name, long val) {
-        for (int x=0; x<indent; x++) {
-            pw1.print("\t");
-        }
-
-        pw1.print("<"+name+">");
+        writeOpenTag(pw1, indent, name);
         pw1.print(val);
-        pw1.println("</"+name+">");
+        writeCloseTag(pw1, name);
     }
 
     public static void writeSimpleXmlTag(PrintWriter pw1, int indent, String name, double val) {
-        for (int x=0; x<indent; x++) {
-            pw1.print("\t");
-        }
+        writeOpenTag(pw1, indent, name);
+        pw1.print(val);
+        writeCloseTag(pw1, name);
+    }
 
-        pw1.print("<"+name+">");
+    /** Writes the id as is, or "null" if there is none */
+    public static void writeSimpleXmlTag(PrintWriter pw1, int indent, String name, UUID val) {
+        writeOpenTag(pw1, indent, name);
         pw1.print(val);
-        pw1.println("</"+name+">");
+        writeCloseTag(pw1, name);
+    }
+
+    // The parts of a tag are written one after the other, rather than concatenated first,
+    // so writing a campaign doesn't create a string for every line of it
+    private static void writeOpenTag(PrintWriter pw1, int indent, String name) {
+        pw1.print(indentStr(indent));
+        pw1.print('<');
+        pw1.print(name);
+        pw1.print('>');
+    }
+
+    private static void writeCloseTag(PrintWriter pw1, String name) {
+        pw1.print("</");
+        pw1.print(name);
+        pw1.println('>');
     }
 
+    /** @return the given number of tabs; the usual ones are only created once */
     public static String indentStr(int level) {
-        String retVal = "";
+        if (level < INDENTS.length) {
+            return INDENTS[Math.max(level, 0)];
+        }
 
+        StringBuilder retVal = new StringBuilder(level);
         for (int x=0; x<level; x++) {
-            retVal += "\t";
+            retVal.append('\t');
         }
 
-        return retVal;
+        return retVal.toString();
     }
 
     public static String xmlToString(Node node) throws TransformerException {
@@ -253,56 +357,82 @@ public class MekHqXmlUtil {
      * @param tgtEnt
      *            The entity to serialize to XML.
      * @return A string containing the XML representation of the entity.
+     * @see #writeEntityToXml(PrintWriter, Entity, int, ArrayList)
      */
     public static String writeEntityToXmlString(Entity tgtEnt, int indentLvl, ArrayList<Entity> list) {
+        StringWriter stringWriter = new StringWriter();
+        PrintWriter pw1 = new PrintWriter(stringWriter);
+        writeEntityToXml(pw1, tgtEnt, indentLvl, list);
+        pw1.flush();
+
+        // callers expect the entity without the line break after it
+        String retVal = stringWriter.toString();
+        if (retVal.endsWith(NL)) {
+            retVal = retVal.substring(0, retVal.length() - NL.length());
+        }
+        return retVal;
+    }
+
+    /**
+     * Writes an entity the same way as {@link #writeEntityToXmlString(Entity, int, ArrayList)},
+     * followed by a line break, without building it up as a string first.
+     *
+     * @param pw1
+     *            The writer to write the entity to.
+     * @param tgtEnt
+     *            The entity to serialize to XML.
+     */
+    public static void writeEntityToXml(PrintWriter pw1, Entity tgtEnt, int indentLvl, ArrayList<Entity> list) {
         // Holdover from EntityListFile in MM.
         // I guess they simply ignored all squadrons for writing out entities?
         if (tgtEnt instanceof FighterSquadron) {
-            return "";
+            return;
         }
 
-        String retVal = "";
-
         // Start writing this entity to the file.
-        retVal += MekHqXmlUtil.indentStr(indentLvl) + "<entity chassis=\""
-                + escape(tgtEnt.getChassis())
-                + "\" model=\"" + escape(tgtEnt.getModel())
-                + "\" type=\"" + escape(tgtEnt.getMovementModeAsString())
-                + "\" commander=\"" + String.valueOf(tgtEnt.isCommander());
-
-        retVal += "\" externalId=\"";
-        retVal += tgtEnt.getExternalIdAsString();
+        pw1.print(indentStr(indentLvl));
+        pw1.print("<entity chassis=\"");
+        pw1.print(escape(tgtEnt.getChassis()));
+        pw1.print("\" model=\"");
+        pw1.print(escape(tgtEnt.getModel()));
+        pw1.print("\" type=\"");
+        pw1.print(escape(tgtEnt.getMovementModeAsString()));
+        pw1.print("\" commander=\"");
+        pw1.print(tgtEnt.isCommander());
+
+        pw1.print("\" externalId=\"");
+        pw1.print(tgtEnt.getExternalIdAsString());
 
         if (tgtEnt.countQuirks() > 0) {
-            retVal += "\" quirks=\"";
-            retVal += String.valueOf(escape(tgtEnt.getQuirkList("::")));
+            pw1.print("\" quirks=\"");
+            pw1.print(escape(tgtEnt.getQuirkList("::")));
         }
         if (tgtEnt.getC3Master() != null) {
-            retVal += "\" c3MasterIs=\"";
-            retVal += tgtEnt.getGame()
+            pw1.print("\" c3MasterIs=\"");
+            pw1.print(tgtEnt.getGame()
                 .getEntity(tgtEnt.getC3Master().getId())
-                .getC3UUIDAsString();
+                .getC3UUIDAsString());
         }
         if (tgtEnt.hasC3() || tgtEnt.hasC3i()) {
-            retVal += "\" c3UUID=\"";
-            retVal += tgtEnt.getC3UUIDAsString();
+            pw1.print("\" c3UUID=\"");
+            pw1.print(tgtEnt.getC3UUIDAsString());
         }
 
-         if ((null != tgtEnt.getCamoCategory())
-                 && (tgtEnt.getCamoCategory() != IPlayer.NO_CAMO)
-                 && !tgtEnt.getCamoCategory().isEmpty()) {
-             retVal += "\" camoCategory=\"";
-             retVal += String.valueOf(escape(tgtEnt.getCamoCategory()));
-         }
+        if ((null != tgtEnt.getCamoCategory())
+                && (tgtEnt.getCamoCategory() != IPlayer.NO_CAMO)
+                && !tgtEnt.getCamoCategory().isEmpty()) {
+            pw1.print("\" camoCategory=\"");
+            pw1.print(escape(tgtEnt.getCamoCategory()));
+        }
 
-         if ((null != tgtEnt.getCamoFileName())
-                 && (tgtEnt.getCamoFileName() != IPlayer.NO_CAMO)
-                 && !tgtEnt.getCamoFileName().isEmpty()) {
-             retVal += "\" camoFileName=\"";
-             retVal += String.valueOf(escape(tgtEnt.getCamoFileName()));
-         }
+        if ((null != tgtEnt.getCamoFileName())
+                && (tgtEnt.getCamoFileName() != IPlayer.NO_CAMO)
+                && !tgtEnt.getCamoFileName().isEmpty()) {
+            pw1.print("\" camoFileName=\"");
+            pw1.print(escape(tgtEnt.getCamoFileName()));
+        }
 
-        retVal += "\">\n";
+        pw1.print("\">\n");
 
         // If it's a tank, add a movement tag.
         // Since tank movement can be affected by damage other than equipment
@@ -310,14 +440,14 @@ public class MekHqXmlUtil {
         // And thus can't necessarily be calculated.
         if (tgtEnt instanceof Tank) {
             Tank tentity = (Tank) tgtEnt;
-            retVal += getMovementString(tentity, indentLvl+1);
+            writeMovement(pw1, tentity, indentLvl+1);
 
             if (tentity.isTurretLocked(Tank.LOC_TURRET)) {
-                retVal += getTurretLockedString(tentity, indentLvl+1);
+                writeTurretLocked(pw1, tentity, indentLvl+1);
             }
 
             // Crits
-            retVal += getTankCritString(tentity, indentLvl+1);
+            writeTankCrits(pw1, tentity, indentLvl+1);
         }
 
         // add a bunch of stuff for aeros
@@ -325,16 +455,13 @@ public class MekHqXmlUtil {
             Aero a = (Aero) tgtEnt;
 
             // SI
-            retVal += MekHqXmlUtil.indentStr(indentLvl+1) + "<structural integrity=\""
-                    + String.valueOf(a.getSI()) + "\"/>\n";
+            writeSingleAttributeTag(pw1, indentLvl+1, "structural", "integrity", a.getSI());
 
             // Heat sinks
-            retVal += MekHqXmlUtil.indentStr(indentLvl+1) + "<heat sinks=\"" + String.valueOf(a.getHeatSinks())
-                    + "\"/>\n";
+            writeSingleAttributeTag(pw1, indentLvl+1, "heat", "sinks", a.getHeatSinks());
 
             // Fuel
-            retVal += MekHqXmlUtil.indentStr(indentLvl+1) + "<fuel left=\"" + String.valueOf(a.getFuel())
-                    + "\"/>\n";
+            writeSingleAttributeTag(pw1, indentLvl+1, "fuel", "left", a.getFuel());
 
             // TODO: dropship docking collars, bays
 
@@ -343,76 +470,94 @@ public class MekHqXmlUtil {
                 Jumpship j = (Jumpship) a;
 
                 // KF integrity
-                retVal += MekHqXmlUtil.indentStr(indentLvl+1) + "<KF integrity=\""
-                        + String.valueOf(j.getKFIntegrity()) + "\"/>\n";
+                writeSingleAttributeTag(pw1, indentLvl+1, "KF", "integrity", j.getKFIntegrity());
 
                 // KF sail integrity
-                retVal += MekHqXmlUtil.indentStr(indentLvl+1) + "<sail integrity=\""
-                        + String.valueOf(j.getSailIntegrity()) + "\"/>\n";
+                writeSingleAttributeTag(pw1, indentLvl+1, "sail", "integrity", j.getSailIntegrity());
             }
 
             // Crits
-            retVal += getAeroCritString(a, indentLvl+1);
+            writeAeroCrits(pw1, a, indentLvl+1);
         }
 
         // If the entity carries bombs, write those out
         if(tgtEnt instanceof IBomber) {
-            retVal += getBombChoiceString((IBomber) tgtEnt, indentLvl);
+            writeBombChoices(pw1, (IBomber) tgtEnt, indentLvl);
         }
 
         // Add the locations of this entity (if any are needed).
         String loc = EntityListFile.getLocString(tgtEnt, indentLvl+1);
 
         if (null != loc) {
-            retVal += loc;
+            pw1.print(loc);
         }
 
         // Write the C3i Data if needed
         if (tgtEnt.hasC3i()) {
-            retVal += MekHqXmlUtil.indentStr(indentLvl+1) + "<c3iset>";
-            retVal += CommonConstants.NL;
+            pw1.print(indentStr(indentLvl+1));
+            pw1.print("<c3iset>");
+            pw1.print(CommonConstants.NL);
             Iterator<Entity> c3iList = list.iterator();
             while (c3iList.hasNext()) {
                 final Entity C3iEntity = c3iList.next();
 
                 if (C3iEntity.onSameC3NetworkAs(tgtEnt, true)) {
-                    retVal += MekHqXmlUtil.indentStr(indentLvl+2) + "<c3i_link link=\"";
-                    retVal += C3iEntity.getC3UUIDAsString();
-                    retVal += "\"/>";
-                    retVal += CommonConstants.NL;
+                    pw1.print(indentStr(indentLvl+2));
+                    pw1.print("<c3i_link link=\"");
+                    pw1.print(C3iEntity.getC3UUIDAsString());
+                    pw1.print("\"/>");
+                    pw1.print(CommonConstants.NL);
                 }
             }
-            retVal += MekHqXmlUtil.indentStr(indentLvl+1) + "</c3iset>";
-            retVal += CommonConstants.NL;
+            pw1.print(indentStr(indentLvl+1));
+            pw1.print("</c3iset>");
+            pw1.print(CommonConstants.NL);
         }
 
         // Finish writing this entity to the file.
-        retVal += MekHqXmlUtil.indentStr(indentLvl) + "</entity>";
-
-        // Okay, return whatever we've got!
-        return retVal;
+        pw1.print(indentStr(indentLvl));
+        pw1.println("</entity>");
     }
 
-    private static String getBombChoiceString(IBomber bomber, int indentLvl) {
-        String retVal = "";
+    /** Writes an empty element with a single attribute, such as {@code <fuel left="200"/>} */
+    private static void writeSingleAttributeTag(PrintWriter pw1, int indentLvl, String name, String attribute, int val) {
+        pw1.print(indentStr(indentLvl));
+        pw1.print('<');
+        pw1.print(name);
+        pw1.print(' ');
+        pw1.print(attribute);
+        pw1.print("=\"");
+        pw1.print(val);
+        pw1.print("\"/>\n");
+    }
 
+    private static void writeBombChoices(PrintWriter pw1, IBomber bomber, int indentLvl) {
         int[] bombChoices = bomber.getBombChoices();
         if (bombChoices.length > 0) {
-            retVal += MekHqXmlUtil.indentStr(indentLvl+1) + "<bombs>\n";
+            pw1.print(indentStr(indentLvl+1));
+            pw1.print("<bombs>\n");
             for (int type = 0; type < BombType.B_NUM; type++) {
                 if (bombChoices[type] > 0) {
-                    String typeName = BombType.getBombInternalName(type);
-                    retVal += MekHqXmlUtil.indentStr(indentLvl+2) + "<bomb type=\"";
-                    retVal += typeName;
-                    retVal += "\" load=\"";
-                    retVal += String.valueOf(bombChoices[type]);
-                    retVal += "\"/>\n";
+                    pw1.print(indentStr(indentLvl+2));
+                    pw1.print("<bomb type=\"");
+                    pw1.print(BombType.getBombInternalName(type));
+                    pw1.print("\" load=\"");
+                    pw1.print(bombChoices[type]);
+                    pw1.print("\"/>\n");
                 }
             }
-            retVal += MekHqXmlUtil.indentStr(indentLvl+1) + "</bombs>\n";
+            pw1.print(indentStr(indentLvl+1));
+            pw1.print("</bombs>\n");
         }
+    }
 
-        return retVal;
+    /** Writes an attribute with an integer value, with a space in front of it */
+    private static void writeAttribute(PrintWriter pw1, String attribute, int val) {
+        pw1.print(' ');
+        pw1.print(attribute);
+        pw1.print("=\"");
+        pw1.print(val);
+        pw1.print('"');
     }
 
     /**
@@ -420,73 +565,56 @@ public class MekHqXmlUtil {
      * Modified to support saving to/from XML for our purposes in MekHQ
      *
      * @param a
-     *            The Aero unit to generate a crit string for.
-     * @return The generated crit string.
+     *            The Aero unit to write the crits of.
      */
-    private static String getAeroCritString(Aero a, int indentLvl) {
-        String retVal = MekHqXmlUtil.indentStr(indentLvl) + "<acriticals";
-        String critVal = "";
-
+    private static void writeAeroCrits(PrintWriter pw1, Aero a, int indentLvl) {
         // crits
+        boolean hasCrits = (a.getAvionicsHits() > 0) || (a.getSensorHits() > 0)
+                || (a.getEngineHits() > 0) || (a.getFCSHits() > 0) || (a.getCICHits() > 0)
+                || (a.getLeftThrustHits() > 0) || (a.getRightThrustHits() > 0)
+                || !a.hasLifeSupport() || a.isGearHit();
+        if (!hasCrits) {
+            return;
+        }
+
+        pw1.print(indentStr(indentLvl));
+        pw1.print("<acriticals");
         if (a.getAvionicsHits() > 0) {
-            critVal = critVal.concat(" avionics=\"");
-            critVal = critVal.concat(Integer.toString(a.getAvionicsHits()));
-            critVal = critVal.concat("\"");
+            writeAttribute(pw1, "avionics", a.getAvionicsHits());
         }
 
         if (a.getSensorHits() > 0) {
-            critVal = critVal.concat(" sensors=\"");
-            critVal = critVal.concat(Integer.toString(a.getSensorHits()));
-            critVal = critVal.concat("\"");
+            writeAttribute(pw1, "sensors", a.getSensorHits());
         }
 
         if (a.getEngineHits() > 0) {
-            critVal = critVal.concat(" engine=\"");
-            critVal = critVal.concat(Integer.toString(a.getEngineHits()));
-            critVal = critVal.concat("\"");
+            writeAttribute(pw1, "engine", a.getEngineHits());
         }
 
         if (a.getFCSHits() > 0) {
-            critVal = critVal.concat(" fcs=\"");
-            critVal = critVal.concat(Integer.toString(a.getFCSHits()));
-            critVal = critVal.concat("\"");
+            writeAttribute(pw1, "fcs", a.getFCSHits());
         }
 
         if (a.getCICHits() > 0) {
-            critVal = critVal.concat(" cic=\"");
-            critVal = critVal.concat(Integer.toString(a.getCICHits()));
-            critVal = critVal.concat("\"");
+            writeAttribute(pw1, "cic", a.getCICHits());
         }
 
         if (a.getLeftThrustHits() > 0) {
-            critVal = critVal.concat(" leftThrust=\"");
-            critVal = critVal.concat(Integer.toString(a.getLeftThrustHits()));
-            critVal = critVal.concat("\"");
+            writeAttribute(pw1, "leftThrust", a.getLeftThrustHits());
         }
 
         if (a.getRightThrustHits() > 0) {
-            critVal = critVal.concat(" rightThrust=\"");
-            critVal = critVal.concat(Integer.toString(a.getRightThrustHits()));
-            critVal = critVal.concat("\"");
+            writeAttribute(pw1, "rightThrust", a.getRightThrustHits());
         }
 
         if (!a.hasLifeSupport()) {
-            critVal = critVal.concat(" lifeSupport=\"none\"");
+            pw1.print(" lifeSupport=\"none\"");
         }
 
         if (a.isGearHit()) {
-            critVal = critVal.concat(" gear=\"none\"");
-        }
-
-        if (!critVal.equals("")) {
-            // then add beginning and end
-            retVal = retVal.concat(critVal);
-            retVal = retVal.concat("/>\n");
-        } else {
-            return critVal;
+            pw1.print(" gear=\"none\"");
         }
-
-        return retVal;
+        pw1.print("/>\n");
     }
 
     /**
@@ -495,15 +623,10 @@ public class MekHqXmlUtil {
      * support saving to/from XML for our purposes in MekHQ
      *
      * @param e
-     *            The tank to generate a turret-locked string for.
-     * @return The generated string.
+     *            The tank to write the turret lock of.
      */
-    private static String getTurretLockedString(Tank e, int indentLvl) {
-        String retval = MekHqXmlUtil.indentStr(indentLvl) + "<turretlock direction=\"";
-        retval = retval.concat(Integer.toString(e.getSecondaryFacing()));
-        retval = retval.concat("\"/>\n");
-
-        return retval;
+    private static void writeTurretLocked(PrintWriter pw1, Tank e, int indentLvl) {
+        writeSingleAttributeTag(pw1, indentLvl, "turretlock", "direction", e.getSecondaryFacing());
     }
 
     /**
@@ -511,11 +634,9 @@ public class MekHqXmlUtil {
      * Modified to support saving to/from XML for our purposes in MekHQ
      *
      * @param e
-     *            The tank to generate a movement string for.
-     * @return The generated string.
+     *            The tank to write the movement of.
      */
-    private static String getMovementString(Tank e, int indentLvl) {
-        String retVal = MekHqXmlUtil.indentStr(indentLvl) + "<movement speed=\"";
+    private static void writeMovement(PrintWriter pw1, Tank e, int indentLvl) {
         boolean im = false;
 
         // This can throw an NPE for no obvious reason.
@@ -527,22 +648,21 @@ public class MekHqXmlUtil {
             // Ignore - just don't completely fail out.
         }
 
+        pw1.print(indentStr(indentLvl));
+        pw1.print("<movement speed=\"");
         if (im) {
-            retVal = retVal.concat("immobile");
+            pw1.print("immobile");
         } else {
-            retVal = retVal.concat(Integer.toString(e.getOriginalWalkMP()));
+            pw1.print(e.getOriginalWalkMP());
         }
-
-        retVal = retVal.concat("\"/>\n");
+        pw1.print("\"/>\n");
 
         // save any motive hits
-        retVal = retVal.concat(MekHqXmlUtil.indentStr(indentLvl) + "<motive damage=\"");
-        retVal = retVal.concat(Integer.toString(e.getMotiveDamage()));
-        retVal = retVal.concat("\" penalty=\"");
-        retVal = retVal.concat(Integer.toString(e.getMotivePenalty()));
-        retVal = retVal.concat("\"/>\n");
-
-        return retVal;
+        pw1.print(indentStr(indentLvl));
+        pw1.print("<motive");
+        writeAttribute(pw1, "damage", e.getMotiveDamage());
+        writeAttribute(pw1, "penalty", e.getMotivePenalty());
+        pw1.print("/>\n");
     }
 
     /**
@@ -550,50 +670,24 @@ public class MekHqXmlUtil {
      * Modified to support saving to/from XML for our purposes in MekHQ
      *
      * @param e
-     *            The tank to generate a movement string for.
-     * @return The generated string.
+     *            The tank to write the crits of.
      */
-     private static String getTankCritString(Tank e, int indentLvl) {
-
-         String retVal = MekHqXmlUtil.indentStr(indentLvl) + "<tcriticals";
-         String critVal = "";
-
-         // crits
-         if (e.getSensorHits() > 0) {
-         critVal = critVal.concat(" sensors=\"");
-         critVal = critVal.concat(Integer.toString(e.getSensorHits()));
-         critVal = critVal.concat("\"");
-         }
-         if (e.isEngineHit()) {
-         critVal = critVal.concat(" engine=\"");
-         critVal = critVal.concat("hit");
-         critVal = critVal.concat("\"");
-         }
-
-         /* crew are handled as a Person object in MekHq...
-         if (e.isDriverHit()) {
-         critVal = critVal.concat(" driver=\"");
-         critVal = critVal.concat("hit");
-         critVal = critVal.concat("\"");
-         }
-
-         if (e.isCommanderHit()) {
-         critVal = critVal.concat(" commander=\"");
-         critVal = critVal.concat("hit");
-         critVal = critVal.concat("\"");
-         }
-         */
-
-         if (!critVal.equals("")) {
-         // then add beginning and end
-         retVal = retVal.concat(critVal);
-         retVal = retVal.concat("/>\n");
-         } else {
-         return critVal;
-         }
-
-         return retVal;
+    private static void writeTankCrits(PrintWriter pw1, Tank e, int indentLvl) {
+        // crits
+        // crew are handled as a Person object in MekHq...
+        if ((e.getSensorHits() <= 0) && !e.isEngineHit()) {
+            return;
+        }
 
+        pw1.print(indentStr(indentLvl));
+        pw1.print("<tcriticals");
+        if (e.getSensorHits() > 0) {
+            writeAttribute(pw1, "sensors", e.getSensorHits());
+        }
+        if (e.isEngineHit()) {
+            pw1.print(" engine=\"hit\"");
+        }
+        pw1.print("/>\n");
     }
 
     /** @deprecated use {@link #parseSingleEntityMul(Element)} instead */
@@ -644,7 +738,19 @@ public class MekHqXmlUtil {
       * @return An encoded copy of the string
       */
     public static String escape(String string) {
-        return StringEscapeUtils.escapeXml10(string);
+        // most strings don't need any escaping; return those as they are without copying them
+        if (null == string) {
+            return null;
+        }
+        for (int i = 0; i < string.length(); ++ i) {
+            final char c = string.charAt(i);
+            if ((c < ' ') || (c > '~') || (c == '&') || (c == '<') || (c == '>') || (c == '"') || (c == '\'')) {
+                if ((c != '\t') && (c != '\n') && (c != '\r')) {
+                    return StringEscapeUtils.escapeXml10(string);
+                }
+            }
+        }
+        return string;
     }
 
     /**
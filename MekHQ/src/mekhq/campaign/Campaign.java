@@ -65,7 +65,6 @@ import megamek.common.Mech;
 import megamek.common.MechFileParser;
 import megamek.common.MechSummary;
 import megamek.common.MechSummaryCache;
-import megamek.common.MiscType;
 import megamek.common.Mounted;
 import megamek.common.Player;
 import megamek.common.Protomech;
@@ -83,7 +82,6 @@ import megamek.common.options.IOption;
 import megamek.common.options.IOptionGroup;
 import megamek.common.options.PilotOptions;
 import megamek.common.util.BuildingBlock;
-import megamek.common.util.DirectoryItems;
 import mekhq.campaign.event.AcquisitionEvent;
 import mekhq.campaign.event.AstechPoolChangedEvent;
 import mekhq.campaign.event.DayEndingEvent;
@@ -134,9 +132,10 @@ import mekhq.campaign.parts.OmniPod;
 import mekhq.campaign.parts.Part;
 import mekhq.campaign.parts.PartInUse;
 import mekhq.campaign.parts.PartInventory;
+import mekhq.campaign.parts.PartsInUseTracker;
 import mekhq.campaign.parts.ProtomekArmor;
 import mekhq.campaign.parts.Refit;
-import mekhq.campaign.parts.StructuralIntegrity;
+import mekhq.campaign.parts.SparePartIndex;
 import mekhq.campaign.parts.equipment.AmmoBin;
 import mekhq.campaign.parts.equipment.EquipmentPart;
 import mekhq.campaign.parts.equipment.MissingEquipmentPart;
@@ -144,6 +143,8 @@ import mekhq.campaign.personnel.Ancestors;
 import mekhq.campaign.personnel.Bloodname;
 import mekhq.campaign.personnel.Person;
 import mekhq.campaign.personnel.PersonnelOptions;
+import mekhq.campaign.personnel.PersonnelRoleIndex;
+import mekhq.campaign.personnel.PortraitCatalog;
 import mekhq.campaign.personnel.Rank;
 import mekhq.campaign.personnel.Ranks;
 import mekhq.campaign.personnel.RetirementDefectionTracker;
@@ -162,6 +163,8 @@ import mekhq.campaign.unit.UnitTechProgression;
 import mekhq.campaign.universe.Era;
 import mekhq.campaign.universe.Faction;
 import mekhq.campaign.universe.IUnitGenerator;
+import mekhq.campaign.universe.JumpGraph;
+import mekhq.campaign.universe.JumpRouteTable;
 import mekhq.campaign.universe.News;
 import mekhq.campaign.universe.NewsItem;
 import mekhq.campaign.universe.Planet;
@@ -172,8 +175,6 @@ import mekhq.campaign.universe.RandomFactionGenerator;
 import mekhq.campaign.work.IAcquisitionWork;
 import mekhq.campaign.work.IPartWork;
 import mekhq.gui.GuiTabType;
-import mekhq.gui.dialog.HistoricalDailyReportDialog;
-import mekhq.gui.utilities.PortraitFileFactory;
 import mekhq.module.atb.AtBEventProcessor;
 
 /**
@@ -182,6 +183,8 @@ import mekhq.module.atb.AtBEventProcessor;
  */
 public class Campaign implements Serializable, ITechManager {
     public static final String REPORT_LINEBREAK = "<br/><br/>"; //$NON-NLS-1$
+    /** The most lines kept in the daily report, beyond which the oldest ones are dropped */
+    public static final int MAX_REPORT_LINES = 10000;
 
     private static final long serialVersionUID = -6312434701389973056L;
 
@@ -195,6 +198,12 @@ public class Campaign implements Serializable, ITechManager {
     private Map<UUID, Person> personnel = new LinkedHashMap<>();
     private Map<UUID, Ancestors> ancestors = new LinkedHashMap<>();
     private TreeMap<Integer, Part> parts = new TreeMap<>();
+    private final SparePartIndex sparePartIndex = new SparePartIndex();
+    private transient PartsInUseTracker partsInUseTracker;
+    private transient PersonnelRoleIndex personnelRoleIndex;
+    private transient JumpRouteTable jumpRoutes;
+    /** The revision of the planetary events the jump routes were calculated with */
+    private transient int jumpRoutesEventRevision;
     private TreeMap<Integer, Force> forceIds = new TreeMap<>();
     private TreeMap<Integer, Mission> missions = new TreeMap<>();
     private TreeMap<Integer, Scenario> scenarios = new TreeMap<>();
@@ -242,12 +251,14 @@ public class Campaign implements Serializable, ITechManager {
     private Ranks ranks;
 
     private ArrayList<String> currentReport;
+    /** The daily report as HTML, or null if it needs to be combined from the lines again */
     private transient String currentReportHTML;
+    /** The number of lines dropped from the daily report to keep it below {@link #MAX_REPORT_LINES} */
+    private transient int droppedReportLines;
     private transient List<String> newReports;
 
-    //this is updated and used per gaming session, it is enabled/disabled via the Campaign options
-    //we're re-using the LogEntry class that is used to store Personnel entries
-    public LinkedList<LogEntry> inMemoryLogHistory = new LinkedList<>();
+    //the history of the daily reports, kept on disk; it is enabled/disabled via the Campaign options
+    private transient DailyReportJournal reportJournal;
 
     private boolean overtime;
     private boolean gmMode;
@@ -1022,6 +1033,24 @@ public class Campaign implements Serializable, ITechManager {
         addUnit(u);
     }
 
+    /**
+     * Puts the units in the given order. Used when loading a campaign whose units couldn't all be
+     * imported in the order they were saved in.
+     *
+     * @param order the units in their new order, which may contain nulls to skip; units missing
+     *              from it keep their relative order after the others
+     */
+    public void sortUnits(List<Unit> order) {
+        Map<UUID, Unit> sorted = new LinkedHashMap<>();
+        for (Unit u : order) {
+            if ((null != u) && (units.get(u.getId()) == u)) {
+                sorted.put(u.getId(), u);
+            }
+        }
+        sorted.putAll(units);
+        units = sorted;
+    }
+
     private void addUnit(Unit u) {
         MekHQ.getLogger().log(getClass(), "addUnit()", LogLevel.INFO, //$NON-NLS-1$
                 "Adding unit: (" + u.getId() + "):" + u); //$NON-NLS-1$
@@ -1080,7 +1109,7 @@ public class Campaign implements Serializable, ITechManager {
 
         checkDuplicateNamesDuringAdd(unit.getEntity());
         addReport(unit.getHyperlinkedName() + " has been added to the unit roster.");
-
+        MekHQ.triggerEvent(new UnitNewEvent(unit));
     }
 
     /**
@@ -1340,6 +1369,14 @@ public class Campaign implements Serializable, ITechManager {
         return activePersonnel;
     }
 
+    private synchronized PersonnelRoleIndex getPersonnelRoleIndex() {
+        if (null == personnelRoleIndex) {
+            personnelRoleIndex = new PersonnelRoleIndex(this);
+            MekHQ.registerHandler(personnelRoleIndex);
+        }
+        return personnelRoleIndex;
+    }
+
     public Iterable<Ancestors> getAncestors() {
         return ancestors.values();
     }
@@ -1442,6 +1479,7 @@ public class Campaign implements Serializable, ITechManager {
             }
         }
         parts.put(Integer.valueOf(id), p);
+        sparePartIndex.update(p);
         lastPartId = id;
         MekHQ.triggerEvent(new PartNewEvent(p));
     }
@@ -1539,6 +1577,7 @@ public class Campaign implements Serializable, ITechManager {
         }
 
         parts.put(p.getId(), p);
+        sparePartIndex.update(p);
         MekHQ.triggerEvent(new PartNewEvent(p));
     }
 
@@ -1549,104 +1588,21 @@ public class Campaign implements Serializable, ITechManager {
         return parts.values();
     }
 
-    private int getQuantity(Part p) {
-        if(p instanceof Armor) {
-            return ((Armor) p).getAmount();
-        }
-        if(p instanceof AmmoStorage) {
-            return ((AmmoStorage) p).getShots();
-        }
-        return ((p.getUnit() != null) || (p.getUnitId() != null)) ? 1 : p.getQuantity();
-    }
-
-    private PartInUse getPartInUse(Part p) {
-        // SI isn't a proper "part"
-        if (p instanceof StructuralIntegrity) {
-            return null;
-        }
-        // Makes no sense buying those separately from the chasis
-        if((p instanceof EquipmentPart)
-                && ((EquipmentPart) p).getType() != null
-                && (((EquipmentPart) p).getType().hasFlag(MiscType.F_CHASSIS_MODIFICATION)))
-        {
-            return null;
-        }
-        // Replace a "missing" part with a corresponding "new" one.
-        if(p instanceof MissingPart) {
-            p = ((MissingPart) p).getNewPart();
-        }
-        PartInUse result = new PartInUse(p);
-        return (null != result.getPartToBuy()) ? result : null;
-    }
-
-    private void updatePartInUseData(PartInUse piu, Part p) {
-        if ((p.getUnit() != null) || (p.getUnitId() != null) || (p instanceof MissingPart)) {
-            piu.setUseCount(piu.getUseCount() + getQuantity(p));
-        } else {
-            if(p.isPresent()) {
-                piu.setStoreCount(piu.getStoreCount() + getQuantity(p));
-            } else {
-                piu.setTransferCount(piu.getTransferCount() + getQuantity(p));
-            }
+    private synchronized PartsInUseTracker getPartsInUseTracker() {
+        if (null == partsInUseTracker) {
+            partsInUseTracker = new PartsInUseTracker(this);
+            MekHQ.registerHandler(partsInUseTracker);
         }
+        return partsInUseTracker;
     }
 
     /** Update the piu with the current campaign data */
     public void updatePartInUse(PartInUse piu) {
-        piu.setUseCount(0);
-        piu.setStoreCount(0);
-        piu.setTransferCount(0);
-        piu.setPlannedCount(0);
-        for(Part p : getParts()) {
-            PartInUse newPiu = getPartInUse(p);
-            if(piu.equals(newPiu)) {
-                updatePartInUseData(piu, p);
-            }
-        }
-        for(IAcquisitionWork maybePart : shoppingList.getPartList()) {
-            PartInUse newPiu = getPartInUse((Part) maybePart);
-            if(piu.equals(newPiu)) {
-                piu.setPlannedCount(piu.getPlannedCount()
-                        + getQuantity((maybePart instanceof MissingPart) ? ((MissingPart) maybePart).getNewPart()
-                                : (Part) maybePart) * maybePart.getQuantity());
-            }
-        }
+        getPartsInUseTracker().updatePartInUse(piu);
     }
 
     public Set<PartInUse> getPartsInUse() {
-        // java.util.Set doesn't supply a get(Object) method, so we have to use a java.util.Map
-        Map<PartInUse, PartInUse> inUse = new HashMap<PartInUse, PartInUse>();
-        for(Part p : getParts()) {
-            PartInUse piu = getPartInUse(p);
-            if(null == piu) {
-                continue;
-            }
-            if( inUse.containsKey(piu) ) {
-                piu = inUse.get(piu);
-            } else {
-                inUse.put(piu, piu);
-            }
-            updatePartInUseData(piu, p);
-        }
-        for(IAcquisitionWork maybePart : shoppingList.getPartList()) {
-            if(!(maybePart instanceof Part)) {
-                continue;
-            }
-            PartInUse piu = getPartInUse((Part) maybePart);
-            if(null == piu) {
-                continue;
-            }
-            if( inUse.containsKey(piu) ) {
-                piu = inUse.get(piu);
-            } else {
-                inUse.put(piu, piu);
-            }
-            piu.setPlannedCount(piu.getPlannedCount()
-                    + getQuantity((maybePart instanceof MissingPart) ? ((MissingPart) maybePart).getNewPart()
-                            : (Part) maybePart) * maybePart.getQuantity());
-
-        }
-        return inUse.keySet();
+        return getPartsInUseTracker().getPartsInUse();
     }
 
     public Part getPart(int id) {
@@ -1666,6 +1622,9 @@ public class Campaign implements Serializable, ITechManager {
     }
 
     public String getCurrentReportHTML() {
+        if (null == currentReportHTML) {
+            currentReportHTML = Utilities.combineString(currentReport, REPORT_LINEBREAK);
+        }
         return currentReportHTML;
     }
 
@@ -1696,9 +1655,8 @@ public class Campaign implements Serializable, ITechManager {
     public Person findBestInRole(int role, String primary, String secondary) {
         int highest = 0;
         Person retVal = null;
-        for (Person p : getPersonnel()) {
-            if (p.isActive() && (p.getPrimaryRole() == role || p.getSecondaryRole() == role)
-                    && p.getSkill(primary) != null) {
+        for (Person p : getPersonnelRoleIndex().getPersonnelInRole(role)) {
+            if (p.isActive() && p.getSkill(primary) != null) {
                 if (p.getSkill(primary).getLevel() > highest) {
                     retVal = p;
                     highest = p.getSkill(primary).getLevel();
@@ -1751,17 +1709,13 @@ public class Campaign implements Serializable, ITechManager {
             techs.add(firstTech);
         }
 
-        for (Person p : getPersonnel()) {
+        for (Person p : getPersonnelRoleIndex().getTechs()) {
             if (p.isTech() && p.isActive() && (!p.equals(firstTech)) && (!noZeroMinute || (p.getMinutesLeft() > 0))) {
                 techs.add(p);
             }
         }
-        // also need to loop through and collect engineers on self-crewed vessels
-        for (Unit u : getUnits()) {
-            if (u.isSelfCrewed() && !(u.getEntity() instanceof Infantry) && null != u.getEngineer()) {
-                techs.add(u.getEngineer());
-            }
-        }
+        // also need to collect engineers on self-crewed vessels
+        techs.addAll(getPersonnelRoleIndex().getEngineers());
 
         // Return the tech collection sorted worst to best
         // Reverse the sort if we've been asked for best to worst
@@ -1829,8 +1783,8 @@ public class Campaign implements Serializable, ITechManager {
 
     public List<Person> getAdmins() {
         List<Person> admins = new ArrayList<Person>();
-        for (Person p : getPersonnel()) {
-            if (p.isAdmin() && p.isActive()) {
+        for (Person p : getPersonnelRoleIndex().getAdmins()) {
+            if (p.isActive()) {
                 admins.add(p);
             }
         }
@@ -1852,7 +1806,7 @@ public class Campaign implements Serializable, ITechManager {
 
     public ArrayList<Person> getDoctors() {
         ArrayList<Person> docs = new ArrayList<Person>();
-        for (Person p : getPersonnel()) {
+        for (Person p : getPersonnelRoleIndex().getDoctors()) {
             if (p.isDoctor() && p.isActive()) {
                 docs.add(p);
             }
@@ -3075,6 +3029,7 @@ public class Campaign implements Serializable, ITechManager {
         calendar.add(Calendar.DAY_OF_MONTH, 1);
         currentReport.clear();
         currentReportHTML = "";
+        droppedReportLines = 0;
         newReports.clear();
         beginReport("<b>" + getDateAsString() + "</b>");
 
@@ -3377,6 +3332,7 @@ public class Campaign implements Serializable, ITechManager {
             return;
         }
         parts.remove(Integer.valueOf(part.getId()));
+        sparePartIndex.remove(part);
         //remove child parts as well
         for(int childId : part.getChildPartIds()) {
             Part childPart = getPart(childId);
@@ -3602,17 +3558,18 @@ public class Campaign implements Serializable, ITechManager {
         retainerEmployerCode = code;
     }
 
-    private void addInMemoryLogHistory(LogEntry le) {
-        if (inMemoryLogHistory.size() != 0) {
-            long diff = le.getDate().getTime() - inMemoryLogHistory.get(0).getDate().getTime();
-            while ((diff / (1000 * 60 * 60 * 24)) > HistoricalDailyReportDialog.MAX_DAYS_HISTORY) {
-                //we've hit the max size for the in-memory based on the UI display limit
-                //prune the oldest entry
-                inMemoryLogHistory.remove(0);
-                diff = le.getDate().getTime() - inMemoryLogHistory.get(0).getDate().getTime();
-            }
+    /**
+     * @return the history of the daily reports of this campaign, which is stored in the journals
+     *         folder of the campaigns directory
+     */
+    public synchronized DailyReportJournal getReportJournal() {
+        if (null == reportJournal) {
+            String directory = (null != MekHQ.getCampaignsDirectory())
+                    ? MekHQ.getCampaignsDirectory().getValue() : "./campaigns"; //$NON-NLS-1$
+            reportJournal = new DailyReportJournal(new File(directory + "/journals", //$NON-NLS-1$
+                    id + ".reports")); //$NON-NLS-1$
         }
-        inMemoryLogHistory.add(le);
+        return reportJournal;
     }
 
     /**
@@ -3621,8 +3578,7 @@ public class Campaign implements Serializable, ITechManager {
      */
     public void beginReport(String r) {
         if (this.getCampaignOptions().historicalDailyLog()) {
-            //add the new items to our in-memory cache
-            addInMemoryLogHistory(new HistoricalLogEntry(getDate(), ""));
+            getReportJournal().beginDay(getDate());
         }
         addReportInternal(r);
     }
@@ -3633,24 +3589,39 @@ public class Campaign implements Serializable, ITechManager {
      */
     public void addReport(String r) {
         if (this.getCampaignOptions().historicalDailyLog()) {
-            addInMemoryLogHistory(new HistoricalLogEntry(getDate(), r));
+            getReportJournal().addLine(getDate(), r);
         }
         addReportInternal(r);
     }
 
     private void addReportInternal(String r) {
-        currentReport.add(r);
-        if( currentReportHTML.length() > 0 ) {
-            currentReportHTML = currentReportHTML + REPORT_LINEBREAK + r;
+        if (!currentReport.isEmpty()) {
             newReports.add(REPORT_LINEBREAK);
-            newReports.add(r);
-        } else {
-            currentReportHTML = r;
-            newReports.add(r);
         }
+        newReports.add(r);
+        currentReport.add(r);
+        if (currentReport.size() > MAX_REPORT_LINES) {
+            trimReport();
+        }
+        // the HTML is only put together when it is asked for
+        currentReportHTML = null;
         MekHQ.triggerEvent(new ReportEvent(this, r));
     }
 
+    /**
+     * Drops the oldest quarter of the daily report (after the heading of the day), so the report
+     * doesn't grow without bounds on busy days. The lines are dropped in one go to keep adding
+     * lines cheap.
+     */
+    private void trimReport() {
+        int dropped = MAX_REPORT_LINES / 4;
+        // the note about previously dropped lines goes as well
+        int end = 1 + dropped + ((droppedReportLines > 0) ? 1 : 0);
+        currentReport.subList(1, end).clear();
+        droppedReportLines += dropped;
+        currentReport.add(1, "<i>(" + droppedReportLines + " earlier entries omitted)</i>"); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
     public void addReports(ArrayList<String> reports) {
         for (String r : reports) {
             addReport(r);
@@ -3883,6 +3854,11 @@ public class Campaign implements Serializable, ITechManager {
 
 
     public void writeToXml(PrintWriter pw1) {
+        // the report history isn't part of the save, but should be as far along on disk
+        if (null != reportJournal) {
+            reportJournal.flush();
+        }
+
         // File header
         pw1.println("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
 
@@ -3954,6 +3930,9 @@ public class Campaign implements Serializable, ITechManager {
 
         pw1.println("\t</info>");
 
+        // Custom units go first, so they are known when the units are read
+        writeCustoms(pw1);
+
         // Campaign Options
         // private CampaignOptions campaignOptions = new CampaignOptions();
         if (getCampaignOptions() != null) {
@@ -4049,7 +4028,6 @@ public class Campaign implements Serializable, ITechManager {
         }
         pw1.println("\t</customPlanetaryEvents>");
 
-        writeCustoms(pw1);
         // Okay, we're done.
         // Close everything out and be done with it.
         pw1.println("</campaign>");
@@ -4804,13 +4782,14 @@ public class Campaign implements Serializable, ITechManager {
     }
 
     /**
-     * Use an A* algorithm to find the best path between two planets For right now, we are just going to minimize the number
-     * of jumps but we could extend this to take advantage of recharge information or other variables as well Based on
-     * http://www.policyalmanac.org/games/aStarTutorial.htm
+     * Finds the best path between two planets, minimizing the time spent recharging along the way.
+     * Paths from the current planet are taken from the {@link #getJumpRoutes() jump route table};
+     * paths from anywhere else are searched for in the same way, so they are the same routes.
      *
      * @param start
      * @param end
      * @return
+     * @see JumpGraph#findPath(Planet, Planet, DateTime)
      */
     public JumpPath calculateJumpPath(Planet start, Planet end) {
         if (null == start) {
@@ -4822,99 +4801,32 @@ public class Campaign implements Serializable, ITechManager {
             return jpath;
         }
 
-        String startKey = start.getId();
-        String endKey = end.getId();
-
-        final DateTime now = Utilities.getDateTimeDay(calendar);
-        String current = startKey;
-        Set<String> closed = new HashSet<>();
-        Set<String> open = new HashSet<>();
-        boolean found = false;
-        int jumps = 0;
-
-        // we are going to through and set up some hashes that will make our
-        // work easier
-        // hash of parent key
-        Map<String, String> parent = new HashMap<>();
-        // hash of H for each planet which will not change
-        Map<String, Double> scoreH = new HashMap<>();
-        // hash of G for each planet which might change
-        Map<String, Double> scoreG = new HashMap<>();
-
-        for (String key : Planets.getInstance().getPlanets().keySet()) {
-            scoreH.put(
-                    key,
-                    end.getDistanceTo(Planets.getInstance().getPlanets()
-                            .get(key)));
-        }
-        scoreG.put(current, 0.0);
-        closed.add(current);
-
-        while (!found && jumps < 10000) {
-            jumps++;
-            double currentG = scoreG.get(current) + Planets.getInstance().getPlanetById(current).getRechargeTime(now);
-
-            final String localCurrent = current;
-            Planets.getInstance().visitNearbyPlanets(Planets.getInstance().getPlanetById(current), 30, p -> {
-                if (closed.contains(p.getId())) {
-                    return;
-                } else if (open.contains(p.getId())) {
-                    // is the current G better than the existing G
-                    if (currentG < scoreG.get(p.getId())) {
-                        // then change G and parent
-                        scoreG.put(p.getId(), currentG);
-                        parent.put(p.getId(), localCurrent);
-                    }
-                } else {
-                    // put the current G for this one in memory
-                    scoreG.put(p.getId(), currentG);
-                    // put the parent in memory
-                    parent.put(p.getId(), localCurrent);
-                    open.add(p.getId());
-                }
-            });
-
-            String bestMatch = null;
-            double bestF = Double.POSITIVE_INFINITY;
-            for (String possible : open) {
-                // calculate F
-                double currentF = scoreG.get(possible) + scoreH.get(possible);
-                if (currentF < bestF) {
-                    bestMatch = possible;
-                    bestF = currentF;
-                }
-            }
-
-            current = bestMatch;
-            if(null == current) {
-                // We're done - probably failed to find anything
-                break;
-            }
-            
-            closed.add(current);
-            open.remove(current);
-            if (current.equals(endKey)) {
-                found = true;
-            }
+        // Routes from where we are now have already been calculated
+        if (start.equals(getCurrentPlanet())) {
+            return new JumpPath(new ArrayList<>(getJumpRoutes().getPath(end)));
         }
 
-        // now we just need to back up from the last current by parents until we
-        // hit null
-        List<Planet> path = new ArrayList<>();
-        String nextKey = current;
-        while (null != nextKey) {
-            path.add(Planets.getInstance().getPlanetById(nextKey));
-            // MekHQApp.logMessage(nextKey);
-            nextKey = parent.get(nextKey);
-        }
+        final DateTime now = Utilities.getDateTimeDay(calendar);
+        return new JumpPath(new ArrayList<>(Planets.getInstance().getJumpGraph().findPath(start, end, now)));
+    }
 
-        // now reverse the direaction
-        JumpPath finalPath = new JumpPath();
-        for (int i = (path.size() - 1); i >= 0; i--) {
-            finalPath.addPlanet(path.get(i));
+    /**
+     * Gets the best routes from the current planet to every other planet. The routes are calculated
+     * once and reused until the campaign moves to another planet or day, the planetary events are
+     * changed or the planets are reloaded.
+     *
+     * @return the routes from the current planet
+     */
+    public synchronized JumpRouteTable getJumpRoutes() {
+        final Planets planets = Planets.getInstance();
+        final JumpGraph graph = planets.getJumpGraph();
+        final DateTime now = Utilities.getDateTimeDay(calendar);
+        if ((null == jumpRoutes) || !jumpRoutes.isFor(graph, getCurrentPlanet(), now)
+                || (jumpRoutesEventRevision != planets.getEventRevision())) {
+            jumpRoutesEventRevision = planets.getEventRevision();
+            jumpRoutes = new JumpRouteTable(graph, getCurrentPlanet(), now);
         }
-
-        return finalPath;
+        return jumpRoutes;
     }
 
     public List<Planet> getAllReachablePlanetsFrom(Planet planet) {
@@ -6180,44 +6092,26 @@ public class Campaign implements Serializable, ITechManager {
         p.addLogEntry(entry);
     }
 
-    private ArrayList<String> getPossibleRandomPortraits (DirectoryItems portraits, ArrayList<String> existingPortraits, String subDir ) {
+    private ArrayList<String> getPossibleRandomPortraits (PortraitCatalog portraits, Set<String> existingPortraits, String subDir ) {
         ArrayList<String> possiblePortraits = new ArrayList<String>();
-        Iterator<String> categories = portraits.getCategoryNames();
-        while (categories.hasNext()) {
-            String category = categories.next();
-            if (category.endsWith(subDir)) {
-                Iterator<String> names = portraits.getItemNames(category);
-                while (names.hasNext()) {
-                    String name = names.next();
-                    String location = category + ":" + name;
-                    if (existingPortraits.contains(location)) {
-                        continue;
-                    }
-                    possiblePortraits.add(location);
-                }
+        for (String location : portraits.getPortraits(subDir)) {
+            if (existingPortraits.contains(location)) {
+                continue;
             }
+            possiblePortraits.add(location);
         }
         return possiblePortraits;
     }
 
     public void assignRandomPortraitFor(Person p) {
-        // first create a list of existing portait strings, so we can check for
+        // first create a set of existing portait strings, so we can check for
         // duplicates
-        ArrayList<String> existingPortraits = new ArrayList<String>();
+        Set<String> existingPortraits = new HashSet<String>();
         for (Person existingPerson : this.getPersonnel()) {
             existingPortraits.add(existingPerson.getPortraitCategory() + ":"
                     + existingPerson.getPortraitFileName());
         }
-        // TODO: it would be nice to pull the portraits directory from MekHQ
-        // itself
-        DirectoryItems portraits;
-        try {
-            portraits = new DirectoryItems(
-                    new File("data/images/portraits"), "", //$NON-NLS-1$ //$NON-NLS-2$
-                    PortraitFileFactory.getInstance());
-        } catch (Exception e) {
-            return;
-        }
+        PortraitCatalog portraits = PortraitCatalog.getInstance(app.getIconPackage().getPortraits());
         ArrayList<String> possiblePortraits = new ArrayList<String>();
 
         // Will search for portraits in the /gender/primaryrole folder first,
@@ -6364,15 +6258,23 @@ public class Campaign implements Serializable, ITechManager {
     }
 
     public Part checkForExistingSparePart(Part part) {
-        for (Part spare : parts.values()) {
-            if (!spare.isSpare() || spare.getId() == part.getId()) {
-                continue;
-            }
-            if (part.isSamePartTypeAndStatus(spare)) {
-                return spare;
-            }
+        // Parts usually call this when they are becoming spares, so make sure
+        // the part is indexed with its current type and status before looking for a match
+        updateSparePart(part);
+        return sparePartIndex.findSpareFor(part);
+    }
+
+    /**
+     * Adds a part of this campaign to the spare part index if it is a spare, under its
+     * current type and status, or removes it from the index if it is installed.
+     * Parts call this whenever they are installed, removed or change status.
+     *
+     * @param part the part to update
+     */
+    public void updateSparePart(Part part) {
+        if (getPart(part.getId()) == part) {
+            sparePartIndex.update(part);
         }
-        return null;
     }
 
     public void refreshNetworks() {
@@ -8093,6 +7995,21 @@ public class Campaign implements Serializable, ITechManager {
         atbEventProcessor.shutdown();
     }
 
+    /**
+     * Unregisters the event handlers of the campaign's caches. Called when the campaign
+     * is replaced by another one.
+     */
+    public synchronized void dispose() {
+        if (null != partsInUseTracker) {
+            partsInUseTracker.dispose();
+            partsInUseTracker = null;
+        }
+        if (null != personnelRoleIndex) {
+            personnelRoleIndex.dispose();
+            personnelRoleIndex = null;
+        }
+    }
+
     public boolean checkOverDueLoans() {
         Money overdueAmount = getFinances().checkOverdueLoanPayments(this);
         if (overdueAmount.isPositive()) {
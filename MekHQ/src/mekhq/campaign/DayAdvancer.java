@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2019 - The MegaMek Team
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Advances a campaign by several days, one day per call, without any user interface. The reports
+ * of the days advanced are collected and handed over in batches instead of one day at a time, so
+ * whoever displays them only has to do so every few days.
+ *
+ * Before each day the interrupt check is asked whether advancing should stop, which is where
+ * overdue loans, unresolved retirements and the like are to be dealt with.
+ *
+ * Advancing a day triggers campaign events whose handlers update the gui, so a gui has to call
+ * {@link #advanceDay()} on the event dispatching thread. Calling it once per event, rather than
+ * in a loop, lets the gui handle input in between days; it is still blocked while a day is being
+ * processed.
+ */
+public class DayAdvancer {
+    /** Decides whether to stop before advancing the next day */
+    @FunctionalInterface
+    public interface InterruptCheck {
+        boolean shouldStop(Campaign campaign);
+    }
+
+    /** Receives the reports of the days advanced since it was last called */
+    @FunctionalInterface
+    public interface ReportConsumer {
+        void accept(List<String> reports);
+    }
+
+    /** Separates the reports of consecutive days */
+    public static final String DAY_SEPARATOR = "<hr/>"; //$NON-NLS-1$
+
+    private final Campaign campaign;
+    private final InterruptCheck interruptCheck;
+    private final ReportConsumer reportConsumer;
+    private final int reportInterval;
+
+    private List<String> reports = new ArrayList<>();
+    private int daysAdvanced = 0;
+
+    /**
+     * @param campaign       the campaign to advance
+     * @param interruptCheck asked before each day whether to stop
+     * @param reportConsumer receives the collected reports
+     * @param reportInterval the number of days to collect reports for before handing them over
+     */
+    public DayAdvancer(Campaign campaign, InterruptCheck interruptCheck, ReportConsumer reportConsumer,
+            int reportInterval) {
+        this.campaign = campaign;
+        this.interruptCheck = interruptCheck;
+        this.reportConsumer = reportConsumer;
+        this.reportInterval = Math.max(1, reportInterval);
+    }
+
+    /**
+     * Advances the campaign by one day, unless the interrupt check or the campaign stops it.
+     * The reports are handed over every time the report interval has passed.
+     *
+     * @return whether the day was advanced
+     */
+    public boolean advanceDay() {
+        if (interruptCheck.shouldStop(campaign) || !campaign.newDay()) {
+            return false;
+        }
+        ++ daysAdvanced;
+        if (!reports.isEmpty()) {
+            reports.add(DAY_SEPARATOR);
+        }
+        reports.addAll(campaign.fetchAndClearNewReports());
+        if (daysAdvanced % reportInterval == 0) {
+            flushReports();
+        }
+        return true;
+    }
+
+    /**
+     * Hands over the reports collected since the last batch, if there are any. To be called
+     * once advancing has ended.
+     */
+    public void flushReports() {
+        if (!reports.isEmpty()) {
+            reportConsumer.accept(reports);
+            reports = new ArrayList<>();
+        }
+    }
+
+    /**
+     * @return the number of days advanced so far
+     */
+    public int getDaysAdvanced() {
+        return daysAdvanced;
+    }
+}
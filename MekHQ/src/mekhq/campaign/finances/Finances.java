@@ -69,6 +69,11 @@ public class Finances implements Serializable {
     private ResourceBundle resourceMap;
 
     private ArrayList<Transaction> transactions;
+    /**
+     * Running total of the transactions. Recalculated from the transactions when needed,
+     * e.g. after loading.
+     */
+    private transient Money balance;
     private ArrayList<Loan> loans;
     private ArrayList<Asset> assets;
     private int loanDefaults;
@@ -109,8 +114,52 @@ public class Finances implements Serializable {
     }
 
     public Money getBalance() {
-        Money balance = Money.zero();
-        return balance.plus(transactions.stream().map(Transaction::getAmount).collect(Collectors.toList()));
+        calculateBalance();
+        return balance;
+    }
+
+    private void calculateBalance() {
+        if (null != balance) {
+            return;
+        }
+        balance = Money.zero();
+        for (Transaction t : transactions) {
+            addToBalance(t, 1);
+        }
+    }
+
+    /** Adds (sign = 1) or removes (sign = -1) a transaction's amount from the balance */
+    private void addToBalance(Transaction t, int sign) {
+        if (null == balance) {
+            // calculated from scratch when next needed
+            return;
+        }
+        balance = balance.plus(t.getAmount().multipliedBy(sign));
+    }
+
+    private void addTransaction(Transaction t) {
+        transactions.add(t);
+        addToBalance(t, 1);
+    }
+
+    /**
+     * Removes a transaction from the records.
+     * @param t the transaction to remove
+     */
+    public void voidTransaction(Transaction t) {
+        if (transactions.remove(t)) {
+            addToBalance(t, -1);
+        }
+    }
+
+    /**
+     * Updates the balance after a transaction has been changed in place.
+     * @param oldTransaction a copy of the transaction before the change
+     * @param t              the changed transaction
+     */
+    public void updateTransaction(Transaction oldTransaction, Transaction t) {
+        addToBalance(oldTransaction, -1);
+        addToBalance(t, 1);
     }
 
     public Money getLoanBalance() {
@@ -141,7 +190,7 @@ public class Finances implements Serializable {
             return false;
         }
         Transaction t = new Transaction(amount.multipliedBy(-1), category, reason, date);
-        transactions.add(t);
+        addTransaction(t);
         if (null != wentIntoDebt && !isInDebt()) {
             wentIntoDebt = null;
         }
@@ -151,7 +200,7 @@ public class Finances implements Serializable {
 
     public void credit(Money amount, int category, String reason, Date date) {
         Transaction t = new Transaction(amount, category, reason, date);
-        transactions.add(t);
+        addTransaction(t);
         if (null == wentIntoDebt && isInDebt()) {
             wentIntoDebt = date;
         }
@@ -166,6 +215,7 @@ public class Finances implements Serializable {
     public void newFiscalYear(Date date) {
         Money carryover = getBalance();
         transactions = new ArrayList<>();
+        balance = null;
         credit(carryover, Transaction.C_START, resourceMap.getString("Carryover.text"), date);
     }
 
@@ -183,10 +233,7 @@ public class Finances implements Serializable {
 
     public void writeToXml(PrintWriter pw1, int indent) {
         pw1.println(MekHqXmlUtil.indentStr(indent) + "<finances>");
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                +"<loanDefaults>"
-                +loanDefaults
-                +"</loanDefaults>");
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "loanDefaults", loanDefaults);
         for (Transaction trans : transactions) {
             trans.writeToXml(pw1, indent + 1);
         }
@@ -351,18 +351,9 @@ public class Force implements Serializable {
                 +"\" type=\""
                 +this.getClass().getName()
                 +"\">");
-        pw1.println(MekHqXmlUtil.indentStr(indent+1)
-                +"<name>"
-                +MekHqXmlUtil.escape(name)
-                +"</name>");
-        pw1.println(MekHqXmlUtil.indentStr(indent+1)
-                +"<desc>"
-                +MekHqXmlUtil.escape(desc)
-                +"</desc>");
-        pw1.println(MekHqXmlUtil.indentStr(indent+1)
-                +"<iconCategory>"
-                +MekHqXmlUtil.escape(iconCategory)
-                +"</iconCategory>");
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "name", name);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "desc", desc);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "iconCategory", iconCategory);
         if (iconCategory.equals(Force.ROOT_LAYERED)) {
             pw1.println(MekHqXmlUtil.indentStr(indent+1)
                     +"<iconHashMap>");
@@ -385,19 +376,10 @@ public class Force implements Serializable {
             pw1.println(MekHqXmlUtil.indentStr(indent+1)
                     +"</iconHashMap>");
         }
-        pw1.println(MekHqXmlUtil.indentStr(indent+1)
-                +"<iconFileName>"
-                +MekHqXmlUtil.escape(iconFileName)
-                +"</iconFileName>");
-        pw1.println(MekHqXmlUtil.indentStr(indent+1)
-                +"<scenarioId>"
-                +scenarioId
-                +"</scenarioId>");
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "iconFileName", iconFileName);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "scenarioId", scenarioId);
         if (techId != null) {
-            pw1.println(MekHqXmlUtil.indentStr(indent+1)
-                    +"<techId>"
-                    +techId.toString()
-                    +"</techId>");
+            MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "techId", techId);
         }
         if(units.size() > 0) {
             pw1.println(MekHqXmlUtil.indentStr(indent+1)
@@ -0,0 +1,379 @@
+/*
+ * Copyright (c) 2019 - The MegaMek Team
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.Deflater;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+import mekhq.MekHqXmlUtil;
+
+/**
+ * A campaign file (.cpnb) holding the same content as the XML of a campaign in a form which is
+ * smaller and quicker to read, for autosaves and the like; XML stays the format to exchange
+ * campaigns in. A snapshot converts to XML and back without losing anything but comments, and
+ * {@link CampaignXmlParser} reads snapshots directly through a {@link CampaignSnapshotReader}.
+ *
+ * The file starts with {@link #MAGIC}, the format version, the name and attributes of the root
+ * element and a table of contents listing every top-level section of the campaign with its
+ * position and size. Each section is then stored on its own, deflated, as a stream of tokens:
+ * <ul>
+ * <li>{@link #START}, the element name, the number of attributes and their names and values
+ * <li>{@link #END}
+ * <li>{@link #TEXT} and the text
+ * <li>{@link #END_OF_SECTION}
+ * </ul>
+ * Names and values are written in full the first time they come up in a section and referred to
+ * by number after that; ids are stored as 16 bytes in a dictionary of their own. As every section
+ * has its own dictionaries, the sections can be read independently of each other.
+ */
+public final class CampaignSnapshot {
+    /** The first bytes of a snapshot */
+    static final byte[] MAGIC = { 'C', 'P', 'N', 'B' };
+    /** The version of the format written; readers refuse files with a later version */
+    static final int FORMAT_VERSION = 1;
+    /** The longest name or attribute value in the header and table of contents, in bytes */
+    private static final int MAX_HEADER_STRING_LENGTH = 1 << 16;
+
+    static final int END_OF_SECTION = 0;
+    static final int START = 1;
+    static final int END = 2;
+    static final int TEXT = 3;
+
+    // a value is written as one of these, or as the number of a value read before plus VALUE_REF
+    static final int NEW_STRING = 0;
+    static final int NEW_UUID = 1;
+    static final int VALUE_REF = 2;
+
+    private CampaignSnapshot() {
+    }
+
+    /**
+     * @param is a stream supporting marks
+     * @return whether the stream starts with a snapshot; the stream is left where it was
+     */
+    public static boolean isSnapshot(InputStream is) throws IOException {
+        byte[] header = new byte[MAGIC.length];
+        is.mark(MAGIC.length);
+        int read = 0;
+        try {
+            while (read < header.length) {
+                int count = is.read(header, read, header.length - read);
+                if (count < 0) {
+                    return false;
+                }
+                read += count;
+            }
+        } finally {
+            is.reset();
+        }
+        for (int i = 0; i < MAGIC.length; ++ i) {
+            if (header[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Converts a campaign from XML to a snapshot.
+     *
+     * @param xml the XML of the campaign
+     * @param out where to write the snapshot to; it is left open
+     */
+    public static void fromXml(InputStream xml, OutputStream out) throws XMLStreamException, IOException {
+        XMLStreamReader reader = MekHqXmlUtil.createSafeXMLStreamReader(xml);
+        try {
+            reader.nextTag();
+            String rootName = reader.getLocalName();
+            List<String> rootAttributes = new ArrayList<>();
+            for (int i = 0; i < reader.getAttributeCount(); ++ i) {
+                rootAttributes.add(reader.getAttributeLocalName(i));
+                rootAttributes.add(reader.getAttributeValue(i));
+            }
+
+            List<String> names = new ArrayList<>();
+            List<byte[]> sections = new ArrayList<>();
+            List<Integer> sizes = new ArrayList<>();
+            SectionEncoder encoder = new SectionEncoder();
+            Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+            try {
+                while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                    names.add(reader.getLocalName());
+                    byte[] section = encoder.encode(reader);
+                    sizes.add(section.length);
+                    sections.add(deflate(deflater, section));
+                }
+            } finally {
+                deflater.end();
+            }
+
+            DataOutputStream data = new DataOutputStream(out);
+            data.write(MAGIC);
+            data.writeShort(FORMAT_VERSION);
+            writeString(data, rootName);
+            writeVarInt(data, rootAttributes.size() / 2);
+            for (String value : rootAttributes) {
+                writeString(data, value);
+            }
+            writeVarInt(data, sections.size());
+            long offset = 0;
+            for (int i = 0; i < sections.size(); ++ i) {
+                writeString(data, names.get(i));
+                writeVarLong(data, offset);
+                writeVarInt(data, sections.get(i).length);
+                writeVarInt(data, sizes.get(i));
+                offset += sections.get(i).length;
+            }
+            for (byte[] section : sections) {
+                data.write(section);
+            }
+            data.flush();
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Converts a snapshot back to XML, as written by {@link mekhq.campaign.Campaign#writeToXml}.
+     *
+     * @param snapshot the snapshot
+     * @param out      where to write the XML to, in UTF-8; it is left open
+     */
+    public static void toXml(InputStream snapshot, OutputStream out) throws XMLStreamException {
+        CampaignSnapshotReader reader = new CampaignSnapshotReader(snapshot);
+        XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(out, "UTF-8"); //$NON-NLS-1$
+        try {
+            writer.writeStartDocument("UTF-8", "1.0"); //$NON-NLS-1$ //$NON-NLS-2$
+            int depth = 0;
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        if (depth <= 1) {
+                            // sections go on lines of their own, as the whitespace between them isn't kept
+                            writer.writeCharacters((depth == 0) ? "\n" : "\n\t"); //$NON-NLS-1$ //$NON-NLS-2$
+                        }
+                        writer.writeStartElement(reader.getLocalName());
+                        for (int i = 0; i < reader.getAttributeCount(); ++ i) {
+                            writer.writeAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+                        }
+                        ++ depth;
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        -- depth;
+                        if (depth == 0) {
+                            writer.writeCharacters("\n"); //$NON-NLS-1$
+                        }
+                        writer.writeEndElement();
+                        break;
+                    case XMLStreamConstants.CHARACTERS:
+                        writer.writeCharacters(reader.getText());
+                        break;
+                    default:
+                        break;
+                }
+            }
+            writer.writeEndDocument();
+            writer.flush();
+        } finally {
+            writer.close();
+            reader.close();
+        }
+    }
+
+    private static byte[] deflate(Deflater deflater, byte[] data) {
+        deflater.reset();
+        deflater.setInput(data);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+            out.write(buffer, 0, deflater.deflate(buffer));
+        }
+        return out.toByteArray();
+    }
+
+    /** Turns elements into the tokens of a section */
+    private static class SectionEncoder {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 16);
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private final Map<String, Integer> strings = new HashMap<>();
+        private final Map<UUID, Integer> uuids = new HashMap<>();
+        private final StringBuilder text = new StringBuilder();
+
+        /**
+         * @param reader a reader at the start of a section; it is left at its end
+         * @return the tokens of the section
+         */
+        byte[] encode(XMLStreamReader reader) throws XMLStreamException, IOException {
+            bytes.reset();
+            strings.clear();
+            uuids.clear();
+            writeStart(reader);
+            int depth = 1;
+            while (depth > 0) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        writeText();
+                        writeStart(reader);
+                        ++ depth;
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        writeText();
+                        out.write(END);
+                        -- depth;
+                        break;
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.CDATA:
+                    case XMLStreamConstants.SPACE:
+                        text.append(reader.getText());
+                        break;
+                    default:
+                        break;
+                }
+            }
+            out.write(END_OF_SECTION);
+            out.flush();
+            return bytes.toByteArray();
+        }
+
+        private void writeStart(XMLStreamReader reader) throws IOException {
+            out.write(START);
+            writeValue(reader.getLocalName());
+            writeVarInt(out, reader.getAttributeCount());
+            for (int i = 0; i < reader.getAttributeCount(); ++ i) {
+                writeValue(reader.getAttributeLocalName(i));
+                writeValue(reader.getAttributeValue(i));
+            }
+        }
+
+        private void writeText() throws IOException {
+            if (text.length() > 0) {
+                out.write(TEXT);
+                writeValue(text.toString());
+                text.setLength(0);
+            }
+        }
+
+        private void writeValue(String value) throws IOException {
+            UUID uuid = toUUID(value);
+            if (null != uuid) {
+                Integer index = uuids.get(uuid);
+                if (null != index) {
+                    writeVarInt(out, VALUE_REF + index * 2 + 1);
+                } else {
+                    uuids.put(uuid, uuids.size());
+                    writeVarInt(out, NEW_UUID);
+                    out.writeLong(uuid.getMostSignificantBits());
+                    out.writeLong(uuid.getLeastSignificantBits());
+                }
+            } else {
+                Integer index = strings.get(value);
+                if (null != index) {
+                    writeVarInt(out, VALUE_REF + index * 2);
+                } else {
+                    strings.put(value, strings.size());
+                    writeVarInt(out, NEW_STRING);
+                    writeString(out, value);
+                }
+            }
+        }
+    }
+
+    /** @return the id the text is the usual form of, or null if it isn't one */
+    private static UUID toUUID(String value) {
+        if ((value.length() != 36) || (value.charAt(8) != '-') || (value.charAt(13) != '-')
+                || (value.charAt(18) != '-') || (value.charAt(23) != '-')) {
+            return null;
+        }
+        for (int i = 0; i < value.length(); ++ i) {
+            char c = value.charAt(i);
+            if ((c != '-') && ((c < '0') || (c > '9')) && ((c < 'a') || (c > 'f'))) {
+                return null;
+            }
+        }
+        // only ids which are written back the same way
+        UUID uuid = UUID.fromString(value);
+        return uuid.toString().equals(value) ? uuid : null;
+    }
+
+    static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, utf8.length);
+        out.write(utf8);
+    }
+
+    static int readVarInt(DataInput in) throws IOException {
+        long value = readVarLong(in);
+        if ((value < 0) || (value > Integer.MAX_VALUE)) {
+            throw new IOException("Number out of range: " + value); //$NON-NLS-1$
+        }
+        return (int) value;
+    }
+
+    static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed number"); //$NON-NLS-1$
+    }
+
+    static String readString(DataInput in) throws IOException {
+        int length = readVarInt(in);
+        if (length > MAX_HEADER_STRING_LENGTH) {
+            throw new IOException("String too long: " + length); //$NON-NLS-1$
+        }
+        byte[] utf8 = new byte[length];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,590 @@
+/*
+ * Copyright (c) 2019 - The MegaMek Team
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign.io;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.namespace.QName;
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Reads a {@link CampaignSnapshot} as if it was the XML it was made from, so the code reading
+ * campaign XML can read snapshots as well. The element names and attributes are read as they
+ * were written, without namespaces; the text of an element comes as a single
+ * {@link XMLStreamConstants#CHARACTERS} event, and there are no comments.
+ */
+public class CampaignSnapshotReader implements XMLStreamReader {
+    /** Where a snapshot is; the positions within its sections aren't known */
+    private static final Location LOCATION = new Location() {
+        @Override
+        public int getLineNumber() {
+            return -1;
+        }
+
+        @Override
+        public int getColumnNumber() {
+            return -1;
+        }
+
+        @Override
+        public int getCharacterOffset() {
+            return -1;
+        }
+
+        @Override
+        public String getPublicId() {
+            return null;
+        }
+
+        @Override
+        public String getSystemId() {
+            return null;
+        }
+    };
+
+    private static final NamespaceContext NO_NAMESPACES = new NamespaceContext() {
+        @Override
+        public String getNamespaceURI(String prefix) {
+            return XMLConstants.NULL_NS_URI;
+        }
+
+        @Override
+        public String getPrefix(String namespaceURI) {
+            return null;
+        }
+
+        @Override
+        public Iterator<String> getPrefixes(String namespaceURI) {
+            return Collections.emptyIterator();
+        }
+    };
+
+    private final DataInputStream in;
+    private final String rootName;
+    private final String[] rootAttributes;
+    /** The compressed and uncompressed sizes of the sections still to read */
+    private final int[] compressedSizes;
+    private final int[] sizes;
+    private int nextSection = 0;
+
+    private final Inflater inflater = new Inflater();
+    /** The tokens of the section being read */
+    private byte[] section;
+    private int position;
+    private final List<String> strings = new ArrayList<>();
+    private final List<String> uuids = new ArrayList<>();
+
+    private int eventType = XMLStreamConstants.START_DOCUMENT;
+    private final Deque<String> openElements = new ArrayDeque<>();
+    private String name;
+    /** The names and values of the attributes of the current element, one after the other */
+    private String[] attributes = new String[16];
+    private int attributeCount;
+    private String text;
+
+    /**
+     * Reads the table of contents of the snapshot; the sections are read as they are reached.
+     *
+     * @throws XMLStreamException if the stream doesn't hold a snapshot this version can read
+     */
+    public CampaignSnapshotReader(InputStream is) throws XMLStreamException {
+        in = new DataInputStream((is instanceof BufferedInputStream) ? is : new BufferedInputStream(is));
+        try {
+            byte[] magic = new byte[CampaignSnapshot.MAGIC.length];
+            in.readFully(magic);
+            if (!Arrays.equals(magic, CampaignSnapshot.MAGIC)) {
+                throw new XMLStreamException("Not a campaign snapshot"); //$NON-NLS-1$
+            }
+            int version = in.readUnsignedShort();
+            if (version > CampaignSnapshot.FORMAT_VERSION) {
+                throw new XMLStreamException("Unsupported campaign snapshot version " + version); //$NON-NLS-1$
+            }
+            rootName = CampaignSnapshot.readString(in);
+            rootAttributes = new String[CampaignSnapshot.readVarInt(in) * 2];
+            for (int i = 0; i < rootAttributes.length; ++ i) {
+                rootAttributes[i] = CampaignSnapshot.readString(in);
+            }
+            int sectionCount = CampaignSnapshot.readVarInt(in);
+            compressedSizes = new int[sectionCount];
+            sizes = new int[sectionCount];
+            long expectedOffset = 0;
+            for (int i = 0; i < sectionCount; ++ i) {
+                CampaignSnapshot.readString(in);
+                long offset = CampaignSnapshot.readVarLong(in);
+                compressedSizes[i] = CampaignSnapshot.readVarInt(in);
+                sizes[i] = CampaignSnapshot.readVarInt(in);
+                // the sections are read one after the other, so they have to be stored that way
+                if (offset != expectedOffset) {
+                    throw new XMLStreamException("Campaign snapshot sections out of order"); //$NON-NLS-1$
+                }
+                expectedOffset += compressedSizes[i];
+            }
+        } catch (IOException ex) {
+            throw new XMLStreamException(ex);
+        }
+    }
+
+    @Override
+    public int next() throws XMLStreamException {
+        switch (eventType) {
+            case XMLStreamConstants.START_DOCUMENT:
+                startElement(rootName, rootAttributes, rootAttributes.length / 2);
+                return eventType;
+            case XMLStreamConstants.END_DOCUMENT:
+                throw new XMLStreamException("No more events"); //$NON-NLS-1$
+            default:
+                break;
+        }
+        if (openElements.isEmpty()) {
+            eventType = XMLStreamConstants.END_DOCUMENT;
+            return eventType;
+        }
+        try {
+            do {
+                while ((null == section) || (position >= section.length)) {
+                    if (nextSection >= sizes.length) {
+                        endElement();
+                        return eventType;
+                    }
+                    readSection();
+                }
+            } while (!readToken());
+        } catch (IOException | DataFormatException | IndexOutOfBoundsException ex) {
+            throw new XMLStreamException("Corrupt campaign snapshot", ex); //$NON-NLS-1$
+        }
+        return eventType;
+    }
+
+    private void readSection() throws IOException, DataFormatException {
+        byte[] compressed = new byte[compressedSizes[nextSection]];
+        in.readFully(compressed);
+        section = new byte[sizes[nextSection]];
+        inflater.reset();
+        inflater.setInput(compressed);
+        int inflated = 0;
+        while (inflated < section.length) {
+            int count = inflater.inflate(section, inflated, section.length - inflated);
+            if ((count == 0) && (inflater.finished() || inflater.needsInput())) {
+                throw new DataFormatException("Campaign snapshot section too short"); //$NON-NLS-1$
+            }
+            inflated += count;
+        }
+        position = 0;
+        strings.clear();
+        uuids.clear();
+        ++ nextSection;
+    }
+
+    /** @return whether the token was an event, rather than the end of the section */
+    private boolean readToken() throws IOException {
+        int token = section[position ++];
+        switch (token) {
+            case CampaignSnapshot.START: {
+                String elementName = readValue();
+                int count = readVarInt();
+                if (attributes.length < count * 2) {
+                    attributes = new String[count * 2];
+                }
+                for (int i = 0; i < count * 2; ++ i) {
+                    attributes[i] = readValue();
+                }
+                startElement(elementName, attributes, count);
+                break;
+            }
+            case CampaignSnapshot.END:
+                if (openElements.size() <= 1) {
+                    // the root element is only closed after the last section
+                    throw new IOException("Unmatched end tag"); //$NON-NLS-1$
+                }
+                endElement();
+                break;
+            case CampaignSnapshot.TEXT:
+                text = readValue();
+                eventType = XMLStreamConstants.CHARACTERS;
+                break;
+            case CampaignSnapshot.END_OF_SECTION:
+                section = null;
+                return false;
+            default:
+                throw new IOException("Unknown token " + token); //$NON-NLS-1$
+        }
+        return true;
+    }
+
+    private void startElement(String elementName, String[] elementAttributes, int count) {
+        if (elementAttributes != attributes) {
+            if (attributes.length < count * 2) {
+                attributes = new String[count * 2];
+            }
+            System.arraycopy(elementAttributes, 0, attributes, 0, count * 2);
+        }
+        name = elementName;
+        attributeCount = count;
+        openElements.push(elementName);
+        eventType = XMLStreamConstants.START_ELEMENT;
+    }
+
+    private void endElement() {
+        name = openElements.pop();
+        attributeCount = 0;
+        eventType = XMLStreamConstants.END_ELEMENT;
+    }
+
+    private String readValue() throws IOException {
+        int code = readVarInt();
+        switch (code) {
+            case CampaignSnapshot.NEW_STRING: {
+                int length = readVarInt();
+                if (length > section.length - position) {
+                    throw new IOException("String longer than its section"); //$NON-NLS-1$
+                }
+                String value = new String(section, position, length, StandardCharsets.UTF_8);
+                position += length;
+                strings.add(value);
+                return value;
+            }
+            case CampaignSnapshot.NEW_UUID: {
+                String value = new UUID(readLong(), readLong()).toString();
+                uuids.add(value);
+                return value;
+            }
+            default: {
+                int index = code - CampaignSnapshot.VALUE_REF;
+                return ((index & 1) == 0) ? strings.get(index >> 1) : uuids.get(index >> 1);
+            }
+        }
+    }
+
+    private int readVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = section[position ++];
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    break;
+                }
+                return value;
+            }
+        }
+        throw new IOException("Malformed number"); //$NON-NLS-1$
+    }
+
+    private long readLong() {
+        long value = 0;
+        for (int i = 0; i < 8; ++ i) {
+            value = (value << 8) | (section[position ++] & 0xFF);
+        }
+        return value;
+    }
+
+    @Override
+    public int nextTag() throws XMLStreamException {
+        int event = next();
+        while (((event == XMLStreamConstants.CHARACTERS) && isWhiteSpace())
+                || (event == XMLStreamConstants.SPACE)) {
+            event = next();
+        }
+        if ((event != XMLStreamConstants.START_ELEMENT) && (event != XMLStreamConstants.END_ELEMENT)) {
+            throw new XMLStreamException("Expected a start or end tag"); //$NON-NLS-1$
+        }
+        return event;
+    }
+
+    @Override
+    public String getElementText() throws XMLStreamException {
+        require(XMLStreamConstants.START_ELEMENT, null, null);
+        StringBuilder content = new StringBuilder();
+        while (next() != XMLStreamConstants.END_ELEMENT) {
+            if (eventType != XMLStreamConstants.CHARACTERS) {
+                throw new XMLStreamException("Element text contains an element"); //$NON-NLS-1$
+            }
+            content.append(text);
+        }
+        return content.toString();
+    }
+
+    @Override
+    public void require(int type, String namespaceURI, String localName) throws XMLStreamException {
+        if ((type != eventType) || ((null != localName) && !localName.equals(getLocalName()))
+                || ((null != namespaceURI) && !namespaceURI.isEmpty())) {
+            throw new XMLStreamException("Unexpected event " + eventType); //$NON-NLS-1$
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return eventType != XMLStreamConstants.END_DOCUMENT;
+    }
+
+    @Override
+    public void close() throws XMLStreamException {
+        inflater.end();
+    }
+
+    @Override
+    public Object getProperty(String property) {
+        return null;
+    }
+
+    @Override
+    public int getEventType() {
+        return eventType;
+    }
+
+    @Override
+    public boolean isStartElement() {
+        return eventType == XMLStreamConstants.START_ELEMENT;
+    }
+
+    @Override
+    public boolean isEndElement() {
+        return eventType == XMLStreamConstants.END_ELEMENT;
+    }
+
+    @Override
+    public boolean isCharacters() {
+        return eventType == XMLStreamConstants.CHARACTERS;
+    }
+
+    @Override
+    public boolean isWhiteSpace() {
+        if (eventType != XMLStreamConstants.CHARACTERS) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); ++ i) {
+            if (!Character.isWhitespace(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean hasName() {
+        return (eventType == XMLStreamConstants.START_ELEMENT) || (eventType == XMLStreamConstants.END_ELEMENT);
+    }
+
+    @Override
+    public String getLocalName() {
+        if (!hasName()) {
+            throw new IllegalStateException("Not at an element"); //$NON-NLS-1$
+        }
+        return name;
+    }
+
+    @Override
+    public QName getName() {
+        return new QName(getLocalName());
+    }
+
+    @Override
+    public String getNamespaceURI() {
+        return null;
+    }
+
+    @Override
+    public String getPrefix() {
+        return null;
+    }
+
+    @Override
+    public int getAttributeCount() {
+        if (eventType != XMLStreamConstants.START_ELEMENT) {
+            throw new IllegalStateException("Not at a start tag"); //$NON-NLS-1$
+        }
+        return attributeCount;
+    }
+
+    @Override
+    public String getAttributeLocalName(int index) {
+        checkAttribute(index);
+        return attributes[index * 2];
+    }
+
+    @Override
+    public String getAttributeValue(int index) {
+        checkAttribute(index);
+        return attributes[index * 2 + 1];
+    }
+
+    @Override
+    public String getAttributeValue(String namespaceURI, String localName) {
+        for (int i = 0; i < getAttributeCount(); ++ i) {
+            if (attributes[i * 2].equals(localName)) {
+                return attributes[i * 2 + 1];
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public QName getAttributeName(int index) {
+        return new QName(getAttributeLocalName(index));
+    }
+
+    @Override
+    public String getAttributeNamespace(int index) {
+        checkAttribute(index);
+        return null;
+    }
+
+    @Override
+    public String getAttributePrefix(int index) {
+        checkAttribute(index);
+        return null;
+    }
+
+    @Override
+    public String getAttributeType(int index) {
+        checkAttribute(index);
+        return "CDATA"; //$NON-NLS-1$
+    }
+
+    @Override
+    public boolean isAttributeSpecified(int index) {
+        checkAttribute(index);
+        return true;
+    }
+
+    private void checkAttribute(int index) {
+        if ((index < 0) || (index >= getAttributeCount())) {
+            throw new IndexOutOfBoundsException("No attribute " + index); //$NON-NLS-1$
+        }
+    }
+
+    @Override
+    public int getNamespaceCount() {
+        return 0;
+    }
+
+    @Override
+    public String getNamespacePrefix(int index) {
+        throw new IndexOutOfBoundsException("No namespace " + index); //$NON-NLS-1$
+    }
+
+    @Override
+    public String getNamespaceURI(int index) {
+        throw new IndexOutOfBoundsException("No namespace " + index); //$NON-NLS-1$
+    }
+
+    @Override
+    public String getNamespaceURI(String prefix) {
+        return null;
+    }
+
+    @Override
+    public NamespaceContext getNamespaceContext() {
+        return NO_NAMESPACES;
+    }
+
+    @Override
+    public boolean hasText() {
+        return eventType == XMLStreamConstants.CHARACTERS;
+    }
+
+    @Override
+    public String getText() {
+        if (!hasText()) {
+            throw new IllegalStateException("Not at text"); //$NON-NLS-1$
+        }
+        return text;
+    }
+
+    @Override
+    public char[] getTextCharacters() {
+        return getText().toCharArray();
+    }
+
+    @Override
+    public int getTextCharacters(int sourceStart, char[] target, int targetStart, int length) {
+        int count = Math.min(length, getText().length() - sourceStart);
+        text.getChars(sourceStart, sourceStart + count, target, targetStart);
+        return count;
+    }
+
+    @Override
+    public int getTextStart() {
+        return 0;
+    }
+
+    @Override
+    public int getTextLength() {
+        return getText().length();
+    }
+
+    @Override
+    public Location getLocation() {
+        return LOCATION;
+    }
+
+    @Override
+    public String getEncoding() {
+        return null;
+    }
+
+    @Override
+    public String getVersion() {
+        return null;
+    }
+
+    @Override
+    public boolean isStandalone() {
+        return false;
+    }
+
+    @Override
+    public boolean standaloneSet() {
+        return false;
+    }
+
+    @Override
+    public String getCharacterEncodingScheme() {
+        return null;
+    }
+
+    @Override
+    public String getPITarget() {
+        return null;
+    }
+
+    @Override
+    public String getPIData() {
+        return null;
+    }
+}
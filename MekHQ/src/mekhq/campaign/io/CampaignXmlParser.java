@@ -18,6 +18,7 @@
  */
 package mekhq.campaign.io;
 
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -27,16 +28,29 @@ import java.io.PrintStream;
 import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.w3c.dom.DOMException;
 import org.w3c.dom.Document;
@@ -115,9 +129,34 @@ import mekhq.module.atb.AtBEventProcessor;
 
 public class CampaignXmlParser {
 
+    /** The most units parsed ahead of the ones added to the campaign, to limit the memory needed */
+    private static final int MAX_PENDING_UNITS = 64;
+
     private InputStream is;
     private MekHQ app;
 
+    /** Creates the DOM nodes for the parts of the file which are still processed as DOM */
+    private Document document;
+    /** Creates a separate document for each unit, as documents can't be shared between threads */
+    private DocumentBuilder documentBuilder;
+    /** Whether the unit data has been loaded, and whether custom units were written since */
+    private boolean mechDataLoaded = false;
+    private boolean customsChanged = false;
+    /** The units which couldn't be loaded before the custom units were read */
+    private final List<DeferredUnit> deferredUnits = new ArrayList<>();
+    /** The ids of the deferred units, as written in the file */
+    private final Set<String> deferredUnitIds = new HashSet<>();
+    /** The parts of the deferred units, which are added once their units are */
+    private final List<Node> deferredParts = new ArrayList<>();
+    /** The units in the order they are in the file, with a null for each deferred unit */
+    private final List<Unit> unitsInFileOrder = new ArrayList<>();
+    /** Parses units on several threads while the file is being read */
+    private ExecutorService unitParser;
+    /** The number of threads parsing units, or 0 to parse them on the reading thread */
+    private int unitParserThreads = Runtime.getRuntime().availableProcessors();
+    /** The units being parsed, in the order they are in the file */
+    private final Queue<PendingUnit> pendingUnits = new ArrayDeque<>();
+
     public CampaignXmlParser(InputStream is, MekHQ app) {
         this.is = is;
         this.app = app;
@@ -128,7 +167,30 @@ public class CampaignXmlParser {
     }
 
     /**
-     * Designed to create a campaign object from an input stream containing an XML structure.
+     * Sets the number of threads parsing units while the file is read.
+     *
+     * @param threads the number of threads, or 0 to parse the units on the reading thread
+     */
+    void setUnitParserThreads(int threads) {
+        unitParserThreads = Math.max(0, threads);
+    }
+
+    /**
+     * @return a reader for the campaign, which may be XML or a {@link CampaignSnapshot}
+     */
+    private XMLStreamReader openReader() throws XMLStreamException, IOException {
+        if (!is.markSupported()) {
+            is = new BufferedInputStream(is);
+        }
+        if (CampaignSnapshot.isSnapshot(is)) {
+            return new CampaignSnapshotReader(is);
+        }
+        return MekHqXmlUtil.createSafeXMLStreamReader(is);
+    }
+
+    /**
+     * Designed to create a campaign object from an input stream containing an XML structure,
+     * or a {@link CampaignSnapshot} of one.
      *
      * @return The created Campaign object, or null if there was a problem.
      * @throws CampaignXmlParseException Thrown when there was a problem parsing the CPNX file
@@ -143,197 +205,156 @@ public class CampaignXmlParser {
         Campaign retVal = new Campaign();
         retVal.setApp(app);
 
-        Document xmlDoc = null;
+        Version version;
+        boolean foundPersonnelMarket = false;
+        boolean foundContractMarket = false;
+        boolean foundUnitMarket = false;
 
+        // The file is read as a stream, one top-level section at a time. Only the smaller sections
+        // are turned into DOM trees as a whole; the lists of units, personnel, parts and so on are
+        // handed over one element at a time, so the whole file never needs to be held in memory.
+        XMLStreamReader reader = null;
         try {
-            // Using factory get an instance of document builder
-            DocumentBuilder db = MekHqXmlUtil.newSafeDocumentBuilder();
-
-            // Parse using builder to get DOM representation of the XML file
-            xmlDoc = db.parse(is);
-        } catch (Exception ex) {
-            MekHQ.getLogger().error(CampaignXmlParser.class, METHOD_NAME, ex);
-
-            throw new CampaignXmlParseException(ex);
-        }
-
-        Element campaignEle = xmlDoc.getDocumentElement();
-        NodeList nl = campaignEle.getChildNodes();
-
-        // Get rid of empty text nodes and adjacent text nodes...
-        // Stupid weird parsing of XML. At least this cleans it up.
-        campaignEle.normalize();
-
-        Version version = new Version(campaignEle.getAttribute("version"));
-
-        // we need to iterate through three times, the first time to collect
-        // any custom units that might not be written yet
-        for (int x = 0; x < nl.getLength(); x++) {
-            Node wn = nl.item(x);
-
-            if (wn.getParentNode() != campaignEle) {
-                continue;
-            }
+            reader = openReader();
+            documentBuilder = MekHqXmlUtil.newSafeDocumentBuilder();
+            document = documentBuilder.newDocument();
 
-            int xc = wn.getNodeType();
+            reader.nextTag();
+            String versionString = reader.getAttributeValue(null, "version"); //$NON-NLS-1$
+            version = new Version((null != versionString) ? versionString : ""); //$NON-NLS-1$
 
-            if (xc == Node.ELEMENT_NODE) {
-                // This is what we really care about.
-                // All the meat of our document is in this node type, at this
-                // level.
-                // Okay, so what element is it?
-                String xn = wn.getNodeName();
+            while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                String xn = reader.getLocalName();
 
                 if (xn.equalsIgnoreCase("info")) { // This is needed so that the campaign name gets set in retVal
-                    try {
-                        processInfoNode(retVal, wn, version);
-                    } catch (DOMException e) {
-                        throw new CampaignXmlParseException(e);
-                    }
+                    processInfoNode(retVal, MekHqXmlUtil.readElement(reader, document), version);
+                    continue;
                 } else if (xn.equalsIgnoreCase("custom")) {
-                    processCustom(retVal, wn);
+                    processCustom(retVal, MekHqXmlUtil.readElement(reader, document));
+                    customsChanged = mechDataLoaded;
+                    continue;
                 }
-            } else {
-                // If it's a text node or attribute or whatever at this level,
-                // it's probably white-space.
-                // We can safely ignore it even if it isn't, for now.
-                continue;
-            }
-        }
-        MechSummaryCache.getInstance().loadMechData();
 
-        // the second time to check for any null entities
-        for (int x = 0; x < nl.getLength(); x++) {
-            Node wn = nl.item(x);
-
-            if (wn.getParentNode() != campaignEle) {
-                continue;
-            }
-
-            int xc = wn.getNodeType();
-
-            if (xc == Node.ELEMENT_NODE) {
-                // This is what we really care about.
-                // All the meat of our document is in this node type, at this
-                // level.
-                // Okay, so what element is it?
-                String xn = wn.getNodeName();
+                // Custom units are written right after the campaign info; files written before that
+                // have them at the end, and units using them get deferred until they are known
+                if (!mechDataLoaded) {
+                    MechSummaryCache.getInstance().loadMechData();
+                    mechDataLoaded = true;
+                }
 
                 if (xn.equalsIgnoreCase("units")) {
-                    String missingList = checkUnits(wn);
-                    if (null != missingList) {
-                        throw new NullEntityException(missingList);
+                    // each unit gets a document of its own, as it is parsed on another thread
+                    processChildNodes(reader, "Unit", "unit", true, //$NON-NLS-1$ //$NON-NLS-2$
+                            wn -> processUnitNode(retVal, wn, version));
+                    // everything after the units may refer to them
+                    while (!pendingUnits.isEmpty()) {
+                        importPendingUnit(retVal);
                     }
-                }
-            } else {
-                // If it's a text node or attribute or whatever at this level,
-                // it's probably white-space.
-                // We can safely ignore it even if it isn't, for now.
-                continue;
-            }
-        }
-
-        boolean foundPersonnelMarket = false;
-        boolean foundContractMarket = false;
-        boolean foundUnitMarket = false;
-
-        // Okay, lets iterate through the children, eh?
-        for (int x = 0; x < nl.getLength(); x++) {
-            Node wn = nl.item(x);
-
-            if (wn.getParentNode() != campaignEle) {
-                continue;
-            }
-
-            int xc = wn.getNodeType();
-
-            if (xc == Node.ELEMENT_NODE) {
-                // This is what we really care about.
-                // All the meat of our document is in this node type, at this
-                // level.
-                // Okay, so what element is it?
-                String xn = wn.getNodeName();
-
-                if (xn.equalsIgnoreCase("campaignOptions")) {
-                    retVal.setCampaignOptions(CampaignOptions
-                            .generateCampaignOptionsFromXml(wn));
-                } else if (xn.equalsIgnoreCase("randomSkillPreferences")) {
-                    retVal.setRandomSkillPreferences(RandomSkillPreferences
-                            .generateRandomSkillPreferencesFromXml(wn));
-                } /* We don't need this since info is processed above in the first iteration...
-                else if (xn.equalsIgnoreCase("info")) {
-                    processInfoNode(retVal, wn, version);
-                }*/ else if (xn.equalsIgnoreCase("parts")) {
-                    processPartNodes(retVal, wn, version);
                 } else if (xn.equalsIgnoreCase("personnel")) {
                     // TODO: Make this depending on campaign options
                     // TODO: hoist registerAll out of this
                     InjuryTypes.registerAll();
-                    processPersonnelNodes(retVal, wn, version);
+                    processChildNodes(reader, "Personnel", "person", false, //$NON-NLS-1$ //$NON-NLS-2$
+                            wn -> processPersonNode(retVal, wn, version));
                 } else if (xn.equalsIgnoreCase("ancestors")) {
-                    processAncestorNodes(retVal, wn, version);
-                } else if (xn.equalsIgnoreCase("units")) {
-                    processUnitNodes(retVal, wn, version);
+                    processChildNodes(reader, "Ancestor", "ancestor", false, //$NON-NLS-1$ //$NON-NLS-2$
+                            wn -> processAncestorNode(retVal, wn, version));
                 } else if (xn.equalsIgnoreCase("missions")) {
-                    processMissionNodes(retVal, wn, version);
-                } else if (xn.equalsIgnoreCase("forces")) {
-                    processForces(retVal, wn, version);
-                } else if (xn.equalsIgnoreCase("finances")) {
-                    processFinances(retVal, wn);
-                } else if (xn.equalsIgnoreCase("location")) {
-                    retVal.setLocation(CurrentLocation.generateInstanceFromXML(
-                            wn, retVal));
-                } else if (xn.equalsIgnoreCase("skillTypes")) {
-                    processSkillTypeNodes(retVal, wn, version);
-                } else if (xn.equalsIgnoreCase("specialAbilities")) {
-                    processSpecialAbilityNodes(retVal, wn, version);
-                } else if (xn.equalsIgnoreCase("gameOptions")) {
-                    processGameOptionNodes(retVal, wn);
+                    processChildNodes(reader, "Mission", "mission", false, //$NON-NLS-1$ //$NON-NLS-2$
+                            wn -> processMissionNode(retVal, wn, version));
                 } else if (xn.equalsIgnoreCase("kills")) {
-                    processKillNodes(retVal, wn, version);
-                } else if (xn.equalsIgnoreCase("shoppingList")) {
-                    retVal.setShoppingList(ShoppingList.generateInstanceFromXML(
-                            wn, retVal, version));
-                } else if (xn.equalsIgnoreCase("personnelMarket")) {
-                    retVal.setPersonnelMarket(PersonnelMarket.generateInstanceFromXML(
-                            wn, retVal, version));
-                    foundPersonnelMarket = true;
-                } else if (xn.equalsIgnoreCase("contractMarket")) {
-                    retVal.setContractMarket(ContractMarket.generateInstanceFromXML(
-                            wn, retVal, version));
-                    foundContractMarket = true;
-                } else if (xn.equalsIgnoreCase("unitMarket")) {
-                    retVal.setUnitMarket(UnitMarket.generateInstanceFromXML(
-                            wn, retVal, version));
-                    foundUnitMarket = true;
-                } else if (xn.equalsIgnoreCase("lances")) {
-                    processLanceNodes(retVal, wn);
-                } else if (xn.equalsIgnoreCase("retirementDefectionTracker")) {
-                    retVal.setRetirementDefectionTracker(RetirementDefectionTracker.generateInstanceFromXML(wn, retVal));
-                } else if (xn.equalsIgnoreCase("shipSearchStart")) {
-                    Calendar c = new GregorianCalendar();
-                    c.setTime(parseDate(retVal.getShortDateFormatter(), wn.getTextContent()));
-                    retVal.setShipSearchStart(c);
-                } else if (xn.equalsIgnoreCase("shipSearchType")) {
-                    retVal.setShipSearchType(Integer.parseInt(wn.getTextContent()));
-                } else if (xn.equalsIgnoreCase("shipSearchResult")) {
-                    retVal.setShipSearchResult(wn.getTextContent());
-                } else if (xn.equalsIgnoreCase("shipSearchExpiration")) {
-                    Calendar c = new GregorianCalendar();
-                    c.setTime(parseDate(retVal.getShortDateFormatter(), wn.getTextContent()));
-                    retVal.setShipSearchExpiration(c);
-                } else if (xn.equalsIgnoreCase("customPlanetaryEvents")) {
-                    updatePlanetaryEventsFromXML(wn);
+                    processChildNodes(reader, "Kill", "kill", false, //$NON-NLS-1$ //$NON-NLS-2$
+                            wn -> processKillNode(retVal, wn, version));
+                } else if (xn.equalsIgnoreCase("parts")) {
+                    processChildNodes(reader, "Part", "part", false, //$NON-NLS-1$ //$NON-NLS-2$
+                            wn -> {
+                                if (isPartOfDeferredUnit(wn)) {
+                                    deferredParts.add(wn);
+                                } else {
+                                    processPartNode(retVal, wn, version);
+                                }
+                            });
+                } else {
+                    Node wn = MekHqXmlUtil.readElement(reader, document);
+
+                    if (xn.equalsIgnoreCase("campaignOptions")) {
+                        retVal.setCampaignOptions(CampaignOptions
+                                .generateCampaignOptionsFromXml(wn));
+                    } else if (xn.equalsIgnoreCase("randomSkillPreferences")) {
+                        retVal.setRandomSkillPreferences(RandomSkillPreferences
+                                .generateRandomSkillPreferencesFromXml(wn));
+                    } else if (xn.equalsIgnoreCase("forces")) {
+                        processForces(retVal, wn, version);
+                    } else if (xn.equalsIgnoreCase("finances")) {
+                        processFinances(retVal, wn);
+                    } else if (xn.equalsIgnoreCase("location")) {
+                        retVal.setLocation(CurrentLocation.generateInstanceFromXML(
+                                wn, retVal));
+                    } else if (xn.equalsIgnoreCase("skillTypes")) {
+                        processSkillTypeNodes(retVal, wn, version);
+                    } else if (xn.equalsIgnoreCase("specialAbilities")) {
+                        processSpecialAbilityNodes(retVal, wn, version);
+                    } else if (xn.equalsIgnoreCase("gameOptions")) {
+                        processGameOptionNodes(retVal, wn);
+                    } else if (xn.equalsIgnoreCase("shoppingList")) {
+                        retVal.setShoppingList(ShoppingList.generateInstanceFromXML(
+                                wn, retVal, version));
+                    } else if (xn.equalsIgnoreCase("personnelMarket")) {
+                        retVal.setPersonnelMarket(PersonnelMarket.generateInstanceFromXML(
+                                wn, retVal, version));
+                        foundPersonnelMarket = true;
+                    } else if (xn.equalsIgnoreCase("contractMarket")) {
+                        retVal.setContractMarket(ContractMarket.generateInstanceFromXML(
+                                wn, retVal, version));
+                        foundContractMarket = true;
+                    } else if (xn.equalsIgnoreCase("unitMarket")) {
+                        retVal.setUnitMarket(UnitMarket.generateInstanceFromXML(
+                                wn, retVal, version));
+                        foundUnitMarket = true;
+                    } else if (xn.equalsIgnoreCase("lances")) {
+                        processLanceNodes(retVal, wn);
+                    } else if (xn.equalsIgnoreCase("retirementDefectionTracker")) {
+                        retVal.setRetirementDefectionTracker(RetirementDefectionTracker.generateInstanceFromXML(wn, retVal));
+                    } else if (xn.equalsIgnoreCase("shipSearchStart")) {
+                        Calendar c = new GregorianCalendar();
+                        c.setTime(parseDate(retVal.getShortDateFormatter(), wn.getTextContent()));
+                        retVal.setShipSearchStart(c);
+                    } else if (xn.equalsIgnoreCase("shipSearchType")) {
+                        retVal.setShipSearchType(Integer.parseInt(wn.getTextContent()));
+                    } else if (xn.equalsIgnoreCase("shipSearchResult")) {
+                        retVal.setShipSearchResult(wn.getTextContent());
+                    } else if (xn.equalsIgnoreCase("shipSearchExpiration")) {
+                        Calendar c = new GregorianCalendar();
+                        c.setTime(parseDate(retVal.getShortDateFormatter(), wn.getTextContent()));
+                        retVal.setShipSearchExpiration(c);
+                    } else if (xn.equalsIgnoreCase("customPlanetaryEvents")) {
+                        updatePlanetaryEventsFromXML(wn);
+                    }
                 }
+            }
+        } catch (XMLStreamException | ParserConfigurationException | DOMException | IOException ex) {
+            MekHQ.getLogger().error(CampaignXmlParser.class, METHOD_NAME, ex);
 
-            } else {
-                // If it's a text node or attribute or whatever at this level,
-                // it's probably white-space.
-                // We can safely ignore it even if it isn't, for now.
-                continue;
+            throw new CampaignXmlParseException(ex);
+        } finally {
+            if (null != reader) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException ex) {
+                    MekHQ.getLogger().error(CampaignXmlParser.class, METHOD_NAME, ex);
+                }
+            }
+            document = null;
+            documentBuilder = null;
+            if (null != unitParser) {
+                unitParser.shutdownNow();
+                unitParser = null;
             }
+            pendingUnits.clear();
         }
 
+        processDeferredUnits(retVal, version);
+
         // Okay, after we've gone through all the nodes and constructed the
         // Campaign object...
         // We need to do a post-process pass to restore a number of references.
@@ -796,6 +817,11 @@ public class CampaignXmlParser {
 
         retVal.setUnitRating(null);
 
+        if (retVal.getCampaignOptions().historicalDailyLog()) {
+            // pick up the report history at the day the campaign was saved on
+            retVal.getReportJournal().beginDay(retVal.getDate());
+        }
+
         MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO,
                 "Load of campaign file complete!"); //$NON-NLS-1$
 
@@ -1163,81 +1189,20 @@ public class CampaignXmlParser {
                 "Load of Force Organization complete!");
     }
 
-    private static void processPersonnelNodes(Campaign retVal, Node wn,
-            Version version) {
-        final String METHOD_NAME = "processPersonnelNodes(Campaign,Node,Version)"; //$NON-NLS-1$
-        MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO,
-                "Loading Personnel Nodes from XML..."); //$NON-NLS-1$
-
-        NodeList wList = wn.getChildNodes();
-
-        // Okay, lets iterate through the children, eh?
-        for (int x = 0; x < wList.getLength(); x++) {
-            Node wn2 = wList.item(x);
-
-            // If it's not an element node, we ignore it.
-            if (wn2.getNodeType() != Node.ELEMENT_NODE) {
-                continue;
-            }
-
-            if (!wn2.getNodeName().equalsIgnoreCase("person")) {
-                // Error condition of sorts!
-                // Errr, what should we do here?
-                MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.ERROR,
-                        "Unknown node type not loaded in Personnel nodes: " //$NON-NLS-1$
-                                + wn2.getNodeName());
-
-                continue;
-            }
-
-            Person p = Person.generateInstanceFromXML(wn2, retVal, version);
+    private static void processPersonNode(Campaign retVal, Node wn, Version version) {
+        Person p = Person.generateInstanceFromXML(wn, retVal, version);
 
-            if (p != null) {
-                retVal.importPerson(p);
-            }
+        if (p != null) {
+            retVal.importPerson(p);
         }
-
-        MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO,
-                "Load Personnel Nodes Complete!"); //$NON-NLS-1$
     }
 
-    private static void processAncestorNodes(Campaign retVal, Node wn,
-            Version version) {
-        final String METHOD_NAME = "processAncestorNodes(Campaign,Node,Version)"; //$NON-NLS-1$
-
-        MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO,
-                "Loading Ancestor Nodes from XML..."); //$NON-NLS-1$
-
-        NodeList wList = wn.getChildNodes();
-
-        // Okay, lets iterate through the children, eh?
-        for (int x = 0; x < wList.getLength(); x++) {
-            Node wn2 = wList.item(x);
+    private static void processAncestorNode(Campaign retVal, Node wn, Version version) {
+        Ancestors a = Ancestors.generateInstanceFromXML(wn, retVal, version);
 
-            // If it's not an element node, we ignore it.
-            if (wn2.getNodeType() != Node.ELEMENT_NODE) {
-                continue;
-            }
-
-            if (!wn2.getNodeName().equalsIgnoreCase("ancestor")) {
-                // Error condition of sorts!
-                // Errr, what should we do here?
-                MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.ERROR,
-                        "Unknown node type not loaded in Ancestor nodes: " //$NON-NLS-1$
-                                + wn2.getNodeName());
-
-                continue;
-            }
-
-            Ancestors a = Ancestors.generateInstanceFromXML(wn2, retVal, version);
-
-            if (a != null) {
-                retVal.importAncestors(a);
-            }
+        if (a != null) {
+            retVal.importAncestors(a);
         }
-
-        MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO,
-                "Load Ancestor Nodes Complete!"); //$NON-NLS-1$
     }
 
     private static void processSkillTypeNodes(Campaign retVal, Node wn,
@@ -1318,39 +1283,11 @@ public class CampaignXmlParser {
                 "Load Special Ability Nodes Complete!"); //$NON-NLS-1$
     }
 
-    private static void processKillNodes(Campaign retVal, Node wn,
-            Version version) {
-        final String METHOD_NAME = "processKillNodes(Campaign,Node,Version"; //$NON-NLS-1$
-        MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO,
-                "Loading Kill Nodes from XML..."); //$NON-NLS-1$
-
-        NodeList wList = wn.getChildNodes();
-
-        // Okay, lets iterate through the children, eh?
-        for (int x = 0; x < wList.getLength(); x++) {
-            Node wn2 = wList.item(x);
-
-            // If it's not an element node, we ignore it.
-            if (wn2.getNodeType() != Node.ELEMENT_NODE) {
-                continue;
-            } else if (!wn2.getNodeName().equalsIgnoreCase("kill")) {
-                // Error condition of sorts!
-                // Errr, what should we do here?
-                MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.ERROR,
-                        "Unknown node type not loaded in Kill nodes: " //$NON-NLS-1$
-                                + wn2.getNodeName());
-
-                continue;
-            }
-
-            Kill kill = Kill.generateInstanceFromXML(wn2, version);
-            if (kill != null) {
-                retVal.importKill(kill);
-            }
+    private static void processKillNode(Campaign retVal, Node wn, Version version) {
+        Kill kill = Kill.generateInstanceFromXML(wn, version);
+        if (kill != null) {
+            retVal.importKill(kill);
         }
-
-        MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO,
-                "Load Kill Nodes Complete!"); //$NON-NLS-1$
     }
 
     private static void processGameOptionNodes(Campaign retVal, Node wn) {
@@ -1518,254 +1455,293 @@ public class CampaignXmlParser {
         }
     }
 
-    private static void processMissionNodes(Campaign retVal, Node wn, Version version) {
-        final String METHOD_NAME = "processMissionNodes(Campaign,Node,Version)"; //$NON-NLS-1$
-
-        MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO,
-                "Loading Mission Nodes from XML..."); //$NON-NLS-1$
-
-        NodeList wList = wn.getChildNodes();
-
-        // Okay, lets iterate through the children, eh?
-        for (int x = 0; x < wList.getLength(); x++) {
-            Node wn2 = wList.item(x);
-
-            // If it's not an element node, we ignore it.
-            if (wn2.getNodeType() != Node.ELEMENT_NODE) {
-                continue;
-            }
+    private static void processMissionNode(Campaign retVal, Node wn, Version version) {
+        Mission m = Mission.generateInstanceFromXML(wn, retVal, version);
 
-            if (!wn2.getNodeName().equalsIgnoreCase("mission")) {
-                // Error condition of sorts!
-                // Errr, what should we do here?
-                MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO,
-                        "Unknown node type not loaded in Mission nodes: " //$NON-NLS-1$
-                                + wn2.getNodeName());
+        if (m != null) {
+            retVal.importMission(m);
+        }
+    }
 
-                continue;
-            }
+    /**
+     * @return the name of the unit's entity if it can't be loaded, or null if it can
+     */
+    private static String checkUnit(Node wn) {
+        final String METHOD_NAME = "checkUnit(Node)"; //$NON-NLS-1$
 
-            Mission m = Mission.generateInstanceFromXML(wn2, retVal, version);
+        NodeList nl = wn.getChildNodes();
 
-            if (m != null) {
-                retVal.importMission(m);
+        for (int y = 0; y < nl.getLength(); y++) {
+            Node wn3 = nl.item(y);
+            if (wn3.getNodeName().equalsIgnoreCase("entity")) {
+                try {
+                    if (null == MekHqXmlUtil.getEntityFromXmlString(wn3)) {
+                        return MekHqXmlUtil.getEntityNameFromXmlString(wn3);
+                    }
+                } catch (Exception e) {
+                    MekHQ.getLogger().error(CampaignXmlParser.class, METHOD_NAME,
+                        "Could not read entity from XML", e); //$NON-NLS-1$
+                }
             }
         }
-
-        MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO,
-                "Load Mission Nodes Complete!"); //$NON-NLS-1$
+        return null;
     }
 
-    private static String checkUnits(Node wn) {
-        final String METHOD_NAME = "checkUnits(Node)"; //$NON-NLS-1$
-
-        MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO, //$NON-NLS-1$
-                "Checking for missing entities..."); //$NON-NLS-1$
+    /**
+     * Starts parsing a unit on another thread. Units are added to the campaign in the order they
+     * were read, as they get done; the ones whose entity can't be loaded yet are kept for later, as
+     * their entity may be one of the custom units stored further down the file.
+     *
+     * The element has to be in a document of its own, which isn't touched by the reading thread
+     * any more, as DOM documents aren't thread safe.
+     */
+    private void processUnitNode(Campaign retVal, Element wn, Version version)
+            throws CampaignXmlParseException {
+        if (unitParserThreads == 0) {
+            pendingUnits.add(new PendingUnit(wn,
+                    CompletableFuture.completedFuture(Unit.generateInstanceFromXML(wn, version))));
+        } else {
+            if (null == unitParser) {
+                unitParser = Executors.newFixedThreadPool(unitParserThreads, r -> {
+                    Thread thread = new Thread(r, "Campaign unit loader"); //$NON-NLS-1$
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            pendingUnits.add(new PendingUnit(wn, unitParser.submit(() -> Unit.generateInstanceFromXML(wn, version))));
+        }
+        if (pendingUnits.size() > MAX_PENDING_UNITS) {
+            importPendingUnit(retVal);
+        }
+    }
 
-        ArrayList<String> unitList = new ArrayList<String>();
-        NodeList wList = wn.getChildNodes();
+    /**
+     * Waits for the first unit being parsed and adds it to the campaign.
+     */
+    private void importPendingUnit(Campaign retVal) throws CampaignXmlParseException {
+        final String METHOD_NAME = "importPendingUnit(Campaign)"; //$NON-NLS-1$
 
-        // Okay, lets iterate through the children, eh?
-        for (int x = 0; x < wList.getLength(); x++) {
-            Node wn2 = wList.item(x);
+        PendingUnit pending = pendingUnits.remove();
+        Unit u;
+        try {
+            u = pending.unit.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CampaignXmlParseException(e);
+        } catch (ExecutionException e) {
+            // fail the same way as when parsing the unit here
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            MekHQ.getLogger().error(CampaignXmlParser.class, METHOD_NAME, e);
+            throw new CampaignXmlParseException(e.getCause());
+        }
 
-            // If it's not an element node, we ignore it.
-            if (wn2.getNodeType() != Node.ELEMENT_NODE) {
-                continue;
-            }
+        if (null == u) {
+            return;
+        } else if (null == u.getEntity()) {
+            deferredUnits.add(new DeferredUnit(pending.wn, unitsInFileOrder.size()));
+            deferredUnitIds.add(pending.wn.getAttribute("id")); //$NON-NLS-1$
+            unitsInFileOrder.add(null);
+        } else {
+            retVal.importUnit(u);
+            unitsInFileOrder.add(u);
+        }
+    }
 
-            if (!wn2.getNodeName().equalsIgnoreCase("unit")) {
-                continue;
+    /**
+     * @return whether the part belongs to one of the units which couldn't be loaded yet
+     */
+    private boolean isPartOfDeferredUnit(Node wn) {
+        if (deferredUnitIds.isEmpty()) {
+            return false;
+        }
+        NodeList nl = wn.getChildNodes();
+        for (int x = 0; x < nl.getLength(); x++) {
+            Node wn2 = nl.item(x);
+            if (wn2.getNodeName().equalsIgnoreCase("unitId")) { //$NON-NLS-1$
+                return deferredUnitIds.contains(wn2.getTextContent());
             }
+        }
+        return false;
+    }
 
-            NodeList nl = wn2.getChildNodes();
+    /**
+     * Adds the units which couldn't be loaded before the custom units were read, then their parts,
+     * so the parts are converted as they would have been with the units loaded in time. The units
+     * are put back into the order they were saved in.
+     *
+     * @throws NullEntityException if any of them still can't be loaded
+     */
+    private void processDeferredUnits(Campaign retVal, Version version) throws NullEntityException {
+        final String METHOD_NAME = "processDeferredUnits(Campaign,Version)"; //$NON-NLS-1$
 
-            for (int y = 0; y < nl.getLength(); y++) {
-                Node wn3 = nl.item(y);
-                if (wn3.getNodeName().equalsIgnoreCase("entity")) {
-                    try {
-                        if (null == MekHqXmlUtil.getEntityFromXmlString(wn3)) {
-                            String name = MekHqXmlUtil
-                                    .getEntityNameFromXmlString(wn3);
-                            if (!unitList.contains(name)) {
-                                unitList.add(name);
-                            }
-                        }
-                    } catch (Exception e) {
-                        MekHQ.getLogger().error(CampaignXmlParser.class, METHOD_NAME,
-                            "Could not read entity from XML", e); //$NON-NLS-1$
-                    }
-                }
-            }
+        if (deferredUnits.isEmpty()) {
+            return;
         }
         MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO,
-                "Finished checking for missing entities!"); //$NON-NLS-1$
+                "Checking for missing entities..."); //$NON-NLS-1$
 
-        if (unitList.isEmpty()) {
-            return null;
-        } else {
+        if (customsChanged) {
+            MechSummaryCache.getInstance().loadMechData();
+        }
+        List<String> unitList = new ArrayList<>();
+        for (DeferredUnit deferred : deferredUnits) {
+            String name = checkUnit(deferred.wn);
+            if ((null != name) && !unitList.contains(name)) {
+                unitList.add(name);
+            }
+        }
+        if (!unitList.isEmpty()) {
             String unitListString = "";
             for (String s : unitList) {
                 unitListString += "\n" + s;
             }
             MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.ERROR,
                 String.format("Could not load the following units: %s", unitListString)); //$NON-NLS-1$
-            return unitListString;
+            throw new NullEntityException(unitListString);
         }
+        for (DeferredUnit deferred : deferredUnits) {
+            Unit u = Unit.generateInstanceFromXML(deferred.wn, version);
+
+            if (u != null) {
+                retVal.importUnit(u);
+                unitsInFileOrder.set(deferred.position, u);
+            }
+        }
+        retVal.sortUnits(unitsInFileOrder);
+        for (Node wn : deferredParts) {
+            processPartNode(retVal, wn, version);
+        }
+        deferredUnits.clear();
+        deferredUnitIds.clear();
+        deferredParts.clear();
+        unitsInFileOrder.clear();
     }
 
-    private static void processUnitNodes(Campaign retVal, Node wn,
-            Version version) {
-        final String METHOD_NAME = "processUnitNodes(Campaign,Node,Version)"; //$NON-NLS-1$
+    /**
+     * Reads the elements of a list section one at a time, so only one of them has to be held in
+     * memory, and hands the ones with the expected name to the handler.
+     *
+     * @param reader       a reader positioned at the start tag of the section; it is left at its end tag
+     * @param section      the name of the section to log
+     * @param childName    the name of the elements in the section
+     * @param ownDocuments whether to create each element in a new document rather than the shared one
+     */
+    private void processChildNodes(XMLStreamReader reader, String section, String childName,
+            boolean ownDocuments, NodeHandler handler) throws XMLStreamException, CampaignXmlParseException {
+        final String METHOD_NAME = "processChildNodes(XMLStreamReader,String,String,boolean,NodeHandler)"; //$NON-NLS-1$
 
         MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO,
-                "Loading Unit Nodes from XML..."); //$NON-NLS-1$
-
-        NodeList wList = wn.getChildNodes();
-
-        // Okay, lets iterate through the children, eh?
-        for (int x = 0; x < wList.getLength(); x++) {
-            Node wn2 = wList.item(x);
+                String.format("Loading %s Nodes from XML...", section)); //$NON-NLS-1$
 
-            // If it's not an element node, we ignore it.
-            if (wn2.getNodeType() != Node.ELEMENT_NODE) {
-                continue;
-            }
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            Element wn2 = MekHqXmlUtil.readElement(reader,
+                    ownDocuments ? documentBuilder.newDocument() : document);
 
-            if (!wn2.getNodeName().equalsIgnoreCase("unit")) {
+            if (!wn2.getNodeName().equalsIgnoreCase(childName)) {
                 // Error condition of sorts!
                 // Errr, what should we do here?
                 MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.ERROR,
-                        "Unknown node type not loaded in Unit nodes: " //$NON-NLS-1$
-                                + wn2.getNodeName());
+                        String.format("Unknown node type not loaded in %s nodes: %s", //$NON-NLS-1$
+                                section, wn2.getNodeName()));
 
                 continue;
             }
 
-            Unit u = Unit.generateInstanceFromXML(wn2, version);
-
-            if (u != null) {
-                retVal.importUnit(u);
-            }
+            handler.process(wn2);
         }
 
         MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO,
-                "Load Unit Nodes Complete!"); //$NON-NLS-1$
+                String.format("Load %s Nodes Complete!", section)); //$NON-NLS-1$
     }
 
-    private static void processPartNodes(Campaign retVal, Node wn,
-            Version version) {
-        final String METHOD_NAME = "processPartNodes(Campaign,Node,Version)"; //$NON-NLS-1$
-
-        MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO,
-                "Loading Part Nodes from XML..."); //$NON-NLS-1$
-
-        NodeList wList = wn.getChildNodes();
-
-        // Okay, lets iterate through the children, eh?
-        for (int x = 0; x < wList.getLength(); x++) {
-            Node wn2 = wList.item(x);
-
-            // If it's not an element node, we ignore it.
-            if (wn2.getNodeType() != Node.ELEMENT_NODE) {
-                continue;
-            }
-
-            if (!wn2.getNodeName().equalsIgnoreCase("part")) {
-                // Error condition of sorts!
-                // Errr, what should we do here?
-                MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.ERROR,
-                        "Unknown node type not loaded in Part nodes: " //$NON-NLS-1$
-                                + wn2.getNodeName());
-
-                continue;
-            }
+    private static void processPartNode(Campaign retVal, Node wn2, Version version) {
+        final String METHOD_NAME = "processPartNode(Campaign,Node,Version)"; //$NON-NLS-1$
 
-            Part p = Part.generateInstanceFromXML(wn2, version);
+        Part p = Part.generateInstanceFromXML(wn2, version);
 
-            // deal with the Weapon as Heat Sink problem from earlier versions
-            if (p instanceof HeatSink && !p.getName().contains("Heat Sink")) {
-                continue;
-            }
+        // deal with the Weapon as Heat Sink problem from earlier versions
+        if (p instanceof HeatSink && !p.getName().contains("Heat Sink")) {
+            return;
+        }
 
-            if (((p instanceof EquipmentPart) && ((EquipmentPart) p).getType() == null)
-                    || ((p instanceof MissingEquipmentPart) && ((MissingEquipmentPart) p).getType() == null)) {
-                MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.WARNING,
-                        "Could not find matching EquipmentType for part " + p.getName());
-                continue;
-            }
+        if (((p instanceof EquipmentPart) && ((EquipmentPart) p).getType() == null)
+                || ((p instanceof MissingEquipmentPart) && ((MissingEquipmentPart) p).getType() == null)) {
+            MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.WARNING,
+                    "Could not find matching EquipmentType for part " + p.getName());
+            return;
+        }
 
-            // deal with equipmentparts that are now subtyped
-            int pid = p.getId();
-            if (isLegacyMASC(p)) {
-                p = new MASC(p.getUnitTonnage(), ((EquipmentPart) p).getType(),
-                        ((EquipmentPart) p).getEquipmentNum(), retVal, 0, p.isOmniPodded());
-                p.setId(pid);
-            }
-            if (isLegacyMissingMASC(p)) {
-                p = new MissingMASC(p.getUnitTonnage(),
-                        ((MissingEquipmentPart) p).getType(), ((MissingEquipmentPart) p).getEquipmentNum(), retVal,
-                        ((MissingEquipmentPart) p).getTonnage(), 0, p.isOmniPodded());
-                p.setId(pid);
-            }
-            // deal with true values for sensor and life support on non-Mech
-            // heads
-            if (p instanceof MekLocation
-                    && ((MekLocation) p).getLoc() != Mech.LOC_HEAD) {
-                ((MekLocation) p).setSensors(false);
-                ((MekLocation) p).setLifeSupport(false);
-            }
+        // deal with equipmentparts that are now subtyped
+        int pid = p.getId();
+        if (isLegacyMASC(p)) {
+            p = new MASC(p.getUnitTonnage(), ((EquipmentPart) p).getType(),
+                    ((EquipmentPart) p).getEquipmentNum(), retVal, 0, p.isOmniPodded());
+            p.setId(pid);
+        }
+        if (isLegacyMissingMASC(p)) {
+            p = new MissingMASC(p.getUnitTonnage(),
+                    ((MissingEquipmentPart) p).getType(), ((MissingEquipmentPart) p).getEquipmentNum(), retVal,
+                    ((MissingEquipmentPart) p).getTonnage(), 0, p.isOmniPodded());
+            p.setId(pid);
+        }
+        // deal with true values for sensor and life support on non-Mech
+        // heads
+        if (p instanceof MekLocation
+                && ((MekLocation) p).getLoc() != Mech.LOC_HEAD) {
+            ((MekLocation) p).setSensors(false);
+            ((MekLocation) p).setLifeSupport(false);
+        }
 
-            if (version.getMinorVersion() < 3 && !p.needsFixing()
-                    && !p.isSalvaging()) {
-                // repaired parts were not getting experience properly reset
-                p.setSkillMin(SkillType.EXP_GREEN);
-            }
+        if (version.getMinorVersion() < 3 && !p.needsFixing()
+                && !p.isSalvaging()) {
+            // repaired parts were not getting experience properly reset
+            p.setSkillMin(SkillType.EXP_GREEN);
+        }
 
-            //if for some reason we couldn't find a type for equipment part, then remove it
-            if((p instanceof EquipmentPart && null == ((EquipmentPart)p).getType())
-                    || (p instanceof MissingEquipmentPart && null == ((MissingEquipmentPart) p).getType())) {
-                p = null;
-            }
+        //if for some reason we couldn't find a type for equipment part, then remove it
+        if((p instanceof EquipmentPart && null == ((EquipmentPart)p).getType())
+                || (p instanceof MissingEquipmentPart && null == ((MissingEquipmentPart) p).getType())) {
+            p = null;
+        }
 
-            if ((null != p) && (p.getUnitId() != null)
-                    && ((version.getMinorVersion() < 43)
-                            || ((version.getMinorVersion() == 43) && (version.getSnapshot() < 5)))
-                    && ((p instanceof AmmoBin) || (p instanceof MissingAmmoBin))) {
-                Unit u = retVal.getUnit(p.getUnitId());
-                if ((null != u) && (u.getEntity().usesWeaponBays())) {
-                    Mounted ammo;
-                    if (p instanceof EquipmentPart) {
-                        ammo = u.getEntity().getEquipment(((EquipmentPart) p).getEquipmentNum());
+        if ((null != p) && (p.getUnitId() != null)
+                && ((version.getMinorVersion() < 43)
+                        || ((version.getMinorVersion() == 43) && (version.getSnapshot() < 5)))
+                && ((p instanceof AmmoBin) || (p instanceof MissingAmmoBin))) {
+            Unit u = retVal.getUnit(p.getUnitId());
+            if ((null != u) && (u.getEntity().usesWeaponBays())) {
+                Mounted ammo;
+                if (p instanceof EquipmentPart) {
+                    ammo = u.getEntity().getEquipment(((EquipmentPart) p).getEquipmentNum());
+                } else {
+                    ammo = u.getEntity().getEquipment(((MissingEquipmentPart) p).getEquipmentNum());
+                }
+                if (null != ammo) {
+                    if (p instanceof AmmoBin) {
+                        p = new LargeCraftAmmoBin(p.getUnitTonnage(),
+                                ((AmmoBin) p).getType(),
+                                ((AmmoBin) p).getEquipmentNum(),
+                                ((AmmoBin) p).getShotsNeeded(),
+                                ammo.getAmmoCapacity(), retVal);
+                        ((LargeCraftAmmoBin) p).setBay(u.getEntity().getBayByAmmo(ammo));
                     } else {
-                        ammo = u.getEntity().getEquipment(((MissingEquipmentPart) p).getEquipmentNum());
-                    }
-                    if (null != ammo) {
-                        if (p instanceof AmmoBin) {
-                            p = new LargeCraftAmmoBin(p.getUnitTonnage(),
-                                    ((AmmoBin) p).getType(),
-                                    ((AmmoBin) p).getEquipmentNum(),
-                                    ((AmmoBin) p).getShotsNeeded(),
-                                    ammo.getAmmoCapacity(), retVal);
-                            ((LargeCraftAmmoBin) p).setBay(u.getEntity().getBayByAmmo(ammo));
-                        } else {
-                            p = new MissingLargeCraftAmmoBin(p.getUnitTonnage(),
-                                    ((MissingAmmoBin) p).getType(),
-                                    ((MissingAmmoBin) p).getEquipmentNum(),
-                                    ammo.getAmmoCapacity(), retVal);
-                            ((MissingLargeCraftAmmoBin) p).setBay(u.getEntity().getBayByAmmo(ammo));
-                        }
+                        p = new MissingLargeCraftAmmoBin(p.getUnitTonnage(),
+                                ((MissingAmmoBin) p).getType(),
+                                ((MissingAmmoBin) p).getEquipmentNum(),
+                                ammo.getAmmoCapacity(), retVal);
+                        ((MissingLargeCraftAmmoBin) p).setBay(u.getEntity().getBayByAmmo(ammo));
                     }
                 }
             }
-
-            if (p != null) {
-                retVal.importPart(p);
-            }
         }
 
-        MekHQ.getLogger().log(CampaignXmlParser.class, METHOD_NAME, LogLevel.INFO,
-                "Load Part Nodes Complete!"); //$NON-NLS-1$
+        if (p != null) {
+            retVal.importPart(p);
+        }
     }
     
     /**
@@ -1832,4 +1808,31 @@ public class CampaignXmlParser {
             }
         }
     }
+
+    @FunctionalInterface
+    private interface NodeHandler {
+        void process(Element wn) throws CampaignXmlParseException;
+    }
+
+    /** A unit being parsed, and the element it is parsed from */
+    private static class DeferredUnit {
+        final Element wn;
+        /** The position of the unit in {@link CampaignXmlParser#unitsInFileOrder} */
+        final int position;
+
+        DeferredUnit(Element wn, int position) {
+            this.wn = wn;
+            this.position = position;
+        }
+    }
+
+    private static class PendingUnit {
+        final Element wn;
+        final Future<Unit> unit;
+
+        PendingUnit(Element wn, Future<Unit> unit) {
+            this.wn = wn;
+            this.unit = unit;
+        }
+    }
 }
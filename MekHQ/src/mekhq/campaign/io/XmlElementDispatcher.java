@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2019 - The MegaMek Team
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign.io;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import mekhq.Version;
+
+/**
+ * Hands XML elements to the handlers registered for their names, so each element is dispatched
+ * with a hash lookup instead of being compared against every known name in turn. Names are
+ * matched ignoring case, like the {@code equalsIgnoreCase} chains this replaces; the names of
+ * elements read by the parser are interned, so the usual exact match costs next to nothing.
+ *
+ * A dispatcher is meant to be set up once and then only read, so it can be shared between
+ * threads.
+ *
+ * @param <T> what the elements are read into
+ */
+public class XmlElementDispatcher<T> {
+    /** Reads an element into the target */
+    @FunctionalInterface
+    public interface ElementHandler<T> {
+        void handle(T target, Node node, Version version) throws Exception;
+    }
+
+    private final Map<String, ElementHandler<T>> handlers = new HashMap<>();
+    private final Map<String, ElementHandler<T>> handlersIgnoringCase = new HashMap<>();
+
+    /**
+     * Registers the handler for the elements with the given name.
+     *
+     * @return this dispatcher
+     */
+    public XmlElementDispatcher<T> on(String name, ElementHandler<T> handler) {
+        handlers.put(name, handler);
+        handlersIgnoringCase.put(name.toLowerCase(Locale.ROOT), handler);
+        return this;
+    }
+
+    /**
+     * Hands the node to the handler for its name, if there is one.
+     *
+     * @return whether the node was handled
+     */
+    public boolean dispatch(T target, Node node, Version version) throws Exception {
+        ElementHandler<T> handler = handlers.get(node.getNodeName());
+        if (null == handler) {
+            if (node.getNodeType() != Node.ELEMENT_NODE) {
+                return false;
+            }
+            handler = handlersIgnoringCase.get(node.getNodeName().toLowerCase(Locale.ROOT));
+            if (null == handler) {
+                return false;
+            }
+        }
+        handler.handle(target, node, version);
+        return true;
+    }
+
+    /**
+     * Hands each child of the node to the handler for its name. Children without a handler are
+     * skipped.
+     */
+    public void dispatchChildren(T target, Node parent, Version version) throws Exception {
+        NodeList nl = parent.getChildNodes();
+        for (int x = 0; x < nl.getLength(); x++) {
+            dispatch(target, nl.item(x), version);
+        }
+    }
+}
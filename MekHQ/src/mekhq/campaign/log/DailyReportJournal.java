@@ -0,0 +1,328 @@
+/*
+ * Copyright (c) 2019 - The MegaMek Team
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign.log;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import megamek.common.annotations.Nullable;
+import mekhq.MekHQ;
+
+/**
+ * An append-only archive of the daily reports of a campaign, kept on disk so the history of every
+ * day can be looked through without holding it in memory. Only the lines of the current day are
+ * kept in memory until the day is over (or the campaign is saved).
+ *
+ * Each day is stored as one record: the date, the length of the data and the lines of the day,
+ * compressed. The date index is built by reading through the record headers when the journal is
+ * first used. A day may be written again (when it is saved before it is over), in which case the
+ * later record replaces the earlier one. Writing a day also drops any later days from the index.
+ *
+ * The first day begun is the date the campaign was saved on. Any later days belong to a campaign
+ * that was loaded from an older save and played on from there, so they are dropped. The lines
+ * already recorded for that day are read back, so that the new record replacing it still holds
+ * them. The file is then compacted if anything was dropped or the records which were replaced
+ * take up more room than the ones still in use.
+ */
+public class DailyReportJournal {
+    /** The reports of a single day */
+    public static class DayReport {
+        private final Date date;
+        private final List<String> lines;
+
+        DayReport(Date date, List<String> lines) {
+            this.date = date;
+            this.lines = Collections.unmodifiableList(lines);
+        }
+
+        public Date getDate() {
+            return date;
+        }
+
+        public List<String> getLines() {
+            return lines;
+        }
+    }
+
+    private final File file;
+
+    /** The offset of the record of each day in the file, by the date of the day */
+    private final TreeMap<Long, Long> index = new TreeMap<>();
+    /** The length of the file up to the end of the last complete record */
+    private long length;
+    private boolean initialized = false;
+
+    private Date currentDate;
+    private final List<String> currentLines = new ArrayList<>();
+    /** Whether lines were added to the current day since it was last written */
+    private boolean dirty = false;
+
+    /**
+     * @param file the file holding the journal, which is created when the first day is written
+     */
+    public DailyReportJournal(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Starts a new day, writing out the previous one. The first day begun is taken to be the
+     * date the campaign was saved on; see the class description.
+     *
+     * @param date the date of the new day
+     */
+    public synchronized void beginDay(Date date) {
+        if (null == currentDate) {
+            currentDate = date;
+            openAt(date);
+        } else if (!date.equals(currentDate)) {
+            flush();
+            currentDate = date;
+            currentLines.clear();
+        }
+    }
+
+    /**
+     * Adds a line to the report of the given day, starting the day if it isn't the current one.
+     */
+    public synchronized void addLine(Date date, String line) {
+        beginDay(date);
+        currentLines.add(line);
+        dirty = true;
+    }
+
+    /**
+     * Writes the current day to disk, if there is anything new to write.
+     */
+    public synchronized void flush() {
+        if (!dirty || (null == currentDate)) {
+            return;
+        }
+        try {
+            initialize();
+            write(currentDate.getTime(), currentLines);
+            dirty = false;
+        } catch (IOException e) {
+            MekHQ.getLogger().error(getClass(), "flush", e); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * Drops the days after the date the campaign was saved on and reads back the lines of that day.
+     */
+    private void openAt(Date date) {
+        try {
+            initialize();
+            Map<Long, Long> later = index.tailMap(date.getTime(), false);
+            boolean dropped = !later.isEmpty();
+            later.clear();
+            Long offset = index.get(date.getTime());
+            if (null != offset) {
+                try (RandomAccessFile in = new RandomAccessFile(file, "r")) { //$NON-NLS-1$
+                    currentLines.addAll(read(in, offset));
+                }
+            }
+            if (dropped || (2 * getLiveLength() < length)) {
+                compact();
+            }
+        } catch (IOException e) {
+            MekHQ.getLogger().error(getClass(), "openAt", e); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * @param after only days after this date are returned
+     * @param text  if given, only the lines containing this text (ignoring case) are returned,
+     *              and only the days with such lines
+     * @return the reports of the matching days, oldest first, including the current day
+     */
+    public synchronized List<DayReport> getReports(Date after, @Nullable String text) {
+        List<DayReport> reports = new ArrayList<>();
+        String filter = ((null == text) || text.trim().isEmpty()) ? null : text.trim().toLowerCase(Locale.ROOT);
+        try {
+            initialize();
+            if (index.isEmpty()) {
+                return addCurrentDay(reports, after, filter);
+            }
+            try (RandomAccessFile in = new RandomAccessFile(file, "r")) { //$NON-NLS-1$
+                for (Map.Entry<Long, Long> day : index.tailMap(after.getTime(), false).entrySet()) {
+                    if ((null != currentDate) && (day.getKey() >= currentDate.getTime())) {
+                        // the current day is taken from memory
+                        break;
+                    }
+                    addReport(reports, day.getKey(), read(in, day.getValue()), filter);
+                }
+            }
+        } catch (IOException e) {
+            MekHQ.getLogger().error(getClass(), "getReports", e); //$NON-NLS-1$
+        }
+        return addCurrentDay(reports, after, filter);
+    }
+
+    private List<DayReport> addCurrentDay(List<DayReport> reports, Date after, @Nullable String filter) {
+        if ((null != currentDate) && currentDate.after(after)) {
+            addReport(reports, currentDate.getTime(), new ArrayList<>(currentLines), filter);
+        }
+        return reports;
+    }
+
+    private static void addReport(List<DayReport> reports, long date, List<String> lines, @Nullable String filter) {
+        if (null != filter) {
+            lines.removeIf(line -> !line.toLowerCase(Locale.ROOT).contains(filter));
+            if (lines.isEmpty()) {
+                return;
+            }
+        }
+        reports.add(new DayReport(new Date(date), lines));
+    }
+
+    /**
+     * Builds the date index from the record headers, ignoring a last record which wasn't
+     * completely written.
+     */
+    private void initialize() throws IOException {
+        if (initialized) {
+            return;
+        }
+        index.clear();
+        length = 0;
+        if (file.exists()) {
+            try (RandomAccessFile in = new RandomAccessFile(file, "r")) { //$NON-NLS-1$
+                long fileLength = in.length();
+                while (length + 12 <= fileLength) {
+                    in.seek(length);
+                    long date = in.readLong();
+                    int size = in.readInt();
+                    if ((size < 0) || (length + 12 + size > fileLength)) {
+                        break;
+                    }
+                    addToIndex(date, length);
+                    length += 12 + size;
+                }
+            }
+        }
+        initialized = true;
+    }
+
+    private void addToIndex(long date, long offset) {
+        index.tailMap(date, false).clear();
+        index.put(date, offset);
+    }
+
+    /**
+     * @return the length of the records in the index
+     */
+    private long getLiveLength() throws IOException {
+        long live = 0;
+        if (!index.isEmpty()) {
+            try (RandomAccessFile in = new RandomAccessFile(file, "r")) { //$NON-NLS-1$
+                for (long offset : index.values()) {
+                    in.seek(offset + 8);
+                    live += 12 + in.readInt();
+                }
+            }
+        }
+        return live;
+    }
+
+    /**
+     * Rewrites the file with only the records in the index, replacing the old file once the new
+     * one is complete.
+     */
+    private void compact() throws IOException {
+        File compacted = new File(file.getPath() + ".tmp"); //$NON-NLS-1$
+        TreeMap<Long, Long> newIndex = new TreeMap<>();
+        long newLength = 0;
+        try (RandomAccessFile in = new RandomAccessFile(file, "r"); //$NON-NLS-1$
+                RandomAccessFile out = new RandomAccessFile(compacted, "rw")) { //$NON-NLS-1$
+            out.setLength(0);
+            for (Map.Entry<Long, Long> day : index.entrySet()) {
+                in.seek(day.getValue() + 8);
+                byte[] record = new byte[12 + in.readInt()];
+                in.seek(day.getValue());
+                in.readFully(record);
+                out.write(record);
+                newIndex.put(day.getKey(), newLength);
+                newLength += record.length;
+            }
+        }
+        Files.move(compacted.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        index.clear();
+        index.putAll(newIndex);
+        length = newLength;
+    }
+
+    private void write(long date, List<String> lines) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            out.writeInt(lines.size());
+            for (String line : lines) {
+                byte[] data = line.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(data.length);
+                out.write(data);
+            }
+        }
+        File parent = file.getParentFile();
+        if ((null != parent) && !parent.exists()) {
+            parent.mkdirs();
+        }
+        try (RandomAccessFile out = new RandomAccessFile(file, "rw")) { //$NON-NLS-1$
+            // drop anything left over from a record which wasn't completely written
+            out.setLength(length);
+            out.seek(length);
+            out.writeLong(date);
+            out.writeInt(bytes.size());
+            out.write(bytes.toByteArray());
+        }
+        addToIndex(date, length);
+        length += 12 + bytes.size();
+    }
+
+    private static List<String> read(RandomAccessFile in, long offset) throws IOException {
+        in.seek(offset + 8);
+        byte[] data = new byte[in.readInt()];
+        in.readFully(data);
+        try (DataInputStream lines = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(data)))) {
+            int count = lines.readInt();
+            List<String> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                byte[] line = new byte[lines.readInt()];
+                lines.readFully(line);
+                result.add(new String(line, StandardCharsets.UTF_8));
+            }
+            return result;
+        }
+    }
+}
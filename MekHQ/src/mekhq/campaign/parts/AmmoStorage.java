@@ -146,7 +146,11 @@ public class AmmoStorage extends EquipmentPart implements IAcquisitionWork {
     }
     
     public void changeShots(int s) {
-    	shots = Math.max(0, shots + s);
+        int previousShots = shots;
+        shots = Math.max(0, shots + s);
+        if (previousShots != shots) {
+            partChanged();
+        }
     }
     
 	@Override
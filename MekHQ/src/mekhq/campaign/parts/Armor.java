@@ -202,7 +202,11 @@ public class Armor extends Part implements IAcquisitionWork {
     }
 
     public void setAmount(int amount) {
+        int previousAmount = this.amount;
         this.amount = amount;
+        if (previousAmount != amount) {
+            partChanged();
+        }
     }
 
     public void setAmountNeeded(int needed) {
@@ -230,6 +234,11 @@ public class Armor extends Part implements IAcquisitionWork {
         return this.getDaysToArrival() == part.getDaysToArrival();
     }
 
+    @Override
+    public String getPartStatusKey() {
+        return Integer.toString(getDaysToArrival());
+    }
+
     @Override
     public TechAdvancement getTechAdvancement() {
         return EquipmentType.getArmorTechAdvancement(type, clan);
@@ -380,11 +389,15 @@ public class Armor extends Part implements IAcquisitionWork {
         if(null == unit) {
             return;
         }
+        int previousAmount = amount;
         amount = unit.getEntity().getArmorForReal(location, rear);
         if(amount < 0) {
             amount = 0;
         }
         amountNeeded = unit.getEntity().getOArmor(location, rear) - amount;
+        if (previousAmount != amount) {
+            partChanged();
+        }
     }
 
     @Override
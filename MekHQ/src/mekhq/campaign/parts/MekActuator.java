@@ -141,6 +141,11 @@ public class MekActuator extends Part {
                 && getUnitTonnage() == ((MekActuator) part).getUnitTonnage();
     }
 
+    @Override
+    public String getPartTypeKey() {
+        return super.getPartTypeKey() + ":" + getType() + ":" + getUnitTonnage();
+    }
+
     public int getLocation() {
         return location;
     }
@@ -185,6 +185,11 @@ public class MekLocation extends Part {
 		return forQuad;
 	}
     
+    @Override
+    public String getPartTypeKey() {
+        return super.getPartTypeKey() + ":" + getLoc() + ":" + getUnitTonnage();
+    }
+
     @Override
     public boolean isSamePartType(Part part) {
         return part instanceof MekLocation
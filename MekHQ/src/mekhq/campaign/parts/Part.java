@@ -24,15 +24,20 @@ package mekhq.campaign.parts;
 import java.io.PrintWriter;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.lang.reflect.Constructor;
 import java.util.Calendar;
+import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.StringJoiner;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 
 import mekhq.campaign.finances.Money;
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 import megamek.common.Entity;
 import megamek.common.EquipmentType;
@@ -47,6 +52,8 @@ import mekhq.MekHqXmlSerializable;
 import mekhq.MekHqXmlUtil;
 import mekhq.Version;
 import mekhq.campaign.Campaign;
+import mekhq.campaign.event.PartChangedEvent;
+import mekhq.campaign.io.XmlElementDispatcher;
 import mekhq.campaign.parts.equipment.EquipmentPart;
 import mekhq.campaign.parts.equipment.MissingEquipmentPart;
 import mekhq.campaign.personnel.Person;
@@ -117,6 +124,67 @@ public abstract class Part implements Serializable, MekHqXmlSerializable, IPartW
         int POD_SPACE = 12;
     }
     
+    /** The classes of the parts older versions stored under other names, by their lower case old name */
+    private static final Map<String, String> LEGACY_CLASS_NAMES = new HashMap<>();
+    static {
+        LEGACY_CLASS_NAMES.put("mekhq.campaign.parts.mekengine", "mekhq.campaign.parts.EnginePart");
+        LEGACY_CLASS_NAMES.put("mekhq.campaign.parts.missingmekengine", "mekhq.campaign.parts.MissingEnginePart");
+        LEGACY_CLASS_NAMES.put("mekhq.campaign.parts.equipmentpart", "mekhq.campaign.parts.equipment.EquipmentPart");
+        LEGACY_CLASS_NAMES.put("mekhq.campaign.parts.missingequipmentpart", "mekhq.campaign.parts.equipment.MissingEquipmentPart");
+        LEGACY_CLASS_NAMES.put("mekhq.campaign.parts.ammobin", "mekhq.campaign.parts.equipment.AmmoBin");
+        LEGACY_CLASS_NAMES.put("mekhq.campaign.parts.missingammobin", "mekhq.campaign.parts.equipment.MissingAmmoBin");
+        LEGACY_CLASS_NAMES.put("mekhq.campaign.parts.jumpjet", "mekhq.campaign.parts.equipment.JumpJet");
+        LEGACY_CLASS_NAMES.put("mekhq.campaign.parts.missingjumpjet", "mekhq.campaign.parts.equipment.MissingJumpJet");
+        LEGACY_CLASS_NAMES.put("mekhq.campaign.parts.heatsink", "mekhq.campaign.parts.equipment.HeatSink");
+        LEGACY_CLASS_NAMES.put("mekhq.campaign.parts.missingheatsink", "mekhq.campaign.parts.equipment.MissingHeatSink");
+    }
+
+    /** Creates the parts read from XML, by class name */
+    private static final Map<String, Callable<Part>> FACTORIES = new ConcurrentHashMap<>();
+
+    /** Reads the fields common to all parts */
+    private static final XmlElementDispatcher<Part> XML_FIELDS = new XmlElementDispatcher<Part>()
+            .on("id", (p, wn2, version) -> p.id = Integer.parseInt(wn2.getTextContent()))
+            .on("name", (p, wn2, version) -> p.name = wn2.getTextContent())
+            .on("unitTonnage", (p, wn2, version) -> p.unitTonnage = Integer.parseInt(wn2.getTextContent()))
+            .on("omniPodded", (p, wn2, version) -> p.omniPodded = true)
+            .on("quantity", (p, wn2, version) -> p.quantity = Integer.parseInt(wn2.getTextContent()))
+            .on("hits", (p, wn2, version) -> p.hits = Integer.parseInt(wn2.getTextContent()))
+            .on("timeSpent", (p, wn2, version) -> p.timeSpent = Integer.parseInt(wn2.getTextContent()))
+            .on("skillMin", (p, wn2, version) -> p.skillMin = Integer.parseInt(wn2.getTextContent()))
+            .on("mode", (p, wn2, version) -> p.mode = WorkTime.of(wn2.getTextContent()))
+            .on("daysToWait", (p, wn2, version) -> p.daysToWait = Integer.parseInt(wn2.getTextContent()))
+            .on("teamId", (p, wn2, version) -> {
+                if (usesOldIds(version)) {
+                    p.oldTeamId = Integer.parseInt(wn2.getTextContent());
+                } else if(!wn2.getTextContent().equals("null")) {
+                    p.teamId = UUID.fromString(wn2.getTextContent());
+                }
+            })
+            .on("unitId", (p, wn2, version) -> {
+                if (usesOldIds(version)) {
+                    p.oldUnitId = Integer.parseInt(wn2.getTextContent());
+                } else if(!wn2.getTextContent().equals("null")) {
+                    p.unitId = UUID.fromString(wn2.getTextContent());
+                }
+            })
+            .on("shorthandedMod", (p, wn2, version) -> p.shorthandedMod = Integer.parseInt(wn2.getTextContent()))
+            .on("refitId", (p, wn2, version) -> {
+                if (usesOldIds(version)) {
+                    p.oldRefitId = Integer.parseInt(wn2.getTextContent());
+                } else if(!wn2.getTextContent().equals("null")) {
+                    p.refitId = UUID.fromString(wn2.getTextContent());
+                }
+            })
+            .on("daysToArrival", (p, wn2, version) -> p.daysToArrival = Integer.parseInt(wn2.getTextContent()))
+            .on("workingOvertime", (p, wn2, version) -> p.workingOvertime = wn2.getTextContent().equalsIgnoreCase("true"))
+            .on("isTeamSalvaging", (p, wn2, version) -> p.isTeamSalvaging = wn2.getTextContent().equalsIgnoreCase("true"))
+            .on("brandNew", (p, wn2, version) -> p.brandNew = wn2.getTextContent().equalsIgnoreCase("true"))
+            .on("replacementId", (p, wn2, version) -> p.replacementId = Integer.parseInt(wn2.getTextContent()))
+            .on("quality", (p, wn2, version) -> p.quality = Integer.parseInt(wn2.getTextContent()))
+            .on("parentPartId", (p, wn2, version) -> p.parentPartId = Integer.parseInt(wn2.getTextContent()))
+            .on("childPartId", (p, wn2, version) -> p.childPartIds.add(Integer.parseInt(wn2.getTextContent())));
+
     private static final String[] partTypeLabels = { "Armor", "Weapon", "Ammo",
             "Equipment Part", "Mek Actuator", "Mek Engine", "Mek Gyro",
             "Mek Life Support", "Mek Body Part", "Mek Sensor",
@@ -188,6 +256,9 @@ public abstract class Part implements Serializable, MekHqXmlSerializable, IPartW
     //all parts need a reference to campaign
     protected Campaign campaign;
 
+    /** Set while a change to the part is about to be undone, so it isn't reported */
+    private transient boolean changesSuppressed;
+
     /*
      * This will be unusual but in some circumstances certain parts will be linked to other parts.
      * These linked parts will be considered integral and subsidary to those other parts and will
@@ -381,6 +452,7 @@ public abstract class Part implements Serializable, MekHqXmlSerializable, IPartW
     }
 
     public void setUnit(Unit u) {
+        UUID previousUnitId = unitId;
         this.unit = u;
         if(null != unit) {
             unitId = unit.getId();
@@ -388,6 +460,28 @@ public abstract class Part implements Serializable, MekHqXmlSerializable, IPartW
         } else {
             unitId = null;
         }
+        if (!Objects.equals(previousUnitId, unitId)) {
+            partChanged();
+        }
+    }
+
+    /**
+     * Reports a change to where this part is, how many of it there are or its status by
+     * updating the campaign's spare part index and triggering a {@link PartChangedEvent},
+     * if the part belongs to its campaign.
+     */
+    protected void partChanged() {
+        if (!changesSuppressed && (null != campaign) && (campaign.getPart(id) == this)) {
+            campaign.updateSparePart(this);
+            MekHQ.triggerEvent(new PartChangedEvent(this));
+        }
+    }
+
+    /**
+     * Stops or resumes reporting changes, for changes which are undone right away.
+     */
+    void setChangesSuppressed(boolean suppressed) {
+        changesSuppressed = suppressed;
     }
 
     public String getStatus() {
@@ -557,6 +651,38 @@ public abstract class Part implements Serializable, MekHqXmlSerializable, IPartW
         return quality == part.getQuality() && hits == part.getHits() && part.getSkillMin() == this.getSkillMin() && this.getDaysToArrival() == part.getDaysToArrival();
     }
 
+    /**
+     * Gets a key grouping parts that may have the same status. Any two parts for which
+     * {@link #isSameStatus(Part)} returns true must share the same key. This is used by
+     * {@link SparePartIndex} together with {@link #getPartTypeKey()}.
+     *
+     * @return the part status key for this part
+     */
+    public String getPartStatusKey() {
+        return quality + ":" + hits + ":" + skillMin + ":" + daysToArrival;
+    }
+
+    /**
+     * Gets a key grouping parts that may be of the same part type. Any two parts for which
+     * {@link #isSamePartType(Part)} returns true must share the same key, but parts sharing
+     * a key are not necessarily the same part type. This is used by {@link SparePartIndex}
+     * to narrow down the spare parts which need to be compared when merging parts.
+     *
+     * Subclasses may refine the key using values that every part type in the same family
+     * compares in {@link #isSamePartType(Part)}.
+     *
+     * @return the part type key for this part
+     */
+    public String getPartTypeKey() {
+        // isSamePartType uses instanceof checks, so parts in the same family
+        // (i.e. having the same direct subclass of Part) may be the same type
+        Class<?> family = getClass();
+        while ((null != family.getSuperclass()) && (Part.class != family.getSuperclass())) {
+            family = family.getSuperclass();
+        }
+        return family.getName();
+    }
+
     protected boolean isClanTechBase() {
         return getTechBase() == TECH_BASE_CLAN;
     }
@@ -569,96 +695,35 @@ public abstract class Part implements Serializable, MekHqXmlSerializable, IPartW
                 +"\" type=\""
                 +this.getClass().getName()
                 +"\">");
-        pw1.println(MekHqXmlUtil.indentStr(indent+1)
-                +"<id>"
-                +this.id
-                +"</id>");
-        pw1.println(MekHqXmlUtil.indentStr(indent+1)
-                +"<name>"
-                +MekHqXmlUtil.escape(name)
-                +"</name>");
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "id", this.id);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "name", name);
         if (omniPodded) {
             pw1.println(MekHqXmlUtil.indentStr(indent+1) + "<omniPodded/>");
         }
-        pw1.println(MekHqXmlUtil.indentStr(indent+1)
-                +"<unitTonnage>"
-                +unitTonnage
-                +"</unitTonnage>");
-        pw1.println(MekHqXmlUtil.indentStr(indent+1)
-                +"<hits>"
-                +hits
-                +"</hits>");
-        pw1.println(MekHqXmlUtil.indentStr(indent+1)
-                +"<timeSpent>"
-                +timeSpent
-                +"</timeSpent>");
-        pw1.println(MekHqXmlUtil.indentStr(indent+1)
-                +"<mode>"
-                +mode
-                +"</mode>");
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "unitTonnage", unitTonnage);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "hits", hits);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "timeSpent", timeSpent);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "mode", String.valueOf(mode));
         if(null != teamId) {
-            pw1.println(MekHqXmlUtil.indentStr(indent+1)
-                    +"<teamId>"
-                    +teamId.toString()
-                    +"</teamId>");
-        }
-        pw1.println(MekHqXmlUtil.indentStr(indent+1)
-                +"<skillMin>"
-                +skillMin
-                +"</skillMin>");
+            MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "teamId", teamId);
+        }
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "skillMin", skillMin);
         if(null != unitId) {
-            pw1.println(MekHqXmlUtil.indentStr(indent+1)
-                    +"<unitId>"
-                    +unitId.toString()
-                    +"</unitId>");
-        }
-        pw1.println(MekHqXmlUtil.indentStr(indent+1)
-                +"<workingOvertime>"
-                +workingOvertime
-                +"</workingOvertime>");
-        pw1.println(MekHqXmlUtil.indentStr(indent+1)
-                +"<shorthandedMod>"
-                +shorthandedMod
-                +"</shorthandedMod>");
-        pw1.println(MekHqXmlUtil.indentStr(indent+1)
-                +"<refitId>"
-                +refitId
-                +"</refitId>");
-        pw1.println(MekHqXmlUtil.indentStr(indent+1)
-                +"<daysToArrival>"
-                +daysToArrival
-                +"</daysToArrival>");
-        pw1.println(MekHqXmlUtil.indentStr(indent+1)
-                +"<brandNew>"
-                +brandNew
-                +"</brandNew>");
-        pw1.println(MekHqXmlUtil.indentStr(indent+1)
-                +"<quantity>"
-                +quantity
-                +"</quantity>");
-        pw1.println(MekHqXmlUtil.indentStr(indent+1)
-                +"<daysToWait>"
-                +daysToWait
-                +"</daysToWait>");
-        pw1.println(MekHqXmlUtil.indentStr(indent+1)
-                +"<replacementId>"
-                +replacementId
-                +"</replacementId>");
-        pw1.println(MekHqXmlUtil.indentStr(indent+1)
-                +"<quality>"
-                +quality
-                +"</quality>");
-        pw1.println(MekHqXmlUtil.indentStr(indent+1)
-                +"<isTeamSalvaging>"
-                +isTeamSalvaging
-                +"</isTeamSalvaging>");
-        pw1.println(MekHqXmlUtil.indentStr(indent+1)
-                +"<parentPartId>"
-                +parentPartId
-                +"</parentPartId>");
+            MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "unitId", unitId);
+        }
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "workingOvertime", workingOvertime);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "shorthandedMod", shorthandedMod);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "refitId", refitId);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "daysToArrival", daysToArrival);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "brandNew", brandNew);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "quantity", quantity);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "daysToWait", daysToWait);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "replacementId", replacementId);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "quality", quality);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "isTeamSalvaging", isTeamSalvaging);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "parentPartId", parentPartId);
         for(int childId : childPartIds) {
-            pw1.println(MekHqXmlUtil.indentStr(indent + 1) + "<childPartId>"
-                    + childId + "</childPartId>");
+            MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "childPartId", childId);
         }
     }
 
@@ -674,114 +739,19 @@ public abstract class Part implements Serializable, MekHqXmlSerializable, IPartW
         String className = classNameNode.getTextContent();
 
         //reverse compatibility checks
-        if(className.equalsIgnoreCase("mekhq.campaign.parts.MekEngine")) {
-            className = "mekhq.campaign.parts.EnginePart";
-        }
-        else if(className.equalsIgnoreCase("mekhq.campaign.parts.MissingMekEngine")) {
-            className = "mekhq.campaign.parts.MissingEnginePart";
-        }
-        else if(className.equalsIgnoreCase("mekhq.campaign.parts.EquipmentPart")) {
-            className = "mekhq.campaign.parts.equipment.EquipmentPart";
-        }
-        else if(className.equalsIgnoreCase("mekhq.campaign.parts.MissingEquipmentPart")) {
-            className = "mekhq.campaign.parts.equipment.MissingEquipmentPart";
-        }
-        else if(className.equalsIgnoreCase("mekhq.campaign.parts.AmmoBin")) {
-            className = "mekhq.campaign.parts.equipment.AmmoBin";
-        }
-        else if(className.equalsIgnoreCase("mekhq.campaign.parts.MissingAmmoBin")) {
-            className = "mekhq.campaign.parts.equipment.MissingAmmoBin";
-        }
-        else if(className.equalsIgnoreCase("mekhq.campaign.parts.JumpJet")) {
-            className = "mekhq.campaign.parts.equipment.JumpJet";
-        }
-        else if(className.equalsIgnoreCase("mekhq.campaign.parts.MissingJumpJet")) {
-            className = "mekhq.campaign.parts.equipment.MissingJumpJet";
-        }
-        else if(className.equalsIgnoreCase("mekhq.campaign.parts.HeatSink")) {
-            className = "mekhq.campaign.parts.equipment.HeatSink";
-        }
-        else if(className.equalsIgnoreCase("mekhq.campaign.parts.MissingHeatSink")) {
-            className = "mekhq.campaign.parts.equipment.MissingHeatSink";
+        String currentName = LEGACY_CLASS_NAMES.get(className.toLowerCase(Locale.ROOT));
+        if (null != currentName) {
+            className = currentName;
         }
 
         Part retVal = null;
         try {
             // Instantiate the correct child class, and call its parsing function.
-            retVal = (Part) Class.forName(className).newInstance();
+            retVal = getFactory(className).call();
             retVal.loadFieldsFromXmlNode(wn);
 
             // Okay, now load Part-specific fields!
-            NodeList nl = wn.getChildNodes();
-
-            for (int x=0; x<nl.getLength(); x++) {
-                Node wn2 = nl.item(x);
-
-                 if (wn2.getNodeName().equalsIgnoreCase("id")) {
-                    retVal.id = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("name")) {
-                    retVal.name = wn2.getTextContent();
-                } else if (wn2.getNodeName().equalsIgnoreCase("unitTonnage")) {
-                    retVal.unitTonnage = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("omniPodded")) {
-                    retVal.omniPodded = true;
-                } else if (wn2.getNodeName().equalsIgnoreCase("quantity")) {
-                    retVal.quantity = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("hits")) {
-                    retVal.hits = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("timeSpent")) {
-                    retVal.timeSpent = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("skillMin")) {
-                    retVal.skillMin = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("mode")) {
-                    retVal.mode = WorkTime.of(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("daysToWait")) {
-                    retVal.daysToWait = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("teamId")) {
-                    if (version.getMajorVersion() == 0 && version.getMinorVersion() < 2 && version.getSnapshot() < 14) {
-                        retVal.oldTeamId = Integer.parseInt(wn2.getTextContent());
-                    } else {
-                        if(!wn2.getTextContent().equals("null")) {
-                            retVal.teamId = UUID.fromString(wn2.getTextContent());
-                        }
-                    }
-                } else if (wn2.getNodeName().equalsIgnoreCase("unitId")) {
-                    if (version.getMajorVersion() == 0 && version.getMinorVersion() < 2 && version.getSnapshot() < 14) {
-                        retVal.oldUnitId = Integer.parseInt(wn2.getTextContent());
-                    } else {
-                        if(!wn2.getTextContent().equals("null")) {
-                            retVal.unitId = UUID.fromString(wn2.getTextContent());
-                        }
-                    }
-                } else if (wn2.getNodeName().equalsIgnoreCase("shorthandedMod")) {
-                    retVal.shorthandedMod = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("refitId")) {
-                    if (version.getMajorVersion() == 0 && version.getMinorVersion() < 2 && version.getSnapshot() < 14) {
-                        retVal.oldRefitId = Integer.parseInt(wn2.getTextContent());
-                    } else {
-                        if(!wn2.getTextContent().equals("null")) {
-                            retVal.refitId = UUID.fromString(wn2.getTextContent());
-                        }
-                    }
-                } else if (wn2.getNodeName().equalsIgnoreCase("daysToArrival")) {
-                    retVal.daysToArrival = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("workingOvertime")) {
-                     retVal.workingOvertime = wn2.getTextContent().equalsIgnoreCase("true");
-                } else if (wn2.getNodeName().equalsIgnoreCase("isTeamSalvaging")) {
-                     retVal.isTeamSalvaging = wn2.getTextContent().equalsIgnoreCase("true");
-                } else if (wn2.getNodeName().equalsIgnoreCase("brandNew")) {
-                     retVal.brandNew = wn2.getTextContent().equalsIgnoreCase("true");
-                }
-                else if (wn2.getNodeName().equalsIgnoreCase("replacementId")) {
-                    retVal.replacementId = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("quality")) {
-                    retVal.quality = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("parentPartId")) {
-                    retVal.parentPartId = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("childPartId")) {
-                    retVal.childPartIds.add(Integer.parseInt(wn2.getTextContent()));
-                }
-			}
+            XML_FIELDS.dispatchChildren(retVal, wn, version);
 
 			// Refit protection of unit id
 			if (retVal.unitId != null && retVal.refitId != null) {
@@ -797,6 +767,23 @@ public abstract class Part implements Serializable, MekHqXmlSerializable, IPartW
 		return retVal;
 	}
 
+    /**
+     * @return creates parts of the given class; the class is only looked up the first time
+     */
+    private static Callable<Part> getFactory(String className) throws ReflectiveOperationException {
+        Callable<Part> factory = FACTORIES.get(className);
+        if (null == factory) {
+            Constructor<? extends Part> constructor = Class.forName(className).asSubclass(Part.class).getConstructor();
+            factory = constructor::newInstance;
+            FACTORIES.put(className, factory);
+        }
+        return factory;
+    }
+
+    private static boolean usesOldIds(Version version) {
+        return version.getMajorVersion() == 0 && version.getMinorVersion() < 2 && version.getSnapshot() < 14;
+    }
+
 	protected abstract void loadFieldsFromXmlNode(Node wn);
 
 	@Override
@@ -833,7 +820,10 @@ public abstract class Part implements Serializable, MekHqXmlSerializable, IPartW
 	}
 
 	public void setSkillMin(int i) {
-		this.skillMin = i;
+		if (skillMin != i) {
+			this.skillMin = i;
+			partChanged();
+		}
 	}
 
 	public WorkTime getMode() {
@@ -1038,6 +1028,7 @@ public abstract class Part implements Serializable, MekHqXmlSerializable, IPartW
     public void fix() {
         hits = 0;
         resetRepairSettings();
+        partChanged();
     }
 
     /**
@@ -1176,7 +1167,10 @@ public abstract class Part implements Serializable, MekHqXmlSerializable, IPartW
     }
 
     public void setDaysToArrival(int days) {
-        daysToArrival = days;
+        if (daysToArrival != days) {
+            daysToArrival = days;
+            partChanged();
+        }
     }
 
     public int getDaysToArrival() {
@@ -1186,6 +1180,7 @@ public abstract class Part implements Serializable, MekHqXmlSerializable, IPartW
     public boolean checkArrival() {
         if(daysToArrival > 0) {
             daysToArrival--;
+            partChanged();
             return (daysToArrival == 0);
         }
         return false;
@@ -1236,6 +1231,7 @@ public abstract class Part implements Serializable, MekHqXmlSerializable, IPartW
 
     public void incrementQuantity() {
         quantity++;
+        partChanged();
     }
 
     public void decrementQuantity() {
@@ -1248,6 +1244,8 @@ public abstract class Part implements Serializable, MekHqXmlSerializable, IPartW
                 }
             }
             campaign.removePart(this);
+        } else {
+            partChanged();
         }
     }
 
@@ -1313,14 +1311,19 @@ public abstract class Part implements Serializable, MekHqXmlSerializable, IPartW
 
     public void improveQuality() {
         quality += 1;
+        partChanged();
     }
 
     public void decreaseQuality() {
         quality -= 1;
+        partChanged();
     }
 
     public void setQuality(int q) {
-        quality = q;
+        if (quality != q) {
+            quality = q;
+            partChanged();
+        }
     }
 
     public boolean needsMaintenance() {
@@ -1337,7 +1340,10 @@ public abstract class Part implements Serializable, MekHqXmlSerializable, IPartW
     public abstract String getLocationName();
 
     public void setParentPartId(int id) {
-        parentPartId = id;
+        if (parentPartId != id) {
+            parentPartId = id;
+            partChanged();
+        }
     }
     
     public int getParentPartId() {
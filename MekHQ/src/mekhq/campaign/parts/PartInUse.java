@@ -33,13 +33,19 @@ public class PartInUse {
     public PartInUse(Part part) {
         StringBuilder sb = new StringBuilder(part.getName());
         Unit u = part.getUnit();
-        if(!(part instanceof MissingBattleArmorSuit)) {
-            part.setUnit(null);
-        }
-        if(!(part instanceof Armor) && !(part instanceof AmmoStorage)) {
-            appendDetails(sb, part);
+        // the part is only taken off its unit to describe it
+        part.setChangesSuppressed(true);
+        try {
+            if(!(part instanceof MissingBattleArmorSuit)) {
+                part.setUnit(null);
+            }
+            if(!(part instanceof Armor) && !(part instanceof AmmoStorage)) {
+                appendDetails(sb, part);
+            }
+            part.setUnit(u);
+        } finally {
+            part.setChangesSuppressed(false);
         }
-        part.setUnit(u);
         this.description = sb.toString();
         this.partToBuy = part.getAcquisitionWork();
         this.tonnagePerItem = part.getTonnage();
@@ -66,6 +72,21 @@ public class PartInUse {
         }
     }
     
+    /**
+     * Creates a copy of another parts in use entry, including its counts.
+     * @param other the entry to copy
+     */
+    public PartInUse(PartInUse other) {
+        this.description = other.description;
+        this.partToBuy = other.partToBuy;
+        this.useCount = other.useCount;
+        this.storeCount = other.storeCount;
+        this.tonnagePerItem = other.tonnagePerItem;
+        this.transferCount = other.transferCount;
+        this.plannedCount = other.plannedCount;
+        this.cost = other.cost;
+    }
+    
     public PartInUse(String description, IAcquisitionWork partToBuy, Money cost) {
         this.description = Objects.requireNonNull(description);
         this.partToBuy = Objects.requireNonNull(partToBuy);
@@ -0,0 +1,314 @@
+/*
+ * Copyright (c) 2019 - The MegaMek Team
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign.parts;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import megamek.common.MiscType;
+import megamek.common.annotations.Nullable;
+import megamek.common.event.Subscribe;
+import mekhq.MekHQ;
+import mekhq.campaign.Campaign;
+import mekhq.campaign.event.PartArrivedEvent;
+import mekhq.campaign.event.PartChangedEvent;
+import mekhq.campaign.event.PartNewEvent;
+import mekhq.campaign.event.PartRemovedEvent;
+import mekhq.campaign.event.UnitEvent;
+import mekhq.campaign.parts.equipment.EquipmentPart;
+import mekhq.campaign.unit.Unit;
+import mekhq.campaign.work.IAcquisitionWork;
+
+/**
+ * Maintains the parts in use aggregates of a campaign. Rather than building a {@link PartInUse}
+ * for every part each time the table is requested, the aggregates are built once and the
+ * contribution of each part is remembered. Afterwards only parts which are reported as added,
+ * changed, arrived or removed (or which belong to a changed unit) are re-evaluated. Parts report
+ * changes to their quantity, installation and arrival themselves; see {@link Part#partChanged()}.
+ *
+ * The planned counts come from the shopping list, whose quantities change without events being
+ * triggered, so they are summed on request. The (expensive) description of each shopping item
+ * is computed only once.
+ *
+ * The tracker is registered with the event bus by its campaign and has to be unregistered
+ * with {@link #dispose()} once the campaign is no longer used.
+ */
+public class PartsInUseTracker {
+    private final Campaign campaign;
+
+    /** The aggregates for the parts in the campaign, mapped to themselves for lookup */
+    private final Map<PartInUse, PartInUse> inUse = new HashMap<>();
+    /** The number of parts contributing to each aggregate */
+    private final Map<PartInUse, Integer> partCounts = new HashMap<>();
+    /** What each part (by id) has added to the aggregates */
+    private final Map<Integer, Contribution> contributions = new HashMap<>();
+    /** The aggregate and unit quantity of each shopping list item */
+    private final Map<IAcquisitionWork, PlannedItem> plannedItems = new IdentityHashMap<>();
+
+    private boolean initialized = false;
+
+    public PartsInUseTracker(Campaign campaign) {
+        this.campaign = campaign;
+    }
+
+    /**
+     * @return a snapshot of the current parts in use, including planned purchases
+     */
+    public synchronized Set<PartInUse> getPartsInUse() {
+        initialize();
+        Map<PartInUse, PartInUse> result = new HashMap<>();
+        for (PartInUse piu : inUse.keySet()) {
+            PartInUse copy = new PartInUse(piu);
+            result.put(copy, copy);
+        }
+        for (Map.Entry<IAcquisitionWork, PlannedItem> entry : getPlannedItems().entrySet()) {
+            PartInUse piu = result.get(entry.getValue().partInUse);
+            if (null == piu) {
+                piu = new PartInUse(entry.getValue().partInUse);
+                result.put(piu, piu);
+            }
+            piu.setPlannedCount(piu.getPlannedCount()
+                    + entry.getValue().quantity * entry.getKey().getQuantity());
+        }
+        return result.keySet();
+    }
+
+    /**
+     * Updates the counts of the given parts in use entry with the current campaign data.
+     * @param piu the entry to update
+     */
+    public synchronized void updatePartInUse(PartInUse piu) {
+        initialize();
+        PartInUse current = inUse.get(piu);
+        piu.setUseCount((null != current) ? current.getUseCount() : 0);
+        piu.setStoreCount((null != current) ? current.getStoreCount() : 0);
+        piu.setTransferCount((null != current) ? current.getTransferCount() : 0);
+        piu.setPlannedCount(0);
+        for (Map.Entry<IAcquisitionWork, PlannedItem> entry : getPlannedItems().entrySet()) {
+            if (piu.equals(entry.getValue().partInUse)) {
+                piu.setPlannedCount(piu.getPlannedCount()
+                        + entry.getValue().quantity * entry.getKey().getQuantity());
+            }
+        }
+    }
+
+    /**
+     * Stops listening to campaign events. Called when the campaign is replaced.
+     */
+    public void dispose() {
+        MekHQ.unregisterHandler(this);
+    }
+
+    @Subscribe
+    public void handle(PartNewEvent ev) {
+        updatePart(ev.getPart());
+    }
+
+    @Subscribe
+    public void handle(PartChangedEvent ev) {
+        updatePart(ev.getPart());
+    }
+
+    @Subscribe
+    public void handle(PartArrivedEvent ev) {
+        updatePart(ev.getPart());
+    }
+
+    @Subscribe
+    public void handle(PartRemovedEvent ev) {
+        updatePart(ev.getPart());
+    }
+
+    @Subscribe
+    public void handle(UnitEvent ev) {
+        // How a part is described, and so which aggregate it counts towards, can
+        // depend on its unit, which may change without the part itself changing
+        Unit unit = ev.getUnit();
+        if (campaign != unit.getCampaign()) {
+            return;
+        }
+        synchronized (this) {
+            if (initialized) {
+                for (Part part : unit.getParts()) {
+                    updateContribution(part);
+                }
+            }
+        }
+    }
+
+    private void updatePart(Part part) {
+        if (campaign != part.getCampaign()) {
+            return;
+        }
+        synchronized (this) {
+            if (initialized) {
+                updateContribution(part);
+            }
+        }
+    }
+
+    /**
+     * Builds the aggregates on first use.
+     */
+    private void initialize() {
+        if (!initialized) {
+            for (Part part : campaign.getParts()) {
+                updateContribution(part);
+            }
+            initialized = true;
+        }
+    }
+
+    /**
+     * Removes the previous contribution of the part, then adds its current contribution
+     * if it is still in the campaign.
+     */
+    private void updateContribution(Part part) {
+        Contribution old = contributions.remove(part.getId());
+        if (null != old) {
+            old.apply(-1);
+        }
+        if (campaign.getPart(part.getId()) != part) {
+            return;
+        }
+        // Parts without an aggregate are remembered as well, so their keys are only
+        // built when they change
+        PartInUse piu = getPartInUse(part);
+        if (null != piu) {
+            PartInUse existing = inUse.get(piu);
+            if (null == existing) {
+                inUse.put(piu, piu);
+            } else {
+                piu = existing;
+            }
+        }
+        Contribution contribution = new Contribution(part, piu);
+        contribution.apply(1);
+        contributions.put(part.getId(), contribution);
+    }
+
+    private Map<IAcquisitionWork, PlannedItem> getPlannedItems() {
+        Set<IAcquisitionWork> current = new HashSet<>();
+        for (IAcquisitionWork maybePart : campaign.getShoppingList().getPartList()) {
+            if (!(maybePart instanceof Part)) {
+                continue;
+            }
+            current.add(maybePart);
+            if (!plannedItems.containsKey(maybePart)) {
+                PartInUse piu = getPartInUse((Part) maybePart);
+                plannedItems.put(maybePart, (null != piu)
+                        ? new PlannedItem(piu, getQuantity((maybePart instanceof MissingPart)
+                                ? ((MissingPart) maybePart).getNewPart() : (Part) maybePart))
+                        : null);
+            }
+        }
+        plannedItems.keySet().retainAll(current);
+        Map<IAcquisitionWork, PlannedItem> result = new IdentityHashMap<>(plannedItems);
+        result.values().removeIf(item -> null == item);
+        return result;
+    }
+
+    private static boolean isInUse(Part p) {
+        return (p.getUnit() != null) || (p.getUnitId() != null) || (p instanceof MissingPart);
+    }
+
+    private static int getQuantity(Part p) {
+        if (p instanceof Armor) {
+            return ((Armor) p).getAmount();
+        }
+        if (p instanceof AmmoStorage) {
+            return ((AmmoStorage) p).getShots();
+        }
+        return ((p.getUnit() != null) || (p.getUnitId() != null)) ? 1 : p.getQuantity();
+    }
+
+    private static @Nullable PartInUse getPartInUse(Part p) {
+        // SI isn't a proper "part"
+        if (p instanceof StructuralIntegrity) {
+            return null;
+        }
+        // Makes no sense buying those separately from the chasis
+        if ((p instanceof EquipmentPart)
+                && ((EquipmentPart) p).getType() != null
+                && (((EquipmentPart) p).getType().hasFlag(MiscType.F_CHASSIS_MODIFICATION))) {
+            return null;
+        }
+        // Replace a "missing" part with a corresponding "new" one.
+        if (p instanceof MissingPart) {
+            p = ((MissingPart) p).getNewPart();
+        }
+        PartInUse result = new PartInUse(p);
+        return (null != result.getPartToBuy()) ? result : null;
+    }
+
+    /**
+     * The counts a single part adds to its parts in use aggregate
+     */
+    private class Contribution {
+        private final @Nullable PartInUse partInUse;
+        private int useCount;
+        private int storeCount;
+        private int transferCount;
+
+        private Contribution(Part part, @Nullable PartInUse partInUse) {
+            this.partInUse = partInUse;
+            int quantity = getQuantity(part);
+            if (isInUse(part)) {
+                useCount = quantity;
+            } else if (part.isPresent()) {
+                storeCount = quantity;
+            } else {
+                transferCount = quantity;
+            }
+        }
+
+        /**
+         * Adds (sign = 1) or removes (sign = -1) this contribution from the aggregate,
+         * dropping the aggregate once no part contributes to it any more.
+         */
+        private void apply(int sign) {
+            if (null == partInUse) {
+                return;
+            }
+            partInUse.setUseCount(partInUse.getUseCount() + sign * useCount);
+            partInUse.setStoreCount(partInUse.getStoreCount() + sign * storeCount);
+            partInUse.setTransferCount(partInUse.getTransferCount() + sign * transferCount);
+            int count = partCounts.getOrDefault(partInUse, 0) + sign;
+            if (count > 0) {
+                partCounts.put(partInUse, count);
+            } else {
+                partCounts.remove(partInUse);
+                inUse.remove(partInUse);
+            }
+        }
+    }
+
+    private static class PlannedItem {
+        private final PartInUse partInUse;
+        private final int quantity;
+
+        private PlannedItem(PartInUse partInUse, int quantity) {
+            this.partInUse = partInUse;
+            this.quantity = quantity;
+        }
+    }
+}
@@ -1692,7 +1692,7 @@ public class Refit extends Part implements IPartWork, IAcquisitionWork {
     @Override
     public void writeToXml(PrintWriter pw1, int indentLvl) {
         pw1.println(MekHqXmlUtil.indentStr(indentLvl) + "<refit>");
-        pw1.println(MekHqXmlUtil.writeEntityToXmlString(newEntity, indentLvl+1, oldUnit.getCampaign().getEntities()));
+        MekHqXmlUtil.writeEntityToXml(pw1, newEntity, indentLvl+1, oldUnit.getCampaign().getEntities());
         pw1.println(MekHqXmlUtil.indentStr(indentLvl + 1) + "<time>"
                 + time + "</time>");
         pw1.println(MekHqXmlUtil.indentStr(indentLvl + 1) + "<timeSpent>" + timeSpent
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2019 - The MegaMek Team
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign.parts;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import megamek.common.annotations.Nullable;
+
+/**
+ * Groups the spare parts of a campaign by their {@link Part#getPartTypeKey() part type key}
+ * and {@link Part#getPartStatusKey() part status key}, so that looking for an existing spare
+ * part to merge a new part into only has to compare the spares which may have the same type
+ * and status rather than every part in the campaign.
+ *
+ * The campaign keeps the index current by {@link #update(Part) updating} a part whenever it
+ * becomes a spare, gets installed or changes status. Spares within a key are ordered by id,
+ * so the spare found is the same one a scan over the whole campaign would have found first.
+ */
+public class SparePartIndex {
+    private final Map<String, TreeMap<Integer, Part>> partsByKey = new HashMap<>();
+    private final Map<Integer, String> keysById = new HashMap<>();
+
+    /**
+     * Adds a part to the index under its current key if it is a spare, or removes it
+     * from the index if it is not.
+     *
+     * @param part the part to update
+     */
+    public void update(Part part) {
+        if (!part.isSpare()) {
+            remove(part);
+            return;
+        }
+        String key = getKey(part);
+        String oldKey = keysById.put(part.getId(), key);
+        if ((null != oldKey) && !oldKey.equals(key)) {
+            removeFromKey(oldKey, part.getId());
+        }
+        partsByKey.computeIfAbsent(key, k -> new TreeMap<>()).put(part.getId(), part);
+    }
+
+    /**
+     * Removes a part from the index.
+     * @param part the part to remove
+     */
+    public void remove(Part part) {
+        String key = keysById.remove(part.getId());
+        if (null != key) {
+            removeFromKey(key, part.getId());
+        }
+    }
+
+    /**
+     * Finds a spare part which has the same part type and status as the given part.
+     *
+     * @param part the part to find a matching spare for
+     * @return the matching spare part with the lowest id, or null if there is none
+     */
+    public @Nullable Part findSpareFor(Part part) {
+        TreeMap<Integer, Part> candidates = partsByKey.get(getKey(part));
+        if (null == candidates) {
+            return null;
+        }
+        for (Part spare : candidates.values()) {
+            if ((spare.getId() != part.getId()) && part.isSamePartTypeAndStatus(spare)) {
+                return spare;
+            }
+        }
+        return null;
+    }
+
+    private static String getKey(Part part) {
+        return part.getPartTypeKey() + "|" + part.getPartStatusKey(); //$NON-NLS-1$
+    }
+
+    private void removeFromKey(String key, int id) {
+        TreeMap<Integer, Part> candidates = partsByKey.get(key);
+        if (null != candidates) {
+            candidates.remove(id);
+            if (candidates.isEmpty()) {
+                partsByKey.remove(key);
+            }
+        }
+    }
+}
@@ -156,6 +156,12 @@ public class EquipmentPart extends Part {
                 && isOmniPodded() == part.isOmniPodded();
     }
 
+    @Override
+    public String getPartTypeKey() {
+        // Every equipment part compares the equipment type, so we can safely include it
+        return super.getPartTypeKey() + ":" + ((null != type) ? type.getInternalName() : typeName);
+    }
+
     @Override
     public void writeToXml(PrintWriter pw1, int indent) {
         writeToXmlBegin(pw1, indent);
@@ -109,6 +109,12 @@ public class MASC extends EquipmentPart {
         		&& getEngineRating() == ((MASC)part).getEngineRating();
     }
 
+    @Override
+    public String getPartStatusKey() {
+        // isSamePartTypeAndStatus does not compare the status of MASC
+        return ""; //$NON-NLS-1$
+    }
+
     
     @Override
 	public void writeToXml(PrintWriter pw1, int indent) {
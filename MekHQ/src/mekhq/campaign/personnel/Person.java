@@ -32,6 +32,7 @@ import java.util.stream.IntStream;
 import megamek.common.util.EncodeControl;
 import mekhq.campaign.*;
 import mekhq.campaign.finances.Money;
+import mekhq.campaign.io.XmlElementDispatcher;
 import mekhq.campaign.log.*;
 import org.joda.time.DateTime;
 import org.w3c.dom.Node;
@@ -1267,193 +1268,64 @@ public class Person implements Serializable, MekHqXmlSerializable {
                     + "\" type=\""
                     + this.getClass().getName()
                     + "\">");
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                    + "<name>"
-                    + MekHqXmlUtil.escape(name)
-                    + "</name>");
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "name", name);
         if (maidenname != null) {
-            pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                    + "<maidenname>"
-                    + MekHqXmlUtil.escape(maidenname)
-                    + "</maidenname>");
-        }
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                    + "<callsign>"
-                    + MekHqXmlUtil.escape(callsign)
-                    + "</callsign>");
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                    + "<primaryRole>"
-                    + primaryRole
-                    + "</primaryRole>");
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                    + "<secondaryRole>"
-                    + secondaryRole
-                    + "</secondaryRole>");
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                    + "<primaryDesignator>"
-                    + primaryDesignator
-                    + "</primaryDesignator>");
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                    + "<secondaryDesignator>"
-                    + secondaryDesignator
-                    + "</secondaryDesignator>");
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                    + "<commander>"
-                    + MekHqXmlUtil.escape(Boolean.toString(commander))
-                    + "</commander>");
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                    + "<dependent>"
-                    + MekHqXmlUtil.escape(Boolean.toString(dependent))
-                    + "</dependent>");
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                    + "<faction>"
-                    + originFaction.getShortName()
-                    + "</faction>");
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                    + "<clan>"
-                    + clan
-                    + "</clan>");
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                + "<phenotype>"
-                + phenotype
-                + "</phenotype>");
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                + "<bloodname>"
-                + bloodname
-                + "</bloodname>");
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                    + "<biography>"
-                    + MekHqXmlUtil.escape(biography)
-                    + "</biography>");
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                    + "<idleMonths>"
-                    + idleMonths
-                    + "</idleMonths>");
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                    + "<id>"
-                    + this.id.toString()
-                    + "</id>");
+            MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "maidenname", maidenname);
+        }
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "callsign", callsign);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "primaryRole", primaryRole);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "secondaryRole", secondaryRole);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "primaryDesignator", primaryDesignator);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "secondaryDesignator", secondaryDesignator);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "commander", commander);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "dependent", dependent);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "faction", originFaction.getShortName());
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "clan", clan);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "phenotype", phenotype);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "bloodname", bloodname);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "biography", biography);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "idleMonths", idleMonths);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "id", this.id);
         if (ancestorsID != null) {
-            pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                        + "<ancestors>"
-                        + this.ancestorsID.toString()
-                        + "</ancestors>");
+            MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "ancestors", this.ancestorsID);
         }
         if (spouse != null) {
-            pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                        + "<spouse>"
-                        + this.spouse.toString()
-                        + "</spouse>");
+            MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "spouse", this.spouse);
         }
         if (dueDate != null) {
-            pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                        + "<dueDate>"
-                        + df.format(dueDate.getTime())
-                        + "</dueDate>");
-        }
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                    + "<portraitCategory>"
-                    + MekHqXmlUtil.escape(portraitCategory)
-                    + "</portraitCategory>");
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                    + "<portraitFile>"
-                    + MekHqXmlUtil.escape(portraitFile)
-                    + "</portraitFile>");
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                    + "<xp>"
-                    + xp
-                    + "</xp>");
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                    + "<daysToWaitForHealing>"
-                    + daysToWaitForHealing
-                    + "</daysToWaitForHealing>");
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                    + "<gender>"
-                    + gender
-                    + "</gender>");
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                    + "<rank>"
-                    + rank
-                    + "</rank>");
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                    + "<rankLevel>"
-                    + rankLevel
-                    + "</rankLevel>");
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                    + "<rankSystem>"
-                    + rankSystem
-                    + "</rankSystem>");
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                    + "<maneiDominiRank>"
-                    + maneiDominiRank
-                    + "</maneiDominiRank>");
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                    + "<maneiDominiClass>"
-                    + maneiDominiClass
-                    + "</maneiDominiClass>");
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                    + "<nTasks>"
-                    + nTasks
-                    + "</nTasks>");
+            MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "dueDate", df.format(dueDate.getTime()));
+        }
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "portraitCategory", portraitCategory);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "portraitFile", portraitFile);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "xp", xp);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "daysToWaitForHealing", daysToWaitForHealing);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "gender", gender);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "rank", rank);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "rankLevel", rankLevel);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "rankSystem", rankSystem);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "maneiDominiRank", maneiDominiRank);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "maneiDominiClass", maneiDominiClass);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "nTasks", nTasks);
         if (null != doctorId) {
-            pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                        + "<doctorId>"
-                        + doctorId.toString()
-                        + "</doctorId>");
+            MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "doctorId", doctorId);
         }
         if (null != unitId) {
-            pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                        + "<unitId>"
-                        + unitId.toString()
-                        + "</unitId>");
-        }
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                    + "<salary>"
-                    + salary.toXmlString()
-                    + "</salary>");
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                    + "<status>"
-                    + status
-                    + "</status>");
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                    + "<prisonerstatus>"
-                    + prisonerStatus
-                    + "</prisonerstatus>");
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                    + "<willingToDefect>"
-                    + willingToDefect
-                    + "</willingToDefect>");
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                    + "<hits>"
-                    + hits
-                    + "</hits>");
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                    + "<toughness>"
-                    + toughness
-                    + "</toughness>");
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                    + "<minutesLeft>"
-                    + minutesLeft
-                    + "</minutesLeft>");
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                    + "<overtimeLeft>"
-                    + overtimeLeft
-                    + "</overtimeLeft>");
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                    + "<birthday>"
-                    + df.format(birthday.getTime())
-                    + "</birthday>");
+            MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "unitId", unitId);
+        }
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "salary", salary.toXmlString());
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "status", status);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "prisonerstatus", prisonerStatus);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "willingToDefect", willingToDefect);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "hits", hits);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "toughness", toughness);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "minutesLeft", minutesLeft);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "overtimeLeft", overtimeLeft);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "birthday", df.format(birthday.getTime()));
         if (null != deathday) {
-            pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                        + "<deathday>"
-                        + df.format(deathday.getTime())
-                        + "</deathday>");
+            MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "deathday", df.format(deathday.getTime()));
         }
         if (null != recruitment) {
-            pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                        + "<recruitment>"
-                        + df.format(recruitment.getTime())
-                        + "</recruitment>");
+            MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "recruitment", df.format(recruitment.getTime()));
         }
         for (String skName : skills.keySet()) {
             Skill skill = skills.get(skName);
@@ -1472,10 +1344,7 @@ public class Person implements Serializable, MekHqXmlSerializable {
                         + "</edge>");
             // For support personnel, write an available edge value
             if (isSupport() || isEngineer()) {
-                pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                        + "<edgeAvailable>"
-                        + getCurrentEdge()
-                        + "</edgeAvailable>");
+                MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "edgeAvailable", getCurrentEdge());
             }
         }
         if (countOptions(PilotOptions.MD_ADVANTAGES) > 0) {
@@ -1487,10 +1356,7 @@ public class Person implements Serializable, MekHqXmlSerializable {
         if (!techUnitIds.isEmpty()) {
             pw1.println(MekHqXmlUtil.indentStr(indent + 1) + "<techUnitIds>");
             for (UUID id : techUnitIds) {
-                pw1.println(MekHqXmlUtil.indentStr(indent + 2)
-                            + "<id>"
-                            + id.toString()
-                            + "</id>");
+                MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 2, "id", id);
             }
             pw1.println(MekHqXmlUtil.indentStr(indent + 1) + "</techUnitIds>");
         }
@@ -1522,332 +1388,303 @@ public class Person implements Serializable, MekHqXmlSerializable {
             }
             pw1.println(MekHqXmlUtil.indentStr(indent + 1) + "</injuries>");
         }
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                + "<founder>"
-                + founder
-                + "</founder>");
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                + "<originalUnitWeight>"
-                + originalUnitWeight
-                + "</originalUnitWeight>");
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                + "<originalUnitTech>"
-                + originalUnitTech
-                + "</originalUnitTech>");
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "founder", founder);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "originalUnitWeight", originalUnitWeight);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "originalUnitTech", originalUnitTech);
         if (originalUnitId != null) {
-            pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                    + "<originalUnitId>"
-                    + originalUnitId.toString()
-                    + "</originalUnitId>");
-        }
-        pw1.println(MekHqXmlUtil.indentStr(indent + 1)
-                + "<acquisitions>"
-                + acquisitions
-                + "</acquisitions>");
+            MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "originalUnitId", originalUnitId);
+        }
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indent + 1, "acquisitions", acquisitions);
         if(null != extraData) {
             extraData.writeToXml(pw1);
         }
         pw1.println(MekHqXmlUtil.indentStr(indent) + "</person>");
     }
 
-    public static Person generateInstanceFromXML(Node wn, Campaign c, Version version) {
-        final String METHOD_NAME = "generateInstanceFromXML(Node,Campaign,Version)"; //$NON-NLS-1$
-        
-        Person retVal = null;
-
-        try {
-            // Instantiate the correct child class, and call its parsing function.
-            retVal = new Person(c);
-
-            // Okay, now load Person-specific fields!
-            NodeList nl = wn.getChildNodes();
-
-            String advantages = null;
-            String edge = null;
-            String implants = null;
-
-            //backwards compatability
-            String pilotName = null;
-            String pilotNickname = null;
-            int pilotGunnery = -1;
-            int pilotPiloting = -1;
-            int pilotCommandBonus = -1;
-            int type = 0;
-
-            for (int x = 0; x < nl.getLength(); x++) {
-                Node wn2 = nl.item(x);
-
-                if (wn2.getNodeName().equalsIgnoreCase("name")) {
-                    retVal.name = wn2.getTextContent();
-                } else if (wn2.getNodeName().equalsIgnoreCase("maidenname")) {
-                    retVal.maidenname = wn2.getTextContent();
-                } else if (wn2.getNodeName().equalsIgnoreCase("callsign")) {
-                    retVal.callsign = wn2.getTextContent();
-                } else if (wn2.getNodeName().equalsIgnoreCase("commander")) {
-                    retVal.commander = Boolean.parseBoolean(wn2.getTextContent().trim());
-                } else if (wn2.getNodeName().equalsIgnoreCase("dependent")) {
-                    retVal.dependent = Boolean.parseBoolean(wn2.getTextContent().trim());
-                } else if (wn2.getNodeName().equalsIgnoreCase("faction")) {
-                    retVal.originFaction = Faction.getFaction(wn2.getTextContent().trim());
-                } else if (wn2.getNodeName().equalsIgnoreCase("isClanTech")
-                           || wn2.getNodeName().equalsIgnoreCase("clan")) {
-                    retVal.clan = Boolean.parseBoolean(wn2.getTextContent().trim());
-                } else if (wn2.getNodeName().equalsIgnoreCase("phenotype")) {
-                    retVal.phenotype = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("bloodname")) {
-                    retVal.bloodname = wn2.getTextContent();
-                } else if (wn2.getNodeName().equalsIgnoreCase("biography")) {
-                    retVal.biography = wn2.getTextContent();
-                } else if (wn2.getNodeName().equalsIgnoreCase("primaryRole")) {
-                    retVal.primaryRole = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("secondaryRole")) {
-                    retVal.secondaryRole = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("acquisitions")) {
-                    retVal.acquisitions = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("primaryDesignator")) {
-                    retVal.primaryDesignator = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("secondaryDesignator")) {
-                    retVal.secondaryDesignator = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("daysToWaitForHealing")) {
-                    retVal.daysToWaitForHealing = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("idleMonths")) {
-                    retVal.idleMonths = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("id")) {
-                    if (version.getMajorVersion() == 0 && version.getMinorVersion() < 2 && version.getSnapshot() < 14) {
-                        retVal.oldId = Integer.parseInt(wn2.getTextContent());
-                    } else {
-                        retVal.id = UUID.fromString(wn2.getTextContent());
+    private static final String XML_METHOD_NAME = "generateInstanceFromXML(Node,Campaign,Version)"; //$NON-NLS-1$
+
+    /** A person being read from XML, with the values only used once all of it has been read */
+    private static class XmlReadState {
+        final Person person;
+        final Campaign campaign;
+
+        String advantages = null;
+        String edge = null;
+        String implants = null;
+
+        //backwards compatability
+        String pilotName = null;
+        String pilotNickname = null;
+        int pilotGunnery = -1;
+        int pilotPiloting = -1;
+        int pilotCommandBonus = -1;
+        int type = 0;
+
+        XmlReadState(Person person, Campaign campaign) {
+            this.person = person;
+            this.campaign = campaign;
+        }
+    }
+
+    /** Reads the fields of a person */
+    private static final XmlElementDispatcher<XmlReadState> XML_FIELDS = new XmlElementDispatcher<XmlReadState>()
+            .on("name", (st, wn2, version) -> st.person.name = wn2.getTextContent())
+            .on("maidenname", (st, wn2, version) -> st.person.maidenname = wn2.getTextContent())
+            .on("callsign", (st, wn2, version) -> st.person.callsign = wn2.getTextContent())
+            .on("commander", (st, wn2, version) -> st.person.commander = Boolean.parseBoolean(wn2.getTextContent().trim()))
+            .on("dependent", (st, wn2, version) -> st.person.dependent = Boolean.parseBoolean(wn2.getTextContent().trim()))
+            .on("faction", (st, wn2, version) -> st.person.originFaction = Faction.getFaction(wn2.getTextContent().trim()))
+            .on("isClanTech", Person::readClan)
+            .on("clan", Person::readClan)
+            .on("phenotype", (st, wn2, version) -> st.person.phenotype = Integer.parseInt(wn2.getTextContent()))
+            .on("bloodname", (st, wn2, version) -> st.person.bloodname = wn2.getTextContent())
+            .on("biography", (st, wn2, version) -> st.person.biography = wn2.getTextContent())
+            .on("primaryRole", (st, wn2, version) -> st.person.primaryRole = Integer.parseInt(wn2.getTextContent()))
+            .on("secondaryRole", (st, wn2, version) -> st.person.secondaryRole = Integer.parseInt(wn2.getTextContent()))
+            .on("acquisitions", (st, wn2, version) -> st.person.acquisitions = Integer.parseInt(wn2.getTextContent()))
+            .on("primaryDesignator", (st, wn2, version) -> st.person.primaryDesignator = Integer.parseInt(wn2.getTextContent()))
+            .on("secondaryDesignator", (st, wn2, version) -> st.person.secondaryDesignator = Integer.parseInt(wn2.getTextContent()))
+            .on("daysToWaitForHealing", (st, wn2, version) -> st.person.daysToWaitForHealing = Integer.parseInt(wn2.getTextContent()))
+            .on("idleMonths", (st, wn2, version) -> st.person.idleMonths = Integer.parseInt(wn2.getTextContent()))
+            .on("id", (st, wn2, version) -> {
+                if (version.getMajorVersion() == 0 && version.getMinorVersion() < 2 && version.getSnapshot() < 14) {
+                    st.person.oldId = Integer.parseInt(wn2.getTextContent());
+                } else {
+                    st.person.id = UUID.fromString(wn2.getTextContent());
+                }
+            })
+            .on("ancestors", (st, wn2, version) -> st.person.ancestorsID = UUID.fromString(wn2.getTextContent()))
+            .on("spouse", (st, wn2, version) -> st.person.spouse = UUID.fromString(wn2.getTextContent()))
+            .on("duedate", (st, wn2, version) -> {
+                SimpleDateFormat df = new SimpleDateFormat("yyyy-MM-dd hh:mm:ss");
+                st.person.dueDate = (GregorianCalendar) GregorianCalendar.getInstance();
+                st.person.dueDate.setTime(df.parse(wn2.getTextContent().trim()));
+            })
+            .on("teamId", (st, wn2, version) -> st.person.teamId = Integer.parseInt(wn2.getTextContent()))
+            .on("portraitCategory", (st, wn2, version) -> st.person.setPortraitCategory(wn2.getTextContent()))
+            .on("portraitFile", (st, wn2, version) -> st.person.setPortraitFileName(wn2.getTextContent()))
+            .on("xp", (st, wn2, version) -> st.person.xp = Integer.parseInt(wn2.getTextContent()))
+            .on("nTasks", (st, wn2, version) -> st.person.nTasks = Integer.parseInt(wn2.getTextContent()))
+            .on("hits", (st, wn2, version) -> st.person.hits = Integer.parseInt(wn2.getTextContent()))
+            .on("gender", (st, wn2, version) -> st.person.gender = Integer.parseInt(wn2.getTextContent()))
+            .on("rank", (st, wn2, version) -> {
+                if (version.isLowerThan("0.3.4-r1782")) {
+                    RankTranslator rt = new RankTranslator(st.campaign);
+                    try {
+                        st.person.rank = rt.getNewRank(st.campaign.getRanks().getOldRankSystem(), Integer.parseInt(wn2.getTextContent()));
+                    } catch (ArrayIndexOutOfBoundsException e) {
+                        // Do nothing
                     }
-                } else if (wn2.getNodeName().equalsIgnoreCase("ancestors")) {
-                    retVal.ancestorsID = UUID.fromString(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("spouse")) {
-                    retVal.spouse = UUID.fromString(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("duedate")) {
-                    SimpleDateFormat df = new SimpleDateFormat("yyyy-MM-dd hh:mm:ss");
-                    retVal.dueDate = (GregorianCalendar) GregorianCalendar.getInstance();
-                    retVal.dueDate.setTime(df.parse(wn2.getTextContent().trim()));
-                } else if (wn2.getNodeName().equalsIgnoreCase("teamId")) {
-                    retVal.teamId = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("portraitCategory")) {
-                    retVal.setPortraitCategory(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("portraitFile")) {
-                    retVal.setPortraitFileName(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("xp")) {
-                    retVal.xp = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("nTasks")) {
-                    retVal.nTasks = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("hits")) {
-                    retVal.hits = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("gender")) {
-                    retVal.gender = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("rank")) {
-                    if (version.isLowerThan("0.3.4-r1782")) {
-                        RankTranslator rt = new RankTranslator(c);
-                        try {
-                            retVal.rank = rt.getNewRank(c.getRanks().getOldRankSystem(), Integer.parseInt(wn2.getTextContent()));
-                        } catch (ArrayIndexOutOfBoundsException e) {
-                            // Do nothing
-                        }
-                    } else {
-                        retVal.rank = Integer.parseInt(wn2.getTextContent());
+                } else {
+                    st.person.rank = Integer.parseInt(wn2.getTextContent());
+                }
+            })
+            .on("rankLevel", (st, wn2, version) -> st.person.rankLevel = Integer.parseInt(wn2.getTextContent()))
+            .on("rankSystem", (st, wn2, version) -> st.person.setRankSystem(Integer.parseInt(wn2.getTextContent())))
+            .on("maneiDominiRank", (st, wn2, version) -> st.person.maneiDominiRank = Integer.parseInt(wn2.getTextContent()))
+            .on("maneiDominiClass", (st, wn2, version) -> st.person.maneiDominiClass = Integer.parseInt(wn2.getTextContent()))
+            .on("doctorId", (st, wn2, version) -> {
+                if (version.getMajorVersion() == 0 && version.getMinorVersion() < 2 && version.getSnapshot() < 14) {
+                    st.person.oldDoctorId = Integer.parseInt(wn2.getTextContent());
+                } else {
+                    if (!wn2.getTextContent().equals("null")) {
+                        st.person.doctorId = UUID.fromString(wn2.getTextContent());
                     }
-                } else if (wn2.getNodeName().equalsIgnoreCase("rankLevel")) {
-                    retVal.rankLevel = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("rankSystem")) {
-                    retVal.setRankSystem(Integer.parseInt(wn2.getTextContent()));
-                } else if (wn2.getNodeName().equalsIgnoreCase("maneiDominiRank")) {
-                    retVal.maneiDominiRank = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("maneiDominiClass")) {
-                    retVal.maneiDominiClass = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("doctorId")) {
-                    if (version.getMajorVersion() == 0 && version.getMinorVersion() < 2 && version.getSnapshot() < 14) {
-                        retVal.oldDoctorId = Integer.parseInt(wn2.getTextContent());
-                    } else {
-                        if (!wn2.getTextContent().equals("null")) {
-                            retVal.doctorId = UUID.fromString(wn2.getTextContent());
-                        }
+                }
+            })
+            .on("unitId", (st, wn2, version) -> {
+                if (version.getMajorVersion() == 0 && version.getMinorVersion() < 2 && version.getSnapshot() < 14) {
+                    st.person.oldUnitId = Integer.parseInt(wn2.getTextContent());
+                } else {
+                    if (!wn2.getTextContent().equals("null")) {
+                        st.person.unitId = UUID.fromString(wn2.getTextContent());
                     }
-                } else if (wn2.getNodeName().equalsIgnoreCase("unitId")) {
-                    if (version.getMajorVersion() == 0 && version.getMinorVersion() < 2 && version.getSnapshot() < 14) {
-                        retVal.oldUnitId = Integer.parseInt(wn2.getTextContent());
-                    } else {
-                        if (!wn2.getTextContent().equals("null")) {
-                            retVal.unitId = UUID.fromString(wn2.getTextContent());
-                        }
+                }
+            })
+            .on("status", (st, wn2, version) -> st.person.status = Integer.parseInt(wn2.getTextContent()))
+            .on("prisonerstatus", (st, wn2, version) -> st.person.prisonerStatus = Integer.parseInt(wn2.getTextContent()))
+            .on("willingToDefect", (st, wn2, version) -> st.person.willingToDefect = Boolean.parseBoolean(wn2.getTextContent()))
+            .on("salary", (st, wn2, version) -> st.person.salary = Money.fromXmlString(wn2.getTextContent().trim()))
+            .on("minutesLeft", (st, wn2, version) -> st.person.minutesLeft = Integer.parseInt(wn2.getTextContent()))
+            .on("overtimeLeft", (st, wn2, version) -> st.person.overtimeLeft = Integer.parseInt(wn2.getTextContent()))
+            .on("birthday", (st, wn2, version) -> {
+                SimpleDateFormat df = new SimpleDateFormat("yyyy-MM-dd hh:mm:ss");
+                st.person.birthday = (GregorianCalendar) GregorianCalendar.getInstance();
+                st.person.birthday.setTime(df.parse(wn2.getTextContent().trim()));
+            })
+            .on("deathday", (st, wn2, version) -> {
+                SimpleDateFormat df = new SimpleDateFormat("yyyy-MM-dd hh:mm:ss");
+                st.person.deathday = (GregorianCalendar) GregorianCalendar.getInstance();
+                st.person.deathday.setTime(df.parse(wn2.getTextContent().trim()));
+            })
+            .on("recruitment", (st, wn2, version) -> {
+                SimpleDateFormat df = new SimpleDateFormat("yyyy-MM-dd hh:mm:ss");
+                st.person.recruitment = (GregorianCalendar) GregorianCalendar.getInstance();
+                st.person.recruitment.setTime(df.parse(wn2.getTextContent().trim()));
+            })
+            .on("advantages", (st, wn2, version) -> st.advantages = wn2.getTextContent())
+            .on("edge", (st, wn2, version) -> st.edge = wn2.getTextContent())
+            .on("edgeAvailable", (st, wn2, version) -> st.person.currentEdge = Integer.parseInt(wn2.getTextContent()))
+            .on("implants", (st, wn2, version) -> st.implants = wn2.getTextContent())
+            .on("toughness", (st, wn2, version) -> st.person.toughness = Integer.parseInt(wn2.getTextContent()))
+            .on("pilotGunnery", (st, wn2, version) -> st.pilotGunnery = Integer.parseInt(wn2.getTextContent()))
+            .on("pilotPiloting", (st, wn2, version) -> st.pilotPiloting = Integer.parseInt(wn2.getTextContent()))
+            .on("pilotHits", (st, wn2, version) -> st.person.hits = Integer.parseInt(wn2.getTextContent()))
+            .on("pilotCommandBonus", (st, wn2, version) -> st.pilotCommandBonus = Integer.parseInt(wn2.getTextContent()))
+            .on("pilotName", (st, wn2, version) -> st.pilotName = wn2.getTextContent())
+            .on("pilotNickname", (st, wn2, version) -> st.pilotNickname = wn2.getTextContent())
+            .on("type", (st, wn2, version) -> st.type = Integer.parseInt(wn2.getTextContent()))
+            .on("skill", (st, wn2, version) -> {
+                Skill s = Skill.generateInstanceFromXML(wn2);
+                if (null != s && null != s.getType()) {
+                    st.person.skills.put(s.getType().getName(), s);
+                }
+            })
+            .on("techUnitIds", (st, wn2, version) -> {
+                NodeList nl2 = wn2.getChildNodes();
+                for (int y = 0; y < nl2.getLength(); y++) {
+                    Node wn3 = nl2.item(y);
+                    // If it's not an element node, we ignore it.
+                    if (wn3.getNodeType() != Node.ELEMENT_NODE) {
+                        continue;
                     }
-                } else if (wn2.getNodeName().equalsIgnoreCase("status")) {
-                    retVal.status = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("prisonerstatus")) {
-                    retVal.prisonerStatus = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("willingToDefect")) {
-                    retVal.willingToDefect = Boolean.parseBoolean(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("salary")) {
-                    retVal.salary = Money.fromXmlString(wn2.getTextContent().trim());
-                } else if (wn2.getNodeName().equalsIgnoreCase("minutesLeft")) {
-                    retVal.minutesLeft = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("overtimeLeft")) {
-                    retVal.overtimeLeft = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("birthday")) {
-                    SimpleDateFormat df = new SimpleDateFormat("yyyy-MM-dd hh:mm:ss");
-                    retVal.birthday = (GregorianCalendar) GregorianCalendar.getInstance();
-                    retVal.birthday.setTime(df.parse(wn2.getTextContent().trim()));
-                } else if (wn2.getNodeName().equalsIgnoreCase("deathday")) {
-                    SimpleDateFormat df = new SimpleDateFormat("yyyy-MM-dd hh:mm:ss");
-                    retVal.deathday = (GregorianCalendar) GregorianCalendar.getInstance();
-                    retVal.deathday.setTime(df.parse(wn2.getTextContent().trim()));
-                } else if (wn2.getNodeName().equalsIgnoreCase("recruitment")) {
-                    SimpleDateFormat df = new SimpleDateFormat("yyyy-MM-dd hh:mm:ss");
-                    retVal.recruitment = (GregorianCalendar) GregorianCalendar.getInstance();
-                    retVal.recruitment.setTime(df.parse(wn2.getTextContent().trim()));
-                } else if (wn2.getNodeName().equalsIgnoreCase("advantages")) {
-                    advantages = wn2.getTextContent();
-                } else if (wn2.getNodeName().equalsIgnoreCase("edge")) {
-                    edge = wn2.getTextContent();
-                } else if (wn2.getNodeName().equalsIgnoreCase("edgeAvailable")) {
-                    retVal.currentEdge = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("implants")) {
-                    implants = wn2.getTextContent();
-                } else if (wn2.getNodeName().equalsIgnoreCase("toughness")) {
-                    retVal.toughness = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("pilotGunnery")) {
-                    pilotGunnery = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("pilotPiloting")) {
-                    pilotPiloting = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("pilotHits")) {
-                    retVal.hits = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("pilotCommandBonus")) {
-                    pilotCommandBonus = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("pilotName")) {
-                    pilotName = wn2.getTextContent();
-                } else if (wn2.getNodeName().equalsIgnoreCase("pilotNickname")) {
-                    pilotNickname = wn2.getTextContent();
-                } else if (wn2.getNodeName().equalsIgnoreCase("type")) {
-                    type = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("skill")) {
-                    Skill s = Skill.generateInstanceFromXML(wn2);
-                    if (null != s && null != s.getType()) {
-                        retVal.skills.put(s.getType().getName(), s);
+
+                    if (!wn3.getNodeName().equalsIgnoreCase("id")) {
+                        // Error condition of sorts!
+                        // Errr, what should we do here?
+                        MekHQ.getLogger().log(Person.class, XML_METHOD_NAME, LogLevel.ERROR,
+                                "Unknown node type not loaded in techUnitIds nodes: " + wn3.getNodeName()); //$NON-NLS-1$
+                        continue;
+                    }
+                    st.person.addTechUnitID(UUID.fromString(wn3.getTextContent()));
+                }
+            })
+            .on("personnelLog", (st, wn2, version) -> {
+                NodeList nl2 = wn2.getChildNodes();
+                for (int y = 0; y < nl2.getLength(); y++) {
+                    Node wn3 = nl2.item(y);
+                    // If it's not an element node, we ignore it.
+                    if (wn3.getNodeType() != Node.ELEMENT_NODE) {
+                        continue;
                     }
-                } else if (wn2.getNodeName().equalsIgnoreCase("techUnitIds")) {
-                    NodeList nl2 = wn2.getChildNodes();
-                    for (int y = 0; y < nl2.getLength(); y++) {
-                        Node wn3 = nl2.item(y);
-                        // If it's not an element node, we ignore it.
-                        if (wn3.getNodeType() != Node.ELEMENT_NODE) {
-                            continue;
-                        }
 
-                        if (!wn3.getNodeName().equalsIgnoreCase("id")) {
-                            // Error condition of sorts!
-                            // Errr, what should we do here?
-                            MekHQ.getLogger().log(Person.class, METHOD_NAME, LogLevel.ERROR,
-                                    "Unknown node type not loaded in techUnitIds nodes: " + wn3.getNodeName()); //$NON-NLS-1$
-                            continue;
-                        }
-                        retVal.addTechUnitID(UUID.fromString(wn3.getTextContent()));
+                    if (!wn3.getNodeName().equalsIgnoreCase("logEntry")) {
+                        // Error condition of sorts!
+                        // Errr, what should we do here?
+                        MekHQ.getLogger().log(Person.class, XML_METHOD_NAME, LogLevel.ERROR,
+                                "Unknown node type not loaded in personnel log nodes: " + wn3.getNodeName()); //$NON-NLS-1$
+                        continue;
                     }
-                } else if (wn2.getNodeName().equalsIgnoreCase("personnelLog")) {
-                    NodeList nl2 = wn2.getChildNodes();
-                    for (int y = 0; y < nl2.getLength(); y++) {
-                        Node wn3 = nl2.item(y);
-                        // If it's not an element node, we ignore it.
-                        if (wn3.getNodeType() != Node.ELEMENT_NODE) {
-                            continue;
-                        }
 
-                        if (!wn3.getNodeName().equalsIgnoreCase("logEntry")) {
-                            // Error condition of sorts!
-                            // Errr, what should we do here?
-                            MekHQ.getLogger().log(Person.class, METHOD_NAME, LogLevel.ERROR,
-                                    "Unknown node type not loaded in personnel log nodes: " + wn3.getNodeName()); //$NON-NLS-1$
-                            continue;
-                        }
+                    LogEntry entry = LogEntryFactory.getInstance().generateInstanceFromXML(wn3);
 
-                        LogEntry entry = LogEntryFactory.getInstance().generateInstanceFromXML(wn3);
-
-                        // If the version of this campaign is earlier than 0.45.4,
-                        // we didn't have the mission log separated from the personnel log,
-                        // so we need to separate the log entries manually
-                        if (version.isLowerThan("0.45.4")) {
-                            if (entry.getDesc().startsWith(getMissionParticipatedString())) {
-                                retVal.addMissionLogEntry(entry);
-                            } else {
-                                retVal.addLogEntry(entry);
-                            }
+                    // If the version of this campaign is earlier than 0.45.4,
+                    // we didn't have the mission log separated from the personnel log,
+                    // so we need to separate the log entries manually
+                    if (version.isLowerThan("0.45.4")) {
+                        if (entry.getDesc().startsWith(getMissionParticipatedString())) {
+                            st.person.addMissionLogEntry(entry);
                         } else {
-                            retVal.addLogEntry(entry);
+                            st.person.addLogEntry(entry);
                         }
+                    } else {
+                        st.person.addLogEntry(entry);
+                    }
+                }
+            })
+            .on("missionLog", (st, wn2, version) -> {
+                NodeList nl2 = wn2.getChildNodes();
+                for (int y = 0; y < nl2.getLength(); y++) {
+                    Node wn3 = nl2.item(y);
+                    // If it's not an element node, we ignore it.
+                    if (wn3.getNodeType() != Node.ELEMENT_NODE) {
+                        continue;
                     }
-                } else if (wn2.getNodeName().equalsIgnoreCase("missionLog")) {
-                    NodeList nl2 = wn2.getChildNodes();
-                    for (int y = 0; y < nl2.getLength(); y++) {
-                        Node wn3 = nl2.item(y);
-                        // If it's not an element node, we ignore it.
-                        if (wn3.getNodeType() != Node.ELEMENT_NODE) {
-                            continue;
-                        }
 
-                        if (!wn3.getNodeName().equalsIgnoreCase("logEntry")) {
-                            // Error condition of sorts!
-                            // Errr, what should we do here?
-                            MekHQ.getLogger().log(Person.class, METHOD_NAME, LogLevel.ERROR,
-                                    "Unknown node type not loaded in mission log nodes: " + wn3.getNodeName()); //$NON-NLS-1$
-                            continue;
-                        }
-                        retVal.addMissionLogEntry(LogEntryFactory.getInstance().generateInstanceFromXML(wn3));
+                    if (!wn3.getNodeName().equalsIgnoreCase("logEntry")) {
+                        // Error condition of sorts!
+                        // Errr, what should we do here?
+                        MekHQ.getLogger().log(Person.class, XML_METHOD_NAME, LogLevel.ERROR,
+                                "Unknown node type not loaded in mission log nodes: " + wn3.getNodeName()); //$NON-NLS-1$
+                        continue;
                     }
-                } else if (wn2.getNodeName().equalsIgnoreCase("awards")){
-                    NodeList nl2 = wn2.getChildNodes();
-                    for (int y = 0; y < nl2.getLength(); y++) {
+                    st.person.addMissionLogEntry(LogEntryFactory.getInstance().generateInstanceFromXML(wn3));
+                }
+            })
+            .on("awards", (st, wn2, version) -> {
+                NodeList nl2 = wn2.getChildNodes();
+                for (int y = 0; y < nl2.getLength(); y++) {
 
-                        Node wn3 = nl2.item(y);
+                    Node wn3 = nl2.item(y);
 
-                        if (wn3.getNodeType() != Node.ELEMENT_NODE) {
-                            continue;
-                        }
-
-                        if (!wn3.getNodeName().equalsIgnoreCase("award")) {
-                            MekHQ.getLogger().log(Person.class, METHOD_NAME, LogLevel.ERROR,
-                                    "Unknown node type not loaded in personnel log nodes: " + wn3.getNodeName()); //$NON-NLS-1$
-                            continue;
-                        }
+                    if (wn3.getNodeType() != Node.ELEMENT_NODE) {
+                        continue;
+                    }
 
-                        retVal.awardController.addAwardFromXml(AwardsFactory.getInstance().generateNewFromXML(wn3));
+                    if (!wn3.getNodeName().equalsIgnoreCase("award")) {
+                        MekHQ.getLogger().log(Person.class, XML_METHOD_NAME, LogLevel.ERROR,
+                                "Unknown node type not loaded in personnel log nodes: " + wn3.getNodeName()); //$NON-NLS-1$
+                        continue;
                     }
 
-                } else if (wn2.getNodeName().equalsIgnoreCase("injuries")) {
-                    NodeList nl2 = wn2.getChildNodes();
-                    for (int y = 0; y < nl2.getLength(); y++) {
-                        Node wn3 = nl2.item(y);
-                        // If it's not an element node, we ignore it.
-                        if (wn3.getNodeType() != Node.ELEMENT_NODE) {
-                            continue;
-                        }
+                    st.person.awardController.addAwardFromXml(AwardsFactory.getInstance().generateNewFromXML(wn3));
+                }
 
-                        if (!wn3.getNodeName().equalsIgnoreCase("injury")) {
-                            // Error condition of sorts!
-                            // Errr, what should we do here?
-                            MekHQ.getLogger().log(Person.class, METHOD_NAME, LogLevel.ERROR,
-                                    "Unknown node type not loaded in injury nodes: " + wn3.getNodeName()); //$NON-NLS-1$
-                            continue;
-                        }
-                        retVal.injuries.add(Injury.generateInstanceFromXML(wn3));
+            })
+            .on("injuries", (st, wn2, version) -> {
+                NodeList nl2 = wn2.getChildNodes();
+                for (int y = 0; y < nl2.getLength(); y++) {
+                    Node wn3 = nl2.item(y);
+                    // If it's not an element node, we ignore it.
+                    if (wn3.getNodeType() != Node.ELEMENT_NODE) {
+                        continue;
                     }
-                    DateTime now = new DateTime(c.getCalendar());
-                    retVal.injuries.stream().filter(inj -> (null == inj.getStart()))
-                        .forEach(inj -> inj.setStart(now.minusDays(inj.getOriginalTime() - inj.getTime())));
-                } else if (wn2.getNodeName().equalsIgnoreCase("founder")) {
-                    retVal.founder = Boolean.parseBoolean(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("originalUnitWeight")) {
-                    retVal.originalUnitWeight = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("originalUnitTech")) {
-                    retVal.originalUnitTech = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("originalUnitId")) {
-                    retVal.originalUnitId = UUID.fromString(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("extraData")) {
-                    retVal.extraData = ExtraData.createFromXml(wn2);
+
+                    if (!wn3.getNodeName().equalsIgnoreCase("injury")) {
+                        // Error condition of sorts!
+                        // Errr, what should we do here?
+                        MekHQ.getLogger().log(Person.class, XML_METHOD_NAME, LogLevel.ERROR,
+                                "Unknown node type not loaded in injury nodes: " + wn3.getNodeName()); //$NON-NLS-1$
+                        continue;
+                    }
+                    st.person.injuries.add(Injury.generateInstanceFromXML(wn3));
                 }
-            }
+                DateTime now = new DateTime(st.campaign.getCalendar());
+                st.person.injuries.stream().filter(inj -> (null == inj.getStart()))
+                    .forEach(inj -> inj.setStart(now.minusDays(inj.getOriginalTime() - inj.getTime())));
+            })
+            .on("founder", (st, wn2, version) -> st.person.founder = Boolean.parseBoolean(wn2.getTextContent()))
+            .on("originalUnitWeight", (st, wn2, version) -> st.person.originalUnitWeight = Integer.parseInt(wn2.getTextContent()))
+            .on("originalUnitTech", (st, wn2, version) -> st.person.originalUnitTech = Integer.parseInt(wn2.getTextContent()))
+            .on("originalUnitId", (st, wn2, version) -> st.person.originalUnitId = UUID.fromString(wn2.getTextContent()))
+            .on("extraData", (st, wn2, version) -> st.person.extraData = ExtraData.createFromXml(wn2));
+
+    private static void readClan(XmlReadState st, Node wn2, Version version) {
+        st.person.clan = Boolean.parseBoolean(wn2.getTextContent().trim());
+    }
+
+    public static Person generateInstanceFromXML(Node wn, Campaign c, Version version) {
+        final String METHOD_NAME = "generateInstanceFromXML(Node,Campaign,Version)"; //$NON-NLS-1$
+        
+        Person retVal = null;
+
+        try {
+            // Instantiate the correct child class, and call its parsing function.
+            retVal = new Person(c);
+
+            // Okay, now load Person-specific fields!
+            XmlReadState state = new XmlReadState(retVal, c);
+            XML_FIELDS.dispatchChildren(state, wn, version);
+
+            String advantages = state.advantages;
+            String edge = state.edge;
+            String implants = state.implants;
+            String pilotName = state.pilotName;
+            String pilotNickname = state.pilotNickname;
+            int pilotGunnery = state.pilotGunnery;
+            int pilotPiloting = state.pilotPiloting;
+            int pilotCommandBonus = state.pilotCommandBonus;
+            int type = state.type;
 
             if (version.getMajorVersion() == 0 && version.getMinorVersion() < 2 && version.getSnapshot() < 13) {
                 if (retVal.primaryRole > T_INFANTRY) {
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2019 - The MegaMek Team
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign.personnel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import megamek.common.Infantry;
+import megamek.common.event.Subscribe;
+import mekhq.MekHQ;
+import mekhq.campaign.Campaign;
+import mekhq.campaign.event.NewDayEvent;
+import mekhq.campaign.event.PersonEvent;
+import mekhq.campaign.event.UnitEvent;
+import mekhq.campaign.event.UnitNewEvent;
+import mekhq.campaign.unit.Unit;
+
+/**
+ * Keeps the personnel of a campaign grouped by role, so looking for the techs, doctors or admins
+ * only has to go through the people in those roles instead of the whole roster. Each group is kept
+ * in roster order. The self-crewed vessels are kept as well, in unit order, since their engineers
+ * count as techs.
+ *
+ * The groups are kept up to date from person events. Being a tech or doctor also depends on skills,
+ * which are not always changed with an event being triggered, so the groups are rebuilt every day.
+ * Status and the remaining minutes change all the time, and are left to the callers to check.
+ * A vessel's engineer is replaced whenever its crew is reset, so it is looked up when asked for.
+ */
+public class PersonnelRoleIndex {
+    private final Campaign campaign;
+
+    /** The people with each role as either their primary or secondary role */
+    private final Map<Integer, List<Person>> personnelByRole = new HashMap<>();
+    /** The people qualifying as techs */
+    private final List<Person> techs = new ArrayList<>();
+    /** The people qualifying as doctors */
+    private final List<Person> doctors = new ArrayList<>();
+    /** The people with an admin role */
+    private final List<Person> admins = new ArrayList<>();
+    /** What each indexed person (by id) was grouped by when it was indexed */
+    private final Map<UUID, List<Object>> indexedRoles = new HashMap<>();
+    /** The non-infantry self-crewed units, whose engineers qualify as techs */
+    private final List<Unit> selfCrewedUnits = new ArrayList<>();
+
+    private boolean initialized = false;
+
+    public PersonnelRoleIndex(Campaign campaign) {
+        this.campaign = campaign;
+    }
+
+    /**
+     * @param role one of the Person.T_* constants
+     * @return the people with the role as their primary or secondary role, in roster order
+     */
+    public synchronized List<Person> getPersonnelInRole(int role) {
+        initialize();
+        List<Person> personnel = personnelByRole.get(role);
+        return (null != personnel) ? new ArrayList<>(personnel) : new ArrayList<>();
+    }
+
+    /**
+     * @return the people qualifying as techs ({@link Person#isTech()}), in roster order
+     */
+    public synchronized List<Person> getTechs() {
+        initialize();
+        return new ArrayList<>(techs);
+    }
+
+    /**
+     * @return the people qualifying as doctors ({@link Person#isDoctor()}), in roster order
+     */
+    public synchronized List<Person> getDoctors() {
+        initialize();
+        return new ArrayList<>(doctors);
+    }
+
+    /**
+     * @return the people with an admin role ({@link Person#isAdmin()}), in roster order
+     */
+    public synchronized List<Person> getAdmins() {
+        initialize();
+        return new ArrayList<>(admins);
+    }
+
+    /**
+     * @return the engineers of the self-crewed vessels that have one, in unit order
+     */
+    public synchronized List<Person> getEngineers() {
+        initialize();
+        List<Person> engineers = new ArrayList<>();
+        for (Unit unit : selfCrewedUnits) {
+            if (null != unit.getEngineer()) {
+                engineers.add(unit.getEngineer());
+            }
+        }
+        return engineers;
+    }
+
+    /**
+     * Discards the groups, so they are rebuilt from the campaign the next time they are requested.
+     */
+    public synchronized void reset() {
+        personnelByRole.clear();
+        techs.clear();
+        doctors.clear();
+        admins.clear();
+        indexedRoles.clear();
+        selfCrewedUnits.clear();
+        initialized = false;
+    }
+
+    /**
+     * Stops listening to campaign events. Called when the campaign is replaced.
+     */
+    public void dispose() {
+        MekHQ.unregisterHandler(this);
+    }
+
+    @Subscribe
+    public void handle(NewDayEvent ev) {
+        if (campaign == ev.getCampaign()) {
+            reset();
+        }
+    }
+
+    @Subscribe
+    public void handle(PersonEvent ev) {
+        updatePerson(ev.getPerson());
+    }
+
+    @Subscribe
+    public void handle(UnitEvent ev) {
+        updateUnit(ev.getUnit(), ev instanceof UnitNewEvent);
+    }
+
+    private synchronized void updateUnit(Unit unit, boolean isNew) {
+        if (!initialized) {
+            return;
+        }
+        boolean indexed = selfCrewedUnits.contains(unit);
+        boolean belongs = (campaign.getUnit(unit.getId()) == unit) && hasEngineer(unit);
+        if (indexed && !belongs) {
+            selfCrewedUnits.remove(unit);
+        } else if (!indexed && belongs) {
+            if (isNew) {
+                // new units are added to the end of the unit list
+                selfCrewedUnits.add(unit);
+            } else {
+                // a refit changed the kind of unit; rebuild rather than work out where it belongs
+                reset();
+            }
+        }
+    }
+
+    private synchronized void updatePerson(Person person) {
+        if (!initialized) {
+            return;
+        }
+        List<Object> oldRoles = indexedRoles.get(person.getId());
+        if (campaign.getPerson(person.getId()) != person) {
+            if (null != oldRoles) {
+                remove(person, oldRoles);
+            }
+        } else if (null == oldRoles) {
+            // new people are added to the end of the roster
+            add(person);
+        } else if (!oldRoles.equals(getRoles(person))) {
+            // rebuild rather than work out where in the groups the person belongs
+            reset();
+        }
+    }
+
+    private void initialize() {
+        if (!initialized) {
+            for (Person person : campaign.getPersonnel()) {
+                add(person);
+            }
+            for (Unit unit : campaign.getUnits()) {
+                if (hasEngineer(unit)) {
+                    selfCrewedUnits.add(unit);
+                }
+            }
+            initialized = true;
+        }
+    }
+
+    private void add(Person person) {
+        indexedRoles.put(person.getId(), getRoles(person));
+        personnelByRole.computeIfAbsent(person.getPrimaryRole(), k -> new ArrayList<>()).add(person);
+        if (person.getSecondaryRole() != person.getPrimaryRole()) {
+            personnelByRole.computeIfAbsent(person.getSecondaryRole(), k -> new ArrayList<>()).add(person);
+        }
+        if (person.isTech()) {
+            techs.add(person);
+        }
+        if (person.isDoctor()) {
+            doctors.add(person);
+        }
+        if (person.isAdmin()) {
+            admins.add(person);
+        }
+    }
+
+    private void remove(Person person, List<Object> roles) {
+        indexedRoles.remove(person.getId());
+        for (Object role : roles.subList(0, 2)) {
+            List<Person> personnel = personnelByRole.get(role);
+            if (null != personnel) {
+                personnel.remove(person);
+            }
+        }
+        techs.remove(person);
+        doctors.remove(person);
+        admins.remove(person);
+    }
+
+    /** @return whether the unit is crewed by an engineer who works on it */
+    private static boolean hasEngineer(Unit unit) {
+        return unit.isSelfCrewed() && !(unit.getEntity() instanceof Infantry);
+    }
+
+    /** @return the roles of the person, followed by whether it qualifies as a tech and a doctor */
+    private static List<Object> getRoles(Person person) {
+        return Collections.unmodifiableList(Arrays.asList(person.getPrimaryRole(), person.getSecondaryRole(),
+                person.isTech(), person.isDoctor()));
+    }
+}
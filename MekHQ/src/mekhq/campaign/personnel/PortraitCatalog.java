@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2019 - The MegaMek Team
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign.personnel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import megamek.common.annotations.Nullable;
+import megamek.common.util.DirectoryItems;
+
+/**
+ * The portraits available for random assignment, indexed by folder so the portrait directory
+ * tree loaded by the icon package isn't walked every time a portrait is needed. Portraits are
+ * identified by "category:file name".
+ */
+public class PortraitCatalog {
+    private static PortraitCatalog instance;
+
+    /** The directory tree the catalog was built from */
+    private final DirectoryItems portraits;
+    /** The portraits in each category, in directory order */
+    private final Map<String, List<String>> portraitsByCategory = new LinkedHashMap<>();
+    /** The portraits found for each folder asked for so far */
+    private final Map<String, List<String>> portraitsByFolder = new ConcurrentHashMap<>();
+
+    /**
+     * @param portraits the portrait directory tree, as loaded by the icon package
+     * @return the catalog of those portraits, rebuilt only when the icon package loads a new tree
+     */
+    public static synchronized PortraitCatalog getInstance(@Nullable DirectoryItems portraits) {
+        if ((null == instance) || (instance.portraits != portraits)) {
+            instance = new PortraitCatalog(portraits);
+        }
+        return instance;
+    }
+
+    private PortraitCatalog(@Nullable DirectoryItems portraits) {
+        this.portraits = portraits;
+        if (null == portraits) {
+            return;
+        }
+        Iterator<String> categories = portraits.getCategoryNames();
+        while (categories.hasNext()) {
+            String category = categories.next();
+            List<String> locations = new ArrayList<>();
+            Iterator<String> names = portraits.getItemNames(category);
+            while (names.hasNext()) {
+                locations.add(category + ":" + names.next()); //$NON-NLS-1$
+            }
+            portraitsByCategory.put(category, Collections.unmodifiableList(locations));
+        }
+    }
+
+    /**
+     * @param folder the folder to look in, e.g. "Female/Admin/"
+     * @return all the portraits in categories ending with the folder
+     */
+    public List<String> getPortraits(String folder) {
+        return portraitsByFolder.computeIfAbsent(folder, f -> {
+            List<String> result = new ArrayList<>();
+            for (Map.Entry<String, List<String>> entry : portraitsByCategory.entrySet()) {
+                if (entry.getKey().endsWith(f)) {
+                    result.addAll(entry.getValue());
+                }
+            }
+            return Collections.unmodifiableList(result);
+        });
+    }
+}
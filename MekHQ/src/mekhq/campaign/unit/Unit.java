@@ -29,10 +29,10 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import mekhq.campaign.finances.Money;
+import mekhq.campaign.io.XmlElementDispatcher;
 import mekhq.campaign.log.ServiceLogger;
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 import megamek.common.ASFBay;
 import megamek.common.Aero;
@@ -1444,81 +1444,37 @@ public class Unit implements MekHqXmlSerializable, ITechnology {
         pw1.println(MekHqXmlUtil.indentStr(indentLvl) + "<unit id=\"" + id.toString()
                 + "\" type=\"" + this.getClass().getName() + "\">");
 
-        pw1.println(MekHqXmlUtil.writeEntityToXmlString(entity, indentLvl+1, getCampaign().getEntities()));
+        MekHqXmlUtil.writeEntityToXml(pw1, entity, indentLvl+1, getCampaign().getEntities());
         for(UUID did : drivers) {
-            pw1.println(MekHqXmlUtil.indentStr(indentLvl + 1) + "<driverId>"
-                    + did.toString() + "</driverId>");
+            MekHqXmlUtil.writeSimpleXmlTag(pw1, indentLvl + 1, "driverId", did);
         }
         for(UUID gid : gunners) {
-            pw1.println(MekHqXmlUtil.indentStr(indentLvl + 1) + "<gunnerId>"
-                    + gid.toString() + "</gunnerId>");
+            MekHqXmlUtil.writeSimpleXmlTag(pw1, indentLvl + 1, "gunnerId", gid);
         }
         for(UUID vid : vesselCrew) {
-            pw1.println(MekHqXmlUtil.indentStr(indentLvl + 1) + "<vesselCrewId>"
-                    + vid.toString() + "</vesselCrewId>");
+            MekHqXmlUtil.writeSimpleXmlTag(pw1, indentLvl + 1, "vesselCrewId", vid);
         }
         if(null != navigator) {
-            pw1.println(MekHqXmlUtil.indentStr(indentLvl+1)
-                    +"<navigatorId>"
-                    +navigator.toString()
-                    +"</navigatorId>");
+            MekHqXmlUtil.writeSimpleXmlTag(pw1, indentLvl + 1, "navigatorId", navigator);
         }
         if(null != techOfficer) {
-            pw1.println(MekHqXmlUtil.indentStr(indentLvl+1)
-                    +"<techOfficerId>"
-                    +techOfficer.toString()
-                    +"</techOfficerId>");
+            MekHqXmlUtil.writeSimpleXmlTag(pw1, indentLvl + 1, "techOfficerId", techOfficer);
         }
         if(null != tech) {
-            pw1.println(MekHqXmlUtil.indentStr(indentLvl+1)
-                    +"<techId>"
-                    +tech.toString()
-                    +"</techId>");
-        }
-        pw1.println(MekHqXmlUtil.indentStr(indentLvl + 1) + "<salvaged>"
-                + salvaged + "</salvaged>");
-        pw1.println(MekHqXmlUtil.indentStr(indentLvl + 1) + "<site>" + site
-                + "</site>");
-        pw1.println(MekHqXmlUtil.indentStr(indentLvl+1)
-                +"<forceId>"
-                +forceId
-                +"</forceId>");
-        pw1.println(MekHqXmlUtil.indentStr(indentLvl+1)
-                +"<scenarioId>"
-                +scenarioId
-                +"</scenarioId>");
-        pw1.println(MekHqXmlUtil.indentStr(indentLvl+1)
-                +"<daysToArrival>"
-                +daysToArrival
-                +"</daysToArrival>");
-        pw1.println(MekHqXmlUtil.indentStr(indentLvl+1)
-                +"<daysSinceMaintenance>"
-                +daysSinceMaintenance
-                +"</daysSinceMaintenance>");
-        pw1.println(MekHqXmlUtil.indentStr(indentLvl+1)
-                +"<daysActivelyMaintained>"
-                +daysActivelyMaintained
-                +"</daysActivelyMaintained>");
-        pw1.println(MekHqXmlUtil.indentStr(indentLvl+1)
-                +"<astechDaysMaintained>"
-                +astechDaysMaintained
-                +"</astechDaysMaintained>");
-        pw1.println(MekHqXmlUtil.indentStr(indentLvl+1)
-                +"<mothballTime>"
-                +mothballTime
-                +"</mothballTime>");
-        pw1.println(MekHqXmlUtil.indentStr(indentLvl+1)
-                +"<mothballed>"
-                +mothballed
-                +"</mothballed>");
-        pw1.println(MekHqXmlUtil.indentStr(indentLvl+1)
-                +"<fluffName>"
-                +MekHqXmlUtil.escape(fluffName)
-                +"</fluffName>");
-        pw1.println(MekHqXmlUtil.indentStr(indentLvl+1)
-                +"<history>"
-                +MekHqXmlUtil.escape(history)
-                +"</history>");
+            MekHqXmlUtil.writeSimpleXmlTag(pw1, indentLvl + 1, "techId", tech);
+        }
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indentLvl + 1, "salvaged", salvaged);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indentLvl + 1, "site", site);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indentLvl + 1, "forceId", forceId);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indentLvl + 1, "scenarioId", scenarioId);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indentLvl + 1, "daysToArrival", daysToArrival);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indentLvl + 1, "daysSinceMaintenance", daysSinceMaintenance);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indentLvl + 1, "daysActivelyMaintained", daysActivelyMaintained);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indentLvl + 1, "astechDaysMaintained", astechDaysMaintained);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indentLvl + 1, "mothballTime", mothballTime);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indentLvl + 1, "mothballed", mothballed);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indentLvl + 1, "fluffName", fluffName);
+        MekHqXmlUtil.writeSimpleXmlTag(pw1, indentLvl + 1, "history", history);
         if(null != refit) {
             refit.writeToXml(pw1, indentLvl+1);
         }
@@ -1536,97 +1492,83 @@ public class Unit implements MekHqXmlSerializable, ITechnology {
         pw1.println(MekHqXmlUtil.indentStr(indentLvl) + "</unit>");
     }
 
+    private static boolean usesOldIds(Version version) {
+        return version.getMajorVersion() == 0 && version.getMinorVersion() < 2 && version.getSnapshot() < 14;
+    }
+
+    /** Reads the fields of a unit */
+    private static final XmlElementDispatcher<Unit> XML_FIELDS = new XmlElementDispatcher<Unit>()
+            .on("site", (u, wn2, version) -> u.site = Integer.parseInt(wn2.getTextContent()))
+            .on("pilotId", (u, wn2, version) -> u.pilotId = Integer.parseInt(wn2.getTextContent()))
+            .on("daysToArrival", (u, wn2, version) -> u.daysToArrival = Integer.parseInt(wn2.getTextContent()))
+            .on("daysActivelyMaintained", (u, wn2, version) -> u.daysActivelyMaintained = Integer.parseInt(wn2.getTextContent()))
+            .on("daysSinceMaintenance", (u, wn2, version) -> u.daysSinceMaintenance = Integer.parseInt(wn2.getTextContent()))
+            .on("mothballTime", (u, wn2, version) -> u.mothballTime = Integer.parseInt(wn2.getTextContent()))
+            .on("astechDaysMaintained", (u, wn2, version) -> u.astechDaysMaintained = Integer.parseInt(wn2.getTextContent()))
+            .on("driverId", (u, wn2, version) -> {
+                if(usesOldIds(version)) {
+                    u.oldDrivers.add(Integer.parseInt(wn2.getTextContent()));
+                } else {
+                    u.drivers.add(UUID.fromString(wn2.getTextContent()));
+                }
+            })
+            .on("gunnerId", (u, wn2, version) -> {
+                if(usesOldIds(version)) {
+                    u.oldGunners.add(Integer.parseInt(wn2.getTextContent()));
+                } else {
+                    u.gunners.add(UUID.fromString(wn2.getTextContent()));
+                }
+            })
+            .on("vesselCrewId", (u, wn2, version) -> {
+                if(usesOldIds(version)) {
+                    u.oldVesselCrew.add(Integer.parseInt(wn2.getTextContent()));
+                } else {
+                    u.vesselCrew.add(UUID.fromString(wn2.getTextContent()));
+                }
+            })
+            .on("navigatorId", (u, wn2, version) -> {
+                if(usesOldIds(version)) {
+                    u.oldNavigator = Integer.parseInt(wn2.getTextContent());
+                } else if(!wn2.getTextContent().equals("null")) {
+                    u.navigator = UUID.fromString(wn2.getTextContent());
+                }
+            })
+            .on("techOfficerId", (u, wn2, version) -> {
+                if(!wn2.getTextContent().equals("null")) {
+                    u.techOfficer = UUID.fromString(wn2.getTextContent());
+                }
+            })
+            .on("techId", (u, wn2, version) -> {
+                if(!wn2.getTextContent().equals("null")) {
+                    u.tech = UUID.fromString(wn2.getTextContent());
+                }
+            })
+            .on("forceId", (u, wn2, version) -> u.forceId = Integer.parseInt(wn2.getTextContent()))
+            .on("scenarioId", (u, wn2, version) -> u.scenarioId = Integer.parseInt(wn2.getTextContent()))
+            .on("salvaged", (u, wn2, version) -> u.salvaged = wn2.getTextContent().equalsIgnoreCase("true"))
+            .on("mothballed", (u, wn2, version) -> u.mothballed = wn2.getTextContent().equalsIgnoreCase("true"))
+            .on("entity", (u, wn2, version) -> u.entity = MekHqXmlUtil.getEntityFromXmlString(wn2))
+            .on("refit", (u, wn2, version) -> u.refit = Refit.generateInstanceFromXML(wn2, u, version))
+            .on("history", (u, wn2, version) -> u.history = wn2.getTextContent())
+            .on("fluffName", (u, wn2, version) -> u.fluffName = wn2.getTextContent())
+            .on("lastMaintenanceReport", (u, wn2, version) -> u.lastMaintenanceReport = wn2.getTextContent())
+            .on("mothballInfo", (u, wn2, version) -> u.mothballInfo = MothballInfo.generateInstanceFromXML(wn2, version));
+
     public static Unit generateInstanceFromXML(Node wn, Version version) {
         final String METHOD_NAME = "generateInstanceFromXML(Node,Version)"; //$NON-NLS-1$
 
         Unit retVal = new Unit();
         NamedNodeMap attrs = wn.getAttributes();
         Node idNode = attrs.getNamedItem("id");
-        if(version.getMajorVersion() == 0 && version.getMinorVersion() < 2 && version.getSnapshot() < 14) {
+        if(usesOldIds(version)) {
             retVal.oldId = Integer.parseInt(idNode.getTextContent());
         } else {
             retVal.id = UUID.fromString(idNode.getTextContent());
         }
 
         // Okay, now load Part-specific fields!
-        NodeList nl = wn.getChildNodes();
-
         try {
-            for (int x=0; x<nl.getLength(); x++) {
-                Node wn2 = nl.item(x);
-
-                if (wn2.getNodeName().equalsIgnoreCase("site")) {
-                    retVal.site = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("pilotId")) {
-                    retVal.pilotId = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("daysToArrival")) {
-                    retVal.daysToArrival = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("daysActivelyMaintained")) {
-                    retVal.daysActivelyMaintained = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("daysSinceMaintenance")) {
-                    retVal.daysSinceMaintenance = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("mothballTime")) {
-                    retVal.mothballTime = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("astechDaysMaintained")) {
-                    retVal.astechDaysMaintained = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("driverId")) {
-                    if(version.getMajorVersion() == 0 && version.getMinorVersion() < 2 && version.getSnapshot() < 14) {
-                        retVal.oldDrivers.add(Integer.parseInt(wn2.getTextContent()));
-                    } else {
-                        retVal.drivers.add(UUID.fromString(wn2.getTextContent()));
-                    }
-                } else if (wn2.getNodeName().equalsIgnoreCase("gunnerId")) {
-                    if(version.getMajorVersion() == 0 && version.getMinorVersion() < 2 && version.getSnapshot() < 14) {
-                        retVal.oldGunners.add(Integer.parseInt(wn2.getTextContent()));
-                    } else {
-                        retVal.gunners.add(UUID.fromString(wn2.getTextContent()));
-                    }
-                } else if (wn2.getNodeName().equalsIgnoreCase("vesselCrewId")) {
-                    if(version.getMajorVersion() == 0 && version.getMinorVersion() < 2 && version.getSnapshot() < 14) {
-                        retVal.oldVesselCrew.add(Integer.parseInt(wn2.getTextContent()));
-                    } else {
-                        retVal.vesselCrew.add(UUID.fromString(wn2.getTextContent()));
-                    }
-                } else if (wn2.getNodeName().equalsIgnoreCase("navigatorId")) {
-                    if(version.getMajorVersion() == 0 && version.getMinorVersion() < 2 && version.getSnapshot() < 14) {
-                        retVal.oldNavigator = Integer.parseInt(wn2.getTextContent());
-                    } else {
-                        if(!wn2.getTextContent().equals("null")) {
-                            retVal.navigator = UUID.fromString(wn2.getTextContent());
-                        }
-                    }
-                } else if (wn2.getNodeName().equalsIgnoreCase("techOfficerId")) {
-                    if(!wn2.getTextContent().equals("null")) {
-                        retVal.techOfficer = UUID.fromString(wn2.getTextContent());
-                    }
-                }
-                else if (wn2.getNodeName().equalsIgnoreCase("techId")) {
-                    if(!wn2.getTextContent().equals("null")) {
-                        retVal.tech = UUID.fromString(wn2.getTextContent());
-                    }
-                }
-                else if (wn2.getNodeName().equalsIgnoreCase("forceId")) {
-                    retVal.forceId = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("scenarioId")) {
-                    retVal.scenarioId = Integer.parseInt(wn2.getTextContent());
-                } else if (wn2.getNodeName().equalsIgnoreCase("salvaged")) {
-                    retVal.salvaged = wn2.getTextContent().equalsIgnoreCase("true");
-                } else if (wn2.getNodeName().equalsIgnoreCase("mothballed")) {
-                    retVal.mothballed = wn2.getTextContent().equalsIgnoreCase("true");
-                } else if (wn2.getNodeName().equalsIgnoreCase("entity")) {
-                    retVal.entity = MekHqXmlUtil.getEntityFromXmlString(wn2);
-                } else if (wn2.getNodeName().equalsIgnoreCase("refit")) {
-                    retVal.refit = Refit.generateInstanceFromXML(wn2, retVal, version);
-                } else if (wn2.getNodeName().equalsIgnoreCase("history")) {
-                    retVal.history = wn2.getTextContent();
-                } else if (wn2.getNodeName().equalsIgnoreCase("fluffName")) {
-                    retVal.fluffName = wn2.getTextContent();
-                } else if (wn2.getNodeName().equalsIgnoreCase("lastMaintenanceReport")) {
-                    retVal.lastMaintenanceReport = wn2.getTextContent();
-                } else if (wn2.getNodeName().equalsIgnoreCase("mothballInfo")) {
-                    retVal.mothballInfo = MothballInfo.generateInstanceFromXML(wn2, version);
-                }
-            }
+            XML_FIELDS.dispatchChildren(retVal, wn, version);
         } catch (Exception ex) {
             // Doh!
             MekHQ.getLogger().error(Unit.class, METHOD_NAME, ex);
@@ -1640,8 +1582,9 @@ public class Unit implements MekHqXmlSerializable, ITechnology {
 
         // Protection for old broken campaign files
         // Also for entities that do not have an external ID to match the UUID
-        if (retVal.entity.getExternalIdAsString().equals("-1")
-                || !(retVal.entity.getExternalIdAsString().equals(retVal.id.toString()))) {
+        // (units whose entity couldn't be loaded are left for the caller to deal with)
+        if ((null != retVal.entity) && (retVal.entity.getExternalIdAsString().equals("-1")
+                || !(retVal.entity.getExternalIdAsString().equals(retVal.id.toString())))) {
             retVal.entity.setExternalIdAsString(retVal.id.toString());
         }
 
@@ -354,7 +354,7 @@ public class UnitOrder extends Unit implements IAcquisitionWork, MekHqXmlSeriali
     public void writeToXml(PrintWriter pw1, int indentLvl) {
         pw1.println(MekHqXmlUtil.indentStr(indentLvl) + "<unitOrder>");
 
-        pw1.println(MekHqXmlUtil.writeEntityToXmlString(getEntity(), indentLvl+1, getCampaign().getEntities()));
+        MekHqXmlUtil.writeEntityToXml(pw1, getEntity(), indentLvl+1, getCampaign().getEntities());
         pw1.println(MekHqXmlUtil.indentStr(indentLvl+1)
                 +"<quantity>"
                 +quantity
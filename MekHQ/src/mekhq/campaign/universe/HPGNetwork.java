@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2019 - The MegaMek Team
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign.universe;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeComparator;
+
+import megamek.common.EquipmentType;
+
+/**
+ * The HPG network at a given date: every HPG-A station is linked to every station within
+ * {@link #HPG_A_RANGE} light years. Moving the network to another date only re-evaluates the
+ * planets with an HPG change between the two dates, and the neighbours of each planet are only
+ * looked up once.
+ */
+class HPGNetwork {
+    /** The range of an HPG-A station in light years */
+    static final int HPG_A_RANGE = 50;
+
+    private final Collection<Planet> planets;
+    private final Function<Planet, List<Planet>> neighbourLookup;
+
+    /** The planets within range of each planet, looked up when first needed */
+    private final Map<Planet, List<Planet>> neighbours = new HashMap<>();
+    /** The planets with an HPG change on each date */
+    private final TreeMap<DateTime, Set<Planet>> changes = new TreeMap<>(DateTimeComparator.getDateOnlyInstance());
+    /** The dates each planet's HPG changes on */
+    private final Map<Planet, List<DateTime>> changeDates = new HashMap<>();
+    /** The planets which changed other than through the date, and need to be re-evaluated */
+    private final Set<Planet> outdated = new HashSet<>();
+
+    private DateTime date;
+    private final Map<Planet, Integer> ratings = new HashMap<>();
+    private final Set<Planets.HPGLink> links = new HashSet<>();
+    private Collection<Planets.HPGLink> network = Collections.emptySet();
+
+    /**
+     * @param planets         all the planets
+     * @param neighbourLookup finds the planets within the given planet's HPG-A range, including itself
+     */
+    HPGNetwork(Collection<Planet> planets, Function<Planet, List<Planet>> neighbourLookup) {
+        this.planets = planets;
+        this.neighbourLookup = neighbourLookup;
+        for(Planet planet : planets) {
+            indexChanges(planet);
+        }
+    }
+
+    /**
+     * Needs to be called whenever the planet's events change.
+     */
+    synchronized void update(Planet planet) {
+        List<DateTime> oldDates = changeDates.remove(planet);
+        if(null != oldDates) {
+            for(DateTime changeDate : oldDates) {
+                Set<Planet> changed = changes.get(changeDate);
+                changed.remove(planet);
+                if(changed.isEmpty()) {
+                    changes.remove(changeDate);
+                }
+            }
+        }
+        indexChanges(planet);
+        outdated.add(planet);
+    }
+
+    /**
+     * @return the links of the network on the given date
+     */
+    synchronized Collection<Planets.HPGLink> getNetwork(DateTime when) {
+        if(null == date) {
+            for(Planet planet : planets) {
+                Integer rating = planet.getHPG(when);
+                if(null != rating) {
+                    ratings.put(planet, rating);
+                }
+            }
+            for(Planet planet : ratings.keySet()) {
+                addLinks(planet, Collections.emptySet());
+            }
+        } else {
+            Set<Planet> changed = new HashSet<>(outdated);
+            DateTime from = date.isBefore(when) ? date : when;
+            DateTime to = date.isBefore(when) ? when : date;
+            for(Set<Planet> changedOnDate : changes.subMap(from, false, to, true).values()) {
+                changed.addAll(changedOnDate);
+            }
+            if(changed.isEmpty()) {
+                date = when;
+                return network;
+            }
+            for(Iterator<Planets.HPGLink> i = links.iterator(); i.hasNext(); ) {
+                Planets.HPGLink link = i.next();
+                if(changed.contains(link.primary) || changed.contains(link.secondary)) {
+                    i.remove();
+                }
+            }
+            for(Planet planet : changed) {
+                Integer rating = planet.getHPG(when);
+                if(null != rating) {
+                    ratings.put(planet, rating);
+                } else {
+                    ratings.remove(planet);
+                }
+            }
+            for(Planet planet : changed) {
+                if(ratings.containsKey(planet)) {
+                    addLinks(planet, changed);
+                }
+            }
+        }
+        outdated.clear();
+        date = when;
+        network = Collections.unmodifiableSet(new HashSet<>(links));
+        return network;
+    }
+
+    /**
+     * Adds the links of a planet with an HPG: to all its neighbours if it is an HPG-A, and from all
+     * its HPG-A neighbours which aren't among the ones being (re-)linked anyway.
+     */
+    private void addLinks(Planet planet, Set<Planet> linked) {
+        int rating = ratings.get(planet);
+        for(Planet neighbour : getNeighbours(planet)) {
+            Integer neighbourRating = ratings.get(neighbour);
+            if(null == neighbourRating) {
+                continue;
+            }
+            if(rating == EquipmentType.RATING_A) {
+                links.add(new Planets.HPGLink(planet, neighbour, neighbourRating));
+            }
+            if((neighbourRating == EquipmentType.RATING_A) && !linked.contains(neighbour)) {
+                links.add(new Planets.HPGLink(neighbour, planet, rating));
+            }
+        }
+    }
+
+    private List<Planet> getNeighbours(Planet planet) {
+        return neighbours.computeIfAbsent(planet, neighbourLookup);
+    }
+
+    private void indexChanges(Planet planet) {
+        List<Planet.PlanetaryEvent> events = planet.getEvents();
+        if(null == events) {
+            return;
+        }
+        List<DateTime> dates = new ArrayList<>();
+        for(Planet.PlanetaryEvent event : events) {
+            if((null != event.date) && (null != event.hpg)) {
+                dates.add(event.date);
+                changes.computeIfAbsent(event.date, k -> new HashSet<>()).add(planet);
+            }
+        }
+        if(!dates.isEmpty()) {
+            changeDates.put(planet, dates);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2019 - The MegaMek Team
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign.universe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.joda.time.DateTime;
+
+import megamek.common.annotations.Nullable;
+
+/**
+ * The graph of possible jumps between planets. Planets are numbered from 0, and each planet
+ * is connected to every other planet within a single jump (30 light years). The graph only
+ * depends on planet positions, so it is built once for a given set of planets and is then
+ * immutable; {@link Planets} discards it whenever the planets are reloaded.
+ */
+public class JumpGraph {
+    /** The maximum distance of a single jump in light years */
+    public static final int JUMP_DISTANCE = 30;
+
+    private final Planet[] planets;
+    private final Map<String, Integer> indices;
+    private final double[] x;
+    private final double[] y;
+    private final int[][] neighbors;
+
+    JumpGraph(Collection<Planet> planetList) {
+        planets = planetList.toArray(new Planet[0]);
+        indices = new HashMap<>(planets.length * 2);
+        x = new double[planets.length];
+        y = new double[planets.length];
+        // bucket the planets into cells one jump wide, so only adjacent cells need checking
+        Map<Long, List<Integer>> cells = new HashMap<>();
+        for (int i = 0; i < planets.length; ++ i) {
+            indices.put(planets[i].getId(), i);
+            x[i] = planets[i].getX();
+            y[i] = planets[i].getY();
+            cells.computeIfAbsent(getCell(cellOf(x[i]), cellOf(y[i])), k -> new ArrayList<>()).add(i);
+        }
+        neighbors = new int[planets.length][];
+        List<Integer> nearby = new ArrayList<>();
+        for (int i = 0; i < planets.length; ++ i) {
+            nearby.clear();
+            int cellX = cellOf(x[i]);
+            int cellY = cellOf(y[i]);
+            for (int cx = cellX - 1; cx <= cellX + 1; ++ cx) {
+                for (int cy = cellY - 1; cy <= cellY + 1; ++ cy) {
+                    List<Integer> cell = cells.get(getCell(cx, cy));
+                    if (null != cell) {
+                        for (int other : cell) {
+                            if ((other != i) && (getDistance(i, other) <= JUMP_DISTANCE)) {
+                                nearby.add(other);
+                            }
+                        }
+                    }
+                }
+            }
+            neighbors[i] = new int[nearby.size()];
+            for (int n = 0; n < neighbors[i].length; ++ n) {
+                neighbors[i][n] = nearby.get(n);
+            }
+            Arrays.sort(neighbors[i]);
+        }
+    }
+
+    private static int cellOf(double coordinate) {
+        return (int) Math.floor(coordinate / JUMP_DISTANCE);
+    }
+
+    private static long getCell(int cellX, int cellY) {
+        return (((long) cellX) << 32) | (cellY & 0xFFFFFFFFL);
+    }
+
+    /** @return the number of planets in the graph */
+    public int size() {
+        return planets.length;
+    }
+
+    /** @return the index of the planet in the graph, or -1 if it is not part of it */
+    public int indexOf(@Nullable Planet planet) {
+        Integer index = (null != planet) ? indices.get(planet.getId()) : null;
+        return (null != index) ? index : -1;
+    }
+
+    /** @return the planet with the given index */
+    public Planet getPlanet(int index) {
+        return planets[index];
+    }
+
+    /** @return the indices of the planets a single jump away from the given planet */
+    public int[] getNeighbors(int index) {
+        return neighbors[index];
+    }
+
+    /** @return the distance in light years between two planets in the graph */
+    public double getDistance(int from, int to) {
+        return Math.sqrt((x[from] - x[to]) * (x[from] - x[to]) + (y[from] - y[to]) * (y[from] - y[to]));
+    }
+
+    /**
+     * Finds the best path between two planets, which is the one spending the least time recharging
+     * along the way and, of those, the one with the fewest jumps. This is the route a
+     * {@link JumpRouteTable} from the start would give, calculated only as far as needed.
+     *
+     * The search is the route table's Dijkstra sweep, stopped once the end is reached. Distance
+     * doesn't bound the recharge time still to come: the most an A* heuristic could assume is the
+     * jumps still needed times the shortest recharge time, which is zero as soon as any system has
+     * a recharge station. Such a search would go through as many planets as this one.
+     *
+     * @param start the planet to start at
+     * @param end   the planet to reach
+     * @param when  the date used to determine recharge times
+     * @return the planets along the path, including the start and end, or an empty list if
+     *         there is no path
+     */
+    public List<Planet> findPath(Planet start, Planet end, DateTime when) {
+        if ((indexOf(start) < 0) || (indexOf(end) < 0)) {
+            return Collections.emptyList();
+        }
+        return new JumpRouteTable(this, start, when, end).getPath(end);
+    }
+}
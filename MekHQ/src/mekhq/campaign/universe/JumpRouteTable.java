@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2019 - The MegaMek Team
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign.universe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.joda.time.DateTime;
+
+import megamek.common.annotations.Nullable;
+
+/**
+ * The best routes from one planet to every planet reachable from it on a given date, found with a
+ * single Dijkstra sweep over the {@link JumpGraph}. Routes minimize the time spent recharging along
+ * the way; of routes with the same recharge time, the one with the fewest jumps is taken.
+ * {@link JumpGraph#findPath(Planet, Planet, DateTime)} runs the same sweep, stopping at its
+ * destination, so both always agree on the route between two planets.
+ *
+ * Once built the table answers jump count, travel time and reachability queries for any destination
+ * in constant time, so code evaluating many possible destinations (such as contract generation)
+ * does not need to search for a path to each of them.
+ */
+public class JumpRouteTable {
+    private final JumpGraph graph;
+    private final Planet origin;
+    private final int originIndex;
+    private final DateTime when;
+
+    private final double[] cost;
+    private final int[] jumps;
+    private final int[] parent;
+    /** Recharge hours spent on the route, not counting the first and last planet */
+    private final int[] rechargeTime;
+
+    /**
+     * Calculates the routes from a planet.
+     *
+     * @param graph  the jump graph to route through
+     * @param origin the planet all routes start at
+     * @param when   the date used to determine recharge times
+     */
+    public JumpRouteTable(JumpGraph graph, Planet origin, DateTime when) {
+        this(graph, origin, when, null);
+    }
+
+    /**
+     * Calculates the routes from a planet, stopping once the route to the destination is known.
+     * Only the route to the destination is complete afterwards.
+     *
+     * @param graph       the jump graph to route through
+     * @param origin      the planet all routes start at
+     * @param when        the date used to determine recharge times
+     * @param destination the planet to stop at, or null to calculate the routes to all planets
+     */
+    JumpRouteTable(JumpGraph graph, Planet origin, DateTime when, @Nullable Planet destination) {
+        this.graph = graph;
+        this.origin = origin;
+        this.originIndex = graph.indexOf(origin);
+        this.when = when;
+
+        cost = new double[graph.size()];
+        jumps = new int[graph.size()];
+        parent = new int[graph.size()];
+        rechargeTime = new int[graph.size()];
+        Arrays.fill(cost, Double.POSITIVE_INFINITY);
+        Arrays.fill(jumps, -1);
+        Arrays.fill(parent, -1);
+        if (originIndex >= 0) {
+            calculate(graph.indexOf(destination));
+        }
+    }
+
+    /**
+     * @param destinationIndex the index of the planet to stop at, or -1 to sweep the whole graph
+     */
+    private void calculate(int destinationIndex) {
+        final boolean[] closed = new boolean[graph.size()];
+        final OpenList open = new OpenList();
+
+        cost[originIndex] = 0.0;
+        jumps[originIndex] = 0;
+        open.push(originIndex, 0.0);
+        while (!open.isEmpty()) {
+            final int current = open.pop();
+            if (closed[current]) {
+                continue;
+            }
+            closed[current] = true;
+            if (current == destinationIndex) {
+                break;
+            }
+            final double recharge = graph.getPlanet(current).getRechargeTime(when);
+            final double nextCost = cost[current] + recharge;
+            final int nextJumps = jumps[current] + 1;
+            for (int neighbor : graph.getNeighbors(current)) {
+                if (closed[neighbor]) {
+                    continue;
+                }
+                // A planet seen for the first time is always reachable, even if the
+                // only way to it goes through a system where recharging is impossible
+                if ((jumps[neighbor] < 0) || (nextCost < cost[neighbor])
+                        || ((nextCost == cost[neighbor]) && (nextJumps < jumps[neighbor]))) {
+                    cost[neighbor] = nextCost;
+                    jumps[neighbor] = nextJumps;
+                    parent[neighbor] = current;
+                    // same truncation as JumpPath.getTotalRechargeTime
+                    rechargeTime[neighbor] = (current == originIndex) ? 0 : (int) (rechargeTime[current] + recharge);
+                    open.push(neighbor, nextCost);
+                }
+            }
+        }
+    }
+
+    /** @return the jump graph the routes were calculated on */
+    public JumpGraph getGraph() {
+        return graph;
+    }
+
+    /** @return the planet all routes start at */
+    public Planet getOrigin() {
+        return origin;
+    }
+
+    /** @return the date the routes were calculated for */
+    public DateTime getDate() {
+        return when;
+    }
+
+    /**
+     * @return <code>true</code> if this table was calculated on the given graph, from the given
+     *         planet and for the given date
+     */
+    public boolean isFor(JumpGraph graph, @Nullable Planet origin, DateTime when) {
+        return (this.graph == graph) && (null != origin) && origin.equals(this.origin)
+                && this.when.equals(when);
+    }
+
+    /** @return <code>true</code> if the planet can be reached from the origin */
+    public boolean isReachable(@Nullable Planet destination) {
+        return getJumps(destination) >= 0;
+    }
+
+    /**
+     * @return the number of jumps along the route to the planet, or -1 if it cannot be reached
+     */
+    public int getJumps(@Nullable Planet destination) {
+        int index = graph.indexOf(destination);
+        return (index >= 0) ? jumps[index] : -1;
+    }
+
+    /**
+     * Calculates the total travel time to a planet, in the same way as
+     * {@link mekhq.campaign.JumpPath#getTotalTime(DateTime, double)}
+     *
+     * @param destination    the planet to travel to
+     * @param currentTransit the time already spent travelling towards the jump point of the origin
+     * @return the travel time in days, or {@link Double#POSITIVE_INFINITY} if the planet cannot be reached
+     */
+    public double getTotalTime(@Nullable Planet destination, double currentTransit) {
+        int index = graph.indexOf(destination);
+        if ((index < 0) || (jumps[index] < 0)) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double startTime = origin.getTimeToJumpPoint(1.0) - currentTransit;
+        return rechargeTime[index] / 24.0 + startTime + destination.getTimeToJumpPoint(1.0);
+    }
+
+    /**
+     * @return the planets along the route to the destination, including the origin and destination,
+     *         or an empty list if it cannot be reached
+     */
+    public List<Planet> getPath(@Nullable Planet destination) {
+        int index = graph.indexOf(destination);
+        if ((index < 0) || (jumps[index] < 0)) {
+            return Collections.emptyList();
+        }
+        List<Planet> path = new ArrayList<>(jumps[index] + 1);
+        for (int next = index; next >= 0; next = parent[next]) {
+            path.add(graph.getPlanet(next));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * @return all the planets which can be reached from the origin in at most the given number of jumps
+     */
+    public List<Planet> getPlanetsWithinJumps(int maxJumps) {
+        List<Planet> result = new ArrayList<>();
+        for (int i = 0; i < jumps.length; ++ i) {
+            if ((jumps[i] >= 0) && (jumps[i] <= maxJumps)) {
+                result.add(graph.getPlanet(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * A binary min-heap of planet indices ordered by their score. Entries are never
+     * updated in place; a better score for a planet is pushed as a new entry and
+     * callers skip entries for planets they have already closed.
+     */
+    private static class OpenList {
+        private int[] nodes = new int[64];
+        private double[] scores = new double[64];
+        private int size = 0;
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        public void push(int node, double score) {
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size * 2);
+                scores = Arrays.copyOf(scores, size * 2);
+            }
+            int pos = size++;
+            while (pos > 0) {
+                int parentPos = (pos - 1) >>> 1;
+                if (scores[parentPos] <= score) {
+                    break;
+                }
+                nodes[pos] = nodes[parentPos];
+                scores[pos] = scores[parentPos];
+                pos = parentPos;
+            }
+            nodes[pos] = node;
+            scores[pos] = score;
+        }
+
+        public int pop() {
+            int result = nodes[0];
+            --size;
+            if (size > 0) {
+                int node = nodes[size];
+                double score = scores[size];
+                int pos = 0;
+                while (true) {
+                    int child = 2 * pos + 1;
+                    if (child >= size) {
+                        break;
+                    }
+                    if ((child + 1 < size) && (scores[child + 1] < scores[child])) {
+                        ++ child;
+                    }
+                    if (score <= scores[child]) {
+                        break;
+                    }
+                    nodes[pos] = nodes[child];
+                    scores[pos] = scores[child];
+                    pos = child;
+                }
+                nodes[pos] = node;
+                scores[pos] = score;
+            }
+            return result;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package mekhq.campaign.universe;
 
 import java.io.FileInputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -23,9 +24,9 @@ import mekhq.MekHQ;
 import mekhq.MekHqXmlUtil;
 
 /**
- * Instead of making this a static like Planets, we are just going to reload a years
- * worth of news items at the start of every year, to cut down on memory usage. If this 
- * slows things down too much on year turn over we can reconsider
+ * The news items of a single year, which are reloaded at the start of every year. The news file
+ * is only parsed once, and its items kept grouped by the years they may appear in, so loading
+ * the news of a year only has to copy that year's items.
  * @author Jay Lawson
  *
  */
@@ -49,6 +50,9 @@ public class News {
         }
     }
 
+    // the items of the news file, by the years they may appear in; loaded on first use
+    private static Map<Integer, List<NewsItem>> newsByYear;
+
     //we need two hashes - one to access by date and the other by an id
     private Map<DateTime, List<NewsItem>> archive;
     private Map<Integer, NewsItem> news;
@@ -78,79 +82,97 @@ public class News {
             archive = new HashMap<>();
             news = new HashMap<>();
             int id = 0;
+            for(NewsItem item : getNewsByYear().getOrDefault(year, Collections.emptyList())) {
+                // the dates of imprecisely dated items are picked anew each time
+                NewsItem newsItem = item.copy();
+                newsItem.finalizeDate();
+                archive.computeIfAbsent(newsItem.getDate(), k -> new ArrayList<>()).add(newsItem);
+                newsItem.setId(id);
+                news.put(id, newsItem);
+                ++ id;
+            }
             MekHQ.getLogger().log(getClass(), METHOD_NAME, LogLevel.INFO,
-                    "Starting load of news data for " + year + " from XML..."); //$NON-NLS-1$
+                    "loaded " + archive.size() + " days of news items for " + year); //$NON-NLS-1$
+        }
+    }
+
+    private static Map<Integer, List<NewsItem>> getNewsByYear() {
+        if(null == newsByYear) {
+            newsByYear = readNews();
+        }
+        return newsByYear;
+    }
 
-            // Initialize variables.
-            Document xmlDoc = null;
+    private static Map<Integer, List<NewsItem>> readNews() {
+        final String METHOD_NAME = "readNews()"; //$NON-NLS-1$
+        Map<Integer, List<NewsItem>> result = new HashMap<>();
+        int count = 0;
+        MekHQ.getLogger().log(News.class, METHOD_NAME, LogLevel.INFO,
+                "Starting load of news data from XML..."); //$NON-NLS-1$
 
-            try(FileInputStream fis = new FileInputStream("data/universe/news.xml")) {
-                // Using factory get an instance of document builder
-                DocumentBuilder db = MekHqXmlUtil.newSafeDocumentBuilder();
-        
-                // Parse using builder to get DOM representation of the XML file
-                xmlDoc = db.parse(fis);
-            } catch (Exception ex) {
-                MekHQ.getLogger().error(getClass(), METHOD_NAME, ex);
-            }
-        
-            Element newsEle = xmlDoc.getDocumentElement();
-            NodeList nl = newsEle.getChildNodes();
-        
-            // Get rid of empty text nodes and adjacent text nodes...
-            // Stupid weird parsing of XML.  At least this cleans it up.
-            newsEle.normalize(); 
-        
-            // Okay, lets iterate through the children, eh?
-            for (int x = 0; x < nl.getLength(); x++) {
-                Node wn = nl.item(x);
-        
-                if (wn.getParentNode() != newsEle)
-                    continue;
-        
-                int xc = wn.getNodeType();
-        
-                if (xc == Node.ELEMENT_NODE) {
-                    // This is what we really care about.
-                    // All the meat of our document is in this node type, at this
-                    // level.
-                    // Okay, so what element is it?
-                    String xn = wn.getNodeName();
-        
-                    if (xn.equalsIgnoreCase("newsItem")) {
-                        NewsItem newsItem = null;
-                        try {
-                            newsItem = (NewsItem) unmarshaller.unmarshal(wn);
-                        } catch(JAXBException e) {
-                            MekHQ.getLogger().error(getClass(), METHOD_NAME, e);
-                            continue;
-                        }
-                        if(null == newsItem.getDate()) {
-                            MekHQ.getLogger().log(getClass(), METHOD_NAME, LogLevel.ERROR,
-                                    "The date is null for news Item " + newsItem.getHeadline()); //$NON-NLS-1$
-                        }
-                        if(!newsItem.isInYear(year)) {
-                            continue;
-                        }
-                        List<NewsItem> items;
-                        newsItem.finalizeDate();
-                        if(null == archive.get(newsItem.getDate())) {
-                            items = new ArrayList<NewsItem>();
-                            items.add(newsItem);
-                            archive.put(newsItem.getDate(), items);
-                        } else {
-                            items = archive.get(newsItem.getDate());
-                            items.add(newsItem);
-                            archive.put(newsItem.getDate(), items);
+        // Initialize variables.
+        Document xmlDoc = null;
+
+        try(FileInputStream fis = new FileInputStream("data/universe/news.xml")) {
+            // Using factory get an instance of document builder
+            DocumentBuilder db = MekHqXmlUtil.newSafeDocumentBuilder();
+    
+            // Parse using builder to get DOM representation of the XML file
+            xmlDoc = db.parse(fis);
+        } catch (Exception ex) {
+            MekHQ.getLogger().error(News.class, METHOD_NAME, ex);
+            return result;
+        }
+    
+        Element newsEle = xmlDoc.getDocumentElement();
+        NodeList nl = newsEle.getChildNodes();
+    
+        // Get rid of empty text nodes and adjacent text nodes...
+        // Stupid weird parsing of XML.  At least this cleans it up.
+        newsEle.normalize(); 
+    
+        // Okay, lets iterate through the children, eh?
+        for (int x = 0; x < nl.getLength(); x++) {
+            Node wn = nl.item(x);
+    
+            if (wn.getParentNode() != newsEle)
+                continue;
+    
+            int xc = wn.getNodeType();
+    
+            if (xc == Node.ELEMENT_NODE) {
+                // This is what we really care about.
+                // All the meat of our document is in this node type, at this
+                // level.
+                // Okay, so what element is it?
+                String xn = wn.getNodeName();
+    
+                if (xn.equalsIgnoreCase("newsItem")) {
+                    NewsItem newsItem = null;
+                    try {
+                        newsItem = (NewsItem) unmarshaller.unmarshal(wn);
+                    } catch(JAXBException e) {
+                        MekHQ.getLogger().error(News.class, METHOD_NAME, e);
+                        continue;
+                    }
+                    if(null == newsItem.getDate()) {
+                        MekHQ.getLogger().log(News.class, METHOD_NAME, LogLevel.ERROR,
+                                "The date is null for news Item " + newsItem.getHeadline()); //$NON-NLS-1$
+                        continue;
+                    }
+                    ++ count;
+                    // items dated by decade show up in every year of it
+                    int year = newsItem.getYear();
+                    for(int y = (year / 10) * 10; y < (year / 10) * 10 + 10; ++ y) {
+                        if(newsItem.isInYear(y)) {
+                            result.computeIfAbsent(y, k -> new ArrayList<>()).add(newsItem);
                         }
-                        newsItem.setId(id);
-                        news.put(id, newsItem);
-                        ++ id;
                     }
                 }
-            }   
-            MekHQ.getLogger().log(getClass(), METHOD_NAME, LogLevel.INFO,
-                    "loaded " + archive.size() + " days of news items for " + year); //$NON-NLS-1$
+            }
         }
+        MekHQ.getLogger().log(News.class, METHOD_NAME, LogLevel.INFO,
+                "loaded " + count + " news items for " + result.size() + " years"); //$NON-NLS-1$
+        return result;
     }
-}
\ No newline at end of file
+}
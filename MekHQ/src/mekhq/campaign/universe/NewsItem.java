@@ -122,6 +122,20 @@ public class NewsItem {
     public int getYear() {
         return date.getYear();
     }
+
+    /** @return a copy of this news item, so its date can be finalized without changing this one */
+    NewsItem copy() {
+        NewsItem item = new NewsItem();
+        item.date = date;
+        item.datePrecision = datePrecision;
+        item.headline = headline;
+        item.description = description;
+        item.service = service;
+        item.location = location;
+        item.dateString = dateString;
+        item.id = id;
+        return item;
+    }
     
     /**
      * Finalize this news item's date according to its precision.
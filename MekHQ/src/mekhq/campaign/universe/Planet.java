@@ -228,6 +228,14 @@ public class Planet implements Serializable {
      */
     @XmlTransient
     TreeMap<DateTime, PlanetaryEvent> events;
+
+    /**
+     * The cumulative planetary data as of each event date, built from the events when first needed
+     * and discarded whenever they change
+     */
+    private transient volatile TreeMap<DateTime, PlanetaryEvent> eventTimeline;
+    /** The planetary data for the date most recently asked for */
+    private transient volatile EventSnapshot lastSnapshot;
     
     //a hash to keep track of dynamic garrison changes
     //TreeMap<DateTime, List<String>> garrisonHistory;
@@ -536,6 +544,8 @@ public class Planet implements Serializable {
         if(null == events) {
             events = new TreeMap<DateTime, PlanetaryEvent>(DateTimeComparator.getDateOnlyInstance());
         }
+        // the caller is going to change the event
+        clearEventCache();
         PlanetaryEvent event = events.get(when);
         if(null == event) {
             event = new PlanetaryEvent();
@@ -563,14 +573,49 @@ public class Planet implements Serializable {
         if( null == when || null == events || null == getter ) {
             return defaultValue;
         }
-        T result = defaultValue;
-        for( DateTime date : events.navigableKeySet() ) {
-            if( date.isAfter(when) ) {
-                break;
+        PlanetaryEvent data = getEventSnapshot(when);
+        return (null != data) ? Utilities.nonNull(getter.get(data), defaultValue) : defaultValue;
+    }
+
+    /**
+     * @return the combined data of all the events up to and including the given date, or
+     *         <code>null</code> if there are none
+     */
+    private PlanetaryEvent getEventSnapshot(DateTime when) {
+        TreeMap<DateTime, PlanetaryEvent> timeline = eventTimeline;
+        if(null == timeline) {
+            timeline = new TreeMap<>();
+            PlanetaryEvent previous = null;
+            for(Map.Entry<DateTime, PlanetaryEvent> entry : events.entrySet()) {
+                PlanetaryEvent data = new PlanetaryEvent();
+                if(null != previous) {
+                    data.copyDataFrom(previous);
+                }
+                data.copyDataFrom(entry.getValue());
+                data.date = entry.getKey();
+                timeline.put(entry.getKey(), data);
+                previous = data;
             }
-            result = Utilities.nonNull(getter.get(events.get(date)), result);
+            eventTimeline = timeline;
         }
-        return result;
+        // The same date tends to be asked for over and over again
+        EventSnapshot snapshot = lastSnapshot;
+        if((null == snapshot) || (snapshot.timeline != timeline) || !snapshot.date.equals(when)) {
+            Map.Entry<DateTime, PlanetaryEvent> entry = timeline.floorEntry(when);
+            snapshot = new EventSnapshot(timeline, when, (null != entry) ? entry.getValue() : null);
+            lastSnapshot = snapshot;
+        }
+        return snapshot.data;
+    }
+
+    /**
+     * Discards the cached planetary data. This needs to be called after changing an event returned by
+     * {@link #getEvent(DateTime)} or {@link #getEvents()}; events returned by
+     * {@link #getOrCreateEvent(DateTime)} are expected to be changed and don't need it.
+     */
+    public void clearEventCache() {
+        eventTimeline = null;
+        lastSnapshot = null;
     }
     
     /** @return events for this year. Never returns <i>null</i>. */
@@ -591,15 +636,11 @@ public class Planet implements Serializable {
     }
     
     public String getName(DateTime when) {
-        return getEventData(when, name, new EventGetter<String>() {
-            @Override public String get(PlanetaryEvent e) { return e.name; }
-        });
+        return getEventData(when, name, e -> e.name);
     }
 
     public String getShortName(DateTime when) {
-        return getEventData(when, shortName, new EventGetter<String>() {
-            @Override public String get(PlanetaryEvent e) { return e.shortName; }
-        });
+        return getEventData(when, shortName, e -> e.shortName);
     }
     
     public List<String> getNames() {
@@ -622,9 +663,7 @@ public class Planet implements Serializable {
     }
     
     public SocioIndustrialData getSocioIndustrial(DateTime when) {
-        return getEventData(when, socioIndustrial, new EventGetter<SocioIndustrialData>() {
-            @Override public SocioIndustrialData get(PlanetaryEvent e) { return e.socioIndustrial; }
-        });
+        return getEventData(when, socioIndustrial, e -> e.socioIndustrial);
     }
 
     public String getSocioIndustrialText(DateTime when) {
@@ -633,9 +672,7 @@ public class Planet implements Serializable {
     }
 
     public Integer getHPG(DateTime when) {
-        return getEventData(when, hpg, new EventGetter<Integer>() {
-            @Override public Integer get(PlanetaryEvent e) { return e.hpg; }
-        });
+        return getEventData(when, hpg, e -> e.hpg);
     }
 
     public String getHPGClass(DateTime when) {
@@ -643,9 +680,7 @@ public class Planet implements Serializable {
     }
 
     public Integer getPopulationRating(DateTime when) {
-        return getEventData(when, populationRating, new EventGetter<Integer>() {
-            @Override public Integer get(PlanetaryEvent e) { return e.populationRating; }
-        });
+        return getEventData(when, populationRating, e -> e.populationRating);
     }
     
     public String getPopulationRatingString(DateTime when) {
@@ -654,15 +689,11 @@ public class Planet implements Serializable {
     }
     
     public String getGovernment(DateTime when) {
-        return getEventData(when, government, new EventGetter<String>() {
-            @Override public String get(PlanetaryEvent e) { return e.government; }
-        });
+        return getEventData(when, government, e -> e.government);
     }
 
     public Integer getControlRating(DateTime when) {
-        return getEventData(when, controlRating, new EventGetter<Integer>() {
-            @Override public Integer get(PlanetaryEvent e) { return e.controlRating; }
-        });
+        return getEventData(when, controlRating, e -> e.controlRating);
     }
     
     public String getControlRatingString(DateTime when) {
@@ -671,9 +702,7 @@ public class Planet implements Serializable {
     }
     
     public LifeForm getLifeForm(DateTime when) {
-        return getEventData(when, null != lifeForm ? lifeForm : LifeForm.NONE, new EventGetter<LifeForm>() {
-            @Override public LifeForm get(PlanetaryEvent e) { return e.lifeForm; }
-        });
+        return getEventData(when, null != lifeForm ? lifeForm : LifeForm.NONE, e -> e.lifeForm);
     }
 
     public String getLifeFormName(DateTime when) {
@@ -681,9 +710,7 @@ public class Planet implements Serializable {
     }
 
     public Climate getClimate(DateTime when) {
-        return getEventData(when, climate, new EventGetter<Climate>() {
-            @Override public Climate get(PlanetaryEvent e) { return e.climate; }
-        });
+        return getEventData(when, climate, e -> e.climate);
     }
 
     public String getClimateName(DateTime when) {
@@ -692,21 +719,15 @@ public class Planet implements Serializable {
     }
 
     public Integer getPercentWater(DateTime when) {
-        return getEventData(when, percentWater, new EventGetter<Integer>() {
-            @Override public Integer get(PlanetaryEvent e) { return e.percentWater; }
-        });
+        return getEventData(when, percentWater, e -> e.percentWater);
     }
 
     public Integer getTemperature(DateTime when) {
-        return getEventData(when, temperature, new EventGetter<Integer>() {
-            @Override public Integer get(PlanetaryEvent e) { return e.temperature; }
-        });
+        return getEventData(when, temperature, e -> e.temperature);
     }
     
     public Integer getPressure(DateTime when) {
-        return getEventData(when, pressure, new EventGetter<Integer>() {
-            @Override public Integer get(PlanetaryEvent e) { return e.pressure; }
-        });
+        return getEventData(when, pressure, e -> e.pressure);
     }
     
     public String getPressureName(DateTime when) {
@@ -715,39 +736,27 @@ public class Planet implements Serializable {
     }
 
     public Double getPressureAtm(DateTime when) {
-        return getEventData(when, pressureAtm, new EventGetter<Double>() {
-            @Override public Double get(PlanetaryEvent e) { return e.pressureAtm; }
-        });
+        return getEventData(when, pressureAtm, e -> e.pressureAtm);
     }
 
     public Double getAtmMass(DateTime when) {
-        return getEventData(when, atmMass, new EventGetter<Double>() {
-            @Override public Double get(PlanetaryEvent e) { return e.atmMass; }
-        });
+        return getEventData(when, atmMass, e -> e.atmMass);
     }
 
     public String getAtmosphere(DateTime when) {
-        return getEventData(when, atmosphere, new EventGetter<String>() {
-            @Override public String get(PlanetaryEvent e) { return e.atmosphere; }
-        });
+        return getEventData(when, atmosphere, e -> e.atmosphere);
     }
 
     public Double getAlbedo(DateTime when) {
-        return getEventData(when, albedo, new EventGetter<Double>() {
-            @Override public Double get(PlanetaryEvent e) { return e.albedo; }
-        });
+        return getEventData(when, albedo, e -> e.albedo);
     }
 
     public Double getGreenhouseEffect(DateTime when) {
-        return getEventData(when, greenhouseEffect, new EventGetter<Double>() {
-            @Override public Double get(PlanetaryEvent e) { return e.greenhouseEffect; }
-        });
+        return getEventData(when, greenhouseEffect, e -> e.greenhouseEffect);
     }
 
     public Integer getHabitability(DateTime when) {
-        return getEventData(when, habitability, new EventGetter<Integer>() {
-            @Override public Integer get(PlanetaryEvent e) { return e.habitability; }
-        });
+        return getEventData(when, habitability, e -> e.habitability);
     }
 
     public List<String> getFactions(DateTime when) {
@@ -786,15 +795,11 @@ public class Planet implements Serializable {
     // Stellar event data, to be moved
     
     public Boolean isNadirCharge(DateTime when) {
-        return getEventData(when, nadirCharge, new EventGetter<Boolean>() {
-            @Override public Boolean get(PlanetaryEvent e) { return e.nadirCharge; }
-        });
+        return getEventData(when, nadirCharge, e -> e.nadirCharge);
     }
 
     public boolean isZenithCharge(DateTime when) {
-        return getEventData(when, zenithCharge, new EventGetter<Boolean>() {
-            @Override public Boolean get(PlanetaryEvent e) { return e.zenithCharge; }
-        });
+        return getEventData(when, zenithCharge, e -> e.zenithCharge);
     }
 
     public String getRechargeStationsText(DateTime when) {
@@ -1011,6 +1016,7 @@ public class Planet implements Serializable {
         
         // Fill up events
         events = new TreeMap<DateTime, PlanetaryEvent>(DateTimeComparator.getDateOnlyInstance());
+        clearEventCache();
         if( null != eventList ) {
             for( PlanetaryEvent event : eventList ) {
                 if( null != event && null != event.date ) {
@@ -1122,6 +1128,7 @@ public class Planet implements Serializable {
                             
                             if(!dryRun) {
                                 this.events.put(event.date, event);
+                                clearEventCache();
                             }
                         }
                     }
@@ -1512,6 +1519,19 @@ public class Planet implements Serializable {
     private static interface EventGetter<T> {
         T get(PlanetaryEvent e);
     }
+
+    /** The planetary data resolved for a given date */
+    private static final class EventSnapshot {
+        private final TreeMap<DateTime, PlanetaryEvent> timeline;
+        private final DateTime date;
+        private final PlanetaryEvent data;
+
+        private EventSnapshot(TreeMap<DateTime, PlanetaryEvent> timeline, DateTime date, PlanetaryEvent data) {
+            this.timeline = timeline;
+            this.date = date;
+            this.data = data;
+        }
+    }
     
     /** BT planet types */
     public static enum PlanetaryType {
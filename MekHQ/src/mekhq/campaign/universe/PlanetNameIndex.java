@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2019 - The MegaMek Team
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign.universe;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.joda.time.DateTime;
+
+import megamek.common.annotations.Nullable;
+
+/**
+ * Case-insensitive lookup of planets by name. Every name and short name a planet has ever had,
+ * including the ones from its planetary events, is indexed; a lookup then only has to check
+ * which of the few planets that carried the name actually have it on the given date.
+ */
+class PlanetNameIndex {
+    private final Map<String, List<Planet>> planetsByName = new HashMap<>();
+    private final Map<String, Set<String>> namesByPlanet = new HashMap<>();
+
+    PlanetNameIndex(Collection<Planet> planets) {
+        for(Planet planet : planets) {
+            update(planet);
+        }
+    }
+
+    /**
+     * Adds a planet to the index, or re-indexes it if it is already part of it.
+     * Needs to be called whenever the names in the planet's events change.
+     */
+    synchronized void update(Planet planet) {
+        Set<String> names = getAllNames(planet);
+        Set<String> oldNames = namesByPlanet.put(planet.getId(), names);
+        if(null != oldNames) {
+            for(String name : oldNames) {
+                if(!names.contains(name)) {
+                    List<Planet> candidates = planetsByName.get(name);
+                    candidates.remove(planet);
+                    if(candidates.isEmpty()) {
+                        planetsByName.remove(name);
+                    }
+                }
+            }
+        }
+        for(String name : names) {
+            if((null == oldNames) || !oldNames.contains(name)) {
+                planetsByName.computeIfAbsent(name, k -> new ArrayList<>(1)).add(planet);
+            }
+        }
+    }
+
+    /** @return the planet with the given name or short name at the given date, or null if there is none */
+    synchronized @Nullable Planet find(String name, DateTime when) {
+        name = name.toLowerCase(Locale.ROOT);
+        List<Planet> candidates = planetsByName.get(name);
+        if(null == candidates) {
+            return null;
+        }
+        for(Planet planet : candidates) {
+            String planetName = planet.getName(when);
+            if((null != planetName) && planetName.toLowerCase(Locale.ROOT).equals(name)) {
+                return planet;
+            }
+            planetName = planet.getShortName(when);
+            if((null != planetName) && planetName.toLowerCase(Locale.ROOT).equals(name)) {
+                return planet;
+            }
+        }
+        return null;
+    }
+
+    private static Set<String> getAllNames(Planet planet) {
+        Set<String> names = new HashSet<>();
+        // without a date, the getters return the base data
+        addName(names, planet.getName(null));
+        addName(names, planet.getShortName(null));
+        List<Planet.PlanetaryEvent> events = planet.getEvents();
+        if(null != events) {
+            for(Planet.PlanetaryEvent event : events) {
+                addName(names, event.name);
+                addName(names, event.shortName);
+            }
+        }
+        return names;
+    }
+
+    private static void addName(Set<String> names, @Nullable String name) {
+        if(null != name) {
+            names.add(name.toLowerCase(Locale.ROOT));
+        }
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2019 - The MegaMek Team
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign.universe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Finds planets by position. The planets are bucketed into a flat grid of square cells, with the
+ * planets of each cell stored next to each other in plain arrays, so the queries only have to look
+ * at the cells overlapping the area asked about. The visiting queries don't allocate anything; the
+ * ones returning lists sort by the squared distances, worked out once per planet.
+ *
+ * The index only depends on planet positions, so it is built once for a given set of planets and
+ * is then immutable; {@link Planets} discards it whenever the planets change.
+ */
+class PlanetSpatialIndex {
+    /** The width and height of a cell in light years */
+    private static final double CELL_SIZE = 30.0;
+
+    private final double originX;
+    private final double originY;
+    private final int columns;
+    private final int rows;
+    /** The planets of cell c are at the indices cellStart[c] to cellStart[c + 1] - 1 */
+    private final int[] cellStart;
+    private final Planet[] planets;
+    private final double[] x;
+    private final double[] y;
+
+    PlanetSpatialIndex(Collection<Planet> planetList) {
+        double minX = Double.MAX_VALUE;
+        double minY = Double.MAX_VALUE;
+        double maxX = - Double.MAX_VALUE;
+        double maxY = - Double.MAX_VALUE;
+        for (Planet planet : planetList) {
+            minX = Math.min(minX, planet.getX());
+            minY = Math.min(minY, planet.getY());
+            maxX = Math.max(maxX, planet.getX());
+            maxY = Math.max(maxY, planet.getY());
+        }
+        if (planetList.isEmpty()) {
+            minX = minY = maxX = maxY = 0.0;
+        }
+        originX = minX;
+        originY = minY;
+        columns = (int) Math.floor((maxX - minX) / CELL_SIZE) + 1;
+        rows = (int) Math.floor((maxY - minY) / CELL_SIZE) + 1;
+
+        // count the planets in each cell, then place each planet after the ones of the cells before
+        Planet[] unsorted = planetList.toArray(new Planet[0]);
+        int[] cells = new int[unsorted.length];
+        cellStart = new int[columns * rows + 1];
+        for (int i = 0; i < unsorted.length; ++ i) {
+            cells[i] = columnOf(unsorted[i].getX()) + rowOf(unsorted[i].getY()) * columns;
+            ++ cellStart[cells[i] + 1];
+        }
+        for (int c = 0; c < columns * rows; ++ c) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        int[] next = Arrays.copyOf(cellStart, columns * rows);
+        planets = new Planet[unsorted.length];
+        x = new double[unsorted.length];
+        y = new double[unsorted.length];
+        for (int i = 0; i < unsorted.length; ++ i) {
+            int index = next[cells[i]] ++;
+            planets[index] = unsorted[i];
+            x[index] = unsorted[i].getX();
+            y[index] = unsorted[i].getY();
+        }
+    }
+
+    /**
+     * Calls the visitor for every planet within the given distance of a point.
+     */
+    void visitWithin(double centerX, double centerY, double distance, Consumer<Planet> visitor) {
+        final double maxDistanceSq = distance * distance;
+        final int minColumn = columnOf(centerX - distance);
+        final int maxColumn = columnOf(centerX + distance);
+        final int maxRow = rowOf(centerY + distance);
+        for (int row = rowOf(centerY - distance); row <= maxRow; ++ row) {
+            for (int i = cellStart[minColumn + row * columns]; i < cellStart[maxColumn + row * columns + 1]; ++ i) {
+                final double dx = x[i] - centerX;
+                final double dy = y[i] - centerY;
+                if (dx * dx + dy * dy <= maxDistanceSq) {
+                    visitor.accept(planets[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Calls the visitor for every planet within the given bounds.
+     */
+    void visitInBox(double minX, double minY, double maxX, double maxY, Consumer<Planet> visitor) {
+        final int minColumn = columnOf(minX);
+        final int maxColumn = columnOf(maxX);
+        final int maxRow = rowOf(maxY);
+        for (int row = rowOf(minY); row <= maxRow; ++ row) {
+            for (int i = cellStart[minColumn + row * columns]; i < cellStart[maxColumn + row * columns + 1]; ++ i) {
+                if ((x[i] >= minX) && (x[i] <= maxX) && (y[i] >= minY) && (y[i] <= maxY)) {
+                    visitor.accept(planets[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the planets within the given distance of a point, nearest first
+     */
+    List<Planet> getWithin(double centerX, double centerY, double distance) {
+        final double maxDistanceSq = distance * distance;
+        final int minColumn = columnOf(centerX - distance);
+        final int maxColumn = columnOf(centerX + distance);
+        final int maxRow = rowOf(centerY + distance);
+        int[] found = new int[16];
+        double[] distances = new double[16];
+        int count = 0;
+        for (int row = rowOf(centerY - distance); row <= maxRow; ++ row) {
+            for (int i = cellStart[minColumn + row * columns]; i < cellStart[maxColumn + row * columns + 1]; ++ i) {
+                final double dx = x[i] - centerX;
+                final double dy = y[i] - centerY;
+                final double distanceSq = dx * dx + dy * dy;
+                if (distanceSq <= maxDistanceSq) {
+                    if (count == found.length) {
+                        found = Arrays.copyOf(found, count * 2);
+                        distances = Arrays.copyOf(distances, count * 2);
+                    }
+                    found[count] = i;
+                    distances[count] = distanceSq;
+                    ++ count;
+                }
+            }
+        }
+        return toSortedList(found, distances, count, count);
+    }
+
+    /**
+     * @return the given number of planets nearest to a point (or all of them, if there are fewer),
+     *         nearest first
+     */
+    List<Planet> getNearest(double centerX, double centerY, int number) {
+        if ((number <= 0) || (planets.length == 0)) {
+            return new ArrayList<>();
+        }
+        number = Math.min(number, planets.length);
+        // look at ever larger squares of cells around the point until the planets found in them
+        // are closer than anything outside could be
+        final int centerColumn = columnOf(centerX);
+        final int centerRow = rowOf(centerY);
+        int[] found = new int[Math.max(16, number)];
+        double[] distances = new double[found.length];
+        int count = 0;
+        for (int ring = 0; ; ++ ring) {
+            final int minColumn = Math.max(centerColumn - ring, 0);
+            final int maxColumn = Math.min(centerColumn + ring, columns - 1);
+            final int minRow = Math.max(centerRow - ring, 0);
+            final int maxRow = Math.min(centerRow + ring, rows - 1);
+            for (int row = minRow; row <= maxRow; ++ row) {
+                boolean edgeRow = (row == centerRow - ring) || (row == centerRow + ring);
+                for (int column = minColumn; column <= maxColumn; ++ column) {
+                    if (!edgeRow && (column != centerColumn - ring) && (column != centerColumn + ring)) {
+                        // only the cells on the edge of the square are new
+                        continue;
+                    }
+                    int cell = column + row * columns;
+                    for (int i = cellStart[cell]; i < cellStart[cell + 1]; ++ i) {
+                        if (count == found.length) {
+                            found = Arrays.copyOf(found, count * 2);
+                            distances = Arrays.copyOf(distances, count * 2);
+                        }
+                        final double dx = x[i] - centerX;
+                        final double dy = y[i] - centerY;
+                        found[count] = i;
+                        distances[count] = dx * dx + dy * dy;
+                        ++ count;
+                    }
+                }
+            }
+            if (count >= number) {
+                // the planets not looked at yet are at least this far from the point; there are
+                // none beyond the sides of the square which reached the edge of the grid
+                double reach = Double.MAX_VALUE;
+                if (minColumn > 0) {
+                    reach = Math.min(reach, centerX - (originX + minColumn * CELL_SIZE));
+                }
+                if (maxColumn < columns - 1) {
+                    reach = Math.min(reach, originX + (maxColumn + 1) * CELL_SIZE - centerX);
+                }
+                if (minRow > 0) {
+                    reach = Math.min(reach, centerY - (originY + minRow * CELL_SIZE));
+                }
+                if (maxRow < rows - 1) {
+                    reach = Math.min(reach, originY + (maxRow + 1) * CELL_SIZE - centerY);
+                }
+                if ((reach == Double.MAX_VALUE)
+                        || (countWithin(distances, count, Math.max(reach, 0.0) * Math.max(reach, 0.0)) >= number)) {
+                    return toSortedList(found, distances, count, number);
+                }
+            }
+        }
+    }
+
+    private static int countWithin(double[] distances, int count, double maxDistanceSq) {
+        int within = 0;
+        for (int i = 0; i < count; ++ i) {
+            if (distances[i] <= maxDistanceSq) {
+                ++ within;
+            }
+        }
+        return within;
+    }
+
+    /** @return the first planets of the ones found, sorted by their (squared) distances */
+    private List<Planet> toSortedList(int[] found, double[] distances, int count, int limit) {
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; ++ i) {
+            order[i] = i;
+        }
+        final double[] keys = distances;
+        Arrays.sort(order, (a, b) -> Double.compare(keys[a], keys[b]));
+        List<Planet> result = new ArrayList<>(limit);
+        for (int i = 0; i < limit; ++ i) {
+            result.add(planets[found[order[i]]]);
+        }
+        return result;
+    }
+
+    /** @return the column of the cell containing the x coordinate, limited to the grid */
+    private int columnOf(double posX) {
+        return Math.max(0, Math.min(columns - 1, (int) Math.floor((posX - originX) / CELL_SIZE)));
+    }
+
+    /** @return the row of the cell containing the y coordinate, limited to the grid */
+    private int rowOf(double posY) {
+        return Math.max(0, Math.min(rows - 1, (int) Math.floor((posY - originY) / CELL_SIZE)));
+    }
+}
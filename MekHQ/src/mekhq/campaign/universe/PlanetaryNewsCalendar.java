@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2019 - The MegaMek Team
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign.universe;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeComparator;
+
+/**
+ * The planetary events carrying a news message, by date. Finding the news of a day is then a
+ * single lookup instead of a look at the events of every planet.
+ */
+class PlanetaryNewsCalendar {
+    private final TreeMap<DateTime, List<Planet>> planetsByDate =
+            new TreeMap<>(DateTimeComparator.getDateOnlyInstance());
+    private final Map<String, List<DateTime>> datesByPlanet = new HashMap<>();
+
+    PlanetaryNewsCalendar(Collection<Planet> planets) {
+        for(Planet planet : planets) {
+            update(planet);
+        }
+    }
+
+    /**
+     * Adds a planet to the calendar, or re-indexes it if it is already part of it.
+     * Needs to be called whenever the planet's events change.
+     */
+    synchronized void update(Planet planet) {
+        List<DateTime> oldDates = datesByPlanet.remove(planet.getId());
+        if(null != oldDates) {
+            for(DateTime date : oldDates) {
+                List<Planet> planets = planetsByDate.get(date);
+                planets.remove(planet);
+                if(planets.isEmpty()) {
+                    planetsByDate.remove(date);
+                }
+            }
+        }
+        List<Planet.PlanetaryEvent> events = planet.getEvents();
+        if(null == events) {
+            return;
+        }
+        List<DateTime> dates = new ArrayList<>();
+        for(Planet.PlanetaryEvent event : events) {
+            if((null != event.date) && (null != event.message)) {
+                dates.add(event.date);
+                planetsByDate.computeIfAbsent(event.date, k -> new ArrayList<>(1)).add(planet);
+            }
+        }
+        if(!dates.isEmpty()) {
+            datesByPlanet.put(planet.getId(), dates);
+        }
+    }
+
+    /** @return the planets with a news message on the given date */
+    synchronized List<Planet> getPlanets(DateTime when) {
+        List<Planet> planets = planetsByDate.get(when);
+        return (null != planets) ? new ArrayList<>(planets) : Collections.emptyList();
+    }
+}
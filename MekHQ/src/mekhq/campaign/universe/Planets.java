@@ -33,17 +33,17 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.ResourceBundle;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
@@ -57,7 +57,6 @@ import org.joda.time.DateTime;
 import org.w3c.dom.DOMException;
 import org.w3c.dom.Node;
 
-import megamek.common.EquipmentType;
 import megamek.common.logging.LogLevel;
 import megamek.common.util.EncodeControl;
 import mekhq.MekHQ;
@@ -121,13 +120,28 @@ public class Planets {
     }
 
     private ConcurrentMap<String, Planet> planetList = new ConcurrentHashMap<>();
-    /* organizes systems into a grid of 30lyx30ly squares so we can find
-     * nearby systems without iterating through the entire planet list. */
-    private HashMap<Integer, Map<Integer, Set<Planet>>> planetGrid = new HashMap<>();
-    
-    // HPG Network cache (to not recalculate all the damn time)
-    private Collection<Planets.HPGLink> hpgNetworkCache = null;
-    private DateTime hpgNetworkCacheDate = null;
+    // Data derived from the planet list, built on first use and rebuilt when the planets change
+    private final List<DerivedData<?>> derivedData = new ArrayList<>();
+    // Spatial index, so nearby systems can be found without iterating through the entire
+    // planet list
+    private final DerivedData<PlanetSpatialIndex> spatialIndex =
+            new DerivedData<>(() -> new PlanetSpatialIndex(planetList.values()));
+    // HPG network, moved from date to date
+    private final DerivedData<HPGNetwork> hpgNetwork = new DerivedData<>(() ->
+            new HPGNetwork(planetList.values(), planet -> {
+                List<Planet> neighbors = new ArrayList<>();
+                visitNearbyPlanets(planet, HPGNetwork.HPG_A_RANGE, neighbors::add);
+                return neighbors;
+            }));
+    private final DerivedData<JumpGraph> jumpGraph =
+            new DerivedData<>(() -> new JumpGraph(planetList.values()));
+    private final DerivedData<PlanetNameIndex> nameIndex =
+            new DerivedData<>(() -> new PlanetNameIndex(planetList.values()));
+    // Planetary news by date
+    private final DerivedData<PlanetaryNewsCalendar> newsCalendar =
+            new DerivedData<>(() -> new PlanetaryNewsCalendar(planetList.values()));
+    // Counts the changes to planetary events, so data derived from them can be recalculated
+    private final AtomicInteger eventRevision = new AtomicInteger();
     
     private Thread loader;
     private boolean initialized = false;
@@ -135,43 +149,28 @@ public class Planets {
     
     private Planets() {}
 
-    private Set<Planet> getPlanetGrid(int x, int y) {
-        if( !planetGrid.containsKey(x) ) {
-            return null;
-        }
-        return planetGrid.get(x).get(y);
+    private PlanetSpatialIndex getSpatialIndex() {
+        return spatialIndex.get();
     }
     
+    /** @return the planets within the given distance of a point, nearest first */
     public List<Planet> getNearbyPlanets(final double centerX, final double centerY, int distance) {
-        List<Planet> neighbors = new ArrayList<>();
+        return getSpatialIndex().getWithin(centerX, centerY, distance);
+    }
 
-        visitNearbyPlanets(centerX, centerY, distance, neighbors::add);
+    /** Calls the visitor for every planet within the given distance of a point, in no particular order */
+    public void visitNearbyPlanets(final double centerX, final double centerY, final int distance, Consumer<Planet> visitor) {
+        getSpatialIndex().visitWithin(centerX, centerY, distance, visitor);
+    }
 
-        Collections.sort(neighbors, new Comparator<Planet>() {
-            @Override
-            public int compare(Planet o1, Planet o2) {
-                return Double.compare(o1.getDistanceTo(centerX, centerY), o2.getDistanceTo(centerX, centerY));
-            }
-        });
-        return neighbors;
+    /** Calls the visitor for every planet within the given bounds, in no particular order */
+    public void visitPlanetsInBox(double minX, double minY, double maxX, double maxY, Consumer<Planet> visitor) {
+        getSpatialIndex().visitInBox(minX, minY, maxX, maxY, visitor);
     }
 
-    public void visitNearbyPlanets(final double centerX, final double centerY, final int distance, Consumer<Planet> visitor) {
-        int gridRadius = (int)Math.ceil(distance / 30.0);
-        int gridX = (int)(centerX / 30.0);
-        int gridY = (int)(centerY / 30.0);
-        for (int x = gridX - gridRadius; x <= gridX + gridRadius; x++) {
-            for (int y = gridY - gridRadius; y <= gridY + gridRadius; y++) {
-                Set<Planet> grid = getPlanetGrid(x, y);
-                if (null != grid) {
-                    for (Planet p : grid) {
-                        if (p.getDistanceTo(centerX, centerY) <= distance) {
-                            visitor.accept(p);
-                        }
-                    }
-                }
-            }
-        }
+    /** @return the given number of planets nearest to a point, nearest first */
+    public List<Planet> getNearestPlanets(double x, double y, int number) {
+        return getSpatialIndex().getNearest(x, y, number);
     }
          
     public List<Planet> getNearbyPlanets(final Planet planet, int distance) {
@@ -181,6 +180,13 @@ public class Planets {
     public void visitNearbyPlanets(final Planet planet, final int distance, Consumer<Planet> visitor) {
         visitNearbyPlanets(planet.getX(), planet.getY(), distance, visitor);
     }
+
+    /**
+     * @return the graph of single jumps between the planets, built on first use
+     */
+    public JumpGraph getJumpGraph() {
+        return jumpGraph.get();
+    }
     
     /**
      * Get a list of planets within a certain jump radius (30ly per jump) that 
@@ -202,22 +208,24 @@ public class Planets {
     	  }
     	}
     	
+    	//sort first on number of jumps required, then on in system transit time;
+    	//both are calculated once per planet rather than on every comparison
+    	final Map<Planet, Integer> jumpCounts = new HashMap<>();
+    	final Map<Planet, Double> transitTimes = new HashMap<>();
+    	for (Planet p : shoppingPlanets) {
+    	    jumpCounts.put(p, (int)Math.ceil(p.getDistanceTo(planet)/30.0));
+    	    transitTimes.put(p, p.getTimeToJumpPoint(1.0));
+    	}
     	Collections.sort(shoppingPlanets, new Comparator<Planet>() {
             @Override
             public int compare(final Planet p1, final Planet p2) {
-            	
-            	//sort first on number of jumps required
-            	int jump1 = (int)Math.ceil(p1.getDistanceTo(planet)/30.0);
-            	int jump2 = (int)Math.ceil(p2.getDistanceTo(planet)/30.0);
-            	int sComp = Integer.compare(jump1, jump2);
+                int sComp = Integer.compare(jumpCounts.get(p1), jumpCounts.get(p2));
 
                 if (sComp != 0) {
                    return sComp;
                 } 
                 
-                //if number of jumps the same then sort on in system transit time
-                return Double.compare(p1.getTimeToJumpPoint(1.0), p2.getTimeToJumpPoint(1.0));
-                
+                return Double.compare(transitTimes.get(p1), transitTimes.get(p2));
             }
         });
     	
@@ -238,25 +246,23 @@ public class Planets {
         if(null == name) {
             return null;
         }
-        name = name.toLowerCase(Locale.ROOT);
-        for(Planet planet : planetList.values()) {
-            if(null != planet) {
-                String planetName = planet.getName(when);
-                if((null != planetName) && planetName.toLowerCase(Locale.ROOT).equals(name)) {
-                    return planet;
-                }
-                planetName = planet.getShortName(when);
-                if((null != planetName) && planetName.toLowerCase(Locale.ROOT).equals(name)) {
-                    return planet;
-                }
-            }
-        }
-        return null;
+        return getNameIndex().find(name, when);
+    }
+
+    private PlanetNameIndex getNameIndex() {
+        return nameIndex.get();
+    }
+
+    private PlanetaryNewsCalendar getNewsCalendar() {
+        return newsCalendar.get();
     }
 
     public List<NewsItem> getPlanetaryNews(DateTime when) {
         List<NewsItem> news = new ArrayList<>();
-        for(Planet planet : planetList.values()) {
+        if(null == when) {
+            return news;
+        }
+        for(Planet planet : getNewsCalendar().getPlanets(when)) {
             if(null != planet) {
                 Planet.PlanetaryEvent event = planet.getEvent(when);
                 if((null != event) && (null != event.message)) {
@@ -273,33 +279,18 @@ public class Planets {
     
     /** Clean up the local HPG network cache */
     public void recalcHPGNetwork() {
-        hpgNetworkCacheDate = null;
+        hpgNetwork.clear();
+    }
+
+    private HPGNetwork getHPGNetworkModel() {
+        return hpgNetwork.get();
     }
     
     public Collection<Planets.HPGLink> getHPGNetwork(DateTime when) {
-        if((null != when) && when.equals(hpgNetworkCacheDate)) {
-            return hpgNetworkCache;
-        }
-        
-        Set<HPGLink> result = new HashSet<>();
-        for(Planet planet : planetList.values()) {
-            Integer hpg = planet.getHPG(when);
-            if((null != hpg) && (hpg.intValue() == EquipmentType.RATING_A)) {
-                Collection<Planet> neighbors = getNearbyPlanets(planet, 50);
-                for(Planet neighbor : neighbors) {
-                    hpg = neighbor.getHPG(when);
-                    if(null != hpg) {
-                        HPGLink link = new HPGLink(planet, neighbor, hpg.intValue());
-                        if(!result.contains(link)) {
-                            result.add(link);
-                        }
-                    }
-                }
-            }
+        if(null == when) {
+            return Collections.emptySet();
         }
-        hpgNetworkCache = result;
-        hpgNetworkCacheDate = when;
-        return result;
+        return getHPGNetworkModel().getNetwork(when);
     }
     
     // Customisation and export helper methods
@@ -326,9 +317,32 @@ public class Planets {
                     }
                 }
             }
+            // the events may have renamed the planet
+            PlanetNameIndex index = nameIndex.getIfBuilt();
+            if(null != index) {
+                index.update(planet);
+            }
+            PlanetaryNewsCalendar calendar = newsCalendar.getIfBuilt();
+            if(null != calendar) {
+                calendar.update(planet);
+            }
+            HPGNetwork network = hpgNetwork.getIfBuilt();
+            if(null != network) {
+                network.update(planet);
+            }
+            // recharge stations may have changed
+            eventRevision.incrementAndGet();
         }
         return true;
     }
+
+    /**
+     * @return a number which changes whenever planetary events are updated, so data calculated
+     *         from them on a given date (such as jump routes) can tell when it is out of date
+     */
+    public int getEventRevision() {
+        return eventRevision.get();
+    }
     
     public void writePlanet(OutputStream out, Planet planet) {
         try {
@@ -682,20 +696,16 @@ public class Planets {
      */
     private void addPlanet(Planet planet) { 
         this.planetList.put(planet.getId(), planet);
-        
-        int x = (int)(planet.getX()/30.0);
-        int y = (int)(planet.getY()/30.0);
-        if (planetGrid.get(x) == null) {
-            planetGrid.put(x, new HashMap<Integer, Set<Planet>>());
-        }
-        if (planetGrid.get(x).get(y) == null) {
-            planetGrid.get(x).put(y, new HashSet<Planet>());
-        }
-        if( !planetGrid.get(x).get(y).contains(planet) ) {
-            planetGrid.get(x).get(y).add(planet);
-        }
+        clearDerivedData();
     }
     
+    /** Drops all data derived from the planet list, so it gets rebuilt on next use */
+    private void clearDerivedData() {
+        for (DerivedData<?> data : derivedData) {
+            data.clear();
+        }
+    }
+
     public String exportPlanets(String path, String format) {
         String report;
         
@@ -733,21 +743,7 @@ public class Planets {
                 planetList = new ConcurrentHashMap<>();
             }
             planetList.clear();
-            if( null == planetGrid ) {
-                planetGrid = new HashMap<>();
-            }
-            // Be nice to the garbage collector
-            for( Map.Entry<Integer, Map<Integer, Set<Planet>>> planetGridColumn : planetGrid.entrySet() ) {
-                for( Map.Entry<Integer, Set<Planet>> planetGridElement : planetGridColumn.getValue().entrySet() ) {
-                    if( null != planetGridElement.getValue() ) {
-                        planetGridElement.getValue().clear();
-                    }
-                }
-                if( null != planetGridColumn.getValue() ) {
-                    planetGridColumn.getValue().clear();
-                }
-            }
-            planetGrid.clear();
+            clearDerivedData();
             
             // Step 2: Read the default file
             try(FileInputStream fis = new FileInputStream(defaultFilePath)) { //$NON-NLS-1$
@@ -765,18 +761,6 @@ public class Planets {
                     MekHQ.getLogger().log(getClass(), METHOD_NAME, LogLevel.ERROR,
                             String.format("Planet \"%s\" is missing coordinates", planet.getId())); //$NON-NLS-1$
                     toRemove.add(planet);
-                    continue;
-                }
-                int x = (int)(planet.getX()/30.0);
-                int y = (int)(planet.getY()/30.0);
-                if (planetGrid.get(x) == null) {
-                    planetGrid.put(x, new HashMap<Integer, Set<Planet>>());
-                }
-                if (planetGrid.get(x).get(y) == null) {
-                    planetGrid.get(x).put(y, new HashSet<Planet>());
-                }
-                if( !planetGrid.get(x).get(y).contains(planet) ) {
-                    planetGrid.get(x).get(y).add(planet);
                 }
             }
             for(Planet planet : toRemove) {
@@ -805,6 +789,47 @@ public class Planets {
     }
     
     @XmlRootElement(name="planets")
+    /**
+     * Data derived from the planet list, built on first use and kept until the planets change.
+     * Data built while the universe is still loading is not kept, since it would be missing
+     * the planets loaded later on.
+     */
+    private final class DerivedData<T> {
+        private final Supplier<T> builder;
+        private volatile T value;
+
+        private DerivedData(Supplier<T> builder) {
+            this.builder = builder;
+            derivedData.add(this);
+        }
+
+        /** @return the data, building it if needed */
+        public T get() {
+            T result = value;
+            if (null == result) {
+                synchronized (LOADING_LOCK) {
+                    result = value;
+                    if (null == result) {
+                        result = builder.get();
+                        if (initialized) {
+                            value = result;
+                        }
+                    }
+                }
+            }
+            return result;
+        }
+
+        /** @return the data if it has been built, or <code>null</code> otherwise */
+        public T getIfBuilt() {
+            return value;
+        }
+
+        public void clear() {
+            value = null;
+        }
+    }
+
     private static final class LocalPlanetList {
         @XmlElement(name="planet")
         public List<Planet> list;
@@ -19,6 +19,11 @@
 
 package mekhq.gui;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
 import javax.swing.Timer;
 
 /**
@@ -40,20 +45,56 @@ public class ActionScheduler {
     
     public static final int DELAY = 50;
     
+    // Only accessed from the event dispatching thread
+    private static int holds = 0;
+    private static final Set<ActionScheduler> held = new LinkedHashSet<>();
+    
+    private final Action action;
     private final Timer timer;
     
     public ActionScheduler(Action action) {
-        timer = new Timer(DELAY, ev -> action.act());
-        timer.setRepeats(false);
+        this(action, DELAY);
     }
     
     public ActionScheduler(Action action, int delay) {
-        timer = new Timer(delay, ev -> action.act());
+        this.action = action;
+        timer = new Timer(delay, ev -> act());
         timer.setRepeats(false);
     }
     
     public void schedule() {
         timer.restart();
     }
+    
+    private void act() {
+        if (holds > 0) {
+            held.add(this);
+        } else {
+            action.act();
+        }
+    }
+    
+    /**
+     * Holds back all scheduled actions until {@link #release()} is called, after which each
+     * held action is performed once. This keeps the gui from refreshing again and again while
+     * a long running task is still changing the campaign. Must be called on the event dispatching
+     * thread.
+     */
+    public static void hold() {
+        ++ holds;
+    }
+    
+    /**
+     * Releases a previous {@link #hold()}. Must be called on the event dispatching thread.
+     */
+    public static void release() {
+        if ((holds > 0) && (-- holds == 0)) {
+            List<ActionScheduler> toRun = new ArrayList<>(held);
+            held.clear();
+            for (ActionScheduler scheduler : toRun) {
+                scheduler.action.act();
+            }
+        }
+    }
 
 }
@@ -5,8 +5,6 @@ import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Image;
 import java.awt.Insets;
-import java.util.LinkedHashMap;
-import java.util.Vector;
 
 import javax.swing.BorderFactory;
 import javax.swing.ImageIcon;
@@ -121,8 +119,8 @@ public class BasicInfo extends JPanel {
                 return null;
             }
             int tint = PlayerColors.getColorRGB(u.getCampaign().getColorIndex());
-            EntityImage entityImage = new EntityImage(base, tint, getCamo(u), this);
-            return entityImage.loadPreviewImage();
+            return icons.getUnitImage(base, tint, u.getCamoCategory(), u.getCamoFileName(),
+                    () -> new EntityImage(base, tint, getCamo(u), this).loadPreviewImage());
         }
         
         protected Image getCamo(Unit unit) {
@@ -178,35 +176,6 @@ public class BasicInfo extends JPanel {
         }
         
         protected Image getImageFor(Force force) {
-            String category = force.getIconCategory();
-            String filename = force.getIconFileName();
-            LinkedHashMap<String, Vector<String>> iconMap = force.getIconMap();
-
-            if(Crew.ROOT_PORTRAIT.equals(category)) {
-             category = "";
-            }
-
-            // Return a null if the player has selected no portrait file.
-            if ((null == category) || (null == filename) || (Crew.PORTRAIT_NONE.equals(filename) && !Force.ROOT_LAYERED.equals(category))) {
-             filename = "empty.png";
-            }
-
-            // Try to get the player's portrait file.
-            Image portrait = null;
-            try {
-             portrait = IconPackage.buildForceIcon(category, filename, icons.getForceIcons(), iconMap);
-            if(null != portrait) {
-                portrait = portrait.getScaledInstance(58, -1, Image.SCALE_SMOOTH);
-            } else {
-                portrait = (Image) icons.getForceIcons().getItem("", "empty.png");
-                if(null != portrait) {
-                    portrait = portrait.getScaledInstance(58, -1, Image.SCALE_SMOOTH);
-                }
-            }
-            return portrait;
-            } catch (Exception err) {
-                err.printStackTrace();
-                return null;
-            }
-       }
+            return icons.getScaledForceIcon(force, 58);
+        }
     }
\ No newline at end of file
@@ -34,7 +34,6 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.lang.reflect.Method;
 import java.util.Calendar;
@@ -1575,10 +1574,10 @@ public class CampaignGUI extends JPanel {
         try {
             os = fos = new FileOutputStream(file);
             if (path.endsWith(".gz")) {
-                os = new GZIPOutputStream(fos);
+                os = new GZIPOutputStream(fos, MekHqXmlUtil.WRITE_BUFFER_SIZE);
             }
 
-            pw = new PrintWriter(new OutputStreamWriter(os, "UTF-8"));
+            pw = MekHqXmlUtil.createXmlWriter(os);
             getCampaign().writeToXml(pw);
             pw.flush();
             pw.close();
@@ -2345,7 +2344,7 @@ public class CampaignGUI extends JPanel {
                         .convertRowIndexToModel(rows[i]));
             }
             fos = new FileOutputStream(file);
-            pw = new PrintWriter(new OutputStreamWriter(fos, "UTF-8"));
+            pw = MekHqXmlUtil.createXmlWriter(fos);
 
             // File header
             pw.println("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
@@ -2420,7 +2419,7 @@ public class CampaignGUI extends JPanel {
 
         try {
             fos = new FileOutputStream(file);
-            pw = new PrintWriter(new OutputStreamWriter(fos, "UTF-8"));
+            pw = MekHqXmlUtil.createXmlWriter(fos);
 
             ResourceBundle resourceMap = ResourceBundle
                     .getBundle("mekhq.resources.MekHQ");
@@ -2718,7 +2717,7 @@ public class CampaignGUI extends JPanel {
                             .convertRowIndexToModel(rows[i]));
                 }
                 fos = new FileOutputStream(file);
-                pw = new PrintWriter(new OutputStreamWriter(fos, "UTF-8"));
+                pw = MekHqXmlUtil.createXmlWriter(fos);
 
                 // File header
                 pw.println("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
@@ -2861,10 +2860,12 @@ public class CampaignGUI extends JPanel {
 
     private ActionScheduler fundsScheduler = new ActionScheduler(this::refreshFunds);
     private ActionScheduler ratingScheduler = new ActionScheduler(this::refreshRating);
+    private ActionScheduler reportScheduler = new ActionScheduler(this::refreshReport);
     
     @Subscribe
     public void handle(ReportEvent ev) {
-        refreshReport();
+        // append the lines of a busy day in batches rather than one at a time
+        reportScheduler.schedule();
     }
     
     @Subscribe
@@ -191,7 +191,7 @@ public class FileDialogs {
         Optional<File> value = GUI.fileDialogOpen(
                 frame,
                 "Load Campaign",
-                FileType.CPNX,
+                FileType.CPNX_LOAD,
                 MekHQ.getCampaignsDirectory().getValue());
 
         value.ifPresent(x -> MekHQ.getCampaignsDirectory().setValue(x.getParent()));
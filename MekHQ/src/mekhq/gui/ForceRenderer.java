@@ -177,10 +177,6 @@ public class ForceRenderer extends DefaultTreeCellRenderer {
     }
 
     protected Icon getIconFrom(Force force) {
-        Image forceImage = IconPackage.buildForceIcon(force.getIconCategory(), force.getIconFileName(), getIconPackage().getForceIcons(), force.getIconMap());
-        if(null != forceImage) {
-            forceImage = forceImage.getScaledInstance(58, -1, Image.SCALE_SMOOTH);
-        }
-        return new ImageIcon(forceImage);
+        return new ImageIcon(getIconPackage().getScaledForceIcon(force, 58));
     }
 }
\ No newline at end of file
@@ -27,7 +27,10 @@ import java.awt.event.ActionEvent;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.ResourceBundle;
+import java.util.Set;
 import java.util.UUID;
 
 import javax.swing.AbstractAction;
@@ -60,6 +63,7 @@ import mekhq.campaign.event.OvertimeModeEvent;
 import mekhq.campaign.event.PartEvent;
 import mekhq.campaign.event.PartWorkEvent;
 import mekhq.campaign.event.PersonChangedEvent;
+import mekhq.campaign.event.PersonCrewAssignmentEvent;
 import mekhq.campaign.event.ProcurementEvent;
 import mekhq.campaign.event.RepairStatusChangedEvent;
 import mekhq.campaign.event.ScenarioResolvedEvent;
@@ -197,6 +201,7 @@ public final class HangarTab extends CampaignGuiTab {
         unitSorter.setComparator(UnitTableModel.COL_TYPE, new UnitTypeSorter());
         unitSorter.setComparator(UnitTableModel.COL_WCLASS, new WeightClassSorter());
         unitSorter.setComparator(UnitTableModel.COL_COST, new FormattedNumberSorter());
+        unitSorter.setSortsOnUpdates(true);
         unitTable.setRowSorter(unitSorter);
         ArrayList<RowSorter.SortKey> sortKeys = new ArrayList<RowSorter.SortKey>();
         sortKeys.add(new RowSorter.SortKey(UnitTableModel.COL_TYPE, SortOrder.DESCENDING));
@@ -557,6 +562,39 @@ public final class HangarTab extends CampaignGuiTab {
         getCampaignGui().refreshLab();
     }
     
+    /**
+     * Updates the rows of the units changed since the last update instead of the whole table,
+     * unless so many have changed that refreshing the whole table is cheaper.
+     */
+    private void updateUnitRows() {
+        List<Unit> changed;
+        synchronized (changedUnits) {
+            changed = new ArrayList<>(changedUnits);
+            changedUnits.clear();
+        }
+        if (changed.size() > unitModel.getRowCount() / 10) {
+            refreshUnitList();
+            return;
+        }
+        int selectedRow = unitTable.getSelectedRow();
+        Unit selected = (selectedRow < 0) ? null
+                : unitModel.getUnit(unitTable.convertRowIndexToModel(selectedRow));
+        for (Unit unit : changed) {
+            unitModel.refreshUnit(unit);
+        }
+        if ((null != selected) && changed.contains(selected)) {
+            refreshUnitView();
+        }
+        getCampaignGui().refreshLab();
+    }
+
+    private void scheduleUnitUpdate(Unit unit) {
+        synchronized (changedUnits) {
+            changedUnits.add(unit);
+        }
+        unitUpdateScheduler.schedule();
+    }
+    
     private void refreshAcquisitionList() {
         acquireUnitsModel.setData(getCampaign().getShoppingList().getUnitList());
     }
@@ -564,6 +602,9 @@ public final class HangarTab extends CampaignGuiTab {
     private ActionScheduler unitListScheduler = new ActionScheduler(this::refreshUnitList);
     private ActionScheduler filterUnitScheduler = new ActionScheduler(this::filterUnits);
     private ActionScheduler acquisitionListScheduler = new ActionScheduler(this::refreshAcquisitionList);
+    private ActionScheduler unitUpdateScheduler = new ActionScheduler(this::updateUnitRows);
+    /** The units changed, added or removed since their rows were last updated */
+    private final Set<Unit> changedUnits = new LinkedHashSet<>();
 
     @Subscribe
     public void handle(DeploymentChangedEvent ev) {
@@ -572,7 +613,18 @@ public final class HangarTab extends CampaignGuiTab {
     
     @Subscribe
     public void handle(PersonChangedEvent ev) {
-        filterUnitScheduler.schedule();;
+        Unit unit = getCampaign().getUnit(ev.getPerson().getUnitId());
+        if (null != unit) {
+            scheduleUnitUpdate(unit);
+        }
+    }
+    
+    @Subscribe
+    public void handle(PersonCrewAssignmentEvent ev) {
+        // also covers the unit the person was removed from
+        if (null != ev.getUnit()) {
+            scheduleUnitUpdate(ev.getUnit());
+        }
     }
     
     @Subscribe
@@ -582,22 +634,22 @@ public final class HangarTab extends CampaignGuiTab {
 
     @Subscribe
     public void handle(UnitChangedEvent ev) {
-        filterUnitScheduler.schedule();;
+        scheduleUnitUpdate(ev.getUnit());
     }
     
     @Subscribe
     public void handle(UnitNewEvent ev) {
-        unitListScheduler.schedule();
+        scheduleUnitUpdate(ev.getUnit());
     }
     
     @Subscribe
     public void handle(UnitRemovedEvent ev) {
-        unitListScheduler.schedule();
+        scheduleUnitUpdate(ev.getUnit());
     }
     
     @Subscribe
     public void handle(RepairStatusChangedEvent ev) {
-        filterUnitScheduler.schedule();
+        scheduleUnitUpdate(ev.getUnit());
     }
 
     @Subscribe
@@ -618,14 +670,14 @@ public final class HangarTab extends CampaignGuiTab {
     @Subscribe
     public void handle(PartEvent ev) {
         if (ev.getPart().getUnit() != null) {
-            filterUnitScheduler.schedule();
+            scheduleUnitUpdate(ev.getPart().getUnit());
         }
     }
     
     @Subscribe
     public void handle(PartWorkEvent ev) {
         if (ev.getPartWork().getUnit() != null) {
-            filterUnitScheduler.schedule();
+            scheduleUnitUpdate(ev.getPartWork().getUnit());
         }
     }
     
@@ -22,6 +22,7 @@ import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Font;
+import java.awt.FontMetrics;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.Insets;
@@ -29,6 +30,7 @@ import java.awt.LinearGradientPaint;
 import java.awt.MultipleGradientPaint;
 import java.awt.Paint;
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.awt.Shape;
 import java.awt.Stroke;
@@ -44,11 +46,12 @@ import java.awt.geom.Arc2D;
 import java.awt.geom.GeneralPath;
 import java.awt.geom.Line2D;
 import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -88,6 +91,7 @@ import mekhq.campaign.universe.Planet;
 import mekhq.campaign.universe.Planet.SocioIndustrialData;
 import mekhq.campaign.universe.Planets;
 import mekhq.gui.dialog.NewPlanetaryEventDialog;
+import mekhq.gui.utilities.MapTileCache;
 
 /**
  * This is not functional yet. Just testing things out.
@@ -142,6 +146,18 @@ public class InterstellarMapPanel extends JPanel {
     private transient double maxY;
     private transient DateTime now;
 
+    /** What the planet dots can be colored by */
+    private enum ColorMode {
+        FACTIONS, TECH, INDUSTRY, RAW_MATERIALS, OUTPUT, AGRICULTURE
+    }
+
+    // the layers of the map which only change with the zoom level, the date and the display options
+    private final MapTileCache iswAreaTiles = new MapTileCache(128, this::repaint);
+    private final MapTileCache hpgNetworkTiles = new MapTileCache(128, this::repaint);
+    private final MapTileCache planetTiles = new MapTileCache(128, this::repaint);
+    // changed whenever the planets change in ways the date doesn't tell
+    private transient int mapGeneration = 0;
+
     public InterstellarMapPanel(Campaign c, CampaignGUI view) {
         campaign = c;
         planets = campaign.getPlanets();
@@ -451,12 +467,8 @@ public class InterstellarMapPanel extends JPanel {
                 g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
                 g2.setColor(Color.BLACK);
                 g2.fillRect(0, 0, getWidth(), getHeight());
-                double size = 1 + 5 * Math.log(conf.scale);
-                size = Math.max(Math.min(size, conf.maxdotSize), conf.minDotSize);
+                final double size = getDotSize();
                 
-                final Stroke thick = new BasicStroke(2.0f);
-                final Stroke thin = new BasicStroke(1.2f);
-                final Stroke dashed = new BasicStroke(1.5f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL, 0, new float[]{3}, 0);
                 final Stroke dotted = new BasicStroke(1.5f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL, 0, new float[]{2, 5}, 0);
                 final Color darkCyan = new Color(0, 100, 50);
 
@@ -465,6 +477,12 @@ public class InterstellarMapPanel extends JPanel {
                 maxX = scr2mapX(getWidth() + size * 2.0);
                 maxY = scr2mapY(- size * 2.0);
                 now = Utilities.getDateTimeDay(campaign.getCalendar());
+
+                // the static layers are drawn from cached tiles, relative to the map origin
+                final double scale = conf.scale;
+                final DateTime date = now;
+                final double originX = map2scrX(0.0);
+                final double originY = map2scrY(0.0);
                 
                 Arc2D.Double arc = new Arc2D.Double();
                 //first get the jump diameter for selected planet
@@ -487,79 +505,9 @@ public class InterstellarMapPanel extends JPanel {
                 }
                 
                 if((conf.scale > 1.0) && optISWAreas.isSelected()) {
-                    // IDEA: Allow for different hex sizes later on.
-                    final double HEX_SIZE = 30.0;
-                    final double SPACING_X = HEX_SIZE * Math.sqrt(3) / 2.0;
-                    AffineTransform transform = getMap2ScrTransform();
-                    int minX = (int) Math.floor(scr2mapX(0.0) / SPACING_X);
-                    int maxX = (int) Math.ceil(scr2mapX(getWidth()) / SPACING_X);
-                    int minY = (int) Math.floor(scr2mapY(getHeight()) / HEX_SIZE);
-                    int maxY = (int) Math.ceil(scr2mapY(0.0) / HEX_SIZE);
-                    GeneralPath path = new GeneralPath();
-                    for(int x = minX; x <= maxX; ++ x) {
-                        for(int y = minY; y <= maxY; ++ y) {
-                            double coordX = x * SPACING_X;
-                            double coordY = y * HEX_SIZE + (x % 2) * HEX_SIZE / 2.0;
-                            setupHexPath(path, coordX, coordY, HEX_SIZE / 2.0);
-
-                            Paint factionPaint = new Color(0.0f, 0.0f, 0.0f, 0.25f);
-                            Paint linePaint = new Color(1.0f, 1.0f, 1.0f, 0.25f);
-                            Set<Faction> hexFactions = new HashSet<>();
-                            for(Planet planet : Planets.getInstance().getNearbyPlanets(coordX, coordY, (int) Math.round(HEX_SIZE * 1.3))) {
-                                if(!isPlanetEmpty(planet) && path.contains(planet.getX(), planet.getY())) {
-                                    hexFactions.addAll(planet.getFactionSet(now));
-                                }
-                            }
-                            
-                            path.transform(transform);
-
-                            if(hexFactions.size() == 1) {
-                                // Single-faction hex
-                                Color factionColor = hexFactions.iterator().next().getColor();
-                                float[] colorComponents = new float[4];
-                                factionColor.getComponents(colorComponents);
-                                factionPaint = new Color(colorComponents[0], colorComponents[1], colorComponents[2], 0.25f);
-                                Color lineColor = factionColor.brighter();
-                                lineColor.getComponents(colorComponents);
-                                linePaint = new Color(colorComponents[0], colorComponents[1], colorComponents[2], 0.25f);
-                            } else if(hexFactions.size() > 1) {
-                                // Create the painted stripes data
-                                int factionSize = hexFactions.size();
-                                Iterator<Faction> factionIterator = hexFactions.iterator();
-                                float[] colorComponents = new float[4];
-                                float[] paintFractions = new float[factionSize * 2];
-                                Color[] paintColors = new Color[factionSize * 2];
-                                for(int i = 0; i < factionSize; ++ i) {
-                                    paintFractions[i * 2] = i * (1.0f / factionSize) + 0.001f;
-                                    paintFractions[i * 2 + 1] = (i + 1) * (1.0f / factionSize);
-                                    Color factionColor = factionIterator.next().getColor();
-                                    factionColor.getComponents(colorComponents);
-                                    factionColor = new Color(colorComponents[0], colorComponents[1], colorComponents[2], 0.25f);
-                                    paintColors[i * 2] = factionColor;
-                                    paintColors[i * 2 + 1] = factionColor;
-                                }
-                                paintFractions[0] = 0.0f;
-                                
-                                // Determine where to anchor the stripes
-                                Point2D firstPoint = new Point2D.Double(map2scrX(coordX), map2scrY(coordY));
-                                Point2D secondPoint = new Point2D.Double(
-                                    firstPoint.getX() + 6 * conf.scale,
-                                    firstPoint.getY() + 6 * conf.scale);
-                                factionPaint = new LinearGradientPaint(
-                                    firstPoint, secondPoint, paintFractions, paintColors,
-                                    MultipleGradientPaint.CycleMethod.REPEAT);
-                                linePaint = new Color(1.0f, 0.2f, 0.0f, 0.5f);
-                            }
-                            g2.setPaint(factionPaint);
-                            g2.fill(path);
-                            g2.setPaint(linePaint);
-                            Shape clip = g2.getClip();
-                            g2.clip(path);
-                            g2.setStroke(new BasicStroke(4.0f));
-                            g2.draw(path);
-                            g2.setClip(clip);
-                        }
-                    }
+                    iswAreaTiles.paint(g2, scale, Arrays.asList(date, mapGeneration),
+                            (tile, area) -> paintISWAreas(tile, area, scale, date),
+                            originX, originY, getWidth(), getHeight());
                 }
                 
                 //draw a jump path
@@ -588,60 +536,14 @@ public class InterstellarMapPanel extends JPanel {
                     }
                 }
 
-                // Brute-force HPG network drawing. Will be optimised
                 if(optHPGNetwork.isSelected()) {
-                    // Grab the network from the planet manager
-                    Collection<Planets.HPGLink> hpgNetwork = Planets.getInstance().getHPGNetwork(now);
-                    
-                    for(Planet planet : planets) {
-                        if(isPlanetVisible(planet, true)) {
-                            double x = map2scrX(planet.getX());
-                            double y = map2scrY(planet.getY());
-                            int hpgRating = Utilities.nonNull(planet.getHPG(now), EquipmentType.RATING_X);
-                            if(hpgRating == EquipmentType.RATING_A) {
-                                g2.setPaint(Color.CYAN);
-                                arc.setArcByCenter(x, y, size * 1.6, 0, 360, Arc2D.OPEN);
-                                g2.setStroke(thick);
-                                g2.draw(arc);
-                                //g2.fill(arc);
-                                //g2.setPaint(Color.BLACK);
-                                //arc.setArcByCenter(x, y, size * 1.6, 0, 360, Arc2D.OPEN);
-                                //g2.fill(arc);
-                            }
-                            if(hpgRating == EquipmentType.RATING_A || hpgRating == EquipmentType.RATING_B) {
-                                g2.setPaint(Color.CYAN);
-                                arc.setArcByCenter(x, y, size * 1.3, 0, 360, Arc2D.OPEN);
-                                g2.setStroke(thin);
-                                g2.draw(arc);
-                            }
-                            if(hpgRating == EquipmentType.RATING_C) {
-                                g2.setPaint(Color.CYAN);
-                                arc.setArcByCenter(x, y, size * 1.3, 0, 360, Arc2D.OPEN);
-                                g2.setStroke(dashed);
-                                g2.draw(arc);
-                            }
-                            if(hpgRating == EquipmentType.RATING_D) {
-                                g2.setPaint(darkCyan);
-                                arc.setArcByCenter(x, y, size * 1.3, 0, 360, Arc2D.OPEN);
-                                g2.setStroke(dotted);
-                                g2.draw(arc);
-                            }
-                        }
-                    }
-                    for(Planets.HPGLink link : hpgNetwork) {
-                        Planet p1 = link.primary;
-                        Planet p2 = link.secondary;
-                        if(isPlanetVisible(p1, false) || isPlanetVisible(p2, false)) {
-                            if(link.rating == EquipmentType.RATING_A) {
-                                g2.setPaint(Color.CYAN);
-                                g2.setStroke(thick);
-                                g2.draw(new Line2D.Double(map2scrX(p1.getX()), map2scrY(p1.getY()), map2scrX(p2.getX()), map2scrY(p2.getY())));
-                            }
-                            if(link.rating == EquipmentType.RATING_B) {
-                                g2.setPaint(Color.CYAN);
-                                g2.setStroke(dashed);
-                                g2.draw(new Line2D.Double(map2scrX(p1.getX()), map2scrY(p1.getY()), map2scrX(p2.getX()), map2scrY(p2.getY())));
-                            }
+                    hpgNetworkTiles.paint(g2, scale, Arrays.asList(date, mapGeneration),
+                            (tile, area) -> paintHPGNetwork(tile, area, scale, date),
+                            originX, originY, getWidth(), getHeight());
+                    // the current and selected planets show their HPG even when they are empty
+                    for(Planet planet : Arrays.asList(campaign.getCurrentPlanet(), selectedPlanet)) {
+                        if((null != planet) && isPlanetEmpty(planet)) {
+                            paintHPGRating(g2, planet, map2scrX(planet.getX()), map2scrY(planet.getY()), size, date);
                         }
                     }
                     g2.setStroke(new BasicStroke(1.0f));
@@ -675,86 +577,65 @@ public class InterstellarMapPanel extends JPanel {
                     }
                 }
 
-                for(Planet planet : planets) {
-                    if(isPlanetVisible(planet, false)) {
-                        double x = map2scrX(planet.getX());
-                        double y = map2scrY(planet.getY());
-                        if(planet.equals(campaign.getCurrentPlanet())) {
-                            //lest try rings
-                            g2.setPaint(Color.ORANGE);
-                            arc.setArcByCenter(x, y, size * 1.8, 0, 360, Arc2D.OPEN);
-                            g2.fill(arc);
-                            g2.setPaint(Color.BLACK);
-                            arc.setArcByCenter(x, y, size * 1.6, 0, 360, Arc2D.OPEN);
-                            g2.fill(arc);
-                            g2.setPaint(Color.ORANGE);
-                            arc.setArcByCenter(x, y, size * 1.4, 0, 360, Arc2D.OPEN);
-                            g2.fill(arc);
-                            g2.setPaint(Color.BLACK);
-                            arc.setArcByCenter(x, y, size * 1.2, 0, 360, Arc2D.OPEN);
-                            g2.fill(arc);
-                        }
-                        if(null != selectedPlanet && selectedPlanet.equals(planet)) {
-                            //lest try rings
-                            g2.setPaint(Color.WHITE);
-                            arc.setArcByCenter(x, y, size * 1.8, 0, 360, Arc2D.OPEN);
-                            g2.fill(arc);
-                            g2.setPaint(Color.BLACK);
-                            arc.setArcByCenter(x, y, size * 1.6, 0, 360, Arc2D.OPEN);
-                            g2.fill(arc);
-                            g2.setPaint(Color.WHITE);
-                            arc.setArcByCenter(x, y, size * 1.4, 0, 360, Arc2D.OPEN);
-                            g2.fill(arc);
-                            g2.setPaint(Color.BLACK);
-                            arc.setArcByCenter(x, y, size * 1.2, 0, 360, Arc2D.OPEN);
-                            g2.fill(arc);
-                        }
-                        
-                        //if factions are selected then we need to do it differently, because
-                        //of multiple factions per planet
-                        if(isFactionsSelected()) {
-	                        Set<Faction> factions = planet.getFactionSet(now);
-	                        if(null != factions && !isPlanetEmpty(planet)) {
-	                            int i = 0;
-	                            for(Faction faction : factions) {
-	                                g2.setPaint(faction.getColor());
-	                                arc.setArcByCenter(x, y, size, 0, 360.0 * (1-((double)i)/factions.size()), Arc2D.PIE);
-	                                g2.fill(arc);
-	                                ++ i;
-	                            }
-	                        } else {
-	                            // Just a black circle then
-	                            g2.setPaint(new Color(0.0f, 0.0f, 0.0f, 0.5f));
-	                            arc.setArcByCenter(x, y, size, 0, 360.0, Arc2D.PIE);
-	                            g2.fill(arc);
-	                        }
-                        } else {
-	                        g2.setPaint(getPlanetColor(planet));
-	                        arc.setArcByCenter(x, y, size, 0, 360.0, Arc2D.PIE);
-	                        g2.fill(arc);
-                        }
-                    }
+                //the rings of the current and selected planets go below their dots
+                if(null != campaign.getCurrentPlanet()) {
+                    Planet planet = campaign.getCurrentPlanet();
+                    double x = map2scrX(planet.getX());
+                    double y = map2scrY(planet.getY());
+                    //lest try rings
+                    g2.setPaint(Color.ORANGE);
+                    arc.setArcByCenter(x, y, size * 1.8, 0, 360, Arc2D.OPEN);
+                    g2.fill(arc);
+                    g2.setPaint(Color.BLACK);
+                    arc.setArcByCenter(x, y, size * 1.6, 0, 360, Arc2D.OPEN);
+                    g2.fill(arc);
+                    g2.setPaint(Color.ORANGE);
+                    arc.setArcByCenter(x, y, size * 1.4, 0, 360, Arc2D.OPEN);
+                    g2.fill(arc);
+                    g2.setPaint(Color.BLACK);
+                    arc.setArcByCenter(x, y, size * 1.2, 0, 360, Arc2D.OPEN);
+                    g2.fill(arc);
+                }
+                if(null != selectedPlanet) {
+                    double x = map2scrX(selectedPlanet.getX());
+                    double y = map2scrY(selectedPlanet.getY());
+                    //lest try rings
+                    g2.setPaint(Color.WHITE);
+                    arc.setArcByCenter(x, y, size * 1.8, 0, 360, Arc2D.OPEN);
+                    g2.fill(arc);
+                    g2.setPaint(Color.BLACK);
+                    arc.setArcByCenter(x, y, size * 1.6, 0, 360, Arc2D.OPEN);
+                    g2.fill(arc);
+                    g2.setPaint(Color.WHITE);
+                    arc.setArcByCenter(x, y, size * 1.4, 0, 360, Arc2D.OPEN);
+                    g2.fill(arc);
+                    g2.setPaint(Color.BLACK);
+                    arc.setArcByCenter(x, y, size * 1.2, 0, 360, Arc2D.OPEN);
+                    g2.fill(arc);
                 }
 
-                //cycle through planets again and assign names - to make sure names go on outside
-                for(Planet planet : planets) {
-                    if(isPlanetVisible(planet, !optEmptySystems.isSelected())) {
-                        double x = map2scrX(planet.getX());
-                        double y = map2scrY(planet.getY());
-                        if (conf.showPlanetNamesThreshold == 0 || conf.scale > conf.showPlanetNamesThreshold
-                                || jumpPath.contains(planet)
-                                || (null != campaign.getLocation().getJumpPath() && campaign.getLocation().getJumpPath().contains(planet))) {
-                            final String planetName = planet.getPrintableName(Utilities.getDateTimeDay(campaign.getCalendar()));
-                            final float xPos = (float) (x + size * 1.8);
-                            final float yPos = (float) y;
-                            g2.setPaint(Color.BLACK);
-                            g2.drawString(planetName, xPos - 1f, yPos - 1f);
-                            g2.drawString(planetName, xPos + 1f, yPos - 1f);
-                            g2.drawString(planetName, xPos + 1f, yPos + 1f);
-                            g2.drawString(planetName, xPos - 1f, yPos + 1f);
-                            g2.setPaint(Color.WHITE);
-                            g2.drawString(planetName, xPos, yPos);
-                        }
+                final ColorMode colorMode = getColorMode();
+                final boolean hideEmptyNames = !optEmptySystems.isSelected();
+                final boolean showNames = (conf.showPlanetNamesThreshold == 0) || (conf.scale > conf.showPlanetNamesThreshold);
+                final Font font = getFont();
+                planetTiles.paint(g2, scale, Arrays.asList(date, mapGeneration, colorMode, hideEmptyNames, showNames, font),
+                        (tile, area) -> paintPlanets(tile, area, scale, date, colorMode, hideEmptyNames, showNames, font),
+                        originX, originY, getWidth(), getHeight());
+
+                //the names the tiles leave out: the ones of the planets on the jump paths, and those
+                //of the current and selected planets
+                Set<Planet> namedPlanets = new HashSet<>(jumpPath.getPlanets());
+                if(null != campaign.getLocation().getJumpPath()) {
+                    namedPlanets.addAll(campaign.getLocation().getJumpPath().getPlanets());
+                }
+                if(showNames) {
+                    namedPlanets.add(campaign.getCurrentPlanet());
+                    namedPlanets.add(selectedPlanet);
+                }
+                for(Planet planet : namedPlanets) {
+                    if(isPlanetVisible(planet, hideEmptyNames)
+                            && !(showNames && (!hideEmptyNames || !isPlanetEmpty(planet)))) {
+                        paintPlanetName(g2, planet, map2scrX(planet.getX()), map2scrY(planet.getY()), size, date);
                     }
                 }
             }
@@ -834,6 +715,7 @@ public class InterstellarMapPanel extends JPanel {
     public void setCampaign(Campaign c) {
         this.campaign = c;
         this.planets = campaign.getPlanets();
+        ++ mapGeneration;
         repaint();
     }
 
@@ -938,6 +820,268 @@ public class InterstellarMapPanel extends JPanel {
         transform.translate(conf.centerX, - conf.centerY);
         return transform;
     }
+
+    /** @return the size of the planet dots at the given zoom level */
+    private double getDotSize(double scale) {
+        double size = 1 + 5 * Math.log(scale);
+        return Math.max(Math.min(size, conf.maxdotSize), conf.minDotSize);
+    }
+
+    private double getDotSize() {
+        return getDotSize(conf.scale);
+    }
+
+    /**
+     * Draws the ISW areas for a tile of the map, in map coordinates multiplied by the scale
+     * (with y pointing down).
+     */
+    private boolean paintISWAreas(Graphics2D g2, Rectangle area, double scale, DateTime when) {
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        // IDEA: Allow for different hex sizes later on.
+        final double HEX_SIZE = 30.0;
+        final double SPACING_X = HEX_SIZE * Math.sqrt(3) / 2.0;
+        AffineTransform transform = AffineTransform.getScaleInstance(scale, - scale);
+        int minX = (int) Math.floor(area.getMinX() / scale / SPACING_X) - 1;
+        int maxX = (int) Math.ceil(area.getMaxX() / scale / SPACING_X) + 1;
+        int minY = (int) Math.floor(- area.getMaxY() / scale / HEX_SIZE) - 1;
+        int maxY = (int) Math.ceil(- area.getMinY() / scale / HEX_SIZE) + 1;
+        GeneralPath path = new GeneralPath();
+        for(int x = minX; x <= maxX; ++ x) {
+            for(int y = minY; y <= maxY; ++ y) {
+                double coordX = x * SPACING_X;
+                double coordY = y * HEX_SIZE + (x % 2) * HEX_SIZE / 2.0;
+                setupHexPath(path, coordX, coordY, HEX_SIZE / 2.0);
+
+                Paint factionPaint = new Color(0.0f, 0.0f, 0.0f, 0.25f);
+                Paint linePaint = new Color(1.0f, 1.0f, 1.0f, 0.25f);
+                Set<Faction> hexFactions = new HashSet<>();
+                for(Planet planet : Planets.getInstance().getNearbyPlanets(coordX, coordY, (int) Math.round(HEX_SIZE * 1.3))) {
+                    if(!isPlanetEmpty(planet, when) && path.contains(planet.getX(), planet.getY())) {
+                        hexFactions.addAll(planet.getFactionSet(when));
+                    }
+                }
+                
+                path.transform(transform);
+
+                if(hexFactions.size() == 1) {
+                    // Single-faction hex
+                    Color factionColor = hexFactions.iterator().next().getColor();
+                    float[] colorComponents = new float[4];
+                    factionColor.getComponents(colorComponents);
+                    factionPaint = new Color(colorComponents[0], colorComponents[1], colorComponents[2], 0.25f);
+                    Color lineColor = factionColor.brighter();
+                    lineColor.getComponents(colorComponents);
+                    linePaint = new Color(colorComponents[0], colorComponents[1], colorComponents[2], 0.25f);
+                } else if(hexFactions.size() > 1) {
+                    // Create the painted stripes data
+                    int factionSize = hexFactions.size();
+                    Iterator<Faction> factionIterator = hexFactions.iterator();
+                    float[] colorComponents = new float[4];
+                    float[] paintFractions = new float[factionSize * 2];
+                    Color[] paintColors = new Color[factionSize * 2];
+                    for(int i = 0; i < factionSize; ++ i) {
+                        paintFractions[i * 2] = i * (1.0f / factionSize) + 0.001f;
+                        paintFractions[i * 2 + 1] = (i + 1) * (1.0f / factionSize);
+                        Color factionColor = factionIterator.next().getColor();
+                        factionColor.getComponents(colorComponents);
+                        factionColor = new Color(colorComponents[0], colorComponents[1], colorComponents[2], 0.25f);
+                        paintColors[i * 2] = factionColor;
+                        paintColors[i * 2 + 1] = factionColor;
+                    }
+                    paintFractions[0] = 0.0f;
+                    
+                    // Determine where to anchor the stripes
+                    Point2D firstPoint = new Point2D.Double(coordX * scale, - coordY * scale);
+                    Point2D secondPoint = new Point2D.Double(
+                        firstPoint.getX() + 6 * scale,
+                        firstPoint.getY() + 6 * scale);
+                    factionPaint = new LinearGradientPaint(
+                        firstPoint, secondPoint, paintFractions, paintColors,
+                        MultipleGradientPaint.CycleMethod.REPEAT);
+                    linePaint = new Color(1.0f, 0.2f, 0.0f, 0.5f);
+                }
+                g2.setPaint(factionPaint);
+                g2.fill(path);
+                g2.setPaint(linePaint);
+                Shape clip = g2.getClip();
+                g2.clip(path);
+                g2.setStroke(new BasicStroke(4.0f));
+                g2.draw(path);
+                g2.setClip(clip);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Draws the HPG network for a tile of the map, in map coordinates multiplied by the scale
+     * (with y pointing down).
+     */
+    private boolean paintHPGNetwork(Graphics2D g2, Rectangle area, double scale, DateTime when) {
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        final double size = getDotSize(scale);
+        final Stroke thick = new BasicStroke(2.0f);
+        final Stroke dashed = new BasicStroke(1.5f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL, 0, new float[]{3}, 0);
+        Rectangle2D bounds = new Rectangle2D.Double(area.getX() - size * 2.0, area.getY() - size * 2.0,
+                area.getWidth() + size * 4.0, area.getHeight() + size * 4.0);
+        boolean drawn = false;
+        for(Planet planet : getPlanetsIn(bounds.getMinX(), bounds.getMinY(), bounds.getMaxX(), bounds.getMaxY(), scale)) {
+            double x = planet.getX() * scale;
+            double y = - planet.getY() * scale;
+            if(bounds.contains(x, y) && !isPlanetEmpty(planet, when)) {
+                drawn |= paintHPGRating(g2, planet, x, y, size, when);
+            }
+        }
+        for(Planets.HPGLink link : Planets.getInstance().getHPGNetwork(when)) {
+            if((link.rating != EquipmentType.RATING_A) && (link.rating != EquipmentType.RATING_B)) {
+                continue;
+            }
+            Planet p1 = link.primary;
+            Planet p2 = link.secondary;
+            Line2D line = new Line2D.Double(p1.getX() * scale, - p1.getY() * scale, p2.getX() * scale, - p2.getY() * scale);
+            if(line.intersects(bounds)) {
+                g2.setPaint(Color.CYAN);
+                g2.setStroke((link.rating == EquipmentType.RATING_A) ? thick : dashed);
+                g2.draw(line);
+                drawn = true;
+            }
+        }
+        return drawn;
+    }
+
+    /** Draws the rings showing the HPG rating of a planet, if it has any */
+    private boolean paintHPGRating(Graphics2D g2, Planet planet, double x, double y, double size, DateTime when) {
+        final Stroke thick = new BasicStroke(2.0f);
+        final Stroke thin = new BasicStroke(1.2f);
+        final Stroke dashed = new BasicStroke(1.5f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL, 0, new float[]{3}, 0);
+        final Stroke dotted = new BasicStroke(1.5f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL, 0, new float[]{2, 5}, 0);
+        final Color darkCyan = new Color(0, 100, 50);
+        Arc2D.Double arc = new Arc2D.Double();
+        int hpgRating = Utilities.nonNull(planet.getHPG(when), EquipmentType.RATING_X);
+        if(hpgRating == EquipmentType.RATING_A) {
+            g2.setPaint(Color.CYAN);
+            arc.setArcByCenter(x, y, size * 1.6, 0, 360, Arc2D.OPEN);
+            g2.setStroke(thick);
+            g2.draw(arc);
+        }
+        if(hpgRating == EquipmentType.RATING_A || hpgRating == EquipmentType.RATING_B) {
+            g2.setPaint(Color.CYAN);
+            arc.setArcByCenter(x, y, size * 1.3, 0, 360, Arc2D.OPEN);
+            g2.setStroke(thin);
+            g2.draw(arc);
+            return true;
+        }
+        if(hpgRating == EquipmentType.RATING_C) {
+            g2.setPaint(Color.CYAN);
+            arc.setArcByCenter(x, y, size * 1.3, 0, 360, Arc2D.OPEN);
+            g2.setStroke(dashed);
+            g2.draw(arc);
+            return true;
+        }
+        if(hpgRating == EquipmentType.RATING_D) {
+            g2.setPaint(darkCyan);
+            arc.setArcByCenter(x, y, size * 1.3, 0, 360, Arc2D.OPEN);
+            g2.setStroke(dotted);
+            g2.draw(arc);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Draws the planet dots and names for a tile of the map, in map coordinates multiplied by the
+     * scale (with y pointing down).
+     */
+    private boolean paintPlanets(Graphics2D g2, Rectangle area, double scale, DateTime when,
+            ColorMode colorMode, boolean hideEmptyNames, boolean showNames, Font font) {
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setFont(font);
+        final double size = getDotSize(scale);
+        Rectangle2D dotBounds = new Rectangle2D.Double(area.getX() - size, area.getY() - size,
+                area.getWidth() + size * 2.0, area.getHeight() + size * 2.0);
+        boolean drawn = false;
+        Arc2D.Double arc = new Arc2D.Double();
+        for(Planet planet : getPlanetsIn(dotBounds.getMinX(), dotBounds.getMinY(), dotBounds.getMaxX(), dotBounds.getMaxY(), scale)) {
+            double x = planet.getX() * scale;
+            double y = - planet.getY() * scale;
+            if(!dotBounds.contains(x, y)) {
+                continue;
+            }
+            drawn = true;
+            //if factions are selected then we need to do it differently, because
+            //of multiple factions per planet
+            if(colorMode == ColorMode.FACTIONS) {
+                Set<Faction> factions = planet.getFactionSet(when);
+                if(null != factions && !isPlanetEmpty(planet, when)) {
+                    int i = 0;
+                    for(Faction faction : factions) {
+                        g2.setPaint(faction.getColor());
+                        arc.setArcByCenter(x, y, size, 0, 360.0 * (1-((double)i)/factions.size()), Arc2D.PIE);
+                        g2.fill(arc);
+                        ++ i;
+                    }
+                } else {
+                    // Just a black circle then
+                    g2.setPaint(new Color(0.0f, 0.0f, 0.0f, 0.5f));
+                    arc.setArcByCenter(x, y, size, 0, 360.0, Arc2D.PIE);
+                    g2.fill(arc);
+                }
+            } else {
+                g2.setPaint(getPlanetColor(planet, colorMode, when));
+                arc.setArcByCenter(x, y, size, 0, 360.0, Arc2D.PIE);
+                g2.fill(arc);
+            }
+        }
+
+        //cycle through planets again and assign names - to make sure names go on outside
+        if(showNames) {
+            FontMetrics metrics = g2.getFontMetrics();
+            // names extend to the right of their planets, however far away those are
+            for(Planet planet : getPlanetsIn(- Double.MAX_VALUE, area.getMinY() - metrics.getAscent() - 1,
+                    area.getMaxX(), area.getMaxY() + metrics.getDescent() + 1, scale)) {
+                double x = planet.getX() * scale;
+                double y = - planet.getY() * scale;
+                double xPos = x + size * 1.8;
+                if((y + metrics.getDescent() + 1 < area.getMinY()) || (y - metrics.getAscent() - 1 > area.getMaxY())
+                        || (xPos - 1 > area.getMaxX())) {
+                    continue;
+                }
+                if(hideEmptyNames && isPlanetEmpty(planet, when)) {
+                    continue;
+                }
+                String planetName = planet.getPrintableName(when);
+                if(xPos + metrics.stringWidth(planetName) + 1 < area.getMinX()) {
+                    continue;
+                }
+                paintPlanetName(g2, planet, x, y, size, when);
+                drawn = true;
+            }
+        }
+        return drawn;
+    }
+
+    /**
+     * @return the planets within the bounds, given in map coordinates multiplied by the scale
+     *         (with y pointing down)
+     */
+    private static List<Planet> getPlanetsIn(double minX, double minY, double maxX, double maxY, double scale) {
+        List<Planet> result = new ArrayList<>();
+        Planets.getInstance().visitPlanetsInBox(minX / scale, - maxY / scale, maxX / scale, - minY / scale, result::add);
+        return result;
+    }
+
+    private void paintPlanetName(Graphics2D g2, Planet planet, double x, double y, double size, DateTime when) {
+        final String planetName = planet.getPrintableName(when);
+        final float xPos = (float) (x + size * 1.8);
+        final float yPos = (float) y;
+        g2.setPaint(Color.BLACK);
+        g2.drawString(planetName, xPos - 1f, yPos - 1f);
+        g2.drawString(planetName, xPos + 1f, yPos - 1f);
+        g2.drawString(planetName, xPos + 1f, yPos + 1f);
+        g2.drawString(planetName, xPos - 1f, yPos + 1f);
+        g2.setPaint(Color.WHITE);
+        g2.drawString(planetName, xPos, yPos);
+    }
     
     public void setSelectedPlanet(Planet p) {
         selectedPlanet = p;
@@ -948,25 +1092,20 @@ public class InterstellarMapPanel extends JPanel {
         repaint();
     }
 
-     /**
-     * Calculate the nearest neighbour for the given point If anyone has a better algorithm than this stupid kind of shit, please, feel free to exchange my brute force thing... An good idea would be an voronoi diagram and the sweep algorithm from Steven Fortune.
+    /**
+     * Calculate the nearest neighbour for the given point
      */
     private Planet nearestNeighbour(double x, double y) {
-        double minDiff = Double.MAX_VALUE;
-        double diff = 0.0;
-        Planet minPlanet = null;
-        for(Planet p : planets) {
-            diff = Math.sqrt(Math.pow(x - p.getX(), 2) + Math.pow(y - p.getY(), 2));
-            if (diff < minDiff) {
-                minDiff = diff;
-                minPlanet = p;
-            }
-        }
-        return minPlanet;
+        List<Planet> nearest = Planets.getInstance().getNearestPlanets(x, y, 1);
+        return nearest.isEmpty() ? null : nearest.get(0);
     }
 
     private boolean isPlanetEmpty(Planet planet) {
-        Set<Faction> factions = planet.getFactionSet(now);
+        return isPlanetEmpty(planet, now);
+    }
+
+    private static boolean isPlanetEmpty(Planet planet, DateTime when) {
+        Set<Faction> factions = planet.getFactionSet(when);
         if((null == factions) || factions.isEmpty()) {
             return true;
         }
@@ -1042,10 +1181,14 @@ public class InterstellarMapPanel extends JPanel {
      * @return a Color
      */
     public Color getPlanetColor(Planet p) {
+        return getPlanetColor(p, getColorMode(), Utilities.getDateTimeDay(campaign.getCalendar()));
+    }
+
+    private static Color getPlanetColor(Planet p, ColorMode colorMode, DateTime when) {
     	
     	//color shading is from https://colorbrewer2.org and should be color-blind safe
     	
-    	SocioIndustrialData socio = p.getSocioIndustrial(Utilities.getDateTimeDay(campaign.getCalendar()));
+    	SocioIndustrialData socio = p.getSocioIndustrial(when);
 
     	//just for testing lets randomly fill in missing values
     	/*if(null == socio) {
@@ -1057,7 +1200,7 @@ public class InterstellarMapPanel extends JPanel {
     		socio.agriculture = Compute.d6(1)-1;
     	}*/
     	
-    	if(null != socio && optTech.isSelected()) {
+    	if(null != socio && colorMode == ColorMode.TECH) {
 	    	switch(socio.tech) {
 	    		case EquipmentType.RATING_F:
 	    			return new Color(239,243,255);
@@ -1075,7 +1218,7 @@ public class InterstellarMapPanel extends JPanel {
 	    			return Color.WHITE;
 	    	}
     	}
-    	if(null != socio && optIndustry.isSelected()) {
+    	if(null != socio && colorMode == ColorMode.INDUSTRY) {
 	    	switch(socio.industry) {
 	    		case EquipmentType.RATING_F:
 	    			return new Color(242,240,247);
@@ -1093,7 +1236,7 @@ public class InterstellarMapPanel extends JPanel {
 	    			return Color.WHITE;
 	    	}
     	}
-    	if(null != socio && optRawMaterials.isSelected()) {
+    	if(null != socio && colorMode == ColorMode.RAW_MATERIALS) {
 	    	switch(socio.rawMaterials) {
 	    		case EquipmentType.RATING_F:
 	    			return new Color(254,237,222);
@@ -1111,7 +1254,7 @@ public class InterstellarMapPanel extends JPanel {
 	    			return Color.WHITE;
 	    	}
     	}
-    	if(null != socio && optOutput.isSelected()) {
+    	if(null != socio && colorMode == ColorMode.OUTPUT) {
 	    	switch(socio.output) {
 	    		case EquipmentType.RATING_F:
 	    			return new Color(254,229,217);
@@ -1129,7 +1272,7 @@ public class InterstellarMapPanel extends JPanel {
 	    			return Color.WHITE;
 	    	}
     	}
-    	if(null != socio && optAgriculture.isSelected()) {
+    	if(null != socio && colorMode == ColorMode.AGRICULTURE) {
 	    	switch(socio.agriculture) {
 	    		case EquipmentType.RATING_F:
 	    			return new Color(237,248,233);
@@ -1151,6 +1294,21 @@ public class InterstellarMapPanel extends JPanel {
 		return Color.GRAY;
     }
 
+    private ColorMode getColorMode() {
+        if(optTech.isSelected()) {
+            return ColorMode.TECH;
+        } else if(optIndustry.isSelected()) {
+            return ColorMode.INDUSTRY;
+        } else if(optRawMaterials.isSelected()) {
+            return ColorMode.RAW_MATERIALS;
+        } else if(optOutput.isSelected()) {
+            return ColorMode.OUTPUT;
+        } else if(optAgriculture.isSelected()) {
+            return ColorMode.AGRICULTURE;
+        }
+        return ColorMode.FACTIONS;
+    }
+
     private void openPlanetEventEditor(Planet p) {
         NewPlanetaryEventDialog editor = new NewPlanetaryEventDialog(null, campaign, selectedPlanet);
         editor.setVisible(true);
@@ -1158,6 +1316,7 @@ public class InterstellarMapPanel extends JPanel {
         if((null != result) && !result.isEmpty()) {
             Planets.getInstance().updatePlanetaryEvents(p.getId(), result, true);
             Planets.getInstance().recalcHPGNetwork();
+            ++ mapGeneration;
             repaint();
             notifyListeners();
         }
@@ -25,7 +25,11 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseEvent;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.ResourceBundle;
+import java.util.Set;
 import java.util.UUID;
 
 import javax.swing.DefaultComboBoxModel;
@@ -64,7 +68,7 @@ import mekhq.gui.preferences.JComboBoxPreference;
 import mekhq.gui.preferences.JTablePreference;
 import mekhq.gui.preferences.JToggleButtonPreference;
 import mekhq.gui.sorter.BonusSorter;
-import mekhq.gui.sorter.FormattedNumberSorter;
+import mekhq.gui.sorter.DataTableSorter;
 import mekhq.gui.sorter.LevelSorter;
 import mekhq.gui.sorter.RankSorter;
 import mekhq.gui.view.PersonViewPanel;
@@ -226,14 +230,16 @@ public final class PersonnelTab extends CampaignGuiTab {
         XTableColumnModel personColumnModel = new XTableColumnModel();
         personnelTable.setColumnModel(personColumnModel);
         personnelTable.createDefaultColumnsFromModel();
-        personnelSorter = new TableRowSorter<PersonnelTableModel>(personModel);
-        personnelSorter.setComparator(PersonnelTableModel.COL_RANK, new RankSorter(getCampaign()));
+        personnelSorter = new DataTableSorter<>(personModel);
+        personnelSorter.setComparator(PersonnelTableModel.COL_RANK, new RankSorter());
         personnelSorter.setComparator(PersonnelTableModel.COL_SKILL, new LevelSorter());
         for (int i = PersonnelTableModel.COL_MECH; i < PersonnelTableModel.N_COL; i++) {
             personnelSorter.setComparator(i, new BonusSorter());
         }
-        personnelSorter.setComparator(PersonnelTableModel.COL_SALARY, new FormattedNumberSorter());
-        personnelSorter.setComparator(PersonnelTableModel.COL_AGE, new FormattedNumberSorter());
+        personnelSorter.setComparator(PersonnelTableModel.COL_SALARY, Comparator.naturalOrder());
+        personnelSorter.setComparator(PersonnelTableModel.COL_AGE, Comparator.naturalOrder());
+        personnelSorter.setComparator(PersonnelTableModel.COL_XP, Comparator.naturalOrder());
+        personnelSorter.setSortsOnUpdates(true);
         personnelTable.setRowSorter(personnelSorter);
         ArrayList<RowSorter.SortKey> sortKeys = new ArrayList<RowSorter.SortKey>();
         sortKeys.add(new RowSorter.SortKey(PersonnelTableModel.COL_RANK, SortOrder.DESCENDING));
@@ -844,6 +850,39 @@ public final class PersonnelTab extends CampaignGuiTab {
         filterPersonnel();
     }
 
+    /**
+     * Updates the rows of the people changed since the last update instead of the whole table,
+     * unless so many have changed that refreshing the whole table is cheaper.
+     */
+    private void updatePersonnelRows() {
+        List<Person> changed;
+        synchronized (changedPersonnel) {
+            changed = new ArrayList<>(changedPersonnel);
+            changedPersonnel.clear();
+        }
+        // when grouping by unit, who is shown depends on the rest of the crew as well
+        if (personModel.getGroupByUnit() || (changed.size() > personModel.getRowCount() / 10)) {
+            refreshPersonnelList();
+            return;
+        }
+        int selectedRow = personnelTable.getSelectedRow();
+        Person selected = (selectedRow < 0) ? null
+                : personModel.getPerson(personnelTable.convertRowIndexToModel(selectedRow));
+        for (Person person : changed) {
+            personModel.refreshPerson(person);
+        }
+        if ((null != selected) && changed.contains(selected)) {
+            refreshPersonnelView();
+        }
+    }
+
+    private void schedulePersonnelUpdate(Person person) {
+        synchronized (changedPersonnel) {
+            changedPersonnel.add(person);
+        }
+        personnelUpdateScheduler.schedule();
+    }
+
     public void refreshPersonnelView() {
         int row = personnelTable.getSelectedRow();
         if (row < 0) {
@@ -860,6 +899,9 @@ public final class PersonnelTab extends CampaignGuiTab {
 
     private ActionScheduler personnelListScheduler = new ActionScheduler(this::refreshPersonnelList);
     private ActionScheduler filterPersonnelScheduler = new ActionScheduler(this::filterPersonnel);
+    private ActionScheduler personnelUpdateScheduler = new ActionScheduler(this::updatePersonnelRows);
+    /** The people changed, added or removed since their rows were last updated */
+    private final Set<Person> changedPersonnel = new LinkedHashSet<>();
 
     @Subscribe
     public void handle(OptionsChangedEvent ev) {
@@ -874,17 +916,17 @@ public final class PersonnelTab extends CampaignGuiTab {
     
     @Subscribe
     public void handle(PersonChangedEvent ev) {
-        personnelListScheduler.schedule();
+        schedulePersonnelUpdate(ev.getPerson());
     }
     
     @Subscribe
     public void handle(PersonNewEvent ev) {
-        personnelListScheduler.schedule();
+        schedulePersonnelUpdate(ev.getPerson());
     }
     
     @Subscribe
     public void handle(PersonRemovedEvent ev) {
-        personnelListScheduler.schedule();
+        schedulePersonnelUpdate(ev.getPerson());
     }
     
     @Subscribe
@@ -904,7 +946,7 @@ public final class PersonnelTab extends CampaignGuiTab {
 
     @Subscribe
     public void handle(PartWorkEvent ev) {
-        filterPersonnelScheduler.schedule();
+        schedulePersonnelUpdate(ev.getTech());
     }
     
     @Subscribe
@@ -43,7 +43,8 @@ public class StartUpGUI extends javax.swing.JPanel {
         this.app = app;
         lastSave = Utilities.lastFileModified(MekHQ.CAMPAIGN_DIRECTORY, new FilenameFilter() {
             public boolean accept(File dir, String name) {
-                return name.toLowerCase().endsWith(".cpnx") || name.toLowerCase().endsWith(".xml");
+                return name.toLowerCase().endsWith(".cpnx") || name.toLowerCase().endsWith(".xml")
+                        || name.toLowerCase().endsWith(".cpnb");
             }
         });
         
@@ -777,6 +777,7 @@ public final class WarehouseTab extends CampaignGuiTab implements ITechWorkPanel
     }
     
     private ActionScheduler partsScheduler = new ActionScheduler(this::refreshPartsList);
+    private ActionScheduler filterScheduler = new ActionScheduler(this::filterParts);
     private ActionScheduler techsScheduler = new ActionScheduler(this::refreshTechsList);
     private ActionScheduler procurementScheduler = new ActionScheduler(this::refreshProcurementList);
 
@@ -813,7 +814,8 @@ public final class WarehouseTab extends CampaignGuiTab implements ITechWorkPanel
     
     @Subscribe
     public void handle(PartChangedEvent ev) {
-        filterParts();
+        // parts report every change to their quantities, so filter once they are done
+        filterScheduler.schedule();
     }
     
     @Subscribe
@@ -43,7 +43,8 @@ public class FinanceTableMouseAdapter extends MouseInputAdapter implements
         }
         if (command.equalsIgnoreCase("DELETE")) {
             gui.getCampaign().addReport(transaction.voidTransaction());
-            financeModel.deleteTransaction(row);
+            gui.getCampaign().getFinances().voidTransaction(transaction);
+            financeModel.setData(gui.getCampaign().getFinances().getAllTransactions());
             MekHQ.triggerEvent(new TransactionVoidedEvent(transaction));
         } else if (command.contains("EDIT")) {
             EditTransactionDialog dialog = new EditTransactionDialog(
@@ -51,6 +52,7 @@ public class FinanceTableMouseAdapter extends MouseInputAdapter implements
             dialog.setVisible(true);
             if (!transaction.equals(dialog.getOldTransaction())) {
 	            financeModel.setTransaction(row, transaction);
+	            gui.getCampaign().getFinances().updateTransaction(dialog.getOldTransaction(), transaction);
 	            MekHQ.triggerEvent(new TransactionChangedEvent(dialog.getOldTransaction(), transaction));
 	            gui.getCampaign().addReport(
 	                    transaction.updateTransaction(dialog
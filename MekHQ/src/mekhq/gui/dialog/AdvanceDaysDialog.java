@@ -13,6 +13,7 @@ import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.time.Duration;
 import java.util.GregorianCalendar;
+import java.util.List;
 import java.util.ResourceBundle;
 import java.util.Calendar;
 import java.util.Collections;
@@ -23,11 +24,14 @@ import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JSpinner;
 import javax.swing.SpinnerNumberModel;
+import javax.swing.SwingUtilities;
 
 import megamek.common.event.Subscribe;
 import megamek.common.util.EncodeControl;
 import mekhq.MekHQ;
+import mekhq.campaign.DayAdvancer;
 import mekhq.campaign.event.ReportEvent;
+import mekhq.gui.ActionScheduler;
 import mekhq.gui.CampaignGUI;
 import mekhq.gui.DailyReportLogPanel;
 import mekhq.gui.ReportHyperlinkListener;
@@ -38,6 +42,9 @@ import mekhq.preferences.PreferencesNode;
 public class AdvanceDaysDialog extends JDialog implements ActionListener {
     private static final long serialVersionUID = 1L;
     
+    /** The number of days between updates of the report log while advancing */
+    private static final int REPORT_INTERVAL = 7;
+    
     private ResourceBundle resourceMap;
     
     private JSpinner spnDays;
@@ -48,6 +55,7 @@ public class AdvanceDaysDialog extends JDialog implements ActionListener {
     private DailyReportLogPanel logPanel;
     private CampaignGUI gui;
     private ReportHyperlinkListener listener;
+    private DayAdvanceTask advanceTask;
 
     public AdvanceDaysDialog(Frame owner, CampaignGUI gui, ReportHyperlinkListener listener) {
         super(owner, true);
@@ -86,10 +94,10 @@ public class AdvanceDaysDialog extends JDialog implements ActionListener {
 
         addWindowListener(new WindowAdapter() {
             public void windowClosing(WindowEvent e) {
-                // We need to unregister here as unregistering in the actionPerformed
-                // method will lead to incorrect behaviour if the user tries to advance
-                // days again without exiting this dialog
-                MekHQ.unregisterHandler(this);
+                // The task unregisters this dialog once it has stopped
+                if (null != advanceTask) {
+                    advanceTask.stopRequested = true;
+                }
             }
         });
     }
@@ -109,10 +117,15 @@ public class AdvanceDaysDialog extends JDialog implements ActionListener {
      */
     @Override
     public void actionPerformed(ActionEvent event) {
+        if (null != advanceTask) {
+            // while advancing, the start button stops the advancement
+            if (event.getSource().equals(btnStart)) {
+                advanceTask.stopRequested = true;
+            }
+            return;
+        }
         if (event.getSource().equals(btnStart) || event.getSource().equals(btnNextMonth)) {
             int days = (int)spnDays.getValue();
-            boolean firstDay = true;
-            MekHQ.registerHandler(this);
             if (event.getSource().equals(btnNextMonth)) {
                 //Use java.time to get the number of days to next month.
                 //We already need Java 8 anyway, and this is much easier and more accurate.
@@ -122,43 +135,112 @@ public class AdvanceDaysDialog extends JDialog implements ActionListener {
                 days = Math.abs((int)duration.toDays());
             }
 
-            int numDays;
-            for (numDays = days; numDays > 0; numDays--) {
-                if (gui.getCampaign().checkOverDueLoans()
-                        || gui.nagShortMaintenance()
-                        || (gui.getCampaign().getCampaignOptions().getUseAtB())
-                        && (gui.nagShortDeployments() || gui.nagOutstandingScenarios())) {
-                    break;
-                }
-                if (gui.getCampaign().checkRetirementDefections()
-                        || gui.getCampaign().checkYearlyRetirements()) {
-                    gui.showRetirementDefectionDialog();
-                    break;
-                }
-                if(!gui.getCampaign().newDay()) {
-                    break;
-                }
-                //String newLogString = logPanel.getLogText();
-                //newLogString = newLogString.concat(gui.getCampaign().getCurrentReportHTML());
-                if(firstDay) {
-                    logPanel.refreshLog(gui.getCampaign().getCurrentReportHTML());
-                    firstDay = false;
-                } else {
-                    logPanel.appendLog(Collections.singletonList("<hr/>")); //$NON-NLS-1$
-                    logPanel.appendLog(gui.getCampaign().fetchAndClearNewReports());
-                }
+            MekHQ.registerHandler(this);
+            // Refresh the tabs once at the end rather than after every day
+            ActionScheduler.hold();
+            btnStart.setText(resourceMap.getString("dlgStopAdvancement.text"));
+            btnNextMonth.setEnabled(false);
+            spnDays.setEnabled(false);
+
+            advanceTask = new DayAdvanceTask(days);
+            advanceTask.start();
+        }
+    }
+
+    /**
+     * Checks whether advancing has to stop before the next day, asking the user where needed.
+     */
+    private boolean checkInterrupts() {
+        if (gui.getCampaign().checkOverDueLoans()
+                || gui.nagShortMaintenance()
+                || (gui.getCampaign().getCampaignOptions().getUseAtB())
+                && (gui.nagShortDeployments() || gui.nagOutstandingScenarios())) {
+            return true;
+        }
+        if (gui.getCampaign().checkRetirementDefections()
+                || gui.getCampaign().checkYearlyRetirements()) {
+            gui.showRetirementDefectionDialog();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Advances one day per event on the event dispatching thread, which is where the campaign
+     * events are handled by the gui. Input is processed between the days, so the advancement can
+     * be stopped, but the gui is still blocked while each single day is processed. The reports are
+     * added to the log every {@link #REPORT_INTERVAL} days and the rest of the gui is refreshed
+     * once done. If a day fails, advancing stops there and the gui is released all the same.
+     */
+    private class DayAdvanceTask implements Runnable {
+        private final int days;
+        private final DayAdvancer advancer;
+        private boolean stopRequested = false;
+        private boolean firstReport = true;
+
+        private DayAdvanceTask(int days) {
+            this.days = days;
+            advancer = new DayAdvancer(gui.getCampaign(), campaign -> checkInterrupts(),
+                    this::appendReports, REPORT_INTERVAL);
+        }
+
+        private void start() {
+            SwingUtilities.invokeLater(this);
+        }
+
+        @Override
+        public void run() {
+            boolean advanced;
+            try {
+                advanced = (advancer.getDaysAdvanced() < days) && !stopRequested && advancer.advanceDay();
+            } catch (RuntimeException e) {
+                MekHQ.getLogger().error(AdvanceDaysDialog.class, "run", e); //$NON-NLS-1$
+                advanced = false;
+            }
+            if (advanced) {
+                SwingUtilities.invokeLater(this);
+                return;
             }
+            try {
+                advancer.flushReports();
+            } catch (RuntimeException e) {
+                MekHQ.getLogger().error(AdvanceDaysDialog.class, "run", e); //$NON-NLS-1$
+            } finally {
+                done();
+            }
+        }
 
-            // We couldn't advance all days for some reason,
-            // set the spinner to the number of remaining days
-            if (numDays > 0) {
-                this.spnDays.setValue(numDays);
+        private void appendReports(List<String> reports) {
+            if (firstReport) {
+                logPanel.clearLogPanel();
+                firstReport = false;
+            } else {
+                logPanel.appendLog(Collections.singletonList(DayAdvancer.DAY_SEPARATOR));
             }
+            logPanel.appendLog(reports);
+        }
 
-            gui.refreshCalendar();
-            gui.refreshLocation();
-            gui.initReport();
+        private void done() {
+            int advanced = advancer.getDaysAdvanced();
+            advanceTask = null;
+            MekHQ.unregisterHandler(AdvanceDaysDialog.this);
 
+            try {
+                // We couldn't advance all days for some reason,
+                // set the spinner to the number of remaining days
+                if (advanced < days) {
+                    spnDays.setValue(days - advanced);
+                }
+                btnStart.setText(resourceMap.getString("dlgStartAdvancement.text"));
+                btnNextMonth.setEnabled(true);
+                spnDays.setEnabled(true);
+
+                gui.refreshCalendar();
+                gui.refreshLocation();
+                gui.initReport();
+            } finally {
+                ActionScheduler.release();
+            }
             gui.refreshAllTabs();
         }
     }
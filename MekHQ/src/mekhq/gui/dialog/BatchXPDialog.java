@@ -7,6 +7,7 @@ import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.GridLayout;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.ResourceBundle;
@@ -49,7 +50,7 @@ import mekhq.gui.preferences.JComboBoxPreference;
 import mekhq.gui.preferences.JIntNumberSpinnerPreference;
 import mekhq.gui.preferences.JToggleButtonPreference;
 import mekhq.gui.preferences.JWindowPreference;
-import mekhq.gui.sorter.FormattedNumberSorter;
+import mekhq.gui.sorter.DataTableSorter;
 import mekhq.gui.sorter.RankSorter;
 import mekhq.preferences.PreferencesNode;
 
@@ -94,11 +95,11 @@ public final class BatchXPDialog extends JDialog {
         this.campaign = Objects.requireNonNull(campaign);
         this.personnelModel = new PersonnelTableModel(campaign);
         personnelModel.refreshData();
-        personnelSorter = new TableRowSorter<PersonnelTableModel>(personnelModel);
+        personnelSorter = new DataTableSorter<>(personnelModel);
         personnelSorter.setSortsOnUpdates(true);
-        personnelSorter.setComparator(PersonnelTableModel.COL_RANK, new RankSorter(campaign));
-        personnelSorter.setComparator(PersonnelTableModel.COL_AGE, new FormattedNumberSorter());
-        personnelSorter.setComparator(PersonnelTableModel.COL_XP, new FormattedNumberSorter());
+        personnelSorter.setComparator(PersonnelTableModel.COL_RANK, new RankSorter());
+        personnelSorter.setComparator(PersonnelTableModel.COL_AGE, Comparator.naturalOrder());
+        personnelSorter.setComparator(PersonnelTableModel.COL_XP, Comparator.naturalOrder());
         personnelSorter.setSortKeys(Arrays.asList(new RowSorter.SortKey(1, SortOrder.ASCENDING)));
         personnelFilter = new PersonnelFilter();
         personnelSorter.setRowFilter(personnelFilter);
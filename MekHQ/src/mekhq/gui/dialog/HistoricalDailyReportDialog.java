@@ -27,8 +27,9 @@ import java.awt.GridBagLayout;
 import java.awt.Insets;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.ResourceBundle;
 import java.util.concurrent.TimeUnit;
 
@@ -37,10 +38,11 @@ import javax.swing.JComboBox;
 import javax.swing.JDialog;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
+import javax.swing.JTextField;
 
 import megamek.common.util.EncodeControl;
 import mekhq.MekHQ;
-import mekhq.campaign.log.LogEntry;
+import mekhq.campaign.log.DailyReportJournal;
 import mekhq.gui.CampaignGUI;
 import mekhq.gui.DailyReportLogPanel;
 import mekhq.gui.preferences.JWindowPreference;
@@ -50,8 +52,8 @@ import mekhq.preferences.PreferencesNode;
 public class HistoricalDailyReportDialog extends JDialog {
     private static final long serialVersionUID = -4373796917722483042L;
 
-    // max number of days that will be stored in the history, also used as a limit in the UI
-    public static final int MAX_DAYS_HISTORY = 120;
+    // the longest time span offered in the UI; the history itself is kept indefinitely
+    public static final int MAX_DAYS_HISTORY = 3650;
 
     private ResourceBundle resourceMap = ResourceBundle.getBundle("mekhq.resources.HistoricalDailyReportDialog", new EncodeControl()); //$NON-NLS-1$
 
@@ -60,6 +62,8 @@ public class HistoricalDailyReportDialog extends JDialog {
     private JLabel pickTimeLabel;
     private JComboBox<Integer> pickTime;
     private JLabel daysLabel;
+    private JLabel searchLabel;
+    private JTextField searchText;
     private DailyReportLogPanel logPanel;
     private JButton closeBtn;
     private JLabel cacheInfoLabel;
@@ -87,23 +91,28 @@ public class HistoricalDailyReportDialog extends JDialog {
 
         if (gui.getCampaign().getCampaignOptions().historicalDailyLog()) {
             pickTimeLabel = new JLabel(resourceMap.getString("pickTime.text"));
-            Integer[] days = new Integer[] {7, 30, 60, 90, MAX_DAYS_HISTORY};
+            Integer[] days = new Integer[] {7, 30, 60, 90, 120, 365, MAX_DAYS_HISTORY};
             pickTime = new JComboBox<>(days);
             logPanel = new DailyReportLogPanel(null);
             daysLabel = new JLabel(resourceMap.getString("days.text"));
+            searchLabel = new JLabel(resourceMap.getString("search.text"));
+            searchText = new JTextField(15);
             filterPanel = new JPanel();
             closeBtn = new JButton(resourceMap.getString("closeBtn.text"));
             cacheInfoLabel = new JLabel(resourceMap.getString("cachedInformationMessage.text"));
 
-            updateLogPanel((Integer)pickTime.getSelectedItem());
+            updateLogPanel();
 
-            pickTime.addActionListener(event -> updateLogPanel((Integer)pickTime.getSelectedItem()));
+            pickTime.addActionListener(event -> updateLogPanel());
+            searchText.addActionListener(event -> updateLogPanel());
 
             closeBtn.addActionListener(event -> setVisible(false));
 
             filterPanel.add(pickTimeLabel);
             filterPanel.add(pickTime);
             filterPanel.add(daysLabel);
+            filterPanel.add(searchLabel);
+            filterPanel.add(searchText);
 
             GridBagConstraints gridBag = new GridBagConstraints();
             gridBag.fill = GridBagConstraints.HORIZONTAL;
@@ -151,22 +160,20 @@ public class HistoricalDailyReportDialog extends JDialog {
         preferences.manage(new JWindowPreference(this));
     }
 
-    private void updateLogPanel(Integer days) {
-        logPanel.clearLogPanel();
-        Date trackDay = null;
-        long currentTime = gui.getCampaign().getDate().getTime();
-        for (LogEntry log : gui.getCampaign().inMemoryLogHistory) {
-            long diff = currentTime - log.getDate().getTime();
-            if (TimeUnit.DAYS.convert(diff, TimeUnit.MILLISECONDS) < days) {
-                if (!log.getDate().equals(trackDay)) {
-                    logPanel.appendLog(Collections.singletonList("<hr>"));
-                    logPanel.appendLog(Collections.singletonList("<b>"+dateFormat.format(log.getDate())+"</b>"));
-                    logPanel.appendLog(Collections.singletonList("<br><br>"));
-                    trackDay = log.getDate();
-                }
-                logPanel.appendLog(Collections.singletonList(log.getDesc()+"<br>"));
+    private void updateLogPanel() {
+        int days = (Integer)pickTime.getSelectedItem();
+        Date after = new Date(gui.getCampaign().getDate().getTime() - TimeUnit.DAYS.toMillis(days));
+        List<String> lines = new ArrayList<>();
+        for (DailyReportJournal.DayReport report
+                : gui.getCampaign().getReportJournal().getReports(after, searchText.getText())) {
+            lines.add("<hr>");
+            lines.add("<b>"+dateFormat.format(report.getDate())+"</b>");
+            lines.add("<br><br>");
+            for (String line : report.getLines()) {
+                lines.add(line+"<br>");
             }
         }
+        logPanel.clearLogPanel();
+        logPanel.appendLog(lines);
     }
 }
-
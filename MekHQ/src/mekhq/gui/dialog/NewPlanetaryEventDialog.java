@@ -846,6 +846,8 @@ public class NewPlanetaryEventDialog extends JDialog {
     }
     
     private void updateDate() {
+        // the current event may have been edited in place
+        planet.clearEventCache();
         dateButton.setText(date.toString(DATE_FORMATTER));
         Planet.PlanetaryEvent event = getCurrentEvent();
 
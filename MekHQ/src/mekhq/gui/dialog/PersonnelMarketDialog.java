@@ -10,6 +10,7 @@ import java.awt.BorderLayout;
 import java.awt.Dimension;
 import java.awt.Frame;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.GregorianCalendar;
 import java.util.ResourceBundle;
 import java.util.UUID;
@@ -51,7 +52,7 @@ import mekhq.gui.preferences.JComboBoxPreference;
 import mekhq.gui.preferences.JTablePreference;
 import mekhq.gui.preferences.JToggleButtonPreference;
 import mekhq.gui.preferences.JWindowPreference;
-import mekhq.gui.sorter.FormattedNumberSorter;
+import mekhq.gui.sorter.DataTableSorter;
 import mekhq.gui.sorter.LevelSorter;
 import mekhq.gui.view.PersonViewPanel;
 import mekhq.preferences.PreferencesNode;
@@ -223,9 +224,9 @@ public class PersonnelMarketDialog extends JDialog {
         tablePersonnel.setSelectionMode(javax.swing.ListSelectionModel.SINGLE_SELECTION);
         tablePersonnel.setColumnModel(new XTableColumnModel());
         tablePersonnel.createDefaultColumnsFromModel();
-        sorter = new TableRowSorter<>(personnelModel);
+        sorter = new DataTableSorter<>(personnelModel);
         sorter.setComparator(PersonnelTableModel.COL_SKILL, new LevelSorter());
-        sorter.setComparator(PersonnelTableModel.COL_SALARY, new FormattedNumberSorter());
+        sorter.setComparator(PersonnelTableModel.COL_SALARY, Comparator.naturalOrder());
         tablePersonnel.setRowSorter(sorter);
         sortKeys = new ArrayList<>();
         sortKeys.add(new RowSorter.SortKey(PersonnelTableModel.COL_SKILL, SortOrder.DESCENDING));
@@ -68,6 +68,7 @@ import mekhq.gui.preferences.JComboBoxPreference;
 import mekhq.gui.preferences.JIntNumberSpinnerPreference;
 import mekhq.gui.preferences.JWindowPreference;
 import mekhq.gui.sorter.BonusSorter;
+import mekhq.gui.sorter.DataTableSorter;
 import mekhq.gui.sorter.FormattedNumberSorter;
 import mekhq.gui.sorter.RankSorter;
 import mekhq.gui.sorter.WeightClassSorter;
@@ -223,8 +224,8 @@ public class RetirementDefectionDialog extends JDialog {
             RetirementTableModel model = new RetirementTableModel(hqView.getCampaign());
             personnelTable = new RetirementTable(model, hqView);
 
-            personnelSorter = new TableRowSorter<>(model);
-            personnelSorter.setComparator(RetirementTableModel.COL_PERSON, new RankSorter(hqView.getCampaign()));
+            personnelSorter = new DataTableSorter<>(model);
+            personnelSorter.setComparator(RetirementTableModel.COL_PERSON, new RankSorter());
             personnelSorter.setComparator(RetirementTableModel.COL_PAYOUT, new FormattedNumberSorter());
             personnelSorter.setComparator(RetirementTableModel.COL_BONUS_COST, new BonusSorter());
             personnelSorter.setComparator(RetirementTableModel.COL_PAY_BONUS, new BonusSorter());
@@ -345,8 +346,8 @@ public class RetirementDefectionDialog extends JDialog {
 
         RetirementTableModel model = new RetirementTableModel(hqView.getCampaign());
         retireeTable = new RetirementTable(model, hqView);
-        retireeSorter = new TableRowSorter<RetirementTableModel>(model);
-        retireeSorter.setComparator(RetirementTableModel.COL_PERSON, new RankSorter(hqView.getCampaign()));
+        retireeSorter = new DataTableSorter<>(model);
+        retireeSorter.setComparator(RetirementTableModel.COL_PERSON, new RankSorter());
         retireeTable.setRowSorter(retireeSorter);
         ArrayList<RowSorter.SortKey> sortKeys = new ArrayList<RowSorter.SortKey>();
         sortKeys.add(new RowSorter.SortKey(PersonnelTableModel.COL_RANK, SortOrder.DESCENDING));
@@ -1,7 +1,10 @@
 package mekhq.gui.model;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import javax.swing.event.TableModelEvent;
 import javax.swing.table.AbstractTableModel;
 
 /**
@@ -11,6 +14,8 @@ public abstract class DataTableModel extends AbstractTableModel {
     private static final long serialVersionUID = 9081706049165214129L;
     protected String[] columnNames;
     protected List<?> data;
+    /** The sort keys of each column, computed since the data last changed */
+    private final Map<Integer, Object[]> sortKeys = new HashMap<>();
 
     public int getRowCount() {
         return data.size();
@@ -44,4 +49,67 @@ public abstract class DataTableModel extends AbstractTableModel {
         data = array;
         fireTableDataChanged();
     }
+
+    /**
+     * Gets the value a cell is sorted by, which is computed only once until the table changes.
+     * Use {@link mekhq.gui.sorter.DataTableSorter} to have the rows sorted by these keys
+     * rather than by the displayed values.
+     */
+    public Object getSortKey(int row, int col) {
+        Object[] keys = sortKeys.computeIfAbsent(col, c -> new Object[getRowCount()]);
+        if (row >= keys.length) {
+            return createSortKey(row, col);
+        }
+        if (null == keys[row]) {
+            keys[row] = createSortKey(row, col);
+        }
+        return keys[row];
+    }
+
+    /**
+     * Computes the value a cell is sorted by. This is the displayed value, unless a subclass
+     * supplies something cheaper to compare for columns showing HTML or formatted numbers.
+     */
+    protected Object createSortKey(int row, int col) {
+        return getValueAt(row, col);
+    }
+
+    /**
+     * Updates the row of a single item rather than the whole table: the item's row is added if it
+     * should be shown but isn't yet, removed if it should no longer be shown, and updated otherwise.
+     *
+     * @param item    the item which has changed
+     * @param present whether the item should be shown
+     */
+    @SuppressWarnings("unchecked")
+    protected void updateRow(Object item, boolean present) {
+        int row = data.indexOf(item);
+        if (row < 0) {
+            if (present) {
+                ((List<Object>) data).add(item);
+                fireTableRowsInserted(data.size() - 1, data.size() - 1);
+            }
+        } else if (!present) {
+            data.remove(row);
+            fireTableRowsDeleted(row, row);
+        } else {
+            fireTableRowsUpdated(row, row);
+        }
+    }
+
+    @Override
+    public void fireTableChanged(TableModelEvent e) {
+        if ((e.getType() == TableModelEvent.UPDATE) && (e.getFirstRow() != TableModelEvent.HEADER_ROW)
+                && (e.getLastRow() != Integer.MAX_VALUE)) {
+            // only the keys of the updated rows need to be computed again
+            for (Object[] keys : sortKeys.values()) {
+                for (int row = e.getFirstRow(); (row <= e.getLastRow()) && (row < keys.length); ++ row) {
+                    keys[row] = null;
+                }
+            }
+        } else {
+            sortKeys.clear();
+        }
+        super.fireTableChanged(e);
+    }
 }
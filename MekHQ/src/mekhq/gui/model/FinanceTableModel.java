@@ -137,10 +137,6 @@ public class FinanceTableModel extends DataTableModel {
         //data.set(row, transaction);
     }
 
-    public void deleteTransaction(int row) {
-        data.remove(row);
-    }
-
     public FinanceTableModel.Renderer getRenderer() {
         return new FinanceTableModel.Renderer();
     }
@@ -660,6 +660,25 @@ import mekhq.gui.BasicInfo;
             return "?";
         }
 
+        @Override
+        protected Object createSortKey(int row, int col) {
+            Person p = getPerson(row);
+            switch(col) {
+                case COL_RANK:
+                    return p;
+                case COL_SKILL:
+                    return p.getExperienceLevel(false);
+                case COL_AGE:
+                    return p.getAge(getCampaign().getCalendar());
+                case COL_XP:
+                    return p.getXp();
+                case COL_SALARY:
+                    return p.getSalary().getAmount();
+                default:
+                    return super.createSortKey(row, col);
+            }
+        }
+
         private Campaign getCampaign() {
             return campaign;
         }
@@ -691,6 +710,14 @@ import mekhq.gui.BasicInfo;
             }
         }
 
+        /**
+         * Updates the row of a person after a change, adding or removing it if the person joined
+         * or left the campaign.
+         */
+        public void refreshPerson(Person person) {
+            updateRow(person, getCampaign().getPerson(person.getId()) == person);
+        }
+
         public TableCellRenderer getRenderer(boolean graphic, IconPackage icons) {
             if(graphic) {
                 return new PersonnelTableModel.VisualRenderer(icons);
@@ -9,7 +9,6 @@ import java.util.UUID;
 
 import javax.swing.JTable;
 import javax.swing.SwingConstants;
-import javax.swing.table.AbstractTableModel;
 import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.TableCellRenderer;
 
@@ -30,7 +29,7 @@ import mekhq.campaign.unit.Unit;
 import mekhq.gui.BasicInfo;
 import mekhq.gui.dialog.RetirementDefectionDialog;
 
-public class RetirementTableModel extends AbstractTableModel {
+public class RetirementTableModel extends DataTableModel {
     /**
      *
      */
@@ -56,7 +55,6 @@ public class RetirementTableModel extends AbstractTableModel {
     };
 
     private Campaign campaign;
-    private ArrayList<UUID> data;
     private HashMap<UUID, TargetRoll> targets;
     private HashMap<UUID, Boolean> payBonus;
     private HashMap<UUID, Integer> miscMods;
@@ -85,20 +83,16 @@ public class RetirementTableModel extends AbstractTableModel {
 
     public void setData(HashMap<UUID, TargetRoll> targets) {
         this.targets = targets;
-        data.clear();
+        ArrayList<UUID> ids = new ArrayList<>();
         for (UUID id : targets.keySet()) {
-            data.add(id);
+            ids.add(id);
             payBonus.put(id, false);
             miscMods.put(id, 0);
         }
+        data = ids;
         fireTableDataChanged();
     }
 
-    @Override
-    public int getRowCount() {
-        return data.size();
-    }
-
     @Override
     public int getColumnCount() {
         return N_COL;
@@ -159,7 +153,7 @@ public class RetirementTableModel extends AbstractTableModel {
         case COL_MISC_MOD:
             return true;
         case COL_RECRUIT:
-            return campaign.getRetirementDefectionTracker().getPayout(data.get(row)).hasRecruit();
+            return campaign.getRetirementDefectionTracker().getPayout(getPersonId(row)).hasRecruit();
         default:
             return false;
         }
@@ -182,7 +176,7 @@ public class RetirementTableModel extends AbstractTableModel {
         if(data.isEmpty()) {
             return "";
         } else {
-            p = campaign.getPerson(data.get(row));
+            p = campaign.getPerson(getPersonId(row));
         }
         switch (col) {
         case COL_PERSON:
@@ -301,7 +295,7 @@ public class RetirementTableModel extends AbstractTableModel {
             }
         case COL_RECRUIT:
             RetirementDefectionTracker.Payout pay =
-                campaign.getRetirementDefectionTracker().getPayout(data.get(row));
+                campaign.getRetirementDefectionTracker().getPayout(getPersonId(row));
             if (null == pay) {
                 return "";
             }
@@ -329,14 +323,14 @@ public class RetirementTableModel extends AbstractTableModel {
                 }
 
                 Money payout = Money.of(Double.parseDouble(value.toString()));
-                altPayout.put(data.get(row), payout);
+                altPayout.put(getPersonId(row), payout);
             } catch (Exception e1) {
                 return;
             }
         } else if (col == COL_PAY_BONUS) {
-            payBonus.put(data.get(row), (Boolean)value);
+            payBonus.put(getPersonId(row), (Boolean)value);
         } else if (col == COL_MISC_MOD) {
-            miscMods.put(data.get(row), (Integer)value);
+            miscMods.put(getPersonId(row), (Integer)value);
         } else if (col == COL_UNIT) {
             if (null != value) {
                 unitAssignments.put(getPerson(row).getId(), (UUID)value);
@@ -344,7 +338,7 @@ public class RetirementTableModel extends AbstractTableModel {
         } else if (col == COL_RECRUIT) {
             for (int i = 0; i < Person.T_NUM; i++) {
                 if (Person.getRoleDesc(i, campaign.getFaction().isClan()).equals((String)value)) {
-                    campaign.getRetirementDefectionTracker().getPayout(data.get(row)).setRecruitType(i);
+                    campaign.getRetirementDefectionTracker().getPayout(getPersonId(row)).setRecruitType(i);
                     break;
                 }
             }
@@ -353,7 +347,19 @@ public class RetirementTableModel extends AbstractTableModel {
     }
 
     public Person getPerson(int row) {
-        return campaign.getPerson(data.get(row));
+        return campaign.getPerson(getPersonId(row));
+    }
+
+    private UUID getPersonId(int row) {
+        return (UUID) data.get(row);
+    }
+
+    @Override
+    protected Object createSortKey(int row, int col) {
+        if (col == COL_PERSON) {
+            return getPerson(row);
+        }
+        return super.createSortKey(row, col);
     }
 
     public boolean getPayBonus(UUID id) {
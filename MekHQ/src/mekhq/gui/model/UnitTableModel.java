@@ -283,6 +283,14 @@ public class UnitTableModel extends DataTableModel {
         setData(getCampaign().getCopyOfUnits());
     }
 
+    /**
+     * Updates the row of a unit after a change, adding or removing it if the unit joined or left
+     * the campaign.
+     */
+    public void refreshUnit(Unit unit) {
+        updateRow(unit, getCampaign().getUnit(unit.getId()) == unit);
+    }
+
     public TableCellRenderer getRenderer(boolean graphic, IconPackage icons) {
         if(graphic) {
             return new UnitTableModel.VisualRenderer(icons);
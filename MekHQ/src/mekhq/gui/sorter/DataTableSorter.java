@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2019 - The MegaMek Team
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.gui.sorter;
+
+import java.text.Collator;
+import java.util.Comparator;
+
+import javax.swing.table.TableRowSorter;
+
+import mekhq.gui.model.DataTableModel;
+
+/**
+ * A row sorter which sorts by the sort keys of a {@link DataTableModel} instead of the displayed
+ * values, so the comparators of columns showing HTML or formatted numbers can compare typed keys
+ * instead of parsing the text on every comparison. Filters still see the displayed values as
+ * strings.
+ *
+ * Columns without a comparator of their own compare comparable keys in their natural order, and
+ * everything else by its string representation.
+ */
+public class DataTableSorter<M extends DataTableModel> extends TableRowSorter<M> {
+    public DataTableSorter(M model) {
+        super(model);
+    }
+
+    @Override
+    public void setModel(M model) {
+        super.setModel(model);
+        setModelWrapper(new SortKeyModelWrapper(getModelWrapper()));
+    }
+
+    @Override
+    public Comparator<?> getComparator(int column) {
+        Comparator<?> comparator = super.getComparator(column);
+        // the default for text columns, which may have typed keys though
+        if (comparator instanceof Collator) {
+            return new KeyComparator((Collator) comparator);
+        }
+        return comparator;
+    }
+
+    private static class KeyComparator implements Comparator<Object> {
+        private final Collator collator;
+
+        KeyComparator(Collator collator) {
+            this.collator = collator;
+        }
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        @Override
+        public int compare(Object o0, Object o1) {
+            if ((o0 instanceof Comparable) && !(o0 instanceof String)
+                    && (null != o1) && o0.getClass().equals(o1.getClass())) {
+                return ((Comparable) o0).compareTo(o1);
+            }
+            return collator.compare(String.valueOf(o0), String.valueOf(o1));
+        }
+    }
+
+    private class SortKeyModelWrapper extends ModelWrapper<M, Integer> {
+        private final ModelWrapper<M, Integer> wrapped;
+
+        SortKeyModelWrapper(ModelWrapper<M, Integer> wrapped) {
+            this.wrapped = wrapped;
+        }
+
+        @Override
+        public M getModel() {
+            return wrapped.getModel();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return wrapped.getColumnCount();
+        }
+
+        @Override
+        public int getRowCount() {
+            return wrapped.getRowCount();
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            return getModel().getSortKey(row, column);
+        }
+
+        @Override
+        public String getStringValueAt(int row, int column) {
+            return wrapped.getStringValueAt(row, column);
+        }
+
+        @Override
+        public Integer getIdentifier(int row) {
+            return wrapped.getIdentifier(row);
+        }
+    }
+}
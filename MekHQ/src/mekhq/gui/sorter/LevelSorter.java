@@ -3,56 +3,15 @@ package mekhq.gui.sorter;
 import java.util.Comparator;
 
 /**
-     * A comparator for skills levels (e.g. Regular, Veteran, etc)
+     * A comparator for experience levels (e.g. Regular, Veteran, etc), used on the sort keys
+     * of the skill columns
      *   * @author Jay Lawson
      *
      */
-    public class LevelSorter implements Comparator<String> {
+    public class LevelSorter implements Comparator<Integer> {
 
         @Override
-        public int compare(String s0, String s1) {
-            if(s0.equals("-") && s1.equals("-")) {
-                return 0;
-            } else if(s0.equals("-")) {
-                return -1;
-            } else if(s1.equals("-")) {
-                return 1;
-            } else {
-                //probably easiest to turn into numbers and then sort that way
-                int l0 = 0;
-                int l1 = 0;
-                if(s0.contains("Green")) {
-                    l0 = 2;
-                }
-                if(s1.contains("Green")) {
-                    l1 = 2;
-                }
-                // Ultra-Green has to be below Green when using String.contains() because it contains Green
-                if(s0.contains("Ultra-Green")) {
-                    l0 = 1;
-                }
-                if(s1.contains("Ultra-Green")) {
-                    l1 = 1;
-                }
-                if(s0.contains("Regular")) {
-                    l0 = 3;
-                }
-                if(s1.contains("Regular")) {
-                    l1 = 3;
-                }
-                if(s0.contains("Veteran")) {
-                    l0 = 4;
-                }
-                if(s1.contains("Veteran")) {
-                    l1 = 4;
-                }
-                if(s0.contains("Elite")) {
-                    l0 = 5;
-                }
-                if(s1.contains("Elite")) {
-                    l1 = 5;
-                }
-                return ((Comparable<Integer>)l0).compareTo(l1);
-            }
+        public int compare(Integer l0, Integer l1) {
+            return Integer.compare(l0, l1);
         }
-    }
\ No newline at end of file
+    }
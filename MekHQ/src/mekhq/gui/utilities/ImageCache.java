@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2019 - The MegaMek Team
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.gui.utilities;
+
+import java.awt.Image;
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A cache for images which are expensive to build, such as tinted unit images or layered force
+ * icons. The keys need to describe everything the image is built from, so a change to any of it
+ * (a new camo, a different colour) simply leads to a new entry.
+ *
+ * The cache holds at most a given number of images, discarding the least recently used ones
+ * first, and only holds them softly so they can be reclaimed when memory runs low.
+ */
+public class ImageCache<K> {
+    private final Map<K, SoftReference<Image>> images;
+
+    /**
+     * @param capacity the maximum number of images to keep
+     */
+    public ImageCache(final int capacity) {
+        images = new LinkedHashMap<K, SoftReference<Image>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, SoftReference<Image>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * @param key     the description of the image
+     * @param builder builds the image if it isn't cached
+     * @return the cached image, or the newly built one
+     */
+    public synchronized Image get(K key, Supplier<Image> builder) {
+        SoftReference<Image> ref = images.get(key);
+        Image image = (null != ref) ? ref.get() : null;
+        if (null == image) {
+            image = builder.get();
+            if (null != image) {
+                images.put(key, new SoftReference<>(image));
+            }
+        }
+        return image;
+    }
+
+    /**
+     * @return the cached image, or null if it isn't cached (any more)
+     */
+    public synchronized Image getIfPresent(K key) {
+        SoftReference<Image> ref = images.get(key);
+        return (null != ref) ? ref.get() : null;
+    }
+
+    /**
+     * Caches an image which was built elsewhere, such as on a background thread.
+     */
+    public synchronized void put(K key, Image image) {
+        images.put(key, new SoftReference<>(image));
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2019 - The MegaMek Team
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.gui.utilities;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.swing.SwingUtilities;
+
+import mekhq.MekHQ;
+
+/**
+ * Caches a layer of a map as square tiles, so the layer doesn't need to be drawn again every time
+ * the map is painted. The layer is drawn in its own coordinates, which only move relative to the
+ * screen when the map is panned; everything else the layer depends on (the zoom level, the date,
+ * the display options) has to be part of the geometry and content the tiles are kept for.
+ *
+ * Missing tiles are drawn on a background thread. Until a tile is ready, the tile at the same place
+ * drawn for different content (such as the day before) is shown instead, if there is one.
+ */
+public class MapTileCache {
+    /** Draws part of a layer */
+    @FunctionalInterface
+    public interface TileRenderer {
+        /**
+         * Called on a background thread.
+         *
+         * @param g    the graphics to draw on, translated so the layer coordinates can be used as they are
+         * @param area the part of the layer the tile covers, in layer coordinates
+         * @return whether anything was drawn
+         */
+        boolean render(Graphics2D g, Rectangle area);
+    }
+
+    /** The width and height of a tile, in pixels */
+    public static final int TILE_SIZE = 256;
+
+    /** Stands in for tiles without anything on them */
+    private static final Image EMPTY_TILE = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+
+    private static final ExecutorService RENDERER = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "Map tile renderer"); //$NON-NLS-1$
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ImageCache<List<Object>> tiles;
+    private final Set<List<Object>> pending = ConcurrentHashMap.newKeySet();
+    private final Runnable tileReady;
+
+    /** The geometry and content last painted; tiles requested for anything else aren't drawn any more */
+    private volatile List<Object> current;
+    /** The tiles last painted, by position */
+    private Map<Point, Image> shownTiles = new HashMap<>();
+    private Object shownGeometry;
+
+    /**
+     * @param capacity  the maximum number of tiles to keep
+     * @param tileReady called on the event dispatch thread whenever a requested tile is ready
+     */
+    public MapTileCache(int capacity, Runnable tileReady) {
+        this.tiles = new ImageCache<>(capacity);
+        this.tileReady = tileReady;
+    }
+
+    /**
+     * Paints the tiles covering the screen, and requests the missing ones (and the ones right
+     * next to the screen) to be drawn.
+     *
+     * @param g        the graphics to paint on, in screen coordinates
+     * @param geometry everything the positions on the layer depend on, such as the zoom level
+     * @param content  everything else the layer depends on
+     * @param renderer draws the tiles
+     * @param originX  the screen position of the origin of the layer
+     * @param originY  the screen position of the origin of the layer
+     * @param width    the width of the screen
+     * @param height   the height of the screen
+     */
+    public void paint(Graphics2D g, Object geometry, Object content, TileRenderer renderer,
+            double originX, double originY, int width, int height) {
+        current = Arrays.asList(geometry, content);
+        if (!Objects.equals(geometry, shownGeometry)) {
+            shownTiles.clear();
+            shownGeometry = geometry;
+        }
+        int offsetX = (int) Math.round(originX);
+        int offsetY = (int) Math.round(originY);
+        int minTileX = Math.floorDiv(-offsetX, TILE_SIZE);
+        int maxTileX = Math.floorDiv(width - 1 - offsetX, TILE_SIZE);
+        int minTileY = Math.floorDiv(-offsetY, TILE_SIZE);
+        int maxTileY = Math.floorDiv(height - 1 - offsetY, TILE_SIZE);
+        Map<Point, Image> shown = new HashMap<>();
+        for (int tileX = minTileX - 1; tileX <= maxTileX + 1; ++ tileX) {
+            for (int tileY = minTileY - 1; tileY <= maxTileY + 1; ++ tileY) {
+                List<Object> key = Arrays.asList(geometry, content, tileX, tileY);
+                Image tile = tiles.getIfPresent(key);
+                if (null == tile) {
+                    request(key, renderer, tileX, tileY);
+                }
+                if ((tileX < minTileX) || (tileX > maxTileX) || (tileY < minTileY) || (tileY > maxTileY)) {
+                    // only prepared for panning
+                    continue;
+                }
+                Point position = new Point(tileX, tileY);
+                if (null == tile) {
+                    tile = shownTiles.get(position);
+                }
+                if (null != tile) {
+                    shown.put(position, tile);
+                    if (tile != EMPTY_TILE) {
+                        g.drawImage(tile, offsetX + tileX * TILE_SIZE, offsetY + tileY * TILE_SIZE, null);
+                    }
+                }
+            }
+        }
+        shownTiles = shown;
+    }
+
+    private void request(List<Object> key, TileRenderer renderer, int tileX, int tileY) {
+        if (!pending.add(key)) {
+            return;
+        }
+        RENDERER.execute(() -> {
+            try {
+                // skip tiles nobody is going to look at any more
+                if (!key.subList(0, 2).equals(current)) {
+                    return;
+                }
+                BufferedImage image = new BufferedImage(TILE_SIZE, TILE_SIZE, BufferedImage.TYPE_INT_ARGB);
+                Graphics2D g = image.createGraphics();
+                boolean drawn;
+                try {
+                    g.translate(-tileX * TILE_SIZE, -tileY * TILE_SIZE);
+                    drawn = renderer.render(g, new Rectangle(tileX * TILE_SIZE, tileY * TILE_SIZE, TILE_SIZE, TILE_SIZE));
+                } finally {
+                    g.dispose();
+                }
+                tiles.put(key, drawn ? image : EMPTY_TILE);
+                SwingUtilities.invokeLater(tileReady);
+            } catch (RuntimeException e) {
+                MekHQ.getLogger().error(getClass(), "request", e); //$NON-NLS-1$
+            } finally {
+                pending.remove(key);
+            }
+        });
+    }
+}
@@ -70,7 +70,13 @@ import java.util.function.Predicate;
     /**
      * Value for campaign files.
      */
-    CPNX("Campaign file", "cpnx", "cpnx.gz", "xml"); //$NON-NLS-2$ //$NON-NLS-3$
+    CPNX("Campaign file", "cpnx", "cpnx.gz", "xml"), //$NON-NLS-2$ //$NON-NLS-3$
+
+    /**
+     * Value for the campaign files which can be loaded, which includes the campaign snapshots
+     * autosaves are written as. Campaigns are saved as {@link #CPNX} files.
+     */
+    CPNX_LOAD("Campaign file", "cpnx", "cpnx.gz", "xml", "cpnb"); //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
 
     private FileType(String description, String... extensions) {
         this.description = description;
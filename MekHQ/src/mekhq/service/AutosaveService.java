@@ -24,19 +24,49 @@ package mekhq.service;
 import megamek.common.logging.MMLogger;
 import mekhq.MekHQ;
 import mekhq.MekHqConstants;
+import mekhq.MekHqXmlUtil;
 import mekhq.campaign.Campaign;
+import mekhq.campaign.io.CampaignSnapshot;
 
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
-import java.io.OutputStreamWriter;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.prefs.Preferences;
 import java.util.stream.Collectors;
-import java.util.zip.GZIPOutputStream;
 
+/**
+ * Autosaves are taken in two steps: the campaign is serialized on the calling thread, so the
+ * save is a consistent snapshot of it, and the snapshot is then converted to a
+ * {@link CampaignSnapshot} and written to disk by a background writer. The writer is shared by all instances and only ever works on one
+ * autosave; requesting another while one is still being written waits for it to finish.
+ *
+ * Serializing on the calling thread costs the time to write the XML to memory and as much memory
+ * as the XML takes. The buffers are reused from one autosave to the next, so they only grow to the
+ * size of the campaign once instead of on every autosave. At most two are kept: one being written
+ * to disk, and one the next autosave is serialized into.
+ */
 public class AutosaveService implements IAutosaveService {
+    private static final ExecutorService autosaveWriter = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "Autosave Writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /** The autosave currently being written, guarded by the class */
+    private static Future<?> pendingAutosave = null;
+    /** The buffers of earlier autosaves which are free to be reused, guarded by the class */
+    private static final Deque<SnapshotBuffer> freeBuffers = new ArrayDeque<>();
+
     private final Preferences userPreferences = Preferences.userRoot().node(MekHqConstants.AUTOSAVE_NODE);
     private final MMLogger logger;
 
@@ -77,24 +107,84 @@ public class AutosaveService implements IAutosaveService {
         return this.userPreferences.getBoolean(MekHqConstants.SAVE_BEFORE_MISSIONS_KEY, false);
     }
 
+    @Override
+    public void flush() {
+        synchronized (AutosaveService.class) {
+            waitForPendingAutosave();
+        }
+    }
+
     private void performAutosave(Campaign campaign) {
+        SnapshotBuffer snapshot = takeBuffer();
         try {
-            String fileName = this.getAutosaveFilename(campaign);
-
-            try (FileOutputStream fos = new FileOutputStream(fileName);
-                 GZIPOutputStream output = new GZIPOutputStream(fos)) {
-                PrintWriter writer = new PrintWriter(new OutputStreamWriter(output, "UTF-8"));
-                campaign.writeToXml(writer);
-                writer.flush();
-                writer.close();
+            PrintWriter writer = MekHqXmlUtil.createXmlWriter(snapshot);
+            campaign.writeToXml(writer);
+            writer.flush();
+            writer.close();
+
+            final String campaignName = campaign.getName();
+            final String campaignDate = campaign.getShortDateAsString();
+            synchronized (AutosaveService.class) {
+                waitForPendingAutosave();
+                pendingAutosave = autosaveWriter.submit(
+                        () -> this.writeAutosave(snapshot, campaignName, campaignDate));
             }
         }
         catch (Exception ex) {
             this.logger.error(this.getClass(), "performAutosave", ex);
+            releaseBuffer(snapshot);
         }
     }
 
-    private String getAutosaveFilename(Campaign campaign) {
+    private void writeAutosave(SnapshotBuffer snapshot, String campaignName, String campaignDate) {
+        try {
+            String fileName = this.getAutosaveFilename(campaignName, campaignDate);
+
+            // autosaves are stored as campaign snapshots, which are smaller and quicker to load
+            try (OutputStream output = new BufferedOutputStream(new FileOutputStream(fileName))) {
+                CampaignSnapshot.fromXml(snapshot.toInputStream(), output);
+            }
+        }
+        catch (Exception ex) {
+            this.logger.error(this.getClass(), "writeAutosave", ex);
+        }
+        finally {
+            releaseBuffer(snapshot);
+        }
+    }
+
+    private static SnapshotBuffer takeBuffer() {
+        synchronized (AutosaveService.class) {
+            SnapshotBuffer buffer = freeBuffers.poll();
+            return (buffer != null) ? buffer : new SnapshotBuffer(1 << 20);
+        }
+    }
+
+    private static void releaseBuffer(SnapshotBuffer buffer) {
+        buffer.reset();
+        synchronized (AutosaveService.class) {
+            if (freeBuffers.size() < 2) {
+                freeBuffers.push(buffer);
+            }
+        }
+    }
+
+    /** Must be called while holding the class lock */
+    private void waitForPendingAutosave() {
+        if (pendingAutosave == null) {
+            return;
+        }
+        try {
+            pendingAutosave.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            this.logger.error(this.getClass(), "waitForPendingAutosave", ex);
+        }
+        pendingAutosave = null;
+    }
+
+    private String getAutosaveFilename(String campaignName, String campaignDate) {
         // Get all autosave files in ascending order of date creation
         String savesDirectoryPath = MekHQ.getCampaignsDirectory().getValue();
         File folder = new File(savesDirectoryPath);
@@ -117,10 +207,10 @@ public class AutosaveService implements IAutosaveService {
         int index = 0;
         while (repeatedName) {
             fileName = String.format(
-                    "Autosave-%d-%s-%s.cpnx.gz",
+                    "Autosave-%d-%s-%s.cpnb",
                     index++,
-                    campaign.getName(),
-                    campaign.getShortDateAsString());
+                    campaignName,
+                    campaignDate);
 
             repeatedName = false;
             for (File file : autosaveFiles) {
@@ -133,4 +223,19 @@ public class AutosaveService implements IAutosaveService {
 
         return Paths.get(savesDirectoryPath, fileName).toString();
     }
+
+    /**
+     * Holds the serialized campaign. The XML can be read back from the buffer it was written to,
+     * rather than from a copy of it as {@link #toByteArray()} would make.
+     */
+    private static class SnapshotBuffer extends ByteArrayOutputStream {
+        SnapshotBuffer(int size) {
+            super(size);
+        }
+
+        /** @return a stream reading the contents of this buffer, which must not be written to until it is read */
+        synchronized InputStream toInputStream() {
+            return new ByteArrayInputStream(buf, 0, count);
+        }
+    }
 }
@@ -42,4 +42,9 @@ public interface IAutosaveService {
      * @param campaign Campaign to save
      */
     void requestBeforeMissionAutosave(Campaign campaign);
+
+    /**
+     * Waits until any auto-save still being written in the background is complete.
+     */
+    void flush();
 }
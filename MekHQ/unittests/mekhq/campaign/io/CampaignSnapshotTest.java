@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2019 - The MegaMek Team
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign.io;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
+
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import mekhq.MekHqXmlUtil;
+
+public class CampaignSnapshotTest {
+
+    private static final String XML = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" //$NON-NLS-1$
+            + "<campaign version=\"0.45.5\">\n" //$NON-NLS-1$
+            + "\t<info>\n\t\t<name>Fox &amp; Hound&apos;s</name>\n\t</info>\n" //$NON-NLS-1$
+            + "\t<units>\n" //$NON-NLS-1$
+            + "\t\t<unit id=\"3f2a6a1c-4b0e-4d8e-9a4f-2f1d3c5b7a90\" type=\"mekhq.campaign.unit.Unit\">\n" //$NON-NLS-1$
+            + "\t\t\t<driverId>3f2a6a1c-4b0e-4d8e-9a4f-2f1d3c5b7a90</driverId>\n" //$NON-NLS-1$
+            + "\t\t\t<history><![CDATA[a <b>bold</b>]]> move</history>\n" //$NON-NLS-1$
+            + "\t\t\t<fluffName/>\n" //$NON-NLS-1$
+            + "\t\t</unit>\n" //$NON-NLS-1$
+            + "\t\t<unit id=\"3F2A6A1C-4B0E-4D8E-9A4F-2F1D3C5B7A90\" type=\"mekhq.campaign.unit.Unit\"/>\n" //$NON-NLS-1$
+            + "\t</units>\n" //$NON-NLS-1$
+            + "\t<parts/>\n" //$NON-NLS-1$
+            + "</campaign>\n"; //$NON-NLS-1$
+
+    private static byte[] toSnapshot(String xml) throws Exception {
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        CampaignSnapshot.fromXml(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), snapshot);
+        return snapshot.toByteArray();
+    }
+
+    /** Reads the whole campaign the way the campaign parser does */
+    private static Element read(XMLStreamReader reader) throws Exception {
+        Document document = MekHqXmlUtil.newSafeDocumentBuilder().newDocument();
+        reader.nextTag();
+        Element root = document.createElement(reader.getLocalName());
+        for (int i = 0; i < reader.getAttributeCount(); ++ i) {
+            root.setAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+        }
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            root.appendChild(MekHqXmlUtil.readElement(reader, document));
+        }
+        reader.close();
+        return root;
+    }
+
+    private static Element readXml(InputStream xml) throws Exception {
+        return read(MekHqXmlUtil.createSafeXMLStreamReader(xml));
+    }
+
+    @Test
+    public void testReadingSnapshotMatchesReadingXml() throws Exception {
+        Element expected = readXml(new ByteArrayInputStream(XML.getBytes(StandardCharsets.UTF_8)));
+        Element actual = read(new CampaignSnapshotReader(new ByteArrayInputStream(toSnapshot(XML))));
+
+        assertTrue(expected.isEqualNode(actual));
+        assertEquals("0.45.5", actual.getAttribute("version")); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    @Test
+    public void testConvertingBackToXml() throws Exception {
+        ByteArrayOutputStream xml = new ByteArrayOutputStream();
+        CampaignSnapshot.toXml(new ByteArrayInputStream(toSnapshot(XML)), xml);
+
+        Element expected = readXml(new ByteArrayInputStream(XML.getBytes(StandardCharsets.UTF_8)));
+        Element actual = readXml(new ByteArrayInputStream(xml.toByteArray()));
+        assertTrue(expected.isEqualNode(actual));
+    }
+
+    @Test
+    public void testRecognizingSnapshots() throws Exception {
+        InputStream snapshot = new BufferedInputStream(new ByteArrayInputStream(toSnapshot(XML)));
+        InputStream xml = new BufferedInputStream(new ByteArrayInputStream(XML.getBytes(StandardCharsets.UTF_8)));
+
+        assertTrue(CampaignSnapshot.isSnapshot(snapshot));
+        assertFalse(CampaignSnapshot.isSnapshot(xml));
+        // the streams can still be read from the start
+        assertEquals('C', snapshot.read());
+        assertEquals('<', xml.read());
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2019 - The MegaMek Team
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign.io;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import megamek.common.MechSummaryCache;
+import mekhq.campaign.Campaign;
+import mekhq.campaign.finances.CurrencyManager;
+import mekhq.campaign.unit.Unit;
+import mekhq.campaign.universe.Faction;
+import mekhq.campaign.universe.Planets;
+
+public class CampaignXmlParserTest {
+
+    private static final File CAMPAIGN = new File("campaigns/Fist and Falcon/Binary Bravo, 1st Falcon Strikers.cpnx"); //$NON-NLS-1$
+
+    @BeforeClass
+    public static void loadData() throws Exception {
+        // the same data the campaign loading dialog loads before reading a campaign
+        Faction.generateFactions();
+        CurrencyManager.getInstance().loadCurrencies();
+        while (!Planets.getInstance().isInitialized() || !MechSummaryCache.getInstance().isInitialized()) {
+            Thread.sleep(50);
+        }
+    }
+
+    private static Campaign load(int unitParserThreads) throws Exception {
+        try (InputStream is = new BufferedInputStream(new FileInputStream(CAMPAIGN))) {
+            CampaignXmlParser parser = new CampaignXmlParser(is, null);
+            parser.setUnitParserThreads(unitParserThreads);
+            return parser.parse();
+        }
+    }
+
+    private static List<String> describeUnits(Campaign campaign) {
+        List<String> result = new ArrayList<>();
+        for (Unit unit : campaign.getUnits()) {
+            result.add(unit.getId() + " " + unit.getEntity().getShortName()); //$NON-NLS-1$
+        }
+        return result;
+    }
+
+    @Test
+    public void testLoadingUnitsOnThePoolMatchesLoadingThemOneByOne() throws Exception {
+        List<String> expected = describeUnits(load(0));
+        assertTrue(expected.size() > 1);
+
+        // several threads whatever the number of processors, so units are parsed concurrently
+        for (int i = 0; i < 3; ++ i) {
+            assertEquals(expected, describeUnits(load(4)));
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2019 - The MegaMek Team
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign.log;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DailyReportJournalTest {
+    private static final long DAY = 24L * 60 * 60 * 1000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testDaysAreReadBackAfterReopening() throws Exception {
+        File file = new File(folder.getRoot(), "journals/test.reports"); //$NON-NLS-1$
+        DailyReportJournal journal = new DailyReportJournal(file);
+        journal.addLine(new Date(DAY), "First"); //$NON-NLS-1$
+        journal.addLine(new Date(DAY), "Second"); //$NON-NLS-1$
+        journal.addLine(new Date(2 * DAY), "Third"); //$NON-NLS-1$
+        journal.flush();
+
+        List<DailyReportJournal.DayReport> reports = new DailyReportJournal(file).getReports(new Date(0), null);
+        Assert.assertEquals(2, reports.size());
+        Assert.assertEquals(new Date(DAY), reports.get(0).getDate());
+        Assert.assertEquals(Arrays.asList("First", "Second"), reports.get(0).getLines()); //$NON-NLS-1$ //$NON-NLS-2$
+        Assert.assertEquals(Arrays.asList("Third"), reports.get(1).getLines()); //$NON-NLS-1$
+
+        reports = new DailyReportJournal(file).getReports(new Date(DAY), null);
+        Assert.assertEquals(1, reports.size());
+        Assert.assertEquals(new Date(2 * DAY), reports.get(0).getDate());
+    }
+
+    @Test
+    public void testSearchOnlyReturnsMatchingLines() throws Exception {
+        DailyReportJournal journal = new DailyReportJournal(new File(folder.getRoot(), "test.reports")); //$NON-NLS-1$
+        journal.addLine(new Date(DAY), "A unit was repaired"); //$NON-NLS-1$
+        journal.addLine(new Date(2 * DAY), "A unit was bought"); //$NON-NLS-1$
+        journal.addLine(new Date(2 * DAY), "Someone was hired"); //$NON-NLS-1$
+
+        List<DailyReportJournal.DayReport> reports = journal.getReports(new Date(0), "HIRED"); //$NON-NLS-1$
+        Assert.assertEquals(1, reports.size());
+        Assert.assertEquals(Arrays.asList("Someone was hired"), reports.get(0).getLines()); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testReplayingFromAnOlderDayReplacesTheLaterDays() throws Exception {
+        File file = new File(folder.getRoot(), "test.reports"); //$NON-NLS-1$
+        DailyReportJournal journal = new DailyReportJournal(file);
+        journal.addLine(new Date(DAY), "Old day one"); //$NON-NLS-1$
+        journal.addLine(new Date(2 * DAY), "Old day two"); //$NON-NLS-1$
+        journal.addLine(new Date(3 * DAY), "Old day three"); //$NON-NLS-1$
+        journal.flush();
+
+        // as if the save of the first day was loaded and the campaign played on from there
+        journal = new DailyReportJournal(file);
+        journal.beginDay(new Date(DAY));
+        journal.addLine(new Date(2 * DAY), "New day two"); //$NON-NLS-1$
+        journal.flush();
+
+        List<DailyReportJournal.DayReport> reports = new DailyReportJournal(file).getReports(new Date(0), null);
+        Assert.assertEquals(2, reports.size());
+        Assert.assertEquals(Arrays.asList("Old day one"), reports.get(0).getLines()); //$NON-NLS-1$
+        Assert.assertEquals(Arrays.asList("New day two"), reports.get(1).getLines()); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testLoadingAnOlderSaveDropsTheLaterDays() throws Exception {
+        File file = new File(folder.getRoot(), "test.reports"); //$NON-NLS-1$
+        DailyReportJournal journal = new DailyReportJournal(file);
+        journal.addLine(new Date(DAY), "Old day one"); //$NON-NLS-1$
+        journal.addLine(new Date(2 * DAY), "Old day two"); //$NON-NLS-1$
+        journal.flush();
+        long length = file.length();
+
+        new DailyReportJournal(file).beginDay(new Date(DAY));
+
+        List<DailyReportJournal.DayReport> reports = new DailyReportJournal(file).getReports(new Date(0), null);
+        Assert.assertEquals(1, reports.size());
+        Assert.assertEquals(Arrays.asList("Old day one"), reports.get(0).getLines()); //$NON-NLS-1$
+        Assert.assertTrue(file.length() < length);
+    }
+
+    @Test
+    public void testReplacedRecordsAreReclaimed() throws Exception {
+        File file = new File(folder.getRoot(), "test.reports"); //$NON-NLS-1$
+        DailyReportJournal journal = new DailyReportJournal(file);
+        journal.addLine(new Date(DAY), "Day one"); //$NON-NLS-1$
+        journal.flush();
+        long length = file.length();
+        // saved several times during the day
+        for (int i = 0; i < 10; ++ i) {
+            journal.addLine(new Date(DAY), "More"); //$NON-NLS-1$
+            journal.flush();
+        }
+        Assert.assertTrue(file.length() > 10 * length);
+
+        journal = new DailyReportJournal(file);
+        journal.beginDay(new Date(DAY));
+        Assert.assertTrue(file.length() < 3 * length);
+        List<DailyReportJournal.DayReport> reports = journal.getReports(new Date(0), null);
+        Assert.assertEquals(1, reports.size());
+        Assert.assertEquals(11, reports.get(0).getLines().size());
+    }
+
+    @Test
+    public void testLinesSavedEarlierInTheDayAreKeptAfterReloading() throws Exception {
+        File file = new File(folder.getRoot(), "test.reports"); //$NON-NLS-1$
+        DailyReportJournal journal = new DailyReportJournal(file);
+        journal.addLine(new Date(DAY), "Before saving"); //$NON-NLS-1$
+        journal.flush();
+
+        // as if the campaign was saved mid-day and loaded again
+        journal = new DailyReportJournal(file);
+        journal.beginDay(new Date(DAY));
+        journal.addLine(new Date(DAY), "After loading"); //$NON-NLS-1$
+        List<String> expected = Arrays.asList("Before saving", "After loading"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        List<DailyReportJournal.DayReport> reports = journal.getReports(new Date(0), null);
+        Assert.assertEquals(1, reports.size());
+        Assert.assertEquals(expected, reports.get(0).getLines());
+
+        journal.flush();
+        reports = new DailyReportJournal(file).getReports(new Date(0), null);
+        Assert.assertEquals(1, reports.size());
+        Assert.assertEquals(expected, reports.get(0).getLines());
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2019 - The MegaMek Team
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign.parts;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+
+public class SparePartIndexTest {
+
+    private static Part mockPart(int id, String typeKey, String statusKey, boolean spare) {
+        Part part = mock(Part.class);
+        when(part.getId()).thenReturn(id);
+        when(part.getPartTypeKey()).thenReturn(typeKey);
+        when(part.getPartStatusKey()).thenReturn(statusKey);
+        when(part.isSpare()).thenReturn(spare);
+        when(part.isSamePartTypeAndStatus(any())).thenReturn(true);
+        return part;
+    }
+
+    @Test
+    public void testFindSpareOnlyComparesSameTypeAndStatus() {
+        SparePartIndex index = new SparePartIndex();
+        Part otherType = mockPart(1, "other", "status", true);
+        Part otherStatus = mockPart(2, "key", "other", true);
+        Part spare = mockPart(3, "key", "status", true);
+        index.update(otherType);
+        index.update(otherStatus);
+        index.update(spare);
+
+        Part newPart = mockPart(4, "key", "status", false);
+
+        assertSame(spare, index.findSpareFor(newPart));
+        verify(newPart, never()).isSamePartTypeAndStatus(otherType);
+        verify(newPart, never()).isSamePartTypeAndStatus(otherStatus);
+    }
+
+    @Test
+    public void testFindSpareReturnsLowestId() {
+        SparePartIndex index = new SparePartIndex();
+        Part high = mockPart(20, "key", "status", true);
+        Part low = mockPart(10, "key", "status", true);
+        index.update(high);
+        index.update(low);
+
+        Part newPart = mockPart(30, "key", "status", false);
+
+        assertSame(low, index.findSpareFor(newPart));
+    }
+
+    @Test
+    public void testInstalledPartsAreNotIndexed() {
+        SparePartIndex index = new SparePartIndex();
+        Part installed = mockPart(5, "key", "status", false);
+        index.update(installed);
+
+        Part newPart = mockPart(30, "key", "status", false);
+
+        assertNull(index.findSpareFor(newPart));
+    }
+
+    @Test
+    public void testFindSpareIgnoresSelf() {
+        SparePartIndex index = new SparePartIndex();
+        Part spare = mockPart(1, "key", "status", true);
+        index.update(spare);
+
+        assertNull(index.findSpareFor(spare));
+    }
+
+    @Test
+    public void testRemove() {
+        SparePartIndex index = new SparePartIndex();
+        Part spare = mockPart(1, "key", "status", true);
+        index.update(spare);
+        index.remove(spare);
+
+        Part newPart = mockPart(2, "key", "status", false);
+
+        assertNull(index.findSpareFor(newPart));
+    }
+
+    @Test
+    public void testUpdateRemovesInstalledPart() {
+        SparePartIndex index = new SparePartIndex();
+        Part spare = mockPart(1, "key", "status", true);
+        index.update(spare);
+        when(spare.isSpare()).thenReturn(false);
+        index.update(spare);
+
+        Part newPart = mockPart(2, "key", "status", false);
+
+        assertNull(index.findSpareFor(newPart));
+    }
+
+    @Test
+    public void testUpdateMovesPartToNewStatus() {
+        SparePartIndex index = new SparePartIndex();
+        Part spare = mockPart(1, "key", "old", true);
+        index.update(spare);
+        when(spare.getPartStatusKey()).thenReturn("new");
+        index.update(spare);
+
+        Part oldPart = mockPart(2, "key", "old", false);
+        Part newPart = mockPart(3, "key", "new", false);
+
+        assertNull(index.findSpareFor(oldPart));
+        assertSame(spare, index.findSpareFor(newPart));
+    }
+}
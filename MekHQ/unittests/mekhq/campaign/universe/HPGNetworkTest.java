@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2019 - The MegaMek Team
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign.universe;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import org.joda.time.DateTime;
+import org.junit.Test;
+
+import megamek.common.EquipmentType;
+
+public class HPGNetworkTest {
+
+    private static final DateTime BEFORE = new DateTime(3025, 1, 1, 0, 0, 0, 0);
+    private static final DateTime CHANGE = new DateTime(3026, 1, 1, 0, 0, 0, 0);
+    private static final DateTime AFTER = new DateTime(3027, 1, 1, 0, 0, 0, 0);
+
+    private Planet createPlanet(Integer ratingBefore, Integer ratingAfter) {
+        Planet planet = mock(Planet.class);
+        when(planet.getHPG(any())).thenAnswer(invocation -> {
+            DateTime when = (DateTime) invocation.getArguments()[0];
+            return when.isBefore(CHANGE) ? ratingBefore : ratingAfter;
+        });
+        if (ratingBefore != ratingAfter) {
+            Planet.PlanetaryEvent event = new Planet.PlanetaryEvent();
+            event.date = CHANGE;
+            event.hpg = ratingAfter;
+            when(planet.getEvents()).thenReturn(Collections.singletonList(event));
+        }
+        return planet;
+    }
+
+    private HPGNetwork createNetwork(List<Planet> planets) {
+        // all the planets are in range of each other
+        return new HPGNetwork(planets, planet -> planets);
+    }
+
+    @Test
+    public void testMovingTheDateMatchesBuildingAnew() {
+        Planet a = createPlanet(EquipmentType.RATING_A, EquipmentType.RATING_A);
+        Planet b = createPlanet(null, EquipmentType.RATING_B);
+        Planet c = createPlanet(EquipmentType.RATING_C, EquipmentType.RATING_A);
+        Planet d = createPlanet(EquipmentType.RATING_B, null);
+        List<Planet> planets = Arrays.asList(a, b, c, d);
+
+        HPGNetwork network = createNetwork(planets);
+        for (DateTime when : Arrays.asList(BEFORE, AFTER, BEFORE, CHANGE, CHANGE)) {
+            assertEquals(new HashSet<>(createNetwork(planets).getNetwork(when)),
+                    new HashSet<>(network.getNetwork(when)));
+        }
+    }
+
+    @Test
+    public void testLinksFromHPGAStations() {
+        Planet a = createPlanet(EquipmentType.RATING_A, EquipmentType.RATING_A);
+        Planet b = createPlanet(null, EquipmentType.RATING_B);
+        HPGNetwork network = createNetwork(Arrays.asList(a, b));
+
+        assertEquals(Collections.singleton(new Planets.HPGLink(a, a, EquipmentType.RATING_A)),
+                new HashSet<>(network.getNetwork(BEFORE)));
+        assertTrue(network.getNetwork(AFTER).contains(new Planets.HPGLink(a, b, EquipmentType.RATING_B)));
+        assertFalse(network.getNetwork(BEFORE).contains(new Planets.HPGLink(a, b, EquipmentType.RATING_B)));
+    }
+}
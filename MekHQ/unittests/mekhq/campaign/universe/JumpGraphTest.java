@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2019 The MegaMek Team. All rights reserved.
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package mekhq.campaign.universe;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.joda.time.DateTime;
+import org.junit.Test;
+
+public class JumpGraphTest {
+
+    private static final DateTime NOW = new DateTime(3025, 1, 1, 0, 0, 0, 0);
+
+    private Planet createPlanet(String id, double x, double y, double rechargeTime) {
+        Planet planet = mock(Planet.class);
+        when(planet.getId()).thenReturn(id);
+        when(planet.getX()).thenReturn(x);
+        when(planet.getY()).thenReturn(y);
+        when(planet.getRechargeTime(any())).thenReturn(rechargeTime);
+        return planet;
+    }
+
+    @Test
+    public void testNeighborsWithinOneJump() {
+        Planet a = createPlanet("a", 0, 0, 1);
+        Planet b = createPlanet("b", 30, 0, 1);
+        Planet c = createPlanet("c", 61, 0, 1);
+        JumpGraph graph = new JumpGraph(Arrays.asList(a, b, c));
+
+        // a and b are exactly one jump apart, b and c are just over one jump apart
+        assertArrayEquals(new int[] { graph.indexOf(b) }, graph.getNeighbors(graph.indexOf(a)));
+        assertArrayEquals(new int[] { graph.indexOf(a) }, graph.getNeighbors(graph.indexOf(b)));
+        assertEquals(0, graph.getNeighbors(graph.indexOf(c)).length);
+    }
+
+    @Test
+    public void testFindPathAlongChain() {
+        List<Planet> planets = new ArrayList<>();
+        for (int i = 0; i < 5; ++ i) {
+            planets.add(createPlanet("p" + i, i * 25, (i % 2) * 10, 1));
+        }
+        JumpGraph graph = new JumpGraph(planets);
+
+        assertEquals(planets, graph.findPath(planets.get(0), planets.get(4), NOW));
+    }
+
+    @Test
+    public void testFindPathAvoidsSlowRecharge() {
+        Planet start = createPlanet("start", 0, 0, 1);
+        Planet slow = createPlanet("slow", 20, 0, 1000);
+        Planet fast = createPlanet("fast", 20, 5, 1);
+        Planet end = createPlanet("end", 40, 0, 1);
+        JumpGraph graph = new JumpGraph(Arrays.asList(start, slow, fast, end));
+
+        assertEquals(Arrays.asList(start, fast, end), graph.findPath(start, end, NOW));
+    }
+
+    @Test
+    public void testFindPathPrefersFewerJumpsOnEqualRecharge() {
+        Planet start = createPlanet("start", 0, 0, 0);
+        Planet first = createPlanet("first", 15, 0, 0);
+        Planet end = createPlanet("end", 28, 0, 0);
+        JumpGraph graph = new JumpGraph(Arrays.asList(start, first, end));
+
+        assertEquals(Arrays.asList(start, end), graph.findPath(start, end, NOW));
+    }
+
+    @Test
+    public void testFindPathUnreachable() {
+        Planet start = createPlanet("start", 0, 0, 1);
+        Planet end = createPlanet("end", 100, 0, 1);
+        JumpGraph graph = new JumpGraph(Arrays.asList(start, end));
+
+        assertTrue(graph.findPath(start, end, NOW).isEmpty());
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2019 - The MegaMek Team
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign.universe;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.joda.time.DateTime;
+import org.junit.Test;
+
+public class JumpRouteTableTest {
+
+    private static final DateTime NOW = new DateTime(3025, 1, 1, 0, 0, 0, 0);
+
+    private Planet createPlanet(String id, double x, double y, double rechargeTime) {
+        Planet planet = mock(Planet.class);
+        when(planet.getId()).thenReturn(id);
+        when(planet.getX()).thenReturn(x);
+        when(planet.getY()).thenReturn(y);
+        when(planet.getRechargeTime(any())).thenReturn(rechargeTime);
+        return planet;
+    }
+
+    @Test
+    public void testRoutesAlongChain() {
+        List<Planet> planets = new ArrayList<>();
+        for (int i = 0; i < 5; ++ i) {
+            planets.add(createPlanet("p" + i, i * 25, (i % 2) * 10, 1));
+        }
+        JumpRouteTable routes = new JumpRouteTable(new JumpGraph(planets), planets.get(0), NOW);
+
+        for (int i = 0; i < 5; ++ i) {
+            assertTrue(routes.isReachable(planets.get(i)));
+            assertEquals(i, routes.getJumps(planets.get(i)));
+            assertEquals(planets.subList(0, i + 1), routes.getPath(planets.get(i)));
+        }
+        assertEquals(planets.subList(0, 3), routes.getPlanetsWithinJumps(2));
+    }
+
+    @Test
+    public void testRoutesAvoidSlowRecharge() {
+        Planet start = createPlanet("start", 0, 0, 1);
+        Planet slow = createPlanet("slow", 20, 0, 1000);
+        Planet fast = createPlanet("fast", 20, 5, 2);
+        Planet end = createPlanet("end", 40, 0, 1);
+        JumpRouteTable routes = new JumpRouteTable(new JumpGraph(Arrays.asList(start, slow, fast, end)), start, NOW);
+
+        assertEquals(Arrays.asList(start, fast, end), routes.getPath(end));
+        assertEquals(2, routes.getJumps(end));
+        // only the recharge at the planet in between counts
+        assertEquals(2 / 24.0, routes.getTotalTime(end, 0.0), 0.0001);
+    }
+
+    @Test
+    public void testRoutesPreferFewerJumpsOnEqualRecharge() {
+        Planet start = createPlanet("start", 0, 0, 0);
+        Planet first = createPlanet("first", 15, 0, 0);
+        Planet second = createPlanet("second", 25, 10, 0);
+        Planet end = createPlanet("end", 28, 0, 0);
+        JumpRouteTable routes = new JumpRouteTable(new JumpGraph(Arrays.asList(start, first, second, end)), start, NOW);
+
+        assertEquals(Arrays.asList(start, end), routes.getPath(end));
+    }
+
+    @Test
+    public void testUnreachablePlanets() {
+        Planet start = createPlanet("start", 0, 0, 1);
+        Planet end = createPlanet("end", 100, 0, 1);
+        Planet unknown = createPlanet("unknown", 10, 0, 1);
+        JumpRouteTable routes = new JumpRouteTable(new JumpGraph(Arrays.asList(start, end)), start, NOW);
+
+        for (Planet planet : Arrays.asList(end, unknown, null)) {
+            assertFalse(routes.isReachable(planet));
+            assertEquals(-1, routes.getJumps(planet));
+            assertEquals(Collections.emptyList(), routes.getPath(planet));
+            assertTrue(Double.isInfinite(routes.getTotalTime(planet, 0.0)));
+        }
+        assertEquals(Collections.singletonList(start), routes.getPath(start));
+    }
+
+    @Test
+    public void testIsFor() {
+        Planet start = createPlanet("start", 0, 0, 1);
+        Planet other = createPlanet("other", 10, 0, 1);
+        JumpGraph graph = new JumpGraph(Arrays.asList(start, other));
+        JumpRouteTable routes = new JumpRouteTable(graph, start, NOW);
+
+        assertTrue(routes.isFor(graph, start, NOW));
+        assertFalse(routes.isFor(graph, other, NOW));
+        assertFalse(routes.isFor(graph, null, NOW));
+        assertFalse(routes.isFor(graph, start, NOW.plusDays(1)));
+        assertFalse(routes.isFor(new JumpGraph(Arrays.asList(start, other)), start, NOW));
+    }
+
+    @Test
+    public void testRoutesMatchFindPath() {
+        Random random = new Random(42);
+        List<Planet> planets = new ArrayList<>();
+        for (int i = 0; i < 200; ++ i) {
+            // few distinct recharge times, so there are many ties to break
+            planets.add(createPlanet("p" + i, random.nextDouble() * 200, random.nextDouble() * 200,
+                    141 + random.nextInt(4)));
+        }
+        JumpGraph graph = new JumpGraph(planets);
+        JumpRouteTable routes = new JumpRouteTable(graph, planets.get(0), NOW);
+
+        for (Planet planet : planets) {
+            assertEquals(routes.getPath(planet), graph.findPath(planets.get(0), planet, NOW));
+        }
+    }
+}
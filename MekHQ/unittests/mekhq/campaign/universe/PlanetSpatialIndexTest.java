@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2019 The MegaMek Team. All rights reserved.
+ *
+ * This file is part of MekHQ.
+ *
+ * MekHQ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * MekHQ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with MekHQ.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package mekhq.campaign.universe;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class PlanetSpatialIndexTest {
+
+    private Planet createPlanet(double x, double y) {
+        Planet planet = mock(Planet.class);
+        when(planet.getX()).thenReturn(x);
+        when(planet.getY()).thenReturn(y);
+        return planet;
+    }
+
+    private static double distanceSq(Planet planet, double x, double y) {
+        return Math.pow(planet.getX() - x, 2) + Math.pow(planet.getY() - y, 2);
+    }
+
+    @Test
+    public void testGetWithinSortsByDistance() {
+        Planet a = createPlanet(0, 0);
+        Planet b = createPlanet(45, 0);
+        Planet c = createPlanet(-20, 10);
+        Planet d = createPlanet(100, 100);
+        PlanetSpatialIndex index = new PlanetSpatialIndex(Arrays.asList(a, b, c, d));
+
+        assertEquals(Arrays.asList(a, c, b), index.getWithin(0, 0, 50));
+        assertEquals(Collections.singletonList(d), index.getWithin(90, 90, 20));
+        // points outside of the grid
+        assertEquals(Arrays.asList(b, a), index.getWithin(70, 0, 70));
+        assertTrue(index.getWithin(1000, 1000, 50).isEmpty());
+    }
+
+    @Test
+    public void testQueriesMatchCheckingEveryPlanet() {
+        Random random = new Random(42);
+        List<Planet> planets = new ArrayList<>();
+        for (int i = 0; i < 200; ++ i) {
+            planets.add(createPlanet(random.nextDouble() * 1000 - 500, random.nextDouble() * 1000 - 500));
+        }
+        PlanetSpatialIndex index = new PlanetSpatialIndex(planets);
+
+        for (int i = 0; i < 50; ++ i) {
+            final double x = random.nextDouble() * 1400 - 700;
+            final double y = random.nextDouble() * 1400 - 700;
+            final double distance = random.nextDouble() * 100;
+
+            Set<Planet> within = new HashSet<>();
+            index.visitWithin(x, y, distance, within::add);
+            Set<Planet> inBox = new HashSet<>();
+            index.visitInBox(x - distance, y - distance, x + distance, y + distance, inBox::add);
+            Set<Planet> expectedWithin = new HashSet<>();
+            Set<Planet> expectedInBox = new HashSet<>();
+            for (Planet planet : planets) {
+                if (distanceSq(planet, x, y) <= distance * distance) {
+                    expectedWithin.add(planet);
+                }
+                if ((Math.abs(planet.getX() - x) <= distance) && (Math.abs(planet.getY() - y) <= distance)) {
+                    expectedInBox.add(planet);
+                }
+            }
+            assertEquals(expectedWithin, within);
+            assertEquals(expectedInBox, inBox);
+
+            List<Planet> sorted = new ArrayList<>(planets);
+            sorted.sort((p1, p2) -> Double.compare(distanceSq(p1, x, y), distanceSq(p2, x, y)));
+            List<Planet> nearest = index.getNearest(x, y, 5);
+            assertEquals(5, nearest.size());
+            for (int j = 0; j < 5; ++ j) {
+                assertEquals(distanceSq(sorted.get(j), x, y), distanceSq(nearest.get(j), x, y), 0.0);
+            }
+        }
+    }
+}
@@ -52,9 +52,30 @@ public class FileTypeTest {
             "file.abc",
             "file.xml.abc",
             "file.xmlabc",
-            "file.abcxml"
+            "file.abcxml",
+            "file.cpnb"
         ).forEach(fn -> assertFalse(fn + " was not refused",FileType.CPNX.getNameFilter().test(fn)));
 
     }
 
+    @Test
+    public void testLoadFileNamefilter() {
+
+        Arrays.asList(
+            "file.cpnx", "file.CPNX",
+            "file.xml",  "file.XML",
+            "file.cpnx.gz", "file.CPNX.GZ", "file.CPNX.gz",
+            "file.cpnb", "file.CPNB",
+            "some/dir/file.cpnb"
+        ).forEach(fn -> assertTrue(fn + " was not accepted",FileType.CPNX_LOAD.getNameFilter().test(fn)));
+
+        Arrays.asList(
+            "file.abc",
+            "file.cpnb.abc",
+            "file.cpnbabc",
+            "file.abccpnb"
+        ).forEach(fn -> assertFalse(fn + " was not refused",FileType.CPNX_LOAD.getNameFilter().test(fn)));
+
+    }
+
 }